@@ -0,0 +1,122 @@
+package jadx.benchmarks;
+
+import jadx.api.DefaultJadxArgs;
+import jadx.api.IJadxArgs;
+import jadx.core.Jadx;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.InputFile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Input files and helpers shared by benchmarks.
+ * <p/>
+ * Inputs:
+ * <ul>
+ * <li>'samples' - classes from jadx-samples module, jar path set by gradle in system property</li>
+ * <li>'huge' - generated class with huge methods (see {@link HugeMethodsGenerator})</li>
+ * </ul>
+ */
+public final class BenchmarkInput {
+
+	public static final String SAMPLES = "samples";
+	public static final String HUGE = "huge";
+
+	private static final String SAMPLES_PROPERTY = "jadx.benchmarks.samples";
+
+	private BenchmarkInput() {
+	}
+
+	public static IJadxArgs getArgs() {
+		return new DefaultJadxArgs() {
+			@Override
+			public boolean isShowInconsistentCode() {
+				return true;
+			}
+
+			@Override
+			public int getThreadsCount() {
+				return 1;
+			}
+		};
+	}
+
+	public static List<IDexTreeVisitor> getPasses(IJadxArgs args) {
+		return Jadx.getPassesList(args, args.getOutDir());
+	}
+
+	public static List<InputFile> getInputFiles(String input) {
+		try {
+			File file;
+			if (SAMPLES.equals(input)) {
+				file = getSamplesFile();
+			} else if (HUGE.equals(input)) {
+				file = writeTempClass(HugeMethodsGenerator.generate());
+			} else {
+				throw new JadxRuntimeException("Unknown benchmark input: " + input);
+			}
+			return Collections.singletonList(new InputFile(file));
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Benchmark input load failed: " + input, e);
+		}
+	}
+
+	/**
+	 * Create new root node from already prepared input files.
+	 * Passes change classes destructively, so benchmarks must use fresh root node
+	 * for every measured run.
+	 */
+	public static RootNode load(List<InputFile> inputFiles) {
+		try {
+			RootNode root = new RootNode(getArgs());
+			root.load(inputFiles);
+			return root;
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Benchmark input load failed: " + inputFiles, e);
+		}
+	}
+
+	/**
+	 * Load classes and run passes from list before pass with specified index
+	 */
+	public static void prepare(List<ClassNode> classes, List<IDexTreeVisitor> passes, int passIndex) {
+		for (ClassNode cls : classes) {
+			cls.load();
+			for (int i = 0; i < passIndex; i++) {
+				DepthTraversal.visit(passes.get(i), cls);
+			}
+		}
+	}
+
+	private static File getSamplesFile() {
+		String path = System.getProperty(SAMPLES_PROPERTY);
+		if (path == null) {
+			throw new JadxRuntimeException("Samples jar not set, use system property: " + SAMPLES_PROPERTY);
+		}
+		File file = new File(path);
+		if (!file.exists()) {
+			throw new JadxRuntimeException("Samples jar not found: " + file);
+		}
+		return file;
+	}
+
+	private static File writeTempClass(byte[] bytes) throws IOException {
+		File file = File.createTempFile("jadx-benchmark-", ".class");
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(bytes);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+}
@@ -0,0 +1,148 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.Gson;
+
+/**
+ * Make text report from JMH json results and compare with baseline results.
+ * <p/>
+ * Usage: {@code BenchmarksReport <results.json> <report.txt> [<baseline.json> [<max-regression-percent>]]}
+ * <p/>
+ * Exit code is 1 if any benchmark regressed more than max regression percent.
+ */
+public class BenchmarksReport {
+
+	private static final String CHARSET_NAME = "UTF-8";
+
+	private static class Result {
+		String benchmark;
+		String mode;
+		Map<String, String> params;
+		Metric primaryMetric;
+	}
+
+	private static class Metric {
+		double score;
+		double scoreError;
+		String scoreUnit;
+	}
+
+	private final Map<String, Result> results;
+	private final Map<String, Result> baseline;
+
+	public BenchmarksReport(File resultsFile, File baselineFile) throws IOException {
+		this.results = load(resultsFile);
+		this.baseline = baselineFile == null ? new TreeMap<String, Result>() : load(baselineFile);
+	}
+
+	/**
+	 * Regression in percents, positive value means slowdown.
+	 * Returns null if baseline for benchmark not found.
+	 */
+	private Double getRegression(String key) {
+		Result base = baseline.get(key);
+		if (base == null || base.primaryMetric.score == 0) {
+			return null;
+		}
+		Result current = results.get(key);
+		double diff = (current.primaryMetric.score - base.primaryMetric.score) / base.primaryMetric.score * 100;
+		// for throughput modes greater is better
+		return "thrpt".equals(current.mode) ? -diff : diff;
+	}
+
+	public List<String> write(File reportFile, double maxRegression) throws IOException {
+		List<String> regressions = new ArrayList<String>();
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(reportFile), CHARSET_NAME));
+		try {
+			out.printf("%-70s %14s %10s %10s %10s%n", "Benchmark", "Score", "Error", "Baseline", "Change");
+			for (Map.Entry<String, Result> entry : results.entrySet()) {
+				String key = entry.getKey();
+				Metric metric = entry.getValue().primaryMetric;
+				Result base = baseline.get(key);
+				Double regression = getRegression(key);
+				out.printf("%-70s %14.3f %10.3f %10s %10s %s%n", key,
+						metric.score, metric.scoreError,
+						base == null ? "-" : String.format("%.3f", base.primaryMetric.score),
+						regression == null ? "-" : String.format("%+.1f%%", regression),
+						metric.scoreUnit);
+				if (regression != null && regression > maxRegression) {
+					regressions.add(String.format("%s: %+.1f%%", key, regression));
+				}
+			}
+			if (!regressions.isEmpty()) {
+				out.println();
+				out.println("Regressions (more than " + maxRegression + "%):");
+				for (String r : regressions) {
+					out.println("  " + r);
+				}
+			}
+		} finally {
+			out.close();
+		}
+		return regressions;
+	}
+
+	private static Map<String, Result> load(File file) throws IOException {
+		Reader reader = new InputStreamReader(new FileInputStream(file), CHARSET_NAME);
+		try {
+			Result[] list = new Gson().fromJson(reader, Result[].class);
+			Map<String, Result> map = new TreeMap<String, Result>();
+			if (list != null) {
+				for (Result result : list) {
+					map.put(makeKey(result), result);
+				}
+			}
+			return map;
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static String makeKey(Result result) {
+		String name = result.benchmark;
+		if (name.startsWith("jadx.benchmarks.")) {
+			name = name.substring("jadx.benchmarks.".length());
+		}
+		StringBuilder sb = new StringBuilder(name);
+		if (result.params != null && !result.params.isEmpty()) {
+			Map<String, String> params = new LinkedHashMap<String, String>(new TreeMap<String, String>(result.params));
+			sb.append(params);
+		}
+		return sb.toString();
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: BenchmarksReport <results.json> <report.txt>"
+					+ " [<baseline.json> [<max-regression-percent>]]");
+			System.exit(2);
+		}
+		File resultsFile = new File(args[0]);
+		File reportFile = new File(args[1]);
+		File baselineFile = args.length > 2 ? new File(args[2]) : null;
+		double maxRegression = args.length > 3 ? Double.parseDouble(args[3]) : Double.MAX_VALUE;
+
+		BenchmarksReport report = new BenchmarksReport(resultsFile, baselineFile);
+		List<String> regressions = report.write(reportFile, maxRegression);
+		System.out.println("Benchmarks report saved to " + reportFile.getAbsolutePath());
+		if (!regressions.isEmpty()) {
+			for (String r : regressions) {
+				System.err.println("Regression: " + r);
+			}
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package jadx.benchmarks;
+
+import jadx.core.clsp.ClsSet;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading of bundled android classpath data (core.jcst)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClsSetBenchmark {
+
+	@Benchmark
+	public ClsSet load() throws Exception {
+		ClsSet clsSet = new ClsSet();
+		clsSet.load();
+		return clsSet;
+	}
+}
@@ -0,0 +1,68 @@
+package jadx.benchmarks;
+
+import jadx.core.codegen.ClassGen;
+import jadx.core.codegen.CodeWriter;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.CodegenException;
+import jadx.core.utils.files.InputFile;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Code generation only, classes reloaded and processed by all other passes before every invocation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodeGenBenchmark {
+
+	@Param({BenchmarkInput.SAMPLES, BenchmarkInput.HUGE})
+	public String input;
+
+	private List<InputFile> inputFiles;
+	private RootNode root;
+	private List<ClassNode> classes;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		inputFiles = BenchmarkInput.getInputFiles(input);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		root = BenchmarkInput.load(inputFiles);
+		classes = root.getClasses(false);
+		List<IDexTreeVisitor> passes = BenchmarkInput.getPasses(root.getArgs());
+		// skip last pass (CodeGen)
+		BenchmarkInput.prepare(classes, passes, passes.size() - 1);
+	}
+
+	@Benchmark
+	public void codegen(Blackhole bh) throws CodegenException {
+		for (ClassNode cls : classes) {
+			CodeWriter code = new ClassGen(cls, null, root.getArgs()).makeClass();
+			code.finish();
+			bh.consume(code);
+		}
+	}
+}
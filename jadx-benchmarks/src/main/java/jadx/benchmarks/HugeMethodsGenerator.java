@@ -0,0 +1,175 @@
+package jadx.benchmarks;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Generate class with several huge methods.
+ * Every method contains long sequence of conditions, loops, switches and try/catch blocks,
+ * such methods stress control flow and region passes.
+ */
+public final class HugeMethodsGenerator implements Opcodes {
+
+	public static final String CLASS_NAME = "jadx/benchmarks/input/HugeMethods";
+
+	private static final int METHODS_COUNT = 2;
+	/**
+	 * Blocks count in every method, each construction type used for quarter of blocks.
+	 * Bigger count will hit iterations limits in BlockMakerVisitor and ProcessTryCatchRegions,
+	 * so method will not be decompiled and most passes will be skipped.
+	 */
+	private static final int BLOCKS_COUNT = 360;
+
+	// locals: 0 - int x, 1 - int[] arr, 2 - int r, 3 - int j
+	private static final int X = 0;
+	private static final int ARR = 1;
+	private static final int R = 2;
+	private static final int J = 3;
+
+	private HugeMethodsGenerator() {
+	}
+
+	public static byte[] generate() {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V1_6, ACC_PUBLIC | ACC_SUPER, CLASS_NAME, null, "java/lang/Object", null);
+
+		MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		init.visitCode();
+		init.visitVarInsn(ALOAD, 0);
+		init.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		init.visitInsn(RETURN);
+		init.visitMaxs(0, 0);
+		init.visitEnd();
+
+		for (int i = 0; i < METHODS_COUNT; i++) {
+			addHugeMethod(cw, "huge" + i);
+		}
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void addHugeMethod(ClassWriter cw, String name) {
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC, name, "(I[I)I", null, null);
+		mv.visitCode();
+		mv.visitInsn(ICONST_0);
+		mv.visitVarInsn(ISTORE, R);
+		for (int i = 0; i < BLOCKS_COUNT; i++) {
+			switch (i % 4) {
+				case 0:
+					addCondition(mv, i);
+					break;
+				case 1:
+					addLoop(mv);
+					break;
+				case 2:
+					addSwitch(mv, i);
+					break;
+				default:
+					addTryCatch(mv, i);
+					break;
+			}
+		}
+		mv.visitVarInsn(ILOAD, R);
+		mv.visitInsn(IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	/**
+	 * if (x > i) { r += i; } else { r -= x; }
+	 */
+	private static void addCondition(MethodVisitor mv, int i) {
+		Label elseLabel = new Label();
+		Label end = new Label();
+		mv.visitVarInsn(ILOAD, X);
+		mv.visitLdcInsn(i);
+		mv.visitJumpInsn(IF_ICMPLE, elseLabel);
+		mv.visitIincInsn(R, i % Short.MAX_VALUE);
+		mv.visitJumpInsn(GOTO, end);
+		mv.visitLabel(elseLabel);
+		mv.visitVarInsn(ILOAD, R);
+		mv.visitVarInsn(ILOAD, X);
+		mv.visitInsn(ISUB);
+		mv.visitVarInsn(ISTORE, R);
+		mv.visitLabel(end);
+	}
+
+	/**
+	 * for (int j = 0; j < x; j++) { r += arr[j]; }
+	 */
+	private static void addLoop(MethodVisitor mv) {
+		Label check = new Label();
+		Label body = new Label();
+		mv.visitInsn(ICONST_0);
+		mv.visitVarInsn(ISTORE, J);
+		mv.visitJumpInsn(GOTO, check);
+		mv.visitLabel(body);
+		mv.visitVarInsn(ILOAD, R);
+		mv.visitVarInsn(ALOAD, ARR);
+		mv.visitVarInsn(ILOAD, J);
+		mv.visitInsn(IALOAD);
+		mv.visitInsn(IADD);
+		mv.visitVarInsn(ISTORE, R);
+		mv.visitIincInsn(J, 1);
+		mv.visitLabel(check);
+		mv.visitVarInsn(ILOAD, J);
+		mv.visitVarInsn(ILOAD, X);
+		mv.visitJumpInsn(IF_ICMPLT, body);
+	}
+
+	/**
+	 * switch (x & 3) { case 0: r++; break; case 1: r--; break; default: r ^= i; }
+	 */
+	private static void addSwitch(MethodVisitor mv, int i) {
+		Label case0 = new Label();
+		Label case1 = new Label();
+		Label def = new Label();
+		Label end = new Label();
+		mv.visitVarInsn(ILOAD, X);
+		mv.visitInsn(ICONST_3);
+		mv.visitInsn(IAND);
+		mv.visitTableSwitchInsn(0, 1, def, case0, case1);
+		mv.visitLabel(case0);
+		mv.visitIincInsn(R, 1);
+		mv.visitJumpInsn(GOTO, end);
+		mv.visitLabel(case1);
+		mv.visitIincInsn(R, -1);
+		mv.visitJumpInsn(GOTO, end);
+		mv.visitLabel(def);
+		mv.visitVarInsn(ILOAD, R);
+		mv.visitLdcInsn(i);
+		mv.visitInsn(IXOR);
+		mv.visitVarInsn(ISTORE, R);
+		mv.visitLabel(end);
+	}
+
+	/**
+	 * try { r += arr[i % arr.length]; } catch (RuntimeException e) { r = 0; }
+	 */
+	private static void addTryCatch(MethodVisitor mv, int i) {
+		Label start = new Label();
+		Label tryEnd = new Label();
+		Label handler = new Label();
+		Label end = new Label();
+		mv.visitTryCatchBlock(start, tryEnd, handler, "java/lang/RuntimeException");
+		mv.visitLabel(start);
+		mv.visitVarInsn(ILOAD, R);
+		mv.visitVarInsn(ALOAD, ARR);
+		mv.visitLdcInsn(i);
+		mv.visitVarInsn(ALOAD, ARR);
+		mv.visitInsn(ARRAYLENGTH);
+		mv.visitInsn(IREM);
+		mv.visitInsn(IALOAD);
+		mv.visitInsn(IADD);
+		mv.visitVarInsn(ISTORE, R);
+		mv.visitLabel(tryEnd);
+		mv.visitJumpInsn(GOTO, end);
+		mv.visitLabel(handler);
+		mv.visitInsn(POP);
+		mv.visitInsn(ICONST_0);
+		mv.visitVarInsn(ISTORE, R);
+		mv.visitLabel(end);
+	}
+}
@@ -0,0 +1,49 @@
+package jadx.benchmarks;
+
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.files.InputFile;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Input loading: dex parsing, classes creation, classpath and inner classes initialization.
+ * Input files (including class to dex conversion) prepared once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LoadBenchmark {
+
+	@Param({BenchmarkInput.SAMPLES, BenchmarkInput.HUGE})
+	public String input;
+
+	private List<InputFile> inputFiles;
+
+	@Setup
+	public void setup() {
+		inputFiles = BenchmarkInput.getInputFiles(input);
+	}
+
+	@Benchmark
+	public RootNode load() throws Exception {
+		RootNode root = new RootNode(BenchmarkInput.getArgs());
+		root.load(inputFiles);
+		return root;
+	}
+}
@@ -0,0 +1,116 @@
+package jadx.benchmarks;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.InputFile;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time of one pass for all classes of input.
+ * Input reloaded and processed by all previous passes before every invocation,
+ * so only selected pass is measured and always runs on fresh classes.
+ * <p/>
+ * Pass selected by visitor class simple name, for passes included several times
+ * use '#' and occurrence number (like 'CodeShrinker#2').
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PassesBenchmark {
+
+	@Param({BenchmarkInput.SAMPLES, BenchmarkInput.HUGE})
+	public String input;
+
+	@Param({
+			"BlockMakerVisitor",
+			"SSATransform",
+			"DebugInfoVisitor",
+			"TypeInference",
+			"ConstInlinerVisitor",
+			"FinishTypeInference",
+			"EliminatePhiNodes",
+			"ModVisitor",
+			"EnumVisitor",
+			"CodeShrinker",
+			"ReSugarCode",
+			"RegionMakerVisitor",
+			"IfRegionVisitor",
+			"ReturnVisitor",
+			"CodeShrinker#2",
+			"SimplifyVisitor",
+			"CheckRegions",
+			"MethodInlineVisitor",
+			"ClassModifier",
+			"PrepareForCodeGen",
+			"LoopRegionVisitor",
+			"ProcessVariables",
+	})
+	public String pass;
+
+	private List<InputFile> inputFiles;
+	private List<ClassNode> classes;
+	private IDexTreeVisitor visitor;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		inputFiles = BenchmarkInput.getInputFiles(input);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		RootNode root = BenchmarkInput.load(inputFiles);
+		classes = root.getClasses(false);
+		List<IDexTreeVisitor> passes = BenchmarkInput.getPasses(root.getArgs());
+		int passIndex = findPass(passes, pass);
+		visitor = passes.get(passIndex);
+		BenchmarkInput.prepare(classes, passes, passIndex);
+	}
+
+	@Benchmark
+	public void pass() {
+		for (ClassNode cls : classes) {
+			DepthTraversal.visit(visitor, cls);
+		}
+	}
+
+	static int findPass(List<IDexTreeVisitor> passes, String pass) {
+		String name = pass;
+		int occurrence = 1;
+		int sep = pass.indexOf('#');
+		if (sep != -1) {
+			name = pass.substring(0, sep);
+			occurrence = Integer.parseInt(pass.substring(sep + 1));
+		}
+		int found = 0;
+		for (int i = 0; i < passes.size(); i++) {
+			if (passes.get(i).getClass().getSimpleName().equals(name)) {
+				found++;
+				if (found == occurrence) {
+					return i;
+				}
+			}
+		}
+		throw new JadxRuntimeException("Pass not found: " + pass);
+	}
+}
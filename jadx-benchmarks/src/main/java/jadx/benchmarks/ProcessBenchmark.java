@@ -0,0 +1,62 @@
+package jadx.benchmarks;
+
+import jadx.core.ProcessClass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.files.InputFile;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full class processing: load, all passes and code generation.
+ * Passes change classes, so input reloaded before every invocation (not included in measured time).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProcessBenchmark {
+
+	@Param({BenchmarkInput.SAMPLES, BenchmarkInput.HUGE})
+	public String input;
+
+	private List<InputFile> inputFiles;
+	private List<ClassNode> classes;
+	private List<IDexTreeVisitor> passes;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		inputFiles = BenchmarkInput.getInputFiles(input);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		RootNode root = BenchmarkInput.load(inputFiles);
+		classes = root.getClasses(false);
+		passes = BenchmarkInput.getPasses(root.getArgs());
+	}
+
+	@Benchmark
+	public void process() {
+		for (ClassNode cls : classes) {
+			ProcessClass.process(cls, passes);
+		}
+	}
+}
@@ -4,6 +4,7 @@ import jadx.api.JadxDecompiler;
 import jadx.core.utils.exceptions.JadxException;
 
 import java.io.File;
+import java.io.IOException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +28,20 @@ public class JadxCLI {
 		JadxDecompiler jadx = new JadxDecompiler(jadxArgs);
 		jadx.setOutputDir(jadxArgs.getOutDir());
 		jadx.loadFiles(jadxArgs.getInput());
-		jadx.save();
+		if (jadxArgs.isStreaming()) {
+			jadx.saveStreaming(jadxArgs.getBatchSize(), jadxArgs.getMaxHeapUsage());
+		} else {
+			jadx.save();
+		}
+		File errorsReportFile = jadxArgs.getErrorsReportFile();
+		if (errorsReportFile != null) {
+			try {
+				jadx.getErrorsReport().save(errorsReportFile);
+				LOG.info("errors report saved to: {}", errorsReportFile);
+			} catch (IOException e) {
+				LOG.error("Errors report save failed: {}", errorsReportFile, e);
+			}
+		}
 		if (jadx.getErrorsCount() != 0) {
 			jadx.printErrorsReport();
 			LOG.error("finished with errors");
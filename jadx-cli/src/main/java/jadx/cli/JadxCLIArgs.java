@@ -35,12 +35,51 @@ public final class JadxCLIArgs implements IJadxArgs {
 	@Parameter(names = {"--show-bad-code"}, description = "show inconsistent code (incorrectly decompiled)")
 	protected boolean showInconsistentCode = false;
 
+	@Parameter(names = {"--no-debug-info"},
+			description = "don't decode debug info (faster, but variables names and source lines are lost)")
+	protected boolean skipDebugInfo = false;
+
 	@Parameter(names = {"--cfg"}, description = "save methods control flow graph to dot file")
 	protected boolean cfgOutput = false;
 
 	@Parameter(names = {"--raw-cfg"}, description = "save methods control flow graph (use raw instructions)")
 	protected boolean rawCfgOutput = false;
 
+	@Parameter(names = {"--method-time-limit"},
+			description = "max time in ms for processing one method, method will be dumped in fallback mode (0 - no limit)")
+	protected int methodTimeLimit = 0;
+
+	@Parameter(names = {"--method-iterations-limit"},
+			description = "max iterations in passes for one method, method will be dumped in fallback mode (0 - no limit)")
+	protected int methodIterationsLimit = 0;
+
+	@Parameter(names = {"--parallel-methods"}, description = "process methods of one class in parallel")
+	protected boolean parallelMethods = false;
+
+	@Parameter(names = {"--code-cache"},
+			description = "directory for decompiled code cache, reused by next runs for same input and options")
+	protected String codeCacheDirName;
+
+	@Parameter(names = {"--insns-cache-size"},
+			description = "max size in code units of decoded instructions cache for methods loaded again"
+					+ " (0 - disabled, default for save, enabled in GUI)")
+	protected int decodedInsnsCacheSize = 0;
+
+	@Parameter(names = {"--errors-report"},
+			description = "save errors report grouped by pass and exception type (csv format for '.csv' file, json otherwise)")
+	protected String errorsReportFileName;
+
+	@Parameter(names = {"--streaming"},
+			description = "save classes in dex order by batches and release code after saving (for very large inputs)")
+	protected boolean streaming = false;
+
+	@Parameter(names = {"--batch-size"}, description = "max count of classes processed together in streaming mode")
+	protected int batchSize = 256;
+
+	@Parameter(names = {"--max-heap-usage"},
+			description = "percent of max heap (set by -Xmx in JAVA_OPTS), batch size reduced above this limit in streaming mode")
+	protected int maxHeapUsage = 75;
+
 	@Parameter(names = {"-v", "--verbose"}, description = "verbose output")
 	protected boolean verbose = false;
 
@@ -49,6 +88,8 @@ public final class JadxCLIArgs implements IJadxArgs {
 
 	private final List<File> input = new ArrayList<File>(1);
 	private File outputDir;
+	private File codeCacheDir;
+	private File errorsReportFile;
 
 	public boolean processArgs(String[] args) {
 		return parse(args) && process();
@@ -74,6 +115,18 @@ public final class JadxCLIArgs implements IJadxArgs {
 			if (threadsCount <= 0) {
 				throw new JadxException("Threads count must be positive");
 			}
+			if (methodTimeLimit < 0 || methodIterationsLimit < 0) {
+				throw new JadxException("Method processing limits can't be negative");
+			}
+			if (decodedInsnsCacheSize < 0) {
+				throw new JadxException("Instructions cache size can't be negative");
+			}
+			if (batchSize <= 0) {
+				throw new JadxException("Batch size must be positive");
+			}
+			if (maxHeapUsage <= 0 || maxHeapUsage > 100) {
+				throw new JadxException("Max heap usage must be in range 1..100");
+			}
 			if (files != null) {
 				for (String fileName : files) {
 					File file = new File(fileName);
@@ -90,6 +143,12 @@ public final class JadxCLIArgs implements IJadxArgs {
 			if (outDirName != null) {
 				outputDir = new File(outDirName);
 			}
+			if (codeCacheDirName != null) {
+				codeCacheDir = new File(codeCacheDirName);
+			}
+			if (errorsReportFileName != null) {
+				errorsReportFile = new File(errorsReportFileName);
+			}
 			if (isVerbose()) {
 				ch.qos.logback.classic.Logger rootLogger =
 						(ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
@@ -160,6 +219,22 @@ public final class JadxCLIArgs implements IJadxArgs {
 		this.outputDir = outputDir;
 	}
 
+	public File getErrorsReportFile() {
+		return errorsReportFile;
+	}
+
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public int getMaxHeapUsage() {
+		return maxHeapUsage;
+	}
+
 	public boolean isPrintHelp() {
 		return printHelp;
 	}
@@ -193,4 +268,38 @@ public final class JadxCLIArgs implements IJadxArgs {
 	public boolean isVerbose() {
 		return verbose;
 	}
+
+	@Override
+	public boolean isSkipDebugInfo() {
+		return skipDebugInfo;
+	}
+
+	@Override
+	public int getMethodTimeLimit() {
+		return methodTimeLimit;
+	}
+
+	@Override
+	public int getMethodIterationsLimit() {
+		return methodIterationsLimit;
+	}
+
+	@Override
+	public boolean isParallelMethods() {
+		return parallelMethods;
+	}
+
+	@Override
+	public File getCodeCacheDir() {
+		return codeCacheDir;
+	}
+
+	@Override
+	public int getDecodedInsnsCacheSize() {
+		return decodedInsnsCacheSize;
+	}
+
+	public void setDecodedInsnsCacheSize(int decodedInsnsCacheSize) {
+		this.decodedInsnsCacheSize = decodedInsnsCacheSize;
+	}
 }
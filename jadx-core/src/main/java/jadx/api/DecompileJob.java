@@ -0,0 +1,184 @@
+package jadx.api;
+
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.JadxErrorAttr;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.SaveCode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decompile and save classes in background threads.
+ * Job can be cancelled at any time: queued classes are skipped
+ * and already running classes stop at next pass (see {@link jadx.core.ProcessClass}).
+ */
+public final class DecompileJob {
+	private static final Logger LOG = LoggerFactory.getLogger(DecompileJob.class);
+
+	private final File outDir;
+	private final IJadxArgs args;
+	private final IDecompileListener listener;
+	private final int totalCount;
+	private final ExecutorService executor;
+
+	private final AtomicInteger processedCount = new AtomicInteger();
+	private final AtomicInteger errorsCount = new AtomicInteger();
+	private final long startTime;
+	private volatile long finishTime;
+	private volatile boolean cancelled;
+
+	DecompileJob(List<JavaClass> classes, File outDir, IJadxArgs args, IDecompileListener listener) {
+		this.outDir = outDir;
+		this.args = args;
+		this.listener = listener;
+		this.totalCount = classes.size();
+		this.startTime = System.currentTimeMillis();
+
+		int threadsCount = args.getThreadsCount();
+		LOG.debug("processing threads count: {}", threadsCount);
+		executor = Executors.newFixedThreadPool(threadsCount);
+		for (final JavaClass cls : classes) {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					processClass(cls);
+				}
+			});
+		}
+		executor.shutdown();
+	}
+
+	private void processClass(JavaClass cls) {
+		if (cancelled) {
+			return;
+		}
+		if (listener != null) {
+			listener.onClassStart(cls);
+		}
+		Throwable error;
+		try {
+			cls.decompile();
+			if (!cls.isDecompiled()) {
+				if (cancelled) {
+					// interrupted between passes
+					return;
+				}
+				throw new JadxRuntimeException("Code not generated for class: " + cls);
+			}
+			SaveCode.save(outDir, args, cls.getClassNode());
+			error = getError(cls.getClassNode());
+		} catch (Throwable e) {
+			LOG.error("Class process error: {}", cls, e);
+			error = e;
+		}
+		if (processedCount.incrementAndGet() == totalCount) {
+			finishTime = System.currentTimeMillis();
+		}
+		if (error != null) {
+			errorsCount.incrementAndGet();
+		}
+		if (listener != null) {
+			if (error != null) {
+				listener.onClassError(cls, error);
+			} else {
+				listener.onClassFinish(cls);
+			}
+		}
+	}
+
+	private static Throwable getError(ClassNode cls) {
+		JadxErrorAttr errorAttr = cls.get(AType.JADX_ERROR);
+		if (errorAttr != null) {
+			return errorAttr.getCause();
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			errorAttr = mth.get(AType.JADX_ERROR);
+			if (errorAttr != null) {
+				return errorAttr.getCause();
+			}
+		}
+		for (ClassNode inner : cls.getInnerClasses()) {
+			Throwable e = getError(inner);
+			if (e != null) {
+				return e;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Stop processing: skip not started classes and interrupt running ones.
+	 */
+	public void cancel() {
+		cancelled = true;
+		executor.shutdownNow();
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public boolean isDone() {
+		return executor.isTerminated();
+	}
+
+	/**
+	 * Wait for job completion
+	 *
+	 * @return true if job finished, false if timeout elapsed
+	 */
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	public int getTotalCount() {
+		return totalCount;
+	}
+
+	public int getProcessedCount() {
+		return processedCount.get();
+	}
+
+	public int getErrorsCount() {
+		return errorsCount.get();
+	}
+
+	/**
+	 * @return processed classes percent (0-100)
+	 */
+	public int getProgress() {
+		if (totalCount == 0) {
+			return 100;
+		}
+		return (int) (getProcessedCount() * 100L / totalCount);
+	}
+
+	/**
+	 * Average throughput from job start
+	 */
+	public double getClassesPerSecond() {
+		long end = finishTime != 0 ? finishTime : System.currentTimeMillis();
+		long time = end - startTime;
+		if (time <= 0) {
+			return 0;
+		}
+		return getProcessedCount() * 1000.0 / time;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("processed %d of %d classes, errors: %d, speed: %.1f classes/sec%s",
+				getProcessedCount(), totalCount, getErrorsCount(), getClassesPerSecond(),
+				cancelled ? " (cancelled)" : "");
+	}
+}
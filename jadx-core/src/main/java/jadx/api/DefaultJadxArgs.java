@@ -4,6 +4,12 @@ import java.io.File;
 
 public class DefaultJadxArgs implements IJadxArgs {
 
+	/**
+	 * Decoded instructions cache size for interactive usage (GUI, server), where classes decompiled again.
+	 * Disabled by default, because in one-shot save methods almost never loaded again.
+	 */
+	public static final int INTERACTIVE_DECODED_INSNS_CACHE_SIZE = 512 * 1024;
+
 	@Override
 	public File getOutDir() {
 		return new File("jadx-output");
@@ -38,4 +44,34 @@ public class DefaultJadxArgs implements IJadxArgs {
 	public boolean isVerbose() {
 		return false;
 	}
+
+	@Override
+	public boolean isSkipDebugInfo() {
+		return false;
+	}
+
+	@Override
+	public int getMethodTimeLimit() {
+		return 0;
+	}
+
+	@Override
+	public int getMethodIterationsLimit() {
+		return 0;
+	}
+
+	@Override
+	public boolean isParallelMethods() {
+		return false;
+	}
+
+	@Override
+	public File getCodeCacheDir() {
+		return null;
+	}
+
+	@Override
+	public int getDecodedInsnsCacheSize() {
+		return 0;
+	}
 }
@@ -0,0 +1,20 @@
+package jadx.api;
+
+/**
+ * Receive events from {@link DecompileJob}.
+ * Methods called from worker threads, so implementation must be thread safe.
+ */
+public interface IDecompileListener {
+
+	void onClassStart(JavaClass cls);
+
+	void onClassFinish(JavaClass cls);
+
+	/**
+	 * Class processed with errors, code may be incomplete or missing
+	 *
+	 * @param error exception thrown while decompiling or saving class,
+	 *              or error attached to class or one of its methods by decompiler passes
+	 */
+	void onClassError(JavaClass cls, Throwable error);
+}
@@ -16,4 +16,38 @@ public interface IJadxArgs {
 	boolean isShowInconsistentCode();
 
 	boolean isVerbose();
+
+	/**
+	 * Don't decode debug info: faster, but source lines and variables names not restored.
+	 */
+	boolean isSkipDebugInfo();
+
+	/**
+	 * Max time in milliseconds for processing one method, 0 - no limit.
+	 * Method which exceed this limit will be generated in fallback mode.
+	 */
+	int getMethodTimeLimit();
+
+	/**
+	 * Max iterations count in heavy loops of passes for one method, 0 - no limit.
+	 */
+	int getMethodIterationsLimit();
+
+	/**
+	 * Process methods of one class in parallel (see {@link jadx.core.dex.visitors.IMethodLocalVisitor}),
+	 * useful for classes with many big methods.
+	 */
+	boolean isParallelMethods();
+
+	/**
+	 * Directory for saving decompiled classes to reuse in next runs with same input,
+	 * null - cache disabled (see {@link jadx.core.codegen.CodeCache}).
+	 */
+	File getCodeCacheDir();
+
+	/**
+	 * Max size (in code units) of decoded instructions kept in memory for methods loaded again,
+	 * 0 - cache disabled (see {@link jadx.core.dex.instructions.DecodedInsnsCache}).
+	 */
+	int getDecodedInsnsCacheSize();
 }
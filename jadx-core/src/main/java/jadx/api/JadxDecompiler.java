@@ -2,11 +2,13 @@ package jadx.api;
 
 import jadx.core.Jadx;
 import jadx.core.ProcessClass;
-import jadx.core.dex.info.ClassInfo;
+import jadx.core.codegen.CodeCache;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.IDexTreeVisitor;
 import jadx.core.dex.visitors.SaveCode;
+import jadx.core.utils.ErrorInfo;
+import jadx.core.utils.ErrorsReport;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -20,9 +22,17 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +64,17 @@ public final class JadxDecompiler {
 	private RootNode root;
 	private List<IDexTreeVisitor> passes;
 	private List<JavaClass> classes;
+	private Map<ClassNode, JavaClass> classesMap;
+	private List<JavaPackage> packages;
+	private ExecutorService methodsExecutor;
+	private CodeCache codeCache;
+
+	/**
+	 * In progress decompilations of top level classes
+	 */
+	private final ConcurrentMap<ClassNode, FutureTask<Void>> decompileTasks =
+			new ConcurrentHashMap<ClassNode, FutureTask<Void>>();
+	private final AtomicInteger avoidedDecompilesCount = new AtomicInteger();
 
 	public JadxDecompiler() {
 		this(new DefaultJadxArgs());
@@ -79,9 +100,12 @@ public final class JadxDecompiler {
 	}
 
 	void reset() {
-		ClassInfo.clearCache();
 		classes = null;
+		classesMap = null;
+		packages = null;
 		root = null;
+		codeCache = null;
+		avoidedDecompilesCount.set(0);
 	}
 
 	public static String getVersion() {
@@ -99,7 +123,7 @@ public final class JadxDecompiler {
 		inputFiles.clear();
 		for (File file : files) {
 			try {
-				inputFiles.add(new InputFile(file));
+				inputFiles.add(new InputFile(file, args.getThreadsCount()));
 			} catch (IOException e) {
 				throw new JadxException("Error load file: " + file, e);
 			}
@@ -108,13 +132,50 @@ public final class JadxDecompiler {
 	}
 
 	public void save() {
+		DecompileJob job = startSave(null);
 		try {
-			ExecutorService ex = getSaveExecutor();
-			ex.shutdown();
-			ex.awaitTermination(1, TimeUnit.DAYS);
+			job.await(1, TimeUnit.DAYS);
 		} catch (InterruptedException e) {
+			job.cancel();
 			throw new JadxRuntimeException("Save interrupted", e);
 		}
+		LOG.info("{}", job);
+		if (codeCache != null) {
+			LOG.info("code cache: loaded {}, saved {} classes", codeCache.getLoadedCount(), codeCache.getSavedCount());
+		}
+	}
+
+	/**
+	 * Decompile and save classes in dex order by batches with bounded memory usage:
+	 * code of every class released right after saving and {@link JavaClass} objects not created,
+	 * so this mode suitable for very large inputs but classes code can't be accessed after saving.
+	 *
+	 * @param batchSize    max count of top level classes processed together
+	 * @param maxHeapUsage percent of max heap, batch size reduced if used heap exceed this limit
+	 */
+	public void saveStreaming(int batchSize, int maxHeapUsage) {
+		if (root == null) {
+			throw new JadxRuntimeException("No loaded files");
+		}
+		LOG.info("processing (streaming mode) ...");
+		new StreamingSave(this, outDir, args, batchSize, maxHeapUsage).run();
+		if (codeCache != null) {
+			LOG.info("code cache: loaded {}, saved {} classes", codeCache.getLoadedCount(), codeCache.getSavedCount());
+		}
+	}
+
+	/**
+	 * Start decompilation and saving of all classes in background.
+	 *
+	 * @param listener receive per class events, can be null
+	 * @return job for track progress or cancel processing
+	 */
+	public DecompileJob startSave(IDecompileListener listener) {
+		if (root == null) {
+			throw new JadxRuntimeException("No loaded files");
+		}
+		LOG.info("processing ...");
+		return new DecompileJob(getClasses(), outDir, args, listener);
 	}
 
 	public ExecutorService getSaveExecutor() {
@@ -138,22 +199,33 @@ public final class JadxDecompiler {
 		return executor;
 	}
 
-	public List<JavaClass> getClasses() {
+	public synchronized List<JavaClass> getClasses() {
 		if (root == null) {
 			return Collections.emptyList();
 		}
 		if (classes == null) {
 			List<ClassNode> classNodeList = root.getClasses(false);
 			List<JavaClass> clsList = new ArrayList<JavaClass>(classNodeList.size());
+			Map<ClassNode, JavaClass> clsMap = new HashMap<ClassNode, JavaClass>(classNodeList.size());
 			for (ClassNode classNode : classNodeList) {
-				clsList.add(new JavaClass(classNode, this));
+				JavaClass javaClass = new JavaClass(classNode, this);
+				clsList.add(javaClass);
+				clsMap.put(classNode, javaClass);
 			}
+			classesMap = clsMap;
 			classes = Collections.unmodifiableList(clsList);
 		}
 		return classes;
 	}
 
 	public List<JavaPackage> getPackages() {
+		if (packages == null) {
+			packages = buildPackages();
+		}
+		return packages;
+	}
+
+	private List<JavaPackage> buildPackages() {
 		List<JavaClass> classList = getClasses();
 		if (classList.isEmpty()) {
 			return Collections.emptyList();
@@ -168,12 +240,12 @@ public final class JadxDecompiler {
 			}
 			clsList.add(javaClass);
 		}
-		List<JavaPackage> packages = new ArrayList<JavaPackage>(map.size());
+		List<JavaPackage> pkgList = new ArrayList<JavaPackage>(map.size());
 		for (Map.Entry<String, List<JavaClass>> entry : map.entrySet()) {
-			packages.add(new JavaPackage(entry.getKey(), entry.getValue()));
+			pkgList.add(new JavaPackage(entry.getKey(), entry.getValue()));
 		}
-		Collections.sort(packages);
-		for (JavaPackage pkg : packages) {
+		Collections.sort(pkgList);
+		for (JavaPackage pkg : pkgList) {
 			Collections.sort(pkg.getClasses(), new Comparator<JavaClass>() {
 				@Override
 				public int compare(JavaClass o1, JavaClass o2) {
@@ -181,7 +253,15 @@ public final class JadxDecompiler {
 				}
 			});
 		}
-		return Collections.unmodifiableList(packages);
+		return Collections.unmodifiableList(pkgList);
+	}
+
+	/**
+	 * Count of decompile requests which waited for already running decompilation of same class
+	 * instead of processing class again.
+	 */
+	public int getAvoidedDecompilesCount() {
+		return avoidedDecompilesCount.get();
 	}
 
 	public int getErrorsCount() {
@@ -191,6 +271,16 @@ public final class JadxDecompiler {
 		return root.getErrorsCounter().getErrorCount();
 	}
 
+	/**
+	 * Snapshot of errors reported so far, grouped by pass and by exception type
+	 */
+	public ErrorsReport getErrorsReport() {
+		if (root == null) {
+			return new ErrorsReport(Collections.<ErrorInfo>emptyList());
+		}
+		return root.getErrorsCounter().makeReport();
+	}
+
 	public void printErrorsReport() {
 		if (root == null) {
 			return;
@@ -200,29 +290,102 @@ public final class JadxDecompiler {
 
 	void parse() throws DecodeException {
 		reset();
-		root = new RootNode();
+		root = new RootNode(args);
 		LOG.info("loading ...");
 		root.load(inputFiles);
+		File codeCacheDir = args.getCodeCacheDir();
+		if (codeCacheDir != null) {
+			codeCache = new CodeCache(root, codeCacheDir);
+		}
+	}
+
+	/**
+	 * Decompile top level class (with inner classes) if code not generated yet.
+	 * Concurrent calls for same class wait for one in progress decompilation.
+	 */
+	void decompile(final ClassNode cls) {
+		if (cls.getCode() != null) {
+			return;
+		}
+		FutureTask<Void> task = new FutureTask<Void>(new Runnable() {
+			@Override
+			public void run() {
+				if (cls.getCode() == null) {
+					processClass(cls);
+				}
+			}
+		}, null);
+		FutureTask<Void> runningTask = decompileTasks.putIfAbsent(cls, task);
+		if (runningTask != null) {
+			avoidedDecompilesCount.incrementAndGet();
+			waitFor(runningTask);
+			return;
+		}
+		try {
+			task.run();
+		} finally {
+			decompileTasks.remove(cls, task);
+		}
+		waitFor(task);
+	}
+
+	private static void waitFor(FutureTask<Void> task) {
+		try {
+			task.get();
+		} catch (InterruptedException e) {
+			// restore flag, caller will check if code generated
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Decompilation failed", e.getCause());
+		}
 	}
 
 	void processClass(ClassNode cls) {
-		ProcessClass.process(cls, passes);
+		if (codeCache != null && codeCache.load(cls)) {
+			return;
+		}
+		ProcessClass.process(cls, passes, getMethodsExecutor());
+		if (codeCache != null) {
+			codeCache.save(cls);
+		}
+	}
+
+	private synchronized ExecutorService getMethodsExecutor() {
+		if (!args.isParallelMethods()) {
+			return null;
+		}
+		if (methodsExecutor == null) {
+			int threadsCount = args.getThreadsCount();
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threadsCount, threadsCount,
+					1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "jadx-methods");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			// release threads when decompiler not used
+			executor.allowCoreThreadTimeOut(true);
+			methodsExecutor = executor;
+		}
+		return methodsExecutor;
 	}
 
 	RootNode getRoot() {
 		return root;
 	}
 
+	CodeCache getCodeCache() {
+		return codeCache;
+	}
+
 	JavaClass findJavaClass(ClassNode cls) {
 		if (cls == null) {
 			return null;
 		}
-		for (JavaClass javaClass : getClasses()) {
-			if (javaClass.getClassNode().equals(cls)) {
-				return javaClass;
-			}
-		}
-		return null;
+		getClasses();
+		return classesMap == null ? null : classesMap.get(cls);
 	}
 
 	@Override
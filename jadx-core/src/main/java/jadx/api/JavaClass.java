@@ -11,8 +11,10 @@ import jadx.core.dex.nodes.MethodNode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public final class JavaClass implements JavaNode {
 
@@ -23,6 +25,7 @@ public final class JavaClass implements JavaNode {
 	private List<JavaClass> innerClasses = Collections.emptyList();
 	private List<JavaField> fields = Collections.emptyList();
 	private List<JavaMethod> methods = Collections.emptyList();
+	private volatile boolean loaded;
 
 	JavaClass(ClassNode classNode, JadxDecompiler decompiler) {
 		this.decompiler = decompiler;
@@ -51,21 +54,39 @@ public final class JavaClass implements JavaNode {
 		return code.toString();
 	}
 
+	/**
+	 * Decompile class if not decompiled yet, safe for concurrent calls:
+	 * only one caller process class, others wait for result.
+	 * Inner classes decompiled with top level class.
+	 */
 	public void decompile() {
 		if (decompiler == null) {
+			if (parent != null) {
+				parent.decompile();
+			}
 			return;
 		}
-		if (cls.getCode() == null) {
-			decompiler.processClass(cls);
+		if (!loaded) {
+			decompiler.decompile(cls);
 			load();
 		}
 	}
 
+	/**
+	 * Check if code already generated, this method don't start decompilation
+	 */
+	public boolean isDecompiled() {
+		return decompiler == null || cls.getCode() != null;
+	}
+
 	ClassNode getClassNode() {
 		return cls;
 	}
 
-	private void load() {
+	private synchronized void load() {
+		if (loaded || cls.getCode() == null && decompiler != null) {
+			return;
+		}
 		int inClsCount = cls.getInnerClasses().size();
 		if (inClsCount != 0) {
 			List<JavaClass> list = new ArrayList<JavaClass>(inClsCount);
@@ -106,6 +127,7 @@ public final class JavaClass implements JavaNode {
 			});
 			this.methods = Collections.unmodifiableList(mths);
 		}
+		loaded = true;
 	}
 
 	private Map<CodePosition, Object> getCodeAnnotations() {
@@ -113,9 +135,31 @@ public final class JavaClass implements JavaNode {
 		return cls.getCode().getAnnotations();
 	}
 
-	public CodePosition getDefinitionPosition(int line, int offset) {
+	/**
+	 * Top level classes referenced from code of this class (excluding itself).
+	 */
+	public List<JavaClass> getReferencedClasses() {
 		Map<CodePosition, Object> map = getCodeAnnotations();
-		Object obj = map.get(new CodePosition(line, offset));
+		Set<JavaClass> set = new LinkedHashSet<JavaClass>();
+		for (Object obj : map.values()) {
+			JavaClass jCls = getTopJavaClass(obj);
+			if (jCls != null && jCls != this) {
+				set.add(jCls);
+			}
+		}
+		return new ArrayList<JavaClass>(set);
+	}
+
+	/**
+	 * Return top level class which contains definition for object at this position.
+	 * Unlike {@link #getDefinitionPosition(int, int)} referenced class not decompiled.
+	 */
+	public JavaClass getDefinitionClass(int line, int offset) {
+		Map<CodePosition, Object> map = getCodeAnnotations();
+		return getTopJavaClass(map.get(new CodePosition(line, offset)));
+	}
+
+	private JavaClass getTopJavaClass(Object obj) {
 		if (!(obj instanceof LineAttrNode)) {
 			return null;
 		}
@@ -130,8 +174,13 @@ public final class JavaClass implements JavaNode {
 		if (clsNode == null) {
 			return null;
 		}
-		clsNode = clsNode.getTopParentClass();
-		JavaClass jCls = decompiler.findJavaClass(clsNode);
+		return decompiler.findJavaClass(clsNode.getTopParentClass());
+	}
+
+	public CodePosition getDefinitionPosition(int line, int offset) {
+		Map<CodePosition, Object> map = getCodeAnnotations();
+		Object obj = map.get(new CodePosition(line, offset));
+		JavaClass jCls = getTopJavaClass(obj);
 		if (jCls == null) {
 			return null;
 		}
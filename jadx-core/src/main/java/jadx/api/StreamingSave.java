@@ -0,0 +1,158 @@
+package jadx.api;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.SaveCode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decompile and save top level classes in dex order by bounded batches.
+ * Code saved right after class processing and then released (see {@link ClassNode#releaseCode()}),
+ * so only classes declarations needed for cross-class resolution stay in memory.
+ * <p/>
+ * After every batch used heap checked against limit,
+ * if limit still exceeded after caches cleanup batch size reduced.
+ */
+final class StreamingSave {
+	private static final Logger LOG = LoggerFactory.getLogger(StreamingSave.class);
+
+	private final JadxDecompiler decompiler;
+	private final File outDir;
+	private final IJadxArgs args;
+	private final long heapLimit;
+
+	private int batchSize;
+	private int batchesCount;
+	private int processedCount;
+	private long maxUsedHeap;
+	private boolean limitWarned;
+
+	/**
+	 * @param batchSize    max count of top level classes processed together
+	 * @param maxHeapUsage percent of max heap (1-100)
+	 */
+	StreamingSave(JadxDecompiler decompiler, File outDir, IJadxArgs args, int batchSize, int maxHeapUsage) {
+		if (batchSize <= 0) {
+			throw new JadxRuntimeException("Batch size must be positive: " + batchSize);
+		}
+		if (maxHeapUsage <= 0 || maxHeapUsage > 100) {
+			throw new JadxRuntimeException("Max heap usage must be in range 1..100: " + maxHeapUsage);
+		}
+		this.decompiler = decompiler;
+		this.outDir = outDir;
+		this.args = args;
+		this.batchSize = batchSize;
+		this.heapLimit = Runtime.getRuntime().maxMemory() / 100 * maxHeapUsage;
+	}
+
+	void run() {
+		RootNode root = decompiler.getRoot();
+		List<ClassNode> classes = root.getClasses(false);
+		int total = classes.size();
+		long startTime = System.currentTimeMillis();
+		ExecutorService executor = Executors.newFixedThreadPool(args.getThreadsCount());
+		try {
+			int pos = 0;
+			while (pos < total) {
+				int end = Math.min(pos + batchSize, total);
+				processBatch(executor, classes.subList(pos, end));
+				processedCount += end - pos;
+				batchesCount++;
+				pos = end;
+				LOG.debug("processed {} of {} classes, used heap: {} MB", processedCount, total, getUsedHeap() >> 20);
+				// classes processed in dex order, so cached instructions of saved classes not needed anymore
+				root.getDecodedInsnsCache().clear();
+				checkHeap();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		long time = System.currentTimeMillis() - startTime;
+		LOG.info("processed {} classes in {} batches, time: {} ms, max used heap: {} MB, heap limit: {} MB",
+				processedCount, batchesCount, time, maxUsedHeap >> 20, heapLimit >> 20);
+	}
+
+	private void processBatch(ExecutorService executor, List<ClassNode> batch) {
+		List<Future<?>> futures = new ArrayList<Future<?>>(batch.size());
+		for (final ClassNode cls : batch) {
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					processClass(cls);
+				}
+			}));
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Save interrupted", e);
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Class process error", e.getCause());
+		}
+	}
+
+	private void processClass(ClassNode cls) {
+		try {
+			decompiler.decompile(cls);
+			if (cls.getCode() == null) {
+				throw new JadxRuntimeException("Code not generated for class: " + cls);
+			}
+			SaveCode.save(outDir, args, cls);
+		} catch (Throwable e) {
+			LOG.error("Class process error: {}", cls, e);
+		} finally {
+			cls.releaseCode();
+		}
+	}
+
+	private void checkHeap() {
+		long used = getUsedHeap();
+		if (used <= heapLimit) {
+			updateMaxUsed(used);
+			return;
+		}
+		// measured value may include garbage, check again after collection
+		System.gc();
+		used = getUsedHeap();
+		updateMaxUsed(used);
+		if (used <= heapLimit) {
+			return;
+		}
+		if (batchSize > 1) {
+			batchSize = Math.max(1, batchSize / 2);
+			LOG.info("heap limit exceeded ({} of {} MB), batch size reduced to {}",
+					used >> 20, heapLimit >> 20, batchSize);
+		} else if (!limitWarned) {
+			limitWarned = true;
+			LOG.warn("heap limit exceeded ({} of {} MB) with minimal batch size", used >> 20, heapLimit >> 20);
+		}
+	}
+
+	private void updateMaxUsed(long used) {
+		if (used > maxUsedHeap) {
+			maxUsedHeap = used;
+		}
+	}
+
+	private static long getUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
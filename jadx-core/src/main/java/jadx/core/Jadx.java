@@ -57,7 +57,7 @@ public class Jadx {
 		} else {
 			passes.add(new BlockMakerVisitor());
 			passes.add(new SSATransform());
-			passes.add(new DebugInfoVisitor());
+			passes.add(new DebugInfoVisitor(args.isSkipDebugInfo()));
 			passes.add(new TypeInference());
 			if (args.isRawCFGOutput()) {
 				passes.add(DotGraphVisitor.dumpRaw(outDir));
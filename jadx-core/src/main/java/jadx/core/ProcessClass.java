@@ -1,10 +1,16 @@
 package jadx.core;
 
 import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.IMethodLocalVisitor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,11 +21,44 @@ public final class ProcessClass {
 	private ProcessClass() {
 	}
 
+	/**
+	 * Run all passes for class.
+	 * Processing stopped between passes if current thread interrupted (used for job cancel),
+	 * in this case class code not generated.
+	 */
 	public static void process(ClassNode cls, List<IDexTreeVisitor> passes) {
+		process(cls, passes, null);
+	}
+
+	/**
+	 * Run all passes for class, sequences of method local passes ({@link IMethodLocalVisitor})
+	 * executed for every method of class (including inner classes) in parallel using provided executor.
+	 * Other passes executed sequentially in current thread.
+	 *
+	 * @param methodsExecutor executor for methods processing, if null all passes executed in current thread
+	 */
+	public static void process(ClassNode cls, List<IDexTreeVisitor> passes, ExecutorService methodsExecutor) {
 		try {
 			cls.load();
-			for (IDexTreeVisitor visitor : passes) {
-				DepthTraversal.visit(visitor, cls);
+			int count = passes.size();
+			int i = 0;
+			while (i < count) {
+				if (Thread.currentThread().isInterrupted()) {
+					LOG.debug("Class process interrupted: {}", cls);
+					return;
+				}
+				IDexTreeVisitor visitor = passes.get(i);
+				if (methodsExecutor != null && visitor instanceof IMethodLocalVisitor) {
+					int end = i + 1;
+					while (end < count && passes.get(end) instanceof IMethodLocalVisitor) {
+						end++;
+					}
+					processMethods(cls, passes.subList(i, end), methodsExecutor);
+					i = end;
+				} else {
+					DepthTraversal.visit(visitor, cls);
+					i++;
+				}
 			}
 		} catch (Exception e) {
 			LOG.error("Class process exception: {}", cls, e);
@@ -27,4 +66,52 @@ public final class ProcessClass {
 			cls.unload();
 		}
 	}
+
+	private static void processMethods(ClassNode cls, final List<IDexTreeVisitor> passes,
+			ExecutorService executor) throws ExecutionException {
+		List<MethodNode> methods = new ArrayList<MethodNode>();
+		collectMethods(cls, methods);
+		if (methods.size() <= 1) {
+			for (MethodNode mth : methods) {
+				processMethod(mth, passes);
+			}
+			return;
+		}
+		List<Future<?>> futures = new ArrayList<Future<?>>(methods.size());
+		for (final MethodNode mth : methods) {
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					processMethod(mth, passes);
+				}
+			}));
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+			// restore flag to stop class processing
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void processMethod(MethodNode mth, List<IDexTreeVisitor> passes) {
+		for (IDexTreeVisitor visitor : passes) {
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			DepthTraversal.visit(visitor, mth);
+		}
+	}
+
+	private static void collectMethods(ClassNode cls, List<MethodNode> methods) {
+		for (ClassNode inCls : cls.getInnerClasses()) {
+			collectMethods(inCls, methods);
+		}
+		methods.addAll(cls.getMethods());
+	}
 }
@@ -22,13 +22,26 @@ import org.slf4j.LoggerFactory;
 public class ClspGraph {
 	private static final Logger LOG = LoggerFactory.getLogger(ClspGraph.class);
 
-	private final Map<String, Set<String>> ancestorCache = new WeakHashMap<String, Set<String>>();
+	private final Map<String, Set<String>> ancestorCache =
+			Collections.synchronizedMap(new WeakHashMap<String, Set<String>>());
 	private Map<String, NClass> nameMap;
 
+	/**
+	 * Core classes set loaded once and shared by all graphs (not changed after load)
+	 */
+	private static ClsSet coreClsSet;
+
+	private static synchronized ClsSet getCoreClsSet() throws IOException, DecodeException {
+		if (coreClsSet == null) {
+			ClsSet set = new ClsSet();
+			set.load();
+			coreClsSet = set;
+		}
+		return coreClsSet;
+	}
+
 	public void load() throws IOException, DecodeException {
-		ClsSet set = new ClsSet();
-		set.load();
-		addClasspath(set);
+		addClasspath(getCoreClsSet());
 	}
 
 	public void addClasspath(ClsSet set) {
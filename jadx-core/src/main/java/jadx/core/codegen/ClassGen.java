@@ -191,7 +191,7 @@ public class ClassGen {
 			if (type.isGenericType()) {
 				code.add(type.getObject());
 			} else {
-				useClass(code, ClassInfo.fromType(type));
+				useClass(code, ClassInfo.fromType(cls.dex().root(), type));
 			}
 			if (list != null && !list.isEmpty()) {
 				code.add(" extends ");
@@ -200,7 +200,7 @@ public class ClassGen {
 					if (g.isGenericType()) {
 						code.add(g.getObject());
 					} else {
-						useClass(code, ClassInfo.fromType(g));
+						useClass(code, ClassInfo.fromType(cls.dex().root(), g));
 					}
 					if (it.hasNext()) {
 						code.add(" & ");
@@ -406,7 +406,7 @@ public class ClassGen {
 			if (type.isGenericType()) {
 				code.add(type.getObject());
 			} else {
-				useClass(code, ClassInfo.fromType(type));
+				useClass(code, ClassInfo.fromType(cls.dex().root(), type));
 			}
 		} else if (stype == PrimitiveType.ARRAY) {
 			useType(code, type.getArrayElement());
@@ -0,0 +1,489 @@
+package jadx.core.codegen;
+
+import jadx.api.CodePosition;
+import jadx.api.IJadxArgs;
+import jadx.core.Jadx;
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.LineAttrNode;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.DexNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.DecodeException;
+import jadx.core.utils.files.FileUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Store decompilation results of top level classes in files for reuse by next runs.
+ * <p/>
+ * Saved: class code, source lines mapping, code annotations, definition lines and flags
+ * of class, inner classes, fields and methods. Annotations stored as references to nodes by names
+ * and resolved on load, so restored code can be used in the same way as just generated code.
+ * <p/>
+ * Every file contains key calculated from all loaded dex files, jadx version and options
+ * which affect generated code. Files with other key ignored, so cache can't be used for changed input.
+ * Classes with errors not saved, these classes will be processed again to report errors.
+ */
+public class CodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(CodeCache.class);
+
+	private static final int MAGIC = 0x4A434331; // "JCC1"
+	private static final int FORMAT_VERSION = 1;
+	private static final String FILE_EXT = ".jcache";
+	private static final String CHARSET_NAME = "UTF-8";
+
+	private static final byte REF_CLASS = 0;
+	private static final byte REF_METHOD = 1;
+	private static final byte REF_FIELD = 2;
+
+	private final RootNode root;
+	private final File dir;
+	private final byte[] key;
+
+	private final AtomicInteger loadedCount = new AtomicInteger();
+	private final AtomicInteger savedCount = new AtomicInteger();
+
+	public CodeCache(RootNode root, File dir) throws DecodeException {
+		this.root = root;
+		this.dir = dir;
+		this.key = calcKey(root);
+	}
+
+	private static byte[] calcKey(RootNode root) throws DecodeException {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-1");
+			IJadxArgs args = root.getArgs();
+			String options = Jadx.getVersion()
+					+ ':' + args.isFallbackMode()
+					+ ':' + args.isShowInconsistentCode()
+					+ ':' + args.getMethodTimeLimit()
+					+ ':' + args.getMethodIterationsLimit()
+					+ ':' + args.isSkipDebugInfo();
+			md.update(options.getBytes(CHARSET_NAME));
+			for (DexNode dexNode : root.getDexNodes()) {
+				md.update(dexNode.computeSignature());
+			}
+			return md.digest();
+		} catch (NoSuchAlgorithmException e) {
+			throw new DecodeException("Digest algorithm not found", e);
+		} catch (IOException e) {
+			throw new DecodeException("Input signature calculation error", e);
+		}
+	}
+
+	/**
+	 * Restore code for class from cache
+	 *
+	 * @return true if code restored, false if class not found in cache or cache file invalid
+	 */
+	public boolean load(ClassNode cls) {
+		File file = getFile(cls);
+		if (!file.exists()) {
+			return false;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(
+					new InflaterInputStream(new FileInputStream(file))));
+			try {
+				if (!read(in, cls)) {
+					LOG.debug("Code cache file outdated: {}", file);
+					return false;
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			LOG.warn("Code cache file read error: {}", file, e);
+			return false;
+		}
+		loadedCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Save generated code of class, classes without code or with errors skipped
+	 */
+	public void save(ClassNode cls) {
+		CodeWriter code = cls.getCode();
+		if (code == null || hasErrors(cls)) {
+			return;
+		}
+		File file = getFile(cls);
+		File tmpFile = new File(file.getPath() + ".tmp" + Thread.currentThread().getId());
+		try {
+			byte[] data = write(cls, code);
+			if (data == null) {
+				return;
+			}
+			FileUtils.makeDirsForFile(file);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+					new DeflaterOutputStream(new FileOutputStream(tmpFile))));
+			try {
+				out.write(data);
+			} finally {
+				out.close();
+			}
+			// replace file at once, so other processes can't read partially written file
+			if (file.exists() && !file.delete() || !tmpFile.renameTo(file)) {
+				throw new IOException("Can't rename file " + tmpFile + " to " + file);
+			}
+			savedCount.incrementAndGet();
+		} catch (IOException e) {
+			LOG.warn("Code cache file write error: {}", file, e);
+			if (tmpFile.exists() && !tmpFile.delete()) {
+				LOG.debug("Can't delete file: {}", tmpFile);
+			}
+		}
+	}
+
+	public int getLoadedCount() {
+		return loadedCount.get();
+	}
+
+	public int getSavedCount() {
+		return savedCount.get();
+	}
+
+	private File getFile(ClassNode cls) {
+		return new File(dir, cls.getClassInfo().getFullPath() + FILE_EXT);
+	}
+
+	private static boolean hasErrors(ClassNode cls) {
+		if (cls.contains(AType.JADX_ERROR)) {
+			return true;
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			if (mth.contains(AType.JADX_ERROR) || mth.contains(AFlag.INCONSISTENT_CODE)) {
+				return true;
+			}
+		}
+		for (ClassNode inner : cls.getInnerClasses()) {
+			if (hasErrors(inner)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * File layout: header, strings table, code, lines mapping, annotations, nodes states.
+	 * Nodes references use indexes in strings table.
+	 *
+	 * @return serialized data or null if code contains unknown annotations
+	 */
+	private byte[] write(ClassNode cls, CodeWriter code) throws IOException {
+		StringsTable strings = new StringsTable();
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+		DataOutputStream body = new DataOutputStream(bodyBytes);
+
+		byte[] codeBytes = code.toString().getBytes(CHARSET_NAME);
+		body.writeInt(codeBytes.length);
+		body.write(codeBytes);
+		body.writeInt(code.getLine());
+
+		Map<Integer, Integer> lineMap = code.getLineMapping();
+		body.writeInt(lineMap.size());
+		for (Map.Entry<Integer, Integer> entry : lineMap.entrySet()) {
+			body.writeInt(entry.getKey());
+			body.writeInt(entry.getValue());
+		}
+
+		Map<CodePosition, Object> annotations = code.getAnnotations();
+		body.writeInt(annotations.size());
+		for (Map.Entry<CodePosition, Object> entry : annotations.entrySet()) {
+			CodePosition pos = entry.getKey();
+			body.writeInt(pos.getLine());
+			body.writeInt(pos.getOffset());
+			Object value = entry.getValue();
+			if (!(value instanceof LineAttrNode) || !writeRef(body, strings, (LineAttrNode) value)) {
+				LOG.debug("Unknown annotation in code of {}: {}", cls, value);
+				return null;
+			}
+		}
+
+		List<LineAttrNode> nodes = new ArrayList<LineAttrNode>();
+		collectNodes(cls, nodes);
+		body.writeInt(nodes.size());
+		for (LineAttrNode node : nodes) {
+			writeRef(body, strings, node);
+			body.writeInt(node.getDecompiledLine());
+			List<AFlag> flags = getFlags(node);
+			body.writeByte(flags.size());
+			for (AFlag flag : flags) {
+				body.writeInt(strings.get(flag.name()));
+			}
+		}
+		body.close();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(bodyBytes.size() + 1024);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+		out.write(key);
+		out.writeUTF(cls.getFullName());
+		strings.write(out);
+		bodyBytes.writeTo(out);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	private boolean read(DataInputStream in, ClassNode cls) throws IOException {
+		if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+			return false;
+		}
+		byte[] fileKey = new byte[key.length];
+		in.readFully(fileKey);
+		if (!Arrays.equals(key, fileKey) || !in.readUTF().equals(cls.getFullName())) {
+			return false;
+		}
+		String[] strings = StringsTable.read(in);
+
+		int codeLength = in.readInt();
+		if (codeLength < 0) {
+			throw new IOException("Wrong code length: " + codeLength);
+		}
+		byte[] codeBytes = new byte[codeLength];
+		in.readFully(codeBytes);
+		String codeStr = new String(codeBytes, CHARSET_NAME);
+		int line = in.readInt();
+
+		int lineMapSize = in.readInt();
+		Map<Integer, Integer> lineMap = new TreeMap<Integer, Integer>();
+		for (int i = 0; i < lineMapSize; i++) {
+			lineMap.put(in.readInt(), in.readInt());
+		}
+
+		int annotationsCount = in.readInt();
+		Map<CodePosition, Object> annotations = new HashMap<CodePosition, Object>(annotationsCount * 4 / 3 + 1);
+		for (int i = 0; i < annotationsCount; i++) {
+			CodePosition pos = new CodePosition(in.readInt(), in.readInt());
+			LineAttrNode node = readRef(in, strings);
+			if (node == null) {
+				return false;
+			}
+			annotations.put(pos, node);
+		}
+
+		int nodesCount = in.readInt();
+		Map<LineAttrNode, NodeState> nodes = new IdentityHashMap<LineAttrNode, NodeState>(nodesCount);
+		for (int i = 0; i < nodesCount; i++) {
+			LineAttrNode node = readRef(in, strings);
+			if (node == null) {
+				return false;
+			}
+			NodeState state = new NodeState(in.readInt());
+			int flagsCount = in.readUnsignedByte();
+			for (int j = 0; j < flagsCount; j++) {
+				state.flags.add(getFlag(getString(strings, in.readInt())));
+			}
+			nodes.put(node, state);
+		}
+		if (!nodes.containsKey(cls)) {
+			return false;
+		}
+		try {
+			loadSignatures(cls);
+		} catch (DecodeException e) {
+			LOG.debug("Methods load error in class: {}", cls, e);
+			return false;
+		}
+		// all data read, now apply to nodes
+		applyNodesState(cls, nodes);
+		cls.setCode(new CodeWriter(codeStr, line, annotations, lineMap));
+		return true;
+	}
+
+	/**
+	 * Collect class, inner classes, fields and methods
+	 */
+	private static void collectNodes(ClassNode cls, List<LineAttrNode> list) {
+		list.add(cls);
+		list.addAll(cls.getFields());
+		list.addAll(cls.getMethods());
+		for (ClassNode inner : cls.getInnerClasses()) {
+			collectNodes(inner, list);
+		}
+	}
+
+	/**
+	 * Restore decompiled lines and flags (flags set by passes can be checked while processing other classes).
+	 * Nodes not found in saved state was removed by passes, so these nodes marked as not generated.
+	 */
+	private static void applyNodesState(ClassNode cls, Map<LineAttrNode, NodeState> nodes) {
+		applyNodeState(cls, nodes);
+		for (FieldNode field : cls.getFields()) {
+			applyNodeState(field, nodes);
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			applyNodeState(mth, nodes);
+		}
+		for (ClassNode inner : cls.getInnerClasses()) {
+			applyNodesState(inner, nodes);
+		}
+	}
+
+	/**
+	 * Methods types accessible through API, so init them as for processed class
+	 */
+	private static void loadSignatures(ClassNode cls) throws DecodeException {
+		for (MethodNode mth : cls.getMethods()) {
+			mth.loadSignature();
+		}
+		for (ClassNode inner : cls.getInnerClasses()) {
+			loadSignatures(inner);
+		}
+	}
+
+	private static void applyNodeState(LineAttrNode node, Map<LineAttrNode, NodeState> nodes) {
+		NodeState state = nodes.get(node);
+		if (state == null) {
+			node.add(AFlag.DONT_GENERATE);
+			return;
+		}
+		node.setDecompiledLine(state.decompiledLine);
+		for (AFlag flag : state.flags) {
+			if (flag == AFlag.SKIP_FIRST_ARG && node instanceof MethodNode) {
+				// also remove argument from list as in processed method
+				((MethodNode) node).removeFirstArgument();
+			} else {
+				node.add(flag);
+			}
+		}
+	}
+
+	private static List<AFlag> getFlags(LineAttrNode node) {
+		List<AFlag> flags = new ArrayList<AFlag>();
+		for (AFlag flag : AFlag.values()) {
+			if (node.contains(flag)) {
+				flags.add(flag);
+			}
+		}
+		return flags;
+	}
+
+	private static AFlag getFlag(String name) throws IOException {
+		try {
+			return AFlag.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Unknown flag: " + name, e);
+		}
+	}
+
+	private static boolean writeRef(DataOutputStream out, StringsTable strings, LineAttrNode node)
+			throws IOException {
+		if (node instanceof ClassNode) {
+			out.writeByte(REF_CLASS);
+			out.writeInt(strings.get(((ClassNode) node).getFullName()));
+		} else if (node instanceof MethodNode) {
+			MethodNode mth = (MethodNode) node;
+			out.writeByte(REF_METHOD);
+			out.writeInt(strings.get(mth.getParentClass().getFullName()));
+			out.writeInt(strings.get(mth.getMethodInfo().getShortId()));
+		} else if (node instanceof FieldNode) {
+			FieldNode field = (FieldNode) node;
+			out.writeByte(REF_FIELD);
+			out.writeInt(strings.get(field.getParentClass().getFullName()));
+			out.writeInt(strings.get(field.getName()));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return referenced node or null if node not found
+	 */
+	private LineAttrNode readRef(DataInputStream in, String[] strings) throws IOException {
+		byte type = in.readByte();
+		ClassNode cls = root.searchClassByName(getString(strings, in.readInt()));
+		if (cls == null) {
+			return null;
+		}
+		switch (type) {
+			case REF_CLASS:
+				return cls;
+			case REF_METHOD:
+				return cls.searchMethodByName(getString(strings, in.readInt()));
+			case REF_FIELD:
+				return cls.searchFieldByName(getString(strings, in.readInt()));
+			default:
+				throw new IOException("Unknown reference type: " + type);
+		}
+	}
+
+	private static String getString(String[] strings, int index) throws IOException {
+		if (index < 0 || index >= strings.length) {
+			throw new IOException("Wrong string index: " + index);
+		}
+		return strings[index];
+	}
+
+	private static final class NodeState {
+		private final int decompiledLine;
+		private final List<AFlag> flags = new ArrayList<AFlag>();
+
+		NodeState(int decompiledLine) {
+			this.decompiledLine = decompiledLine;
+		}
+	}
+
+	private static final class StringsTable {
+		private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+		private final List<String> list = new ArrayList<String>();
+
+		int get(String str) {
+			Integer index = indexes.get(str);
+			if (index == null) {
+				index = list.size();
+				indexes.put(str, index);
+				list.add(str);
+			}
+			return index;
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeInt(list.size());
+			for (String str : list) {
+				out.writeUTF(str);
+			}
+		}
+
+		static String[] read(DataInputStream in) throws IOException {
+			int count = in.readInt();
+			if (count < 0) {
+				throw new IOException("Wrong strings count: " + count);
+			}
+			String[] strings = new String[count];
+			for (int i = 0; i < count; i++) {
+				strings[i] = in.readUTF();
+			}
+			return strings;
+		}
+	}
+}
@@ -50,6 +50,18 @@ public class CodeWriter {
 		}
 	}
 
+	/**
+	 * Restore finished code (see {@link CodeCache})
+	 */
+	CodeWriter(String code, int line, Map<CodePosition, Object> annotations, Map<Integer, Integer> lineMap) {
+		this.indent = 0;
+		this.indentStr = "";
+		this.buf.append(code);
+		this.line = line;
+		this.annotations = annotations;
+		this.lineMap = lineMap;
+	}
+
 	public CodeWriter startLine() {
 		addLine();
 		addLineIndent();
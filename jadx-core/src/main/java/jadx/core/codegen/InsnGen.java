@@ -534,7 +534,7 @@ public class InsnGen {
 			LOG.warn("Unknown array element type: {} in mth: {}", elType, mth);
 			elType = insnElementType.isTypeKnown() ? insnElementType : elType.selectFirst();
 		}
-		insn.mergeElementType(elType);
+		insn.mergeElementType(mth.dex(), elType);
 
 		StringBuilder str = new StringBuilder();
 		Object data = insn.getData();
@@ -10,13 +10,12 @@ import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.trycatch.CatchAttr;
-import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.FallbackModeVisitor;
 import jadx.core.utils.ErrorsCounter;
 import jadx.core.utils.InsnUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.CodegenException;
-import jadx.core.utils.exceptions.DecodeException;
+import jadx.core.utils.exceptions.JadxException;
 
 import java.util.Iterator;
 import java.util.List;
@@ -38,7 +37,7 @@ public class MethodGen {
 		this.mth = mth;
 		this.classGen = classGen;
 		this.annotationGen = classGen.getAnnotationGen();
-		this.nameGen = new NameGen(classGen.isFallbackMode());
+		this.nameGen = new NameGen(mth, classGen.isFallbackMode());
 	}
 
 	public ClassGen getClassGen() {
@@ -150,6 +149,13 @@ public class MethodGen {
 	}
 
 	public void addInstructions(CodeWriter code) throws CodegenException {
+		if (mth.contains(AFlag.FALLBACK_MODE)) {
+			code.startLine("/* JADX WARNING: method processing limits reached, code shown in fallback mode */");
+			// reload original instructions
+			mth.unload();
+			addFallbackMethodCode(code);
+			return;
+		}
 		if (mth.contains(AType.JADX_ERROR)
 				|| mth.contains(AFlag.INCONSISTENT_CODE)
 				|| mth.getRegion() == null) {
@@ -182,8 +188,8 @@ public class MethodGen {
 			// load original instructions
 			try {
 				mth.load();
-				DepthTraversal.visit(new FallbackModeVisitor(), mth);
-			} catch (DecodeException e) {
+				new FallbackModeVisitor().visit(mth);
+			} catch (JadxException e) {
 				LOG.error("Error reload instructions in fallback mode:", e);
 				code.startLine("// Can't loadFile method instructions: " + e.getMessage());
 				return;
@@ -13,6 +13,7 @@ import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.instructions.args.SSAVar;
 import jadx.core.dex.instructions.mods.ConstructorInsn;
 import jadx.core.dex.nodes.InsnNode;
+import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.Utils;
 
 import java.util.HashMap;
@@ -24,6 +25,7 @@ public class NameGen {
 
 	private static final Map<String, String> OBJ_ALIAS;
 
+	private final MethodNode mth;
 	private final Set<String> varNames = new HashSet<String>();
 	private final boolean fallback;
 
@@ -44,7 +46,8 @@ public class NameGen {
 		OBJ_ALIAS.put("java.lang.Double", "d");
 	}
 
-	public NameGen(boolean fallback) {
+	public NameGen(MethodNode mth, boolean fallback) {
+		this.mth = mth;
 		this.fallback = fallback;
 	}
 
@@ -120,7 +123,7 @@ public class NameGen {
 		return name != null ? base + "_" + name : base;
 	}
 
-	private static String makeNameForType(ArgType type) {
+	private String makeNameForType(ArgType type) {
 		if (type.isPrimitive()) {
 			return makeNameForPrimitive(type);
 		} else if (type.isArray()) {
@@ -134,22 +137,25 @@ public class NameGen {
 		return type.getPrimitiveType().getShortName().toLowerCase();
 	}
 
-	private static String makeNameForObject(ArgType type) {
+	private String makeNameForObject(ArgType type) {
 		if (type.isObject()) {
-			String alias = getAliasForObject(type.getObject());
-			if (alias != null) {
-				return alias;
-			}
-			ClassInfo clsInfo = ClassInfo.fromType(type);
-			String shortName = clsInfo.getShortName();
-			String vName = fromName(shortName);
-			if (vName != null) {
-				return vName;
-			}
+			return makeNameForClass(ClassInfo.fromType(mth.dex().root(), type));
 		}
 		return Utils.escape(type.toString());
 	}
 
+	private static String makeNameForClass(ClassInfo clsInfo) {
+		String alias = getAliasForObject(clsInfo.getRawName());
+		if (alias != null) {
+			return alias;
+		}
+		String vName = fromName(clsInfo.getShortName());
+		if (vName != null) {
+			return vName;
+		}
+		return Utils.escape(clsInfo.getType().toString());
+	}
+
 	private static String fromName(String name) {
 		if (name == null || name.isEmpty()) {
 			return null;
@@ -200,7 +206,7 @@ public class NameGen {
 
 			case CONSTRUCTOR:
 				ConstructorInsn co = (ConstructorInsn) insn;
-				return makeNameForObject(co.getClassType().getType());
+				return makeNameForClass(co.getClassType());
 
 			case ARRAY_LENGTH:
 				return "length";
@@ -28,4 +28,5 @@ public enum AFlag {
 	ARITH_ONEARG,
 
 	INCONSISTENT_CODE, // warning about incorrect decompilation
+	FALLBACK_MODE, // method processing limits reached, generate code in fallback mode
 }
@@ -0,0 +1,122 @@
+package jadx.core.dex.attributes.nodes;
+
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.IAttribute;
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.CfgWorkspace;
+import jadx.core.utils.CfgWorkspace.BlocksStack;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reachability index for method blocks graph (only 'clean' successors used).
+ * <p/>
+ * Sets of reachable blocks calculated on first request for every start block and cached,
+ * already calculated sets reused while traversing, so repeated queries don't walk the graph.
+ * Every set takes one bit per block, so total size of cached sets limited
+ * and for big methods only first requested sets cached, others collected on every request.
+ * <p/>
+ * Blocks graph must not change after index creation,
+ * so index available only for locked blocks (after {@link MethodNode#finishBasicBlocks()}).
+ */
+public class BlockReachabilityAttr implements IAttribute {
+
+	/**
+	 * Max bits count in all cached sets (2 MB)
+	 */
+	private static final long MAX_CACHED_BITS = 16L * 1024 * 1024;
+
+	private final List<BlockNode> blocks;
+	private final BitSet[] reachable;
+	private final int maxCached;
+	private int cachedCount;
+
+	private BlockReachabilityAttr(List<BlockNode> blocks) {
+		int count = blocks.size();
+		this.blocks = blocks;
+		this.reachable = new BitSet[count];
+		this.maxCached = (int) Math.min(count, MAX_CACHED_BITS / Math.max(count, 1));
+	}
+
+	/**
+	 * Return index for method, create if not exists
+	 */
+	public static BlockReachabilityAttr get(MethodNode mth) {
+		BlockReachabilityAttr attr = mth.get(AType.BLOCK_REACHABILITY);
+		if (attr == null) {
+			attr = new BlockReachabilityAttr(mth.getBasicBlocks());
+			mth.addAttr(attr);
+		}
+		return attr;
+	}
+
+	/**
+	 * Check if any block from set reachable from 'start' block by one or more edges.
+	 */
+	public boolean isAnyReachable(BlockNode start, BitSet blocksSet) {
+		return getReachable(start).intersects(blocksSet);
+	}
+
+	public boolean isReachable(BlockNode start, BlockNode end) {
+		return getReachable(start).get(end.getId());
+	}
+
+	/**
+	 * Blocks reachable from 'start' by one or more edges,
+	 * 'start' block included only if it is in a cycle.
+	 * Returned set must not be modified.
+	 */
+	public BitSet getReachable(BlockNode start) {
+		int startId = start.getId();
+		BitSet result = reachable[startId];
+		if (result == null) {
+			result = collectReachable(start);
+			if (cachedCount < maxCached) {
+				reachable[startId] = result;
+				cachedCount++;
+			}
+		}
+		return result;
+	}
+
+	private BitSet collectReachable(BlockNode start) {
+		BitSet result = new BitSet(blocks.size());
+		CfgWorkspace ws = CfgWorkspace.get();
+		BlocksStack stack = ws.takeStack();
+		try {
+			stack.push(start);
+			while (!stack.isEmpty()) {
+				BlockNode block = stack.pop();
+				for (BlockNode s : block.getCleanSuccessors()) {
+					int id = s.getId();
+					if (result.get(id)) {
+						continue;
+					}
+					result.set(id);
+					BitSet known = reachable[id];
+					if (known != null) {
+						// all blocks after 's' already collected
+						result.or(known);
+					} else {
+						stack.push(s);
+					}
+				}
+			}
+		} finally {
+			ws.returnStack(stack);
+		}
+		return result;
+	}
+
+	@Override
+	public AType<BlockReachabilityAttr> getType() {
+		return AType.BLOCK_REACHABILITY;
+	}
+
+	@Override
+	public String toString() {
+		return "BLOCK_REACHABILITY: " + cachedCount + "/" + reachable.length;
+	}
+}
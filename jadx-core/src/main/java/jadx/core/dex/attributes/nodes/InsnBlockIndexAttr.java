@@ -0,0 +1,293 @@
+package jadx.core.dex.attributes.nodes;
+
+import jadx.core.Consts;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.IAttribute;
+import jadx.core.dex.instructions.IfNode;
+import jadx.core.dex.instructions.PhiInsn;
+import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.InsnWrapArg;
+import jadx.core.dex.instructions.mods.TernaryInsn;
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.nodes.InsnNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.regions.conditions.IfCondition;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Index for search block of instruction and parent instruction of wrapped instruction.
+ * <p/>
+ * Instructions in blocks are changed by many passes, so index is not required to be exact:
+ * every answer checked against current code and null returned on mismatch.
+ * In this case caller must use linear search and rebuild index only if instruction found,
+ * so queries for removed or missing instructions don't trigger rebuilds.
+ * Instruction remover and wrapping code update index to avoid unneeded rebuilds.
+ */
+public class InsnBlockIndexAttr implements IAttribute {
+
+	/**
+	 * Limit for parents chain length, prevent endless loop on broken index
+	 */
+	private static final int MAX_DEPTH = 1000;
+
+	/**
+	 * Compare every index answer with linear search, enabled in debug mode or by tests
+	 */
+	private static volatile boolean checkEnabled = Consts.DEBUG;
+
+	private final MethodNode mth;
+	/**
+	 * Block for top level and phi instructions
+	 */
+	private final Map<InsnNode, BlockNode> insnBlocks = new IdentityHashMap<InsnNode, BlockNode>();
+	/**
+	 * Direct container for wrapped instructions (and for compare instructions in ternary conditions)
+	 */
+	private final Map<InsnNode, InsnNode> parents = new IdentityHashMap<InsnNode, InsnNode>();
+
+	private int rebuildCount;
+
+	private InsnBlockIndexAttr(MethodNode mth) {
+		this.mth = mth;
+		build();
+	}
+
+	/**
+	 * Return index for method, create if not exists
+	 */
+	public static InsnBlockIndexAttr get(MethodNode mth) {
+		InsnBlockIndexAttr attr = mth.get(AType.INSN_BLOCK_INDEX);
+		if (attr == null) {
+			attr = new InsnBlockIndexAttr(mth);
+			mth.addAttr(attr);
+		}
+		return attr;
+	}
+
+	/**
+	 * Remove instruction from index (if index exists)
+	 */
+	public static void onRemove(MethodNode mth, InsnNode insn) {
+		InsnBlockIndexAttr attr = mth.get(AType.INSN_BLOCK_INDEX);
+		if (attr != null) {
+			attr.insnBlocks.remove(insn);
+			attr.parents.remove(insn);
+		}
+	}
+
+	/**
+	 * Update index after instruction wrapped into argument of 'parent' instruction
+	 */
+	public static void onWrap(MethodNode mth, InsnNode insn, InsnNode parent) {
+		InsnBlockIndexAttr attr = mth.get(AType.INSN_BLOCK_INDEX);
+		if (attr != null && parent != null) {
+			attr.insnBlocks.remove(insn);
+			attr.parents.put(insn, parent);
+		}
+	}
+
+	public static boolean isCheckEnabled() {
+		return checkEnabled;
+	}
+
+	public static void setCheckEnabled(boolean enabled) {
+		checkEnabled = enabled;
+	}
+
+	/**
+	 * Search block which contains instruction as top level instruction (or as phi),
+	 * return null if instruction not found or index outdated
+	 */
+	@Nullable
+	public BlockNode getBlock(InsnNode insn) {
+		return searchBlock(insn);
+	}
+
+	/**
+	 * Search block which contains instruction on top level or in wrapped instructions,
+	 * return null if instruction not found or index outdated
+	 */
+	@Nullable
+	public BlockNode getBlockByWrapped(InsnNode insn) {
+		InsnNode top = getTopInsn(insn);
+		if (top == null) {
+			return null;
+		}
+		return insnBlocks.get(top);
+	}
+
+	/**
+	 * Search argument which wraps provided instruction,
+	 * return null if instruction not found or index outdated
+	 */
+	@Nullable
+	public InsnArg getWrapArg(InsnNode insn) {
+		return searchWrapArg(insn);
+	}
+
+	/**
+	 * Rebuild outdated index, must be called only if linear search found instruction missed by index
+	 */
+	public void rebuild() {
+		insnBlocks.clear();
+		parents.clear();
+		build();
+		rebuildCount++;
+	}
+
+	public int getRebuildCount() {
+		return rebuildCount;
+	}
+
+	private BlockNode searchBlock(InsnNode insn) {
+		BlockNode block = insnBlocks.get(insn);
+		if (block != null && isInBlock(block, insn)) {
+			return block;
+		}
+		return null;
+	}
+
+	private InsnArg searchWrapArg(InsnNode insn) {
+		InsnNode parent = parents.get(insn);
+		if (parent == null || getTopInsn(parent) == null) {
+			return null;
+		}
+		for (InsnArg arg : parent.getArguments()) {
+			if (arg.isInsnWrap() && ((InsnWrapArg) arg).getWrapInsn() == insn) {
+				return arg;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Follow parents chain to top level instruction,
+	 * return null if index is outdated for any instruction in chain
+	 */
+	private InsnNode getTopInsn(InsnNode insn) {
+		InsnNode current = insn;
+		for (int i = 0; i < MAX_DEPTH; i++) {
+			if (searchBlock(current) != null) {
+				return current;
+			}
+			InsnNode parent = parents.get(current);
+			if (parent == null || !isDirectChild(parent, current)) {
+				return null;
+			}
+			current = parent;
+		}
+		return null;
+	}
+
+	private static boolean isInBlock(BlockNode block, InsnNode insn) {
+		if (insn instanceof PhiInsn) {
+			PhiListAttr phiListAttr = block.get(AType.PHI_LIST);
+			if (phiListAttr != null) {
+				for (PhiInsn phiInsn : phiListAttr.getList()) {
+					if (phiInsn == insn) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+		for (InsnNode bi : block.getInstructions()) {
+			if (bi == insn) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isDirectChild(InsnNode parent, InsnNode insn) {
+		for (InsnArg arg : parent.getArguments()) {
+			if (arg.isInsnWrap() && ((InsnWrapArg) arg).getWrapInsn() == insn) {
+				return true;
+			}
+		}
+		if (parent instanceof TernaryInsn && insn instanceof IfNode) {
+			return containsCompare(((TernaryInsn) parent).getCondition(), insn);
+		}
+		return false;
+	}
+
+	private static boolean containsCompare(IfCondition cond, InsnNode insn) {
+		if (cond.isCompare()) {
+			return cond.getCompare().getInsn() == insn;
+		}
+		for (IfCondition nestedCond : cond.getArgs()) {
+			if (containsCompare(nestedCond, insn)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void build() {
+		for (BlockNode block : mth.getBasicBlocks()) {
+			PhiListAttr phiListAttr = block.get(AType.PHI_LIST);
+			if (phiListAttr != null) {
+				for (PhiInsn phiInsn : phiListAttr.getList()) {
+					addBlock(phiInsn, block);
+				}
+			}
+			for (InsnNode insn : block.getInstructions()) {
+				addBlock(insn, block);
+				addWrapped(insn);
+			}
+		}
+	}
+
+	private void addBlock(InsnNode insn, BlockNode block) {
+		// keep first block, same as linear search
+		if (!insnBlocks.containsKey(insn)) {
+			insnBlocks.put(insn, block);
+		}
+	}
+
+	private void addWrapped(InsnNode container) {
+		for (InsnArg arg : container.getArguments()) {
+			if (arg.isInsnWrap()) {
+				InsnNode wrapInsn = ((InsnWrapArg) arg).getWrapInsn();
+				addParent(wrapInsn, container);
+				addWrapped(wrapInsn);
+			}
+		}
+		if (container instanceof TernaryInsn) {
+			addCondition(((TernaryInsn) container).getCondition(), container);
+		}
+	}
+
+	private void addCondition(IfCondition cond, InsnNode ternary) {
+		if (cond.isCompare()) {
+			IfNode cmpInsn = cond.getCompare().getInsn();
+			addParent(cmpInsn, ternary);
+			addWrapped(cmpInsn);
+			return;
+		}
+		for (IfCondition nestedCond : cond.getArgs()) {
+			addCondition(nestedCond, ternary);
+		}
+	}
+
+	private void addParent(InsnNode insn, InsnNode parent) {
+		if (!parents.containsKey(insn)) {
+			parents.put(insn, parent);
+		}
+	}
+
+	@Override
+	public AType<InsnBlockIndexAttr> getType() {
+		return AType.INSN_BLOCK_INDEX;
+	}
+
+	@Override
+	public String toString() {
+		return "INSN_BLOCK_INDEX: insns: " + insnBlocks.size() + ", wrapped: " + parents.size()
+				+ ", rebuilds: " + rebuildCount;
+	}
+}
@@ -4,27 +4,25 @@ import jadx.core.Consts;
 import jadx.core.deobf.NameMapper;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.DexNode;
+import jadx.core.dex.nodes.RootNode;
 
 import java.io.File;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 public final class ClassInfo {
 
-	private static final Map<ArgType, ClassInfo> CLASSINFO_CACHE = new WeakHashMap<ArgType, ClassInfo>();
-
 	private final ArgType type;
+	private int id = -1;
 	private String pkg;
 	private String name;
 	private String fullName;
 	// for inner class not equals null
 	private ClassInfo parentClass;
 
-	private ClassInfo(ArgType type) {
+	private ClassInfo(RootNode root, ArgType type) {
 		assert type.isObject() : "Not class type: " + type;
 		this.type = type;
 
-		splitNames(true);
+		splitNames(root, true);
 	}
 
 	public static ClassInfo fromDex(DexNode dex, int clsIndex) {
@@ -35,27 +33,26 @@ public final class ClassInfo {
 		if (type.isArray()) {
 			type = ArgType.OBJECT;
 		}
-		return fromType(type);
+		return fromType(dex.root(), type);
 	}
 
-	public static ClassInfo fromName(String clsName) {
-		return fromType(ArgType.object(clsName));
+	public static ClassInfo fromName(RootNode root, String clsName) {
+		return fromType(root, ArgType.object(clsName));
 	}
 
-	public static ClassInfo fromType(ArgType type) {
-		ClassInfo cls = CLASSINFO_CACHE.get(type);
+	/**
+	 * Class info objects cached per root node, so same type always have same class info object
+	 */
+	public static ClassInfo fromType(RootNode root, ArgType type) {
+		InfoStorage storage = root.getInfoStorage();
+		ClassInfo cls = storage.getCls(type);
 		if (cls == null) {
-			cls = new ClassInfo(type);
-			CLASSINFO_CACHE.put(type, cls);
+			cls = storage.putCls(new ClassInfo(root, type));
 		}
 		return cls;
 	}
 
-	public static void clearCache() {
-		CLASSINFO_CACHE.clear();
-	}
-
-	private void splitNames(boolean canBeInner) {
+	private void splitNames(RootNode root, boolean canBeInner) {
 		String fullObjectName = type.getObject();
 		assert fullObjectName.indexOf('/') == -1 : "Raw type: " + type;
 
@@ -73,7 +70,7 @@ public final class ClassInfo {
 		int sep = clsName.lastIndexOf('$');
 		if (canBeInner && sep > 0 && sep != clsName.length() - 1) {
 			String parClsName = pkg + "." + clsName.substring(0, sep);
-			parentClass = fromName(parClsName);
+			parentClass = fromName(root, parClsName);
 			clsName = clsName.substring(sep + 1);
 		} else {
 			parentClass = null;
@@ -135,13 +132,24 @@ public final class ClassInfo {
 	}
 
 	public void notInner() {
-		splitNames(false);
+		splitNames(null, false);
 	}
 
 	public ArgType getType() {
 		return type;
 	}
 
+	/**
+	 * Dense id of class info in root node, -1 if class info not stored (see {@link InfoStorage})
+	 */
+	public int getId() {
+		return id;
+	}
+
+	void setId(int id) {
+		this.id = id;
+	}
+
 	@Override
 	public String toString() {
 		return fullName;
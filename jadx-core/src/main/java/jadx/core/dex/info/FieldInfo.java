@@ -10,6 +10,7 @@ public class FieldInfo {
 	private final ClassInfo declClass;
 	private final String name;
 	private final ArgType type;
+	private int id = -1;
 
 	public FieldInfo(ClassInfo declClass, String name, ArgType type) {
 		this.declClass = declClass;
@@ -17,12 +18,20 @@ public class FieldInfo {
 		this.type = type;
 	}
 
+	/**
+	 * Field info objects cached per dex index and shared by all dex files of root node
+	 */
 	public static FieldInfo fromDex(DexNode dex, int index) {
-		FieldId field = dex.getFieldId(index);
-		return new FieldInfo(
-				ClassInfo.fromDex(dex, field.getDeclaringClassIndex()),
-				dex.getString(field.getNameIndex()),
-				dex.getType(field.getTypeIndex()));
+		FieldInfo fieldInfo = dex.getFieldInfo(index);
+		if (fieldInfo == null) {
+			FieldId field = dex.getFieldId(index);
+			fieldInfo = dex.root().getInfoStorage().putField(new FieldInfo(
+					ClassInfo.fromDex(dex, field.getDeclaringClassIndex()),
+					dex.getString(field.getNameIndex()),
+					dex.getType(field.getTypeIndex())));
+			dex.putFieldInfo(index, fieldInfo);
+		}
+		return fieldInfo;
 	}
 
 	public static String getNameById(DexNode dex, int ind) {
@@ -41,6 +50,17 @@ public class FieldInfo {
 		return declClass;
 	}
 
+	/**
+	 * Dense id of field info in root node, -1 for not stored field info (see {@link InfoStorage})
+	 */
+	public int getId() {
+		return id;
+	}
+
+	void setId(int id) {
+		this.id = id;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
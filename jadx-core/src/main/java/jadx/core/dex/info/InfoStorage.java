@@ -0,0 +1,109 @@
+package jadx.core.dex.info;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per root storage for shared info objects.
+ * <p/>
+ * Stored class, method and field infos get dense ids (separate sequence for every kind),
+ * same for all dex files, used as indexes in root symbol tables (see {@link jadx.core.dex.nodes.RootNode}).
+ * Members stored by declaring class type (not class info, its name can be changed).
+ */
+public final class InfoStorage {
+
+	private final Map<ArgType, ClassInfo> classes = new HashMap<ArgType, ClassInfo>();
+	private final Map<ArgType, Map<String, MethodInfo>> methods = new HashMap<ArgType, Map<String, MethodInfo>>();
+	private final Map<ArgType, Map<String, FieldInfo>> fields = new HashMap<ArgType, Map<String, FieldInfo>>();
+	private final Map<ArgType, ArgType> types = new HashMap<ArgType, ArgType>();
+	private int methodsCount;
+	private int fieldsCount;
+
+	public synchronized ClassInfo getCls(ArgType type) {
+		return classes.get(type);
+	}
+
+	/**
+	 * Add class info if not exists
+	 *
+	 * @return stored class info object
+	 */
+	public synchronized ClassInfo putCls(ClassInfo cls) {
+		ClassInfo prev = classes.get(cls.getType());
+		if (prev != null) {
+			return prev;
+		}
+		cls.setId(classes.size());
+		classes.put(cls.getType(), cls);
+		return cls;
+	}
+
+	/**
+	 * Add method info if not exists
+	 *
+	 * @return stored method info object
+	 */
+	public synchronized MethodInfo putMethod(MethodInfo mth) {
+		Map<String, MethodInfo> clsMethods = getMembers(methods, mth.getDeclClass().getType());
+		MethodInfo prev = clsMethods.get(mth.getShortId());
+		if (prev != null) {
+			return prev;
+		}
+		mth.setId(methodsCount++);
+		clsMethods.put(mth.getShortId(), mth);
+		return mth;
+	}
+
+	/**
+	 * Add field info if not exists.
+	 * Field with same name but other type as stored field not added and returned without id.
+	 *
+	 * @return stored field info object
+	 */
+	public synchronized FieldInfo putField(FieldInfo field) {
+		Map<String, FieldInfo> clsFields = getMembers(fields, field.getDeclClass().getType());
+		FieldInfo prev = clsFields.get(field.getName());
+		if (prev == null) {
+			field.setId(fieldsCount++);
+			clsFields.put(field.getName(), field);
+			return field;
+		}
+		return prev.getType().equals(field.getType()) ? prev : field;
+	}
+
+	private static <T> Map<String, T> getMembers(Map<ArgType, Map<String, T>> map, ArgType clsType) {
+		Map<String, T> members = map.get(clsType);
+		if (members == null) {
+			members = new HashMap<String, T>();
+			map.put(clsType, members);
+		}
+		return members;
+	}
+
+	public synchronized int getClassesCount() {
+		return classes.size();
+	}
+
+	public synchronized int getMethodsCount() {
+		return methodsCount;
+	}
+
+	public synchronized int getFieldsCount() {
+		return fieldsCount;
+	}
+
+	/**
+	 * Return stored type equal to provided or store it,
+	 * used to share generic types parsed from signatures
+	 */
+	public synchronized ArgType internType(ArgType type) {
+		ArgType prev = types.get(type);
+		if (prev != null) {
+			return prev;
+		}
+		types.put(type, type);
+		return type;
+	}
+}
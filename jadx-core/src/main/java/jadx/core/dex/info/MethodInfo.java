@@ -17,6 +17,7 @@ public final class MethodInfo {
 	private final List<ArgType> args;
 	private final ClassInfo declClass;
 	private final String shortId;
+	private int id = -1;
 
 	private MethodInfo(DexNode dex, int mthIndex) {
 		MethodId mthId = dex.getMethodId(mthIndex);
@@ -39,8 +40,16 @@ public final class MethodInfo {
 		shortId = signature.toString();
 	}
 
+	/**
+	 * Method info objects cached per dex index and shared by all dex files of root node
+	 */
 	public static MethodInfo fromDex(DexNode dex, int mthIndex) {
-		return new MethodInfo(dex, mthIndex);
+		MethodInfo mth = dex.getMethodInfo(mthIndex);
+		if (mth == null) {
+			mth = dex.root().getInfoStorage().putMethod(new MethodInfo(dex, mthIndex));
+			dex.putMethodInfo(mthIndex, mth);
+		}
+		return mth;
 	}
 
 	public String getName() {
@@ -66,6 +75,17 @@ public final class MethodInfo {
 		return declClass;
 	}
 
+	/**
+	 * Dense id of method info in root node (see {@link InfoStorage})
+	 */
+	public int getId() {
+		return id;
+	}
+
+	void setId(int id) {
+		this.id = id;
+	}
+
 	public ArgType getReturnType() {
 		return retType;
 	}
@@ -0,0 +1,145 @@
+package jadx.core.dex.instructions;
+
+import java.util.Arrays;
+
+/**
+ * Decoded method instructions stored in parallel primitive arrays (one slot per instruction),
+ * without empty slots for code units inside multi-unit instructions.
+ * Registers of all instructions stored in one array, register ranges are expanded.
+ * <p/>
+ * Immutable, so can be reused by next loads of same method (see {@link DecodedInsnsCache}).
+ */
+final class DecodedInsns {
+
+	private final int codeSize;
+	private final int[] offsets;
+	private final short[] opcodes;
+	private final int[] regsStart;
+	private final int[] regs;
+	private final int[] indexes;
+	private final int[] targets;
+	private final long[] literals;
+	private final Object[] payloads;
+
+	/**
+	 * @param regsStart start of instruction registers in 'regs' array,
+	 *                  contains one more element for end of last instruction registers
+	 * @param payloads  payload data objects, null if method don't have payload instructions
+	 */
+	DecodedInsns(int codeSize, int[] offsets, short[] opcodes, int[] regsStart, int[] regs,
+			int[] indexes, int[] targets, long[] literals, Object[] payloads) {
+		this.codeSize = codeSize;
+		this.offsets = offsets;
+		this.opcodes = opcodes;
+		this.regsStart = regsStart;
+		this.regs = regs;
+		this.indexes = indexes;
+		this.targets = targets;
+		this.literals = literals;
+		this.payloads = payloads;
+	}
+
+	/**
+	 * Method code size in code units (16-bit)
+	 */
+	int getCodeSize() {
+		return codeSize;
+	}
+
+	int size() {
+		return offsets.length;
+	}
+
+	int getOffset(int i) {
+		return offsets[i];
+	}
+
+	int getOpcode(int i) {
+		return opcodes[i];
+	}
+
+	int getRegsCount(int i) {
+		return regsStart[i + 1] - regsStart[i];
+	}
+
+	int getReg(int i, int argNum) {
+		return regs[regsStart[i] + argNum];
+	}
+
+	/**
+	 * @return string, type, field or method index, 0 if instruction don't have index
+	 */
+	int getIndex(int i) {
+		return indexes[i];
+	}
+
+	/**
+	 * @return absolute offset of jump target or payload, 0 if instruction don't have target
+	 */
+	int getTarget(int i) {
+		return targets[i];
+	}
+
+	long getLiteral(int i) {
+		return literals[i];
+	}
+
+	/**
+	 * @return {@link SwitchPayload} or {@link FillArrayPayload} for payload instruction, null otherwise
+	 */
+	Object getPayload(int i) {
+		return payloads == null ? null : payloads[i];
+	}
+
+	/**
+	 * @return instruction index or -1 if no instruction starts at this offset
+	 */
+	int indexOf(int offset) {
+		int index = Arrays.binarySearch(offsets, offset);
+		return index < 0 ? -1 : index;
+	}
+
+	/**
+	 * Data from packed or sparse switch payload,
+	 * targets relative to switch instruction offset
+	 */
+	static final class SwitchPayload {
+		private final int[] keys;
+		private final int[] targets;
+
+		SwitchPayload(int[] keys, int[] targets) {
+			this.keys = keys;
+			this.targets = targets;
+		}
+
+		int[] getKeys() {
+			return keys;
+		}
+
+		int[] getTargets() {
+			return targets;
+		}
+	}
+
+	/**
+	 * Data from fill array payload: byte[], short[], int[] or long[] array
+	 * for 1, 2, 4 and 8 bytes element width
+	 */
+	static final class FillArrayPayload {
+		private final int elementWidth;
+		private final Object data;
+
+		FillArrayPayload(int elementWidth, Object data) {
+			this.elementWidth = elementWidth;
+			this.data = data;
+		}
+
+		int getElementWidth() {
+			return elementWidth;
+		}
+
+		Object getData() {
+			return data;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package jadx.core.dex.instructions;
+
+import jadx.core.dex.nodes.MethodNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of decoded method instructions, so method loaded again
+ * (after class unload or for fallback mode) skip dex code decoding.
+ * <p/>
+ * Decoded instructions are immutable (see {@link DecodedInsns}),
+ * cache size counted in code units (16-bit) of cached methods.
+ */
+public final class DecodedInsnsCache {
+
+	private final int maxSize;
+	private final Map<MethodNode, DecodedInsns> entries = new LinkedHashMap<MethodNode, DecodedInsns>(16, 0.75f, true);
+	private int size;
+	private int hitsCount;
+	private int missesCount;
+
+	/**
+	 * @param maxSize max total code units of cached methods, 0 - cache disabled
+	 */
+	public DecodedInsnsCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * @return cached instructions or null
+	 */
+	synchronized DecodedInsns get(MethodNode mth) {
+		DecodedInsns insns = entries.get(mth);
+		if (insns == null) {
+			missesCount++;
+		} else {
+			hitsCount++;
+		}
+		return insns;
+	}
+
+	synchronized void put(MethodNode mth, DecodedInsns insns) {
+		int codeSize = insns.getCodeSize();
+		if (codeSize > maxSize) {
+			return;
+		}
+		DecodedInsns prev = entries.put(mth, insns);
+		if (prev != null) {
+			size -= prev.getCodeSize();
+		}
+		size += codeSize;
+		Iterator<DecodedInsns> it = entries.values().iterator();
+		while (size > maxSize && it.hasNext()) {
+			size -= it.next().getCodeSize();
+			it.remove();
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		size = 0;
+	}
+
+	/**
+	 * Total code units of cached methods
+	 */
+	public synchronized int getSize() {
+		return size;
+	}
+
+	public synchronized int getHitsCount() {
+		return hitsCount;
+	}
+
+	public synchronized int getMissesCount() {
+		return missesCount;
+	}
+
+	@Override
+	public String toString() {
+		return "DecodedInsnsCache: size: " + getSize() + ", hits: " + getHitsCount() + ", misses: " + getMissesCount();
+	}
+}
@@ -0,0 +1,374 @@
+package jadx.core.dex.instructions;
+
+import jadx.core.dex.instructions.DecodedInsns.FillArrayPayload;
+import jadx.core.dex.instructions.DecodedInsns.SwitchPayload;
+import jadx.core.utils.exceptions.DecodeException;
+
+import java.util.Arrays;
+
+import com.android.dx.io.OpcodeInfo;
+import com.android.dx.io.Opcodes;
+import com.android.dx.io.instructions.InstructionCodec;
+
+/**
+ * Parse dex method code units directly into {@link DecodedInsns} primitive arrays,
+ * objects created only for payloads data.
+ * <p/>
+ * Instruction format for opcode taken from dx opcodes table,
+ * decoded values are same as in dx {@code DecodedInstruction}.
+ */
+final class DexCodeParser {
+
+	private final short[] code;
+	private int pos;
+
+	private int count;
+	private int[] offsets;
+	private short[] opcodes;
+	private int[] regsStart;
+	private int[] indexes;
+	private int[] targets;
+	private long[] literals;
+	private Object[] payloads;
+
+	private int regsCount;
+	private int[] regs;
+
+	DexCodeParser(short[] code) {
+		this.code = code;
+		// most instructions use 2 or more code units
+		int capacity = code.length / 2 + 1;
+		this.offsets = new int[capacity];
+		this.opcodes = new short[capacity];
+		this.regsStart = new int[capacity + 1];
+		this.indexes = new int[capacity];
+		this.targets = new int[capacity];
+		this.literals = new long[capacity];
+		this.regs = new int[capacity * 2];
+	}
+
+	DecodedInsns parse() throws DecodeException {
+		while (pos < code.length) {
+			if (count == offsets.length) {
+				grow();
+			}
+			regsStart[count] = regsCount;
+			parseInsn();
+			count++;
+		}
+		regsStart[count] = regsCount;
+		if (count != offsets.length) {
+			offsets = Arrays.copyOf(offsets, count);
+			opcodes = Arrays.copyOf(opcodes, count);
+			regsStart = Arrays.copyOf(regsStart, count + 1);
+			indexes = Arrays.copyOf(indexes, count);
+			targets = Arrays.copyOf(targets, count);
+			literals = Arrays.copyOf(literals, count);
+			if (payloads != null) {
+				payloads = Arrays.copyOf(payloads, count);
+			}
+		}
+		if (regsCount != regs.length) {
+			regs = Arrays.copyOf(regs, regsCount);
+		}
+		return new DecodedInsns(code.length, offsets, opcodes, regsStart, regs,
+				indexes, targets, literals, payloads);
+	}
+
+	private void grow() {
+		int capacity = Math.min(offsets.length * 2, code.length);
+		offsets = Arrays.copyOf(offsets, capacity);
+		opcodes = Arrays.copyOf(opcodes, capacity);
+		regsStart = Arrays.copyOf(regsStart, capacity + 1);
+		indexes = Arrays.copyOf(indexes, capacity);
+		targets = Arrays.copyOf(targets, capacity);
+		literals = Arrays.copyOf(literals, capacity);
+		if (payloads != null) {
+			payloads = Arrays.copyOf(payloads, capacity);
+		}
+	}
+
+	private void parseInsn() throws DecodeException {
+		int offset = pos;
+		int unit = read();
+		int opcode = Opcodes.extractOpcodeFromUnit(unit);
+		InstructionCodec format = OpcodeInfo.getFormat(opcode);
+		offsets[count] = offset;
+		opcodes[count] = (short) opcode;
+		switch (format) {
+			case FORMAT_10X:
+				break;
+
+			case FORMAT_12X:
+				addReg(nibble2(unit));
+				addReg(nibble3(unit));
+				break;
+
+			case FORMAT_11N:
+				addReg(nibble2(unit));
+				literals[count] = (unit << 16) >> 28;
+				break;
+
+			case FORMAT_11X:
+				addReg(byte1(unit));
+				break;
+
+			case FORMAT_10T:
+				targets[count] = offset + (byte) byte1(unit);
+				break;
+
+			case FORMAT_20T:
+				targets[count] = offset + (short) read();
+				break;
+
+			case FORMAT_22X:
+				addReg(byte1(unit));
+				addReg(read());
+				break;
+
+			case FORMAT_21T:
+				addReg(byte1(unit));
+				targets[count] = offset + (short) read();
+				break;
+
+			case FORMAT_21S:
+				addReg(byte1(unit));
+				literals[count] = (short) read();
+				break;
+
+			case FORMAT_21H: {
+				addReg(byte1(unit));
+				long literal = (short) read();
+				literals[count] = literal << (opcode == Opcodes.CONST_HIGH16 ? 16 : 48);
+				break;
+			}
+
+			case FORMAT_21C:
+				addReg(byte1(unit));
+				indexes[count] = read();
+				break;
+
+			case FORMAT_23X: {
+				addReg(byte1(unit));
+				int bc = read();
+				addReg(byte0(bc));
+				addReg(byte1(bc));
+				break;
+			}
+
+			case FORMAT_22B: {
+				addReg(byte1(unit));
+				int bc = read();
+				addReg(byte0(bc));
+				literals[count] = (byte) byte1(bc);
+				break;
+			}
+
+			case FORMAT_22T:
+				addReg(nibble2(unit));
+				addReg(nibble3(unit));
+				targets[count] = offset + (short) read();
+				break;
+
+			case FORMAT_22S:
+				addReg(nibble2(unit));
+				addReg(nibble3(unit));
+				literals[count] = (short) read();
+				break;
+
+			case FORMAT_22C:
+				addReg(nibble2(unit));
+				addReg(nibble3(unit));
+				indexes[count] = read();
+				break;
+
+			case FORMAT_30T:
+				targets[count] = offset + readInt();
+				break;
+
+			case FORMAT_32X:
+				addReg(read());
+				addReg(read());
+				break;
+
+			case FORMAT_31I:
+				addReg(byte1(unit));
+				literals[count] = readInt();
+				break;
+
+			case FORMAT_31T:
+				addReg(byte1(unit));
+				targets[count] = offset + readInt();
+				break;
+
+			case FORMAT_31C:
+				addReg(byte1(unit));
+				indexes[count] = readInt();
+				break;
+
+			case FORMAT_35C:
+				parseRegisterList(unit);
+				break;
+
+			case FORMAT_3RC: {
+				int regCount = byte1(unit);
+				indexes[count] = read();
+				int firstReg = read();
+				for (int i = 0; i < regCount; i++) {
+					addReg(firstReg + i);
+				}
+				break;
+			}
+
+			case FORMAT_51L:
+				addReg(byte1(unit));
+				literals[count] = readLong();
+				break;
+
+			case FORMAT_PACKED_SWITCH_PAYLOAD:
+				parsePackedSwitchPayload();
+				break;
+
+			case FORMAT_SPARSE_SWITCH_PAYLOAD:
+				parseSparseSwitchPayload();
+				break;
+
+			case FORMAT_FILL_ARRAY_DATA_PAYLOAD:
+				parseFillArrayPayload();
+				break;
+
+			default:
+				throw new DecodeException("Unsupported instruction format " + format
+						+ " for opcode " + OpcodeInfo.getName(opcode));
+		}
+	}
+
+	private void parseRegisterList(int unit) throws DecodeException {
+		int regCount = nibble3(unit);
+		if (regCount > 5) {
+			throw new DecodeException("Wrong registers count " + regCount + " at offset " + offsets[count]);
+		}
+		indexes[count] = read();
+		int abcd = read();
+		for (int i = 0; i < regCount; i++) {
+			addReg(i == 4 ? nibble2(unit) : (abcd >> (i * 4)) & 0xF);
+		}
+	}
+
+	private void parsePackedSwitchPayload() {
+		int size = read();
+		int firstKey = readInt();
+		int[] keys = new int[size];
+		int[] switchTargets = new int[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = firstKey + i;
+			switchTargets[i] = readInt();
+		}
+		setPayload(new SwitchPayload(keys, switchTargets));
+	}
+
+	private void parseSparseSwitchPayload() {
+		int size = read();
+		int[] keys = new int[size];
+		int[] switchTargets = new int[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = readInt();
+		}
+		for (int i = 0; i < size; i++) {
+			switchTargets[i] = readInt();
+		}
+		setPayload(new SwitchPayload(keys, switchTargets));
+	}
+
+	private void parseFillArrayPayload() throws DecodeException {
+		int elementWidth = read();
+		int size = readInt();
+		Object data;
+		switch (elementWidth) {
+			case 1: {
+				byte[] array = new byte[size];
+				int value = 0;
+				for (int i = 0; i < size; i++) {
+					if ((i & 1) == 0) {
+						value = read();
+					}
+					array[i] = (byte) value;
+					value >>= 8;
+				}
+				data = array;
+				break;
+			}
+			case 2: {
+				short[] array = new short[size];
+				for (int i = 0; i < size; i++) {
+					array[i] = (short) read();
+				}
+				data = array;
+				break;
+			}
+			case 4: {
+				int[] array = new int[size];
+				for (int i = 0; i < size; i++) {
+					array[i] = readInt();
+				}
+				data = array;
+				break;
+			}
+			case 8: {
+				long[] array = new long[size];
+				for (int i = 0; i < size; i++) {
+					array[i] = readLong();
+				}
+				data = array;
+				break;
+			}
+			default:
+				throw new DecodeException("Unknown array element width: " + elementWidth);
+		}
+		setPayload(new FillArrayPayload(elementWidth, data));
+	}
+
+	private void setPayload(Object payload) {
+		if (payloads == null) {
+			payloads = new Object[offsets.length];
+		}
+		payloads[count] = payload;
+	}
+
+	private void addReg(int reg) {
+		if (regsCount == regs.length) {
+			regs = Arrays.copyOf(regs, regs.length * 2 + 8);
+		}
+		regs[regsCount++] = reg;
+	}
+
+	private int read() {
+		return code[pos++] & 0xFFFF;
+	}
+
+	private int readInt() {
+		int low = read();
+		return low | (read() << 16);
+	}
+
+	private long readLong() {
+		long low = readInt() & 0xFFFFFFFFL;
+		return low | ((long) readInt() << 32);
+	}
+
+	private static int byte0(int unit) {
+		return unit & 0xFF;
+	}
+
+	private static int byte1(int unit) {
+		return (unit >> 8) & 0xFF;
+	}
+
+	private static int nibble2(int unit) {
+		return (unit >> 8) & 0xF;
+	}
+
+	private static int nibble3(int unit) {
+		return (unit >> 12) & 0xF;
+	}
+}
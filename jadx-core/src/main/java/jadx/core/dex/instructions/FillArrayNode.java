@@ -3,20 +3,22 @@ package jadx.core.dex.instructions;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.InsnArg;
 import jadx.core.dex.instructions.args.PrimitiveType;
+import jadx.core.dex.nodes.DexNode;
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
-import com.android.dx.io.instructions.FillArrayDataPayloadDecodedInstruction;
-
 public final class FillArrayNode extends InsnNode {
 
 	private final Object data;
 	private ArgType elemType;
 
-	public FillArrayNode(int resReg, FillArrayDataPayloadDecodedInstruction payload) {
+	/**
+	 * @param data byte[], short[], int[] or long[] array depending on element width
+	 */
+	public FillArrayNode(int resReg, int elementWidth, Object data) {
 		super(InsnType.FILL_ARRAY, 0);
 		ArgType elType;
-		switch (payload.getElementWidthUnit()) {
+		switch (elementWidth) {
 			case 1:
 				elType = ArgType.unknown(PrimitiveType.BOOLEAN, PrimitiveType.BYTE);
 				break;
@@ -31,11 +33,11 @@ public final class FillArrayNode extends InsnNode {
 				break;
 
 			default:
-				throw new JadxRuntimeException("Unknown array element width: " + payload.getElementWidthUnit());
+				throw new JadxRuntimeException("Unknown array element width: " + elementWidth);
 		}
 		setResult(InsnArg.reg(resReg, ArgType.array(elType)));
 
-		this.data = payload.getData();
+		this.data = data;
 		this.elemType = elType;
 	}
 
@@ -47,8 +49,8 @@ public final class FillArrayNode extends InsnNode {
 		return elemType;
 	}
 
-	public void mergeElementType(ArgType foundElemType) {
-		ArgType r = ArgType.merge(elemType, foundElemType);
+	public void mergeElementType(DexNode dex, ArgType foundElemType) {
+		ArgType r = ArgType.merge(dex, elemType, foundElemType);
 		if (r != null) {
 			elemType = r;
 		}
@@ -6,8 +6,6 @@ import jadx.core.dex.instructions.args.PrimitiveType;
 import jadx.core.dex.nodes.BlockNode;
 import jadx.core.utils.InsnUtils;
 
-import com.android.dx.io.instructions.DecodedInstruction;
-
 import static jadx.core.utils.BlockUtils.getBlockByOffset;
 import static jadx.core.utils.BlockUtils.selectOther;
 
@@ -22,10 +20,15 @@ public class IfNode extends GotoNode {
 	private BlockNode thenBlock;
 	private BlockNode elseBlock;
 
-	public IfNode(DecodedInstruction insn, IfOp op) {
-		this(op, insn.getTarget(),
-				InsnArg.reg(insn, 0, ARG_TYPE),
-				insn.getRegisterCount() == 1 ? InsnArg.lit(0, ARG_TYPE) : InsnArg.reg(insn, 1, ARG_TYPE));
+	/**
+	 * Compare register with zero
+	 */
+	public IfNode(IfOp op, int targetOffset, int reg) {
+		this(op, targetOffset, InsnArg.reg(reg, ARG_TYPE), InsnArg.lit(0, ARG_TYPE));
+	}
+
+	public IfNode(IfOp op, int targetOffset, int reg1, int reg2) {
+		this(op, targetOffset, InsnArg.reg(reg1, ARG_TYPE), InsnArg.reg(reg2, ARG_TYPE));
 	}
 
 	public IfNode(IfOp op, int targetOffset, InsnArg arg1, InsnArg arg2) {
@@ -2,8 +2,11 @@ package jadx.core.dex.instructions;
 
 import jadx.core.dex.info.FieldInfo;
 import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.DecodedInsns.FillArrayPayload;
+import jadx.core.dex.instructions.DecodedInsns.SwitchPayload;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.LiteralArg;
 import jadx.core.dex.instructions.args.PrimitiveType;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.nodes.DexNode;
@@ -11,21 +14,19 @@ import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.InsnUtils;
 import jadx.core.utils.exceptions.DecodeException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import java.util.Arrays;
 
 import com.android.dex.Code;
 import com.android.dx.io.OpcodeInfo;
 import com.android.dx.io.Opcodes;
-import com.android.dx.io.instructions.DecodedInstruction;
-import com.android.dx.io.instructions.FillArrayDataPayloadDecodedInstruction;
-import com.android.dx.io.instructions.PackedSwitchPayloadDecodedInstruction;
-import com.android.dx.io.instructions.ShortArrayCodeInput;
-import com.android.dx.io.instructions.SparseSwitchPayloadDecodedInstruction;
 
 public class InsnDecoder {
 
 	private final MethodNode method;
 	private final DexNode dex;
-	private DecodedInstruction[] insnArr;
+	private DecodedInsns decoded;
 
 	public InsnDecoder(MethodNode mthNode) {
 		this.method = mthNode;
@@ -33,57 +34,91 @@ public class InsnDecoder {
 	}
 
 	public void decodeInsns(Code mthCode) throws DecodeException {
-		short[] encodedInstructions = mthCode.getInstructions();
-		int size = encodedInstructions.length;
-		DecodedInstruction[] decoded = new DecodedInstruction[size];
-		ShortArrayCodeInput in = new ShortArrayCodeInput(encodedInstructions);
-
-		try {
-			while (in.hasMore()) {
-				decoded[in.cursor()] = DecodedInstruction.decode(in);
+		DecodedInsnsCache cache = dex.root().getDecodedInsnsCache();
+		if (cache.isEnabled()) {
+			DecodedInsns cached = cache.get(method);
+			if (cached != null) {
+				decoded = cached;
+				return;
 			}
+		}
+		try {
+			decoded = new DexCodeParser(mthCode.getInstructions()).parse();
 		} catch (Exception e) {
 			throw new DecodeException(method, "", e);
 		}
-		insnArr = decoded;
+		if (cache.isEnabled()) {
+			cache.put(method, decoded);
+		}
 	}
 
+	/**
+	 * @return instructions sorted by offset, without nulls (payloads and nops are skipped)
+	 */
 	public InsnNode[] process() throws DecodeException {
-		InsnNode[] instructions = new InsnNode[insnArr.length];
-		for (int i = 0; i < insnArr.length; i++) {
-			DecodedInstruction rawInsn = insnArr[i];
-			if (rawInsn != null) {
-				InsnNode insn = decode(rawInsn, i);
-				if (insn != null) {
-					insn.setOffset(i);
-					insn.setInsnHashCode(calcHashCode(rawInsn));
-				}
-				instructions[i] = insn;
-			} else {
-				instructions[i] = null;
+		int count = decoded.size();
+		InsnNode[] instructions = new InsnNode[count];
+		int k = 0;
+		for (int i = 0; i < count; i++) {
+			InsnNode insn = decode(i);
+			if (insn != null) {
+				insn.setOffset(decoded.getOffset(i));
+				insn.setInsnHashCode(calcHashCode(i));
+				instructions[k++] = insn;
 			}
 		}
-		insnArr = null;
-		return instructions;
+		decoded = null;
+		return k == count ? instructions : Arrays.copyOf(instructions, k);
 	}
 
-	private int calcHashCode(DecodedInstruction insn) {
-		int hash = insn.getOpcode();
-		hash = hash * 31 + insn.getClass().getName().hashCode();
-		hash = hash * 31 + insn.getFormat().ordinal();
-		hash = hash * 31 + insn.getRegisterCount();
-		hash = hash * 31 + insn.getIndex();
-		hash = hash * 31 + insn.getTarget();
-		hash = hash * 31 + insn.getA();
-		hash = hash * 31 + insn.getB();
-		hash = hash * 31 + insn.getC();
-		hash = hash * 31 + insn.getD();
-		hash = hash * 31 + insn.getE();
+	/**
+	 * Hash from opcode, format, registers, index and target (same values as for dx instruction)
+	 */
+	private int calcHashCode(int i) {
+		int opcode = decoded.getOpcode(i);
+		int regsCount = decoded.getRegsCount(i);
+		int hash = opcode;
+		hash = hash * 31 + OpcodeInfo.getFormat(opcode).ordinal();
+		hash = hash * 31 + regsCount;
+		hash = hash * 31 + decoded.getIndex(i);
+		hash = hash * 31 + decoded.getTarget(i);
+		boolean range = isRangeOpcode(opcode);
+		for (int r = 0; r < 5; r++) {
+			// dx keeps registers range as first register and count
+			boolean used = r < regsCount && (r == 0 || !range);
+			hash = hash * 31 + (used ? decoded.getReg(i, r) : 0);
+		}
 		return hash;
 	}
 
-	private InsnNode decode(DecodedInstruction insn, int offset) throws DecodeException {
-		switch (insn.getOpcode()) {
+	private static boolean isRangeOpcode(int opcode) {
+		switch (opcode) {
+			case Opcodes.FILLED_NEW_ARRAY_RANGE:
+			case Opcodes.INVOKE_VIRTUAL_RANGE:
+			case Opcodes.INVOKE_SUPER_RANGE:
+			case Opcodes.INVOKE_DIRECT_RANGE:
+			case Opcodes.INVOKE_STATIC_RANGE:
+			case Opcodes.INVOKE_INTERFACE_RANGE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private RegisterArg reg(int i, int argNum, ArgType type) {
+		if (argNum >= decoded.getRegsCount(i)) {
+			throw new JadxRuntimeException("Wrong argument number: " + argNum
+					+ " at offset " + InsnUtils.formatOffset(decoded.getOffset(i)));
+		}
+		return InsnArg.reg(decoded.getReg(i, argNum), type);
+	}
+
+	private LiteralArg lit(int i, ArgType type) {
+		return InsnArg.lit(decoded.getLiteral(i), type);
+	}
+
+	private InsnNode decode(int i) throws DecodeException {
+		switch (decoded.getOpcode(i)) {
 			case Opcodes.NOP:
 			case Opcodes.PACKED_SWITCH_PAYLOAD:
 			case Opcodes.SPARSE_SWITCH_PAYLOAD:
@@ -100,26 +135,26 @@ public class InsnDecoder {
 			case Opcodes.CONST_4:
 			case Opcodes.CONST_16:
 			case Opcodes.CONST_HIGH16:
-				return insn(InsnType.CONST, InsnArg.reg(insn, 0, ArgType.NARROW),
-						InsnArg.lit(insn, ArgType.NARROW));
+				return insn(InsnType.CONST, reg(i, 0, ArgType.NARROW),
+						lit(i, ArgType.NARROW));
 
 			case Opcodes.CONST_WIDE:
 			case Opcodes.CONST_WIDE_16:
 			case Opcodes.CONST_WIDE_32:
 			case Opcodes.CONST_WIDE_HIGH16:
-				return insn(InsnType.CONST, InsnArg.reg(insn, 0, ArgType.WIDE),
-						InsnArg.lit(insn, ArgType.WIDE));
+				return insn(InsnType.CONST, reg(i, 0, ArgType.WIDE),
+						lit(i, ArgType.WIDE));
 
 			case Opcodes.CONST_STRING:
 			case Opcodes.CONST_STRING_JUMBO: {
-				InsnNode node = new ConstStringNode(dex.getString(insn.getIndex()));
-				node.setResult(InsnArg.reg(insn, 0, ArgType.STRING));
+				InsnNode node = new ConstStringNode(dex.getString(decoded.getIndex(i)));
+				node.setResult(reg(i, 0, ArgType.STRING));
 				return node;
 			}
 
 			case Opcodes.CONST_CLASS: {
-				InsnNode node = new ConstClassNode(dex.getType(insn.getIndex()));
-				node.setResult(InsnArg.reg(insn, 0, ArgType.CLASS));
+				InsnNode node = new ConstClassNode(dex.getType(decoded.getIndex(i)));
+				node.setResult(reg(i, 0, ArgType.CLASS));
 				return node;
 			}
 
@@ -127,284 +162,284 @@ public class InsnDecoder {
 			case Opcodes.MOVE_16:
 			case Opcodes.MOVE_FROM16:
 				return insn(InsnType.MOVE,
-						InsnArg.reg(insn, 0, ArgType.NARROW),
-						InsnArg.reg(insn, 1, ArgType.NARROW));
+						reg(i, 0, ArgType.NARROW),
+						reg(i, 1, ArgType.NARROW));
 
 			case Opcodes.MOVE_WIDE:
 			case Opcodes.MOVE_WIDE_16:
 			case Opcodes.MOVE_WIDE_FROM16:
 				return insn(InsnType.MOVE,
-						InsnArg.reg(insn, 0, ArgType.WIDE),
-						InsnArg.reg(insn, 1, ArgType.WIDE));
+						reg(i, 0, ArgType.WIDE),
+						reg(i, 1, ArgType.WIDE));
 
 			case Opcodes.MOVE_OBJECT:
 			case Opcodes.MOVE_OBJECT_16:
 			case Opcodes.MOVE_OBJECT_FROM16:
 				return insn(InsnType.MOVE,
-						InsnArg.reg(insn, 0, ArgType.UNKNOWN_OBJECT),
-						InsnArg.reg(insn, 1, ArgType.UNKNOWN_OBJECT));
+						reg(i, 0, ArgType.UNKNOWN_OBJECT),
+						reg(i, 1, ArgType.UNKNOWN_OBJECT));
 
 			case Opcodes.ADD_INT:
 			case Opcodes.ADD_INT_2ADDR:
-				return arith(insn, ArithOp.ADD, ArgType.INT);
+				return arith(i, ArithOp.ADD, ArgType.INT);
 
 			case Opcodes.ADD_DOUBLE:
 			case Opcodes.ADD_DOUBLE_2ADDR:
-				return arith(insn, ArithOp.ADD, ArgType.DOUBLE);
+				return arith(i, ArithOp.ADD, ArgType.DOUBLE);
 
 			case Opcodes.ADD_FLOAT:
 			case Opcodes.ADD_FLOAT_2ADDR:
-				return arith(insn, ArithOp.ADD, ArgType.FLOAT);
+				return arith(i, ArithOp.ADD, ArgType.FLOAT);
 
 			case Opcodes.ADD_LONG:
 			case Opcodes.ADD_LONG_2ADDR:
-				return arith(insn, ArithOp.ADD, ArgType.LONG);
+				return arith(i, ArithOp.ADD, ArgType.LONG);
 
 			case Opcodes.ADD_INT_LIT8:
 			case Opcodes.ADD_INT_LIT16:
-				return arithLit(insn, ArithOp.ADD, ArgType.INT);
+				return arithLit(i, ArithOp.ADD, ArgType.INT);
 
 			case Opcodes.SUB_INT:
 			case Opcodes.SUB_INT_2ADDR:
-				return arith(insn, ArithOp.SUB, ArgType.INT);
+				return arith(i, ArithOp.SUB, ArgType.INT);
 
 			case Opcodes.RSUB_INT_LIT8:
 			case Opcodes.RSUB_INT: // LIT16
 				return new ArithNode(ArithOp.SUB,
-						InsnArg.reg(insn, 0, ArgType.INT),
-						InsnArg.lit(insn, ArgType.INT),
-						InsnArg.reg(insn, 1, ArgType.INT));
+						reg(i, 0, ArgType.INT),
+						lit(i, ArgType.INT),
+						reg(i, 1, ArgType.INT));
 
 			case Opcodes.SUB_LONG:
 			case Opcodes.SUB_LONG_2ADDR:
-				return arith(insn, ArithOp.SUB, ArgType.LONG);
+				return arith(i, ArithOp.SUB, ArgType.LONG);
 
 			case Opcodes.SUB_FLOAT:
 			case Opcodes.SUB_FLOAT_2ADDR:
-				return arith(insn, ArithOp.SUB, ArgType.FLOAT);
+				return arith(i, ArithOp.SUB, ArgType.FLOAT);
 
 			case Opcodes.SUB_DOUBLE:
 			case Opcodes.SUB_DOUBLE_2ADDR:
-				return arith(insn, ArithOp.SUB, ArgType.DOUBLE);
+				return arith(i, ArithOp.SUB, ArgType.DOUBLE);
 
 			case Opcodes.MUL_INT:
 			case Opcodes.MUL_INT_2ADDR:
-				return arith(insn, ArithOp.MUL, ArgType.INT);
+				return arith(i, ArithOp.MUL, ArgType.INT);
 
 			case Opcodes.MUL_DOUBLE:
 			case Opcodes.MUL_DOUBLE_2ADDR:
-				return arith(insn, ArithOp.MUL, ArgType.DOUBLE);
+				return arith(i, ArithOp.MUL, ArgType.DOUBLE);
 
 			case Opcodes.MUL_FLOAT:
 			case Opcodes.MUL_FLOAT_2ADDR:
-				return arith(insn, ArithOp.MUL, ArgType.FLOAT);
+				return arith(i, ArithOp.MUL, ArgType.FLOAT);
 
 			case Opcodes.MUL_LONG:
 			case Opcodes.MUL_LONG_2ADDR:
-				return arith(insn, ArithOp.MUL, ArgType.LONG);
+				return arith(i, ArithOp.MUL, ArgType.LONG);
 
 			case Opcodes.MUL_INT_LIT8:
 			case Opcodes.MUL_INT_LIT16:
-				return arithLit(insn, ArithOp.MUL, ArgType.INT);
+				return arithLit(i, ArithOp.MUL, ArgType.INT);
 
 			case Opcodes.DIV_INT:
 			case Opcodes.DIV_INT_2ADDR:
-				return arith(insn, ArithOp.DIV, ArgType.INT);
+				return arith(i, ArithOp.DIV, ArgType.INT);
 
 			case Opcodes.REM_INT:
 			case Opcodes.REM_INT_2ADDR:
-				return arith(insn, ArithOp.REM, ArgType.INT);
+				return arith(i, ArithOp.REM, ArgType.INT);
 
 			case Opcodes.REM_LONG:
 			case Opcodes.REM_LONG_2ADDR:
-				return arith(insn, ArithOp.REM, ArgType.LONG);
+				return arith(i, ArithOp.REM, ArgType.LONG);
 
 			case Opcodes.REM_FLOAT:
 			case Opcodes.REM_FLOAT_2ADDR:
-				return arith(insn, ArithOp.REM, ArgType.FLOAT);
+				return arith(i, ArithOp.REM, ArgType.FLOAT);
 
 			case Opcodes.REM_DOUBLE:
 			case Opcodes.REM_DOUBLE_2ADDR:
-				return arith(insn, ArithOp.REM, ArgType.DOUBLE);
+				return arith(i, ArithOp.REM, ArgType.DOUBLE);
 
 			case Opcodes.DIV_DOUBLE:
 			case Opcodes.DIV_DOUBLE_2ADDR:
-				return arith(insn, ArithOp.DIV, ArgType.DOUBLE);
+				return arith(i, ArithOp.DIV, ArgType.DOUBLE);
 
 			case Opcodes.DIV_FLOAT:
 			case Opcodes.DIV_FLOAT_2ADDR:
-				return arith(insn, ArithOp.DIV, ArgType.FLOAT);
+				return arith(i, ArithOp.DIV, ArgType.FLOAT);
 
 			case Opcodes.DIV_LONG:
 			case Opcodes.DIV_LONG_2ADDR:
-				return arith(insn, ArithOp.DIV, ArgType.LONG);
+				return arith(i, ArithOp.DIV, ArgType.LONG);
 
 			case Opcodes.DIV_INT_LIT8:
 			case Opcodes.DIV_INT_LIT16:
-				return arithLit(insn, ArithOp.DIV, ArgType.INT);
+				return arithLit(i, ArithOp.DIV, ArgType.INT);
 
 			case Opcodes.REM_INT_LIT8:
 			case Opcodes.REM_INT_LIT16:
-				return arithLit(insn, ArithOp.REM, ArgType.INT);
+				return arithLit(i, ArithOp.REM, ArgType.INT);
 
 			case Opcodes.AND_INT:
 			case Opcodes.AND_INT_2ADDR:
-				return arith(insn, ArithOp.AND, ArgType.INT);
+				return arith(i, ArithOp.AND, ArgType.INT);
 
 			case Opcodes.AND_INT_LIT8:
 			case Opcodes.AND_INT_LIT16:
-				return arithLit(insn, ArithOp.AND, ArgType.INT);
+				return arithLit(i, ArithOp.AND, ArgType.INT);
 
 			case Opcodes.XOR_INT_LIT8:
 			case Opcodes.XOR_INT_LIT16:
-				return arithLit(insn, ArithOp.XOR, ArgType.INT);
+				return arithLit(i, ArithOp.XOR, ArgType.INT);
 
 			case Opcodes.AND_LONG:
 			case Opcodes.AND_LONG_2ADDR:
-				return arith(insn, ArithOp.AND, ArgType.LONG);
+				return arith(i, ArithOp.AND, ArgType.LONG);
 
 			case Opcodes.OR_INT:
 			case Opcodes.OR_INT_2ADDR:
-				return arith(insn, ArithOp.OR, ArgType.INT);
+				return arith(i, ArithOp.OR, ArgType.INT);
 
 			case Opcodes.OR_INT_LIT8:
 			case Opcodes.OR_INT_LIT16:
-				return arithLit(insn, ArithOp.OR, ArgType.INT);
+				return arithLit(i, ArithOp.OR, ArgType.INT);
 
 			case Opcodes.XOR_INT:
 			case Opcodes.XOR_INT_2ADDR:
-				return arith(insn, ArithOp.XOR, ArgType.INT);
+				return arith(i, ArithOp.XOR, ArgType.INT);
 
 			case Opcodes.OR_LONG:
 			case Opcodes.OR_LONG_2ADDR:
-				return arith(insn, ArithOp.OR, ArgType.LONG);
+				return arith(i, ArithOp.OR, ArgType.LONG);
 
 			case Opcodes.XOR_LONG:
 			case Opcodes.XOR_LONG_2ADDR:
-				return arith(insn, ArithOp.XOR, ArgType.LONG);
+				return arith(i, ArithOp.XOR, ArgType.LONG);
 
 			case Opcodes.USHR_INT:
 			case Opcodes.USHR_INT_2ADDR:
-				return arith(insn, ArithOp.USHR, ArgType.INT);
+				return arith(i, ArithOp.USHR, ArgType.INT);
 
 			case Opcodes.USHR_LONG:
 			case Opcodes.USHR_LONG_2ADDR:
-				return arith(insn, ArithOp.USHR, ArgType.LONG);
+				return arith(i, ArithOp.USHR, ArgType.LONG);
 
 			case Opcodes.SHL_INT:
 			case Opcodes.SHL_INT_2ADDR:
-				return arith(insn, ArithOp.SHL, ArgType.INT);
+				return arith(i, ArithOp.SHL, ArgType.INT);
 
 			case Opcodes.SHL_LONG:
 			case Opcodes.SHL_LONG_2ADDR:
-				return arith(insn, ArithOp.SHL, ArgType.LONG);
+				return arith(i, ArithOp.SHL, ArgType.LONG);
 
 			case Opcodes.SHR_INT:
 			case Opcodes.SHR_INT_2ADDR:
-				return arith(insn, ArithOp.SHR, ArgType.INT);
+				return arith(i, ArithOp.SHR, ArgType.INT);
 
 			case Opcodes.SHR_LONG:
 			case Opcodes.SHR_LONG_2ADDR:
-				return arith(insn, ArithOp.SHR, ArgType.LONG);
+				return arith(i, ArithOp.SHR, ArgType.LONG);
 
 			case Opcodes.SHL_INT_LIT8:
-				return arithLit(insn, ArithOp.SHL, ArgType.INT);
+				return arithLit(i, ArithOp.SHL, ArgType.INT);
 			case Opcodes.SHR_INT_LIT8:
-				return arithLit(insn, ArithOp.SHR, ArgType.INT);
+				return arithLit(i, ArithOp.SHR, ArgType.INT);
 			case Opcodes.USHR_INT_LIT8:
-				return arithLit(insn, ArithOp.USHR, ArgType.INT);
+				return arithLit(i, ArithOp.USHR, ArgType.INT);
 
 			case Opcodes.NEG_INT:
-				return neg(insn, ArgType.INT);
+				return neg(i, ArgType.INT);
 			case Opcodes.NEG_LONG:
-				return neg(insn, ArgType.LONG);
+				return neg(i, ArgType.LONG);
 			case Opcodes.NEG_FLOAT:
-				return neg(insn, ArgType.FLOAT);
+				return neg(i, ArgType.FLOAT);
 			case Opcodes.NEG_DOUBLE:
-				return neg(insn, ArgType.DOUBLE);
+				return neg(i, ArgType.DOUBLE);
 
 			case Opcodes.INT_TO_BYTE:
-				return cast(insn, ArgType.INT, ArgType.BYTE);
+				return cast(i, ArgType.INT, ArgType.BYTE);
 			case Opcodes.INT_TO_CHAR:
-				return cast(insn, ArgType.INT, ArgType.CHAR);
+				return cast(i, ArgType.INT, ArgType.CHAR);
 			case Opcodes.INT_TO_SHORT:
-				return cast(insn, ArgType.INT, ArgType.SHORT);
+				return cast(i, ArgType.INT, ArgType.SHORT);
 			case Opcodes.INT_TO_FLOAT:
-				return cast(insn, ArgType.INT, ArgType.FLOAT);
+				return cast(i, ArgType.INT, ArgType.FLOAT);
 			case Opcodes.INT_TO_DOUBLE:
-				return cast(insn, ArgType.INT, ArgType.DOUBLE);
+				return cast(i, ArgType.INT, ArgType.DOUBLE);
 			case Opcodes.INT_TO_LONG:
-				return cast(insn, ArgType.INT, ArgType.LONG);
+				return cast(i, ArgType.INT, ArgType.LONG);
 
 			case Opcodes.FLOAT_TO_INT:
-				return cast(insn, ArgType.FLOAT, ArgType.INT);
+				return cast(i, ArgType.FLOAT, ArgType.INT);
 			case Opcodes.FLOAT_TO_DOUBLE:
-				return cast(insn, ArgType.FLOAT, ArgType.DOUBLE);
+				return cast(i, ArgType.FLOAT, ArgType.DOUBLE);
 			case Opcodes.FLOAT_TO_LONG:
-				return cast(insn, ArgType.FLOAT, ArgType.LONG);
+				return cast(i, ArgType.FLOAT, ArgType.LONG);
 
 			case Opcodes.DOUBLE_TO_INT:
-				return cast(insn, ArgType.DOUBLE, ArgType.INT);
+				return cast(i, ArgType.DOUBLE, ArgType.INT);
 			case Opcodes.DOUBLE_TO_FLOAT:
-				return cast(insn, ArgType.DOUBLE, ArgType.FLOAT);
+				return cast(i, ArgType.DOUBLE, ArgType.FLOAT);
 			case Opcodes.DOUBLE_TO_LONG:
-				return cast(insn, ArgType.DOUBLE, ArgType.LONG);
+				return cast(i, ArgType.DOUBLE, ArgType.LONG);
 
 			case Opcodes.LONG_TO_INT:
-				return cast(insn, ArgType.LONG, ArgType.INT);
+				return cast(i, ArgType.LONG, ArgType.INT);
 			case Opcodes.LONG_TO_FLOAT:
-				return cast(insn, ArgType.LONG, ArgType.FLOAT);
+				return cast(i, ArgType.LONG, ArgType.FLOAT);
 			case Opcodes.LONG_TO_DOUBLE:
-				return cast(insn, ArgType.LONG, ArgType.DOUBLE);
+				return cast(i, ArgType.LONG, ArgType.DOUBLE);
 
 			case Opcodes.IF_EQ:
 			case Opcodes.IF_EQZ:
-				return new IfNode(insn, IfOp.EQ);
+				return ifNode(i, IfOp.EQ);
 
 			case Opcodes.IF_NE:
 			case Opcodes.IF_NEZ:
-				return new IfNode(insn, IfOp.NE);
+				return ifNode(i, IfOp.NE);
 
 			case Opcodes.IF_GT:
 			case Opcodes.IF_GTZ:
-				return new IfNode(insn, IfOp.GT);
+				return ifNode(i, IfOp.GT);
 
 			case Opcodes.IF_GE:
 			case Opcodes.IF_GEZ:
-				return new IfNode(insn, IfOp.GE);
+				return ifNode(i, IfOp.GE);
 
 			case Opcodes.IF_LT:
 			case Opcodes.IF_LTZ:
-				return new IfNode(insn, IfOp.LT);
+				return ifNode(i, IfOp.LT);
 
 			case Opcodes.IF_LE:
 			case Opcodes.IF_LEZ:
-				return new IfNode(insn, IfOp.LE);
+				return ifNode(i, IfOp.LE);
 
 			case Opcodes.CMP_LONG:
-				return cmp(insn, InsnType.CMP_L, ArgType.LONG);
+				return cmp(i, InsnType.CMP_L, ArgType.LONG);
 			case Opcodes.CMPL_FLOAT:
-				return cmp(insn, InsnType.CMP_L, ArgType.FLOAT);
+				return cmp(i, InsnType.CMP_L, ArgType.FLOAT);
 			case Opcodes.CMPL_DOUBLE:
-				return cmp(insn, InsnType.CMP_L, ArgType.DOUBLE);
+				return cmp(i, InsnType.CMP_L, ArgType.DOUBLE);
 
 			case Opcodes.CMPG_FLOAT:
-				return cmp(insn, InsnType.CMP_G, ArgType.FLOAT);
+				return cmp(i, InsnType.CMP_G, ArgType.FLOAT);
 			case Opcodes.CMPG_DOUBLE:
-				return cmp(insn, InsnType.CMP_G, ArgType.DOUBLE);
+				return cmp(i, InsnType.CMP_G, ArgType.DOUBLE);
 
 			case Opcodes.GOTO:
 			case Opcodes.GOTO_16:
 			case Opcodes.GOTO_32:
-				return new GotoNode(insn.getTarget());
+				return new GotoNode(decoded.getTarget(i));
 
 			case Opcodes.THROW:
 				return insn(InsnType.THROW, null,
-						InsnArg.reg(insn, 0, ArgType.unknown(PrimitiveType.OBJECT)));
+						reg(i, 0, ArgType.unknown(PrimitiveType.OBJECT)));
 
 			case Opcodes.MOVE_EXCEPTION:
 				return insn(InsnType.MOVE_EXCEPTION,
-						InsnArg.reg(insn, 0, ArgType.unknown(PrimitiveType.OBJECT)));
+						reg(i, 0, ArgType.unknown(PrimitiveType.OBJECT)));
 
 			case Opcodes.RETURN_VOID:
 				return new InsnNode(InsnType.RETURN, 0);
@@ -414,20 +449,20 @@ public class InsnDecoder {
 			case Opcodes.RETURN_OBJECT:
 				return insn(InsnType.RETURN,
 						null,
-						InsnArg.reg(insn, 0, method.getReturnType()));
+						reg(i, 0, method.getReturnType()));
 
 			case Opcodes.INSTANCE_OF: {
-				InsnNode node = new IndexInsnNode(InsnType.INSTANCE_OF, dex.getType(insn.getIndex()), 1);
-				node.setResult(InsnArg.reg(insn, 0, ArgType.BOOLEAN));
-				node.addArg(InsnArg.reg(insn, 1, ArgType.UNKNOWN_OBJECT));
+				InsnNode node = new IndexInsnNode(InsnType.INSTANCE_OF, dex.getType(decoded.getIndex(i)), 1);
+				node.setResult(reg(i, 0, ArgType.BOOLEAN));
+				node.addArg(reg(i, 1, ArgType.UNKNOWN_OBJECT));
 				return node;
 			}
 
 			case Opcodes.CHECK_CAST: {
-				ArgType castType = dex.getType(insn.getIndex());
+				ArgType castType = dex.getType(decoded.getIndex(i));
 				InsnNode node = new IndexInsnNode(InsnType.CHECK_CAST, castType, 1);
-				node.setResult(InsnArg.reg(insn, 0, castType));
-				node.addArg(InsnArg.reg(insn, 0, ArgType.UNKNOWN_OBJECT));
+				node.setResult(reg(i, 0, castType));
+				node.addArg(reg(i, 0, ArgType.UNKNOWN_OBJECT));
 				return node;
 			}
 
@@ -438,10 +473,10 @@ public class InsnDecoder {
 			case Opcodes.IGET_SHORT:
 			case Opcodes.IGET_WIDE:
 			case Opcodes.IGET_OBJECT: {
-				FieldInfo field = FieldInfo.fromDex(dex, insn.getIndex());
+				FieldInfo field = FieldInfo.fromDex(dex, decoded.getIndex(i));
 				InsnNode node = new IndexInsnNode(InsnType.IGET, field, 1);
-				node.setResult(InsnArg.reg(insn, 0, field.getType()));
-				node.addArg(InsnArg.reg(insn, 1, field.getDeclClass().getType()));
+				node.setResult(reg(i, 0, field.getType()));
+				node.addArg(reg(i, 1, field.getDeclClass().getType()));
 				return node;
 			}
 
@@ -452,10 +487,10 @@ public class InsnDecoder {
 			case Opcodes.IPUT_SHORT:
 			case Opcodes.IPUT_WIDE:
 			case Opcodes.IPUT_OBJECT: {
-				FieldInfo field = FieldInfo.fromDex(dex, insn.getIndex());
+				FieldInfo field = FieldInfo.fromDex(dex, decoded.getIndex(i));
 				InsnNode node = new IndexInsnNode(InsnType.IPUT, field, 2);
-				node.addArg(InsnArg.reg(insn, 0, field.getType()));
-				node.addArg(InsnArg.reg(insn, 1, field.getDeclClass().getType()));
+				node.addArg(reg(i, 0, field.getType()));
+				node.addArg(reg(i, 1, field.getDeclClass().getType()));
 				return node;
 			}
 
@@ -466,9 +501,9 @@ public class InsnDecoder {
 			case Opcodes.SGET_SHORT:
 			case Opcodes.SGET_WIDE:
 			case Opcodes.SGET_OBJECT: {
-				FieldInfo field = FieldInfo.fromDex(dex, insn.getIndex());
+				FieldInfo field = FieldInfo.fromDex(dex, decoded.getIndex(i));
 				InsnNode node = new IndexInsnNode(InsnType.SGET, field, 0);
-				node.setResult(InsnArg.reg(insn, 0, field.getType()));
+				node.setResult(reg(i, 0, field.getType()));
 				return node;
 			}
 
@@ -479,217 +514,234 @@ public class InsnDecoder {
 			case Opcodes.SPUT_SHORT:
 			case Opcodes.SPUT_WIDE:
 			case Opcodes.SPUT_OBJECT: {
-				FieldInfo field = FieldInfo.fromDex(dex, insn.getIndex());
+				FieldInfo field = FieldInfo.fromDex(dex, decoded.getIndex(i));
 				InsnNode node = new IndexInsnNode(InsnType.SPUT, field, 1);
-				node.addArg(InsnArg.reg(insn, 0, field.getType()));
+				node.addArg(reg(i, 0, field.getType()));
 				return node;
 			}
 
 			case Opcodes.ARRAY_LENGTH: {
 				InsnNode node = new InsnNode(InsnType.ARRAY_LENGTH, 1);
-				node.setResult(InsnArg.reg(insn, 0, ArgType.INT));
-				node.addArg(InsnArg.reg(insn, 1, ArgType.array(ArgType.UNKNOWN)));
+				node.setResult(reg(i, 0, ArgType.INT));
+				node.addArg(reg(i, 1, ArgType.array(ArgType.UNKNOWN)));
 				return node;
 			}
 
 			case Opcodes.AGET:
-				return arrayGet(insn, ArgType.NARROW);
+				return arrayGet(i, ArgType.NARROW);
 			case Opcodes.AGET_BOOLEAN:
-				return arrayGet(insn, ArgType.BOOLEAN);
+				return arrayGet(i, ArgType.BOOLEAN);
 			case Opcodes.AGET_BYTE:
-				return arrayGet(insn, ArgType.BYTE);
+				return arrayGet(i, ArgType.BYTE);
 			case Opcodes.AGET_CHAR:
-				return arrayGet(insn, ArgType.CHAR);
+				return arrayGet(i, ArgType.CHAR);
 			case Opcodes.AGET_SHORT:
-				return arrayGet(insn, ArgType.SHORT);
+				return arrayGet(i, ArgType.SHORT);
 			case Opcodes.AGET_WIDE:
-				return arrayGet(insn, ArgType.WIDE);
+				return arrayGet(i, ArgType.WIDE);
 			case Opcodes.AGET_OBJECT:
-				return arrayGet(insn, ArgType.UNKNOWN_OBJECT);
+				return arrayGet(i, ArgType.UNKNOWN_OBJECT);
 
 			case Opcodes.APUT:
-				return arrayPut(insn, ArgType.NARROW);
+				return arrayPut(i, ArgType.NARROW);
 			case Opcodes.APUT_BOOLEAN:
-				return arrayPut(insn, ArgType.BOOLEAN);
+				return arrayPut(i, ArgType.BOOLEAN);
 			case Opcodes.APUT_BYTE:
-				return arrayPut(insn, ArgType.BYTE);
+				return arrayPut(i, ArgType.BYTE);
 			case Opcodes.APUT_CHAR:
-				return arrayPut(insn, ArgType.CHAR);
+				return arrayPut(i, ArgType.CHAR);
 			case Opcodes.APUT_SHORT:
-				return arrayPut(insn, ArgType.SHORT);
+				return arrayPut(i, ArgType.SHORT);
 			case Opcodes.APUT_WIDE:
-				return arrayPut(insn, ArgType.WIDE);
+				return arrayPut(i, ArgType.WIDE);
 			case Opcodes.APUT_OBJECT:
-				return arrayPut(insn, ArgType.UNKNOWN_OBJECT);
+				return arrayPut(i, ArgType.UNKNOWN_OBJECT);
 
 			case Opcodes.INVOKE_STATIC:
-				return invoke(insn, offset, InvokeType.STATIC, false);
+				return invoke(i, InvokeType.STATIC);
 
 			case Opcodes.INVOKE_STATIC_RANGE:
-				return invoke(insn, offset, InvokeType.STATIC, true);
+				return invoke(i, InvokeType.STATIC);
 
 			case Opcodes.INVOKE_DIRECT:
-				return invoke(insn, offset, InvokeType.DIRECT, false);
+				return invoke(i, InvokeType.DIRECT);
 			case Opcodes.INVOKE_INTERFACE:
-				return invoke(insn, offset, InvokeType.INTERFACE, false);
+				return invoke(i, InvokeType.INTERFACE);
 			case Opcodes.INVOKE_SUPER:
-				return invoke(insn, offset, InvokeType.SUPER, false);
+				return invoke(i, InvokeType.SUPER);
 			case Opcodes.INVOKE_VIRTUAL:
-				return invoke(insn, offset, InvokeType.VIRTUAL, false);
+				return invoke(i, InvokeType.VIRTUAL);
 
 			case Opcodes.INVOKE_DIRECT_RANGE:
-				return invoke(insn, offset, InvokeType.DIRECT, true);
+				return invoke(i, InvokeType.DIRECT);
 			case Opcodes.INVOKE_INTERFACE_RANGE:
-				return invoke(insn, offset, InvokeType.INTERFACE, true);
+				return invoke(i, InvokeType.INTERFACE);
 			case Opcodes.INVOKE_SUPER_RANGE:
-				return invoke(insn, offset, InvokeType.SUPER, true);
+				return invoke(i, InvokeType.SUPER);
 			case Opcodes.INVOKE_VIRTUAL_RANGE:
-				return invoke(insn, offset, InvokeType.VIRTUAL, true);
+				return invoke(i, InvokeType.VIRTUAL);
 
 			case Opcodes.NEW_INSTANCE:
 				return insn(InsnType.NEW_INSTANCE,
-						InsnArg.reg(insn, 0, dex.getType(insn.getIndex())));
+						reg(i, 0, dex.getType(decoded.getIndex(i))));
 
 			case Opcodes.NEW_ARRAY:
 				return insn(InsnType.NEW_ARRAY,
-						InsnArg.reg(insn, 0, dex.getType(insn.getIndex())),
-						InsnArg.reg(insn, 1, ArgType.INT));
+						reg(i, 0, dex.getType(decoded.getIndex(i))),
+						reg(i, 1, ArgType.INT));
 
 			case Opcodes.FILL_ARRAY_DATA:
-				return fillArray(insn);
+				return fillArray(i);
 
 			case Opcodes.FILLED_NEW_ARRAY:
-				return filledNewArray(insn, offset, false);
+				return filledNewArray(i);
 			case Opcodes.FILLED_NEW_ARRAY_RANGE:
-				return filledNewArray(insn, offset, true);
+				return filledNewArray(i);
 
 			case Opcodes.PACKED_SWITCH:
-				return decodeSwitch(insn, offset, true);
+				return decodeSwitch(i);
 
 			case Opcodes.SPARSE_SWITCH:
-				return decodeSwitch(insn, offset, false);
+				return decodeSwitch(i);
 
 			case Opcodes.MONITOR_ENTER:
 				return insn(InsnType.MONITOR_ENTER,
 						null,
-						InsnArg.reg(insn, 0, ArgType.UNKNOWN_OBJECT));
+						reg(i, 0, ArgType.UNKNOWN_OBJECT));
 
 			case Opcodes.MONITOR_EXIT:
 				return insn(InsnType.MONITOR_EXIT,
 						null,
-						InsnArg.reg(insn, 0, ArgType.UNKNOWN_OBJECT));
+						reg(i, 0, ArgType.UNKNOWN_OBJECT));
 		}
 
-		throw new DecodeException("Unknown instruction: " + OpcodeInfo.getName(insn.getOpcode()));
+		throw new DecodeException("Unknown instruction: " + OpcodeInfo.getName(decoded.getOpcode(i)));
 	}
 
-	private InsnNode decodeSwitch(DecodedInstruction insn, int offset, boolean packed) {
-		int payloadOffset = insn.getTarget();
-		DecodedInstruction payload = insnArr[payloadOffset];
-		Object[] keys;
-		int[] targets;
-		if (packed) {
-			PackedSwitchPayloadDecodedInstruction ps = (PackedSwitchPayloadDecodedInstruction) payload;
-			targets = ps.getTargets();
-			keys = new Object[targets.length];
-			int k = ps.getFirstKey();
-			for (int i = 0; i < keys.length; i++) {
-				keys[i] = k++;
-			}
-		} else {
-			SparseSwitchPayloadDecodedInstruction ss = (SparseSwitchPayloadDecodedInstruction) payload;
-			targets = ss.getTargets();
-			keys = new Object[targets.length];
-			for (int i = 0; i < keys.length; i++) {
-				keys[i] = ss.getKeys()[i];
-			}
+	private Object getPayload(int i) throws DecodeException {
+		int payloadOffset = decoded.getTarget(i);
+		int payloadIndex = decoded.indexOf(payloadOffset);
+		Object payload = payloadIndex == -1 ? null : decoded.getPayload(payloadIndex);
+		if (payload == null) {
+			throw new DecodeException("Payload not found at offset " + InsnUtils.formatOffset(payloadOffset));
 		}
-		// convert from relative to absolute offsets
-		for (int i = 0; i < targets.length; i++) {
-			targets[i] = targets[i] - payloadOffset + offset;
+		return payload;
+	}
+
+	private InsnNode decodeSwitch(int i) throws DecodeException {
+		SwitchPayload payload = (SwitchPayload) getPayload(i);
+		int offset = decoded.getOffset(i);
+		int[] payloadKeys = payload.getKeys();
+		int[] payloadTargets = payload.getTargets();
+		int count = payloadKeys.length;
+		Object[] keys = new Object[count];
+		int[] targets = new int[count];
+		for (int k = 0; k < count; k++) {
+			keys[k] = payloadKeys[k];
+			// convert from relative to absolute offsets
+			targets[k] = payloadTargets[k] + offset;
 		}
-		int nextOffset = getNextInsnOffset(insnArr, offset);
-		return new SwitchNode(InsnArg.reg(insn, 0, ArgType.NARROW), keys, targets, nextOffset);
+		return new SwitchNode(reg(i, 0, ArgType.NARROW), keys, targets, getNextOffset(i));
 	}
 
-	private InsnNode fillArray(DecodedInstruction insn) {
-		DecodedInstruction payload = insnArr[insn.getTarget()];
-		return new FillArrayNode(insn.getA(), (FillArrayDataPayloadDecodedInstruction) payload);
+	private InsnNode fillArray(int i) throws DecodeException {
+		FillArrayPayload payload = (FillArrayPayload) getPayload(i);
+		return new FillArrayNode(decoded.getReg(i, 0), payload.getElementWidth(), payload.getData());
 	}
 
-	private InsnNode filledNewArray(DecodedInstruction insn, int offset, boolean isRange) {
-		int resReg = getMoveResultRegister(insnArr, offset);
-		ArgType arrType = dex.getType(insn.getIndex());
+	private InsnNode filledNewArray(int i) {
+		int resReg = getMoveResultRegister(i);
+		ArgType arrType = dex.getType(decoded.getIndex(i));
 		ArgType elType = arrType.getArrayElement();
 		boolean typeImmutable = elType.isPrimitive();
-		int regsCount = insn.getRegisterCount();
+		int regsCount = decoded.getRegsCount(i);
 		InsnArg[] regs = new InsnArg[regsCount];
-		if (isRange) {
-			int r = insn.getA();
-			for (int i = 0; i < regsCount; i++) {
-				regs[i] = InsnArg.reg(r, elType, typeImmutable);
-				r++;
-			}
-		} else {
-			for (int i = 0; i < regsCount; i++) {
-				int regNum = InsnUtils.getArg(insn, i);
-				regs[i] = InsnArg.reg(regNum, elType, typeImmutable);
-			}
+		for (int r = 0; r < regsCount; r++) {
+			regs[r] = InsnArg.reg(decoded.getReg(i, r), elType, typeImmutable);
 		}
 		return insn(InsnType.FILLED_NEW_ARRAY,
 				resReg == -1 ? null : InsnArg.reg(resReg, arrType),
 				regs);
 	}
 
-	private InsnNode cmp(DecodedInstruction insn, InsnType itype, ArgType argType) {
+	private InsnNode cmp(int i, InsnType itype, ArgType argType) {
 		InsnNode inode = new InsnNode(itype, 2);
-		inode.setResult(InsnArg.reg(insn, 0, ArgType.INT));
-		inode.addArg(InsnArg.reg(insn, 1, argType));
-		inode.addArg(InsnArg.reg(insn, 2, argType));
+		inode.setResult(reg(i, 0, ArgType.INT));
+		inode.addArg(reg(i, 1, argType));
+		inode.addArg(reg(i, 2, argType));
 		return inode;
 	}
 
-	private InsnNode cast(DecodedInstruction insn, ArgType from, ArgType to) {
+	private InsnNode cast(int i, ArgType from, ArgType to) {
 		InsnNode inode = new IndexInsnNode(InsnType.CAST, to, 1);
-		inode.setResult(InsnArg.reg(insn, 0, to));
-		inode.addArg(InsnArg.reg(insn, 1, from));
+		inode.setResult(reg(i, 0, to));
+		inode.addArg(reg(i, 1, from));
 		return inode;
 	}
 
-	private InsnNode invoke(DecodedInstruction insn, int offset, InvokeType type, boolean isRange) {
-		int resReg = getMoveResultRegister(insnArr, offset);
-		MethodInfo mth = MethodInfo.fromDex(dex, insn.getIndex());
-		return new InvokeNode(mth, insn, type, isRange, resReg);
+	private InsnNode invoke(int i, InvokeType type) {
+		int resReg = getMoveResultRegister(i);
+		MethodInfo mth = MethodInfo.fromDex(dex, decoded.getIndex(i));
+		boolean isStatic = type == InvokeType.STATIC;
+		InvokeNode node = new InvokeNode(mth, type, mth.getArgsCount() + (isStatic ? 0 : 1));
+		if (resReg >= 0) {
+			node.setResult(InsnArg.reg(resReg, mth.getReturnType()));
+		}
+		int k = 0;
+		if (!isStatic) {
+			node.addArg(reg(i, k, mth.getDeclClass().getType()));
+			k++;
+		}
+		for (ArgType arg : mth.getArgumentsTypes()) {
+			node.addArg(reg(i, k, arg));
+			k += arg.getRegCount();
+		}
+		return node;
 	}
 
-	private InsnNode arrayGet(DecodedInstruction insn, ArgType argType) {
+	private InsnNode ifNode(int i, IfOp op) {
+		int target = decoded.getTarget(i);
+		if (decoded.getRegsCount(i) == 1) {
+			return new IfNode(op, target, decoded.getReg(i, 0));
+		}
+		return new IfNode(op, target, decoded.getReg(i, 0), decoded.getReg(i, 1));
+	}
+
+	private InsnNode arrayGet(int i, ArgType argType) {
 		InsnNode inode = new InsnNode(InsnType.AGET, 2);
-		inode.setResult(InsnArg.reg(insn, 0, argType));
-		inode.addArg(InsnArg.reg(insn, 1, ArgType.unknown(PrimitiveType.ARRAY)));
-		inode.addArg(InsnArg.reg(insn, 2, ArgType.INT));
+		inode.setResult(reg(i, 0, argType));
+		inode.addArg(reg(i, 1, ArgType.unknown(PrimitiveType.ARRAY)));
+		inode.addArg(reg(i, 2, ArgType.INT));
 		return inode;
 	}
 
-	private InsnNode arrayPut(DecodedInstruction insn, ArgType argType) {
+	private InsnNode arrayPut(int i, ArgType argType) {
 		InsnNode inode = new InsnNode(InsnType.APUT, 3);
-		inode.addArg(InsnArg.reg(insn, 1, ArgType.unknown(PrimitiveType.ARRAY)));
-		inode.addArg(InsnArg.reg(insn, 2, ArgType.INT));
-		inode.addArg(InsnArg.reg(insn, 0, argType));
+		inode.addArg(reg(i, 1, ArgType.unknown(PrimitiveType.ARRAY)));
+		inode.addArg(reg(i, 2, ArgType.INT));
+		inode.addArg(reg(i, 0, argType));
 		return inode;
 	}
 
-	private InsnNode arith(DecodedInstruction insn, ArithOp op, ArgType type) {
-		return new ArithNode(insn, op, type, false);
+	private InsnNode arith(int i, ArithOp op, ArgType type) {
+		if (decoded.getRegsCount(i) == 2) {
+			// '2addr' instruction: result stored in first argument register
+			return new ArithNode(op, reg(i, 0, type), reg(i, 0, type), reg(i, 1, type));
+		}
+		return new ArithNode(op, reg(i, 0, type), reg(i, 1, type), reg(i, 2, type));
 	}
 
-	private InsnNode arithLit(DecodedInstruction insn, ArithOp op, ArgType type) {
-		return new ArithNode(insn, op, type, true);
+	private InsnNode arithLit(int i, ArithOp op, ArgType type) {
+		if (decoded.getRegsCount(i) == 1) {
+			return new ArithNode(op, reg(i, 0, type), reg(i, 0, type), lit(i, type));
+		}
+		return new ArithNode(op, reg(i, 0, type), reg(i, 1, type), lit(i, type));
 	}
 
-	private InsnNode neg(DecodedInstruction insn, ArgType type) {
+	private InsnNode neg(int i, ArgType type) {
 		InsnNode inode = new InsnNode(InsnType.NEG, 1);
-		inode.setResult(InsnArg.reg(insn, 0, type));
-		inode.addArg(InsnArg.reg(insn, 1, type));
+		inode.setResult(reg(i, 0, type));
+		inode.addArg(reg(i, 1, type));
 		return inode;
 	}
 
@@ -717,39 +769,51 @@ public class InsnDecoder {
 		return node;
 	}
 
-	private int getMoveResultRegister(DecodedInstruction[] insnArr, int offset) {
-		int nextOffset = getNextInsnOffset(insnArr, offset);
-		if (nextOffset >= 0) {
-			DecodedInstruction next = insnArr[nextOffset];
-			int opc = next.getOpcode();
+	private int getNextOffset(int i) {
+		return i + 1 < decoded.size() ? decoded.getOffset(i + 1) : -1;
+	}
+
+	private int getMoveResultRegister(int i) {
+		int next = i + 1;
+		if (next < decoded.size()) {
+			int opc = decoded.getOpcode(next);
 			if (opc == Opcodes.MOVE_RESULT
 					|| opc == Opcodes.MOVE_RESULT_WIDE
 					|| opc == Opcodes.MOVE_RESULT_OBJECT) {
-				return next.getA();
+				return decoded.getReg(next, 0);
 			}
 		}
 		return -1;
 	}
 
-	public static int getPrevInsnOffset(Object[] insnArr, int offset) {
-		int i = offset - 1;
-		while (i >= 0 && insnArr[i] == null) {
-			i--;
-		}
-		if (i < 0) {
-			return -1;
+	/**
+	 * @param insns instructions sorted by offset (see {@link #process()})
+	 * @return index of first instruction with offset not less than provided,
+	 * instructions count if all instructions placed before this offset
+	 */
+	public static int getInsnIndex(InsnNode[] insns, int offset) {
+		int low = 0;
+		int high = insns.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (insns[mid].getOffset() < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
 		}
-		return i;
+		return low;
 	}
 
-	public static int getNextInsnOffset(Object[] insnArr, int offset) {
-		int i = offset + 1;
-		while (i < insnArr.length && insnArr[i] == null) {
-			i++;
-		}
-		if (i >= insnArr.length) {
-			return -1;
+	/**
+	 * @param insns instructions sorted by offset (see {@link #process()})
+	 * @return instruction at offset or null if no instruction starts at this offset
+	 */
+	public static InsnNode getInsnByOffset(InsnNode[] insns, int offset) {
+		int index = getInsnIndex(insns, offset);
+		if (index < insns.length && insns[index].getOffset() == offset) {
+			return insns[index];
 		}
-		return i;
+		return null;
 	}
 }
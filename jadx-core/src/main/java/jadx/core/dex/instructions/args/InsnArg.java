@@ -2,7 +2,6 @@ package jadx.core.dex.instructions.args;
 
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.InsnNode;
-import jadx.core.utils.InsnUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,8 +9,6 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.android.dx.io.instructions.DecodedInstruction;
-
 /**
  * Instruction argument,
  * argument can be register, literal or instruction
@@ -26,10 +23,6 @@ public abstract class InsnArg extends Typed {
 		return new RegisterArg(regNum, type);
 	}
 
-	public static RegisterArg reg(DecodedInstruction insn, int argNum, ArgType type) {
-		return reg(InsnUtils.getArg(insn, argNum), type);
-	}
-
 	public static TypeImmutableArg typeImmutableReg(int regNum, ArgType type) {
 		return new TypeImmutableArg(regNum, type);
 	}
@@ -42,10 +35,6 @@ public abstract class InsnArg extends Typed {
 		return new LiteralArg(literal, type);
 	}
 
-	public static LiteralArg lit(DecodedInstruction insn, ArgType type) {
-		return lit(insn.getLiteral(), type);
-	}
-
 	private static InsnWrapArg wrap(InsnNode insn) {
 		return new InsnWrapArg(insn);
 	}
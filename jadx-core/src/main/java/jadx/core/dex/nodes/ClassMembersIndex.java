@@ -0,0 +1,68 @@
+package jadx.core.dex.nodes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable index of class methods and fields by dex index and by short id (or name).
+ * <p/>
+ * For members with same short id (or name) first one in class is stored, same as linear search.
+ * Members lists can be changed by passes,
+ * so index built for other lists modifications count must be replaced.
+ */
+final class ClassMembersIndex {
+
+	private final int methodsModCount;
+	private final int fieldsModCount;
+
+	private final Map<Integer, MethodNode> methodsByIndex;
+	private final Map<String, MethodNode> methodsByShortId;
+	private final Map<Integer, FieldNode> fieldsByIndex;
+	private final Map<String, FieldNode> fieldsByName;
+
+	ClassMembersIndex(MembersList<MethodNode> methods, MembersList<FieldNode> fields) {
+		this.methodsModCount = methods.getModCount();
+		this.fieldsModCount = fields.getModCount();
+		int methodsCount = methods.size();
+		int fieldsCount = fields.size();
+
+		this.methodsByIndex = new HashMap<Integer, MethodNode>(methodsCount);
+		this.methodsByShortId = new HashMap<String, MethodNode>(methodsCount);
+		for (MethodNode mth : methods) {
+			putFirst(methodsByIndex, mth.getMethodIndex(), mth);
+			putFirst(methodsByShortId, mth.getMethodInfo().getShortId(), mth);
+		}
+		this.fieldsByIndex = new HashMap<Integer, FieldNode>(fieldsCount);
+		this.fieldsByName = new HashMap<String, FieldNode>(fieldsCount);
+		for (FieldNode field : fields) {
+			putFirst(fieldsByIndex, field.getFieldIndex(), field);
+			putFirst(fieldsByName, field.getName(), field);
+		}
+	}
+
+	private static <K, V> void putFirst(Map<K, V> map, K key, V value) {
+		if (!map.containsKey(key)) {
+			map.put(key, value);
+		}
+	}
+
+	boolean isValidFor(MembersList<MethodNode> methods, MembersList<FieldNode> fields) {
+		return methods.getModCount() == methodsModCount && fields.getModCount() == fieldsModCount;
+	}
+
+	MethodNode getMethodByIndex(int index) {
+		return methodsByIndex.get(index);
+	}
+
+	MethodNode getMethodByShortId(String shortId) {
+		return methodsByShortId.get(shortId);
+	}
+
+	FieldNode getFieldByIndex(int index) {
+		return fieldsByIndex.get(index);
+	}
+
+	FieldNode getFieldByName(String name) {
+		return fieldsByName.get(name);
+	}
+}
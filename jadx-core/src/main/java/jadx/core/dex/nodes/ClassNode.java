@@ -46,13 +46,15 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 	private List<ClassInfo> interfaces;
 	private Map<ArgType, List<ArgType>> genericMap;
 
-	private final List<MethodNode> methods;
-	private final List<FieldNode> fields;
+	private final MembersList<MethodNode> methods;
+	private final MembersList<FieldNode> fields;
 	private Map<Object, FieldNode> constFields = Collections.emptyMap();
 	private List<ClassNode> innerClasses = Collections.emptyList();
+	// lazy built index for members search, immutable
+	private volatile ClassMembersIndex membersIndex;
 
 	// store decompiled code
-	private CodeWriter code;
+	private volatile CodeWriter code;
 	// store parent for inner classes or 'this' otherwise
 	private ClassNode parentClass;
 
@@ -74,8 +76,8 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 				int mthsCount = clsData.getDirectMethods().length + clsData.getVirtualMethods().length;
 				int fieldsCount = clsData.getStaticFields().length + clsData.getInstanceFields().length;
 
-				methods = new ArrayList<MethodNode>(mthsCount);
-				fields = new ArrayList<FieldNode>(fieldsCount);
+				methods = new MembersList<MethodNode>(mthsCount);
+				fields = new MembersList<FieldNode>(fieldsCount);
 
 				for (Method mth : clsData.getDirectMethods()) {
 					methods.add(new MethodNode(this, mth));
@@ -92,8 +94,8 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 					fields.add(new FieldNode(this, f));
 				}
 			} else {
-				methods = Collections.emptyList();
-				fields = Collections.emptyList();
+				methods = new MembersList<MethodNode>(0);
+				fields = new MembersList<FieldNode>(0);
 			}
 
 			loadAnnotations(cls);
@@ -155,7 +157,7 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 					FieldValueAttr fv = f.get(AType.FIELD_VALUE);
 					if (fv != null && fv.getValue() != null) {
 						if (accFlags.isPublic()) {
-							dex.getConstFields().put(fv.getValue(), f);
+							dex.root().getConstFields().put(fv.getValue(), f);
 						}
 						constFields.put(fv.getValue(), f);
 					}
@@ -165,7 +167,7 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 	}
 
 	private void parseClassSignature() {
-		SignatureParser sp = SignatureParser.fromNode(this);
+		SignatureParser sp = SignatureParser.fromNode(this, dex.root().getInfoStorage());
 		if (sp == null) {
 			return;
 		}
@@ -173,12 +175,12 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 			// parse class generic map
 			genericMap = sp.consumeGenericMap();
 			// parse super class signature
-			superClass = ClassInfo.fromType(sp.consumeType());
+			superClass = ClassInfo.fromType(dex.root(), sp.consumeType());
 			// parse interfaces signatures
 			for (int i = 0; i < interfaces.size(); i++) {
 				ArgType type = sp.consumeType();
 				if (type != null) {
-					interfaces.set(i, ClassInfo.fromType(type));
+					interfaces.set(i, ClassInfo.fromType(dex.root(), type));
 				} else {
 					break;
 				}
@@ -190,7 +192,7 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 
 	private void setFieldsTypesFromSignature() {
 		for (FieldNode field : fields) {
-			SignatureParser sp = SignatureParser.fromNode(field);
+			SignatureParser sp = SignatureParser.fromNode(field, dex.root().getInfoStorage());
 			if (sp != null) {
 				try {
 					ArgType gType = sp.consumeType();
@@ -264,7 +266,7 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 				&& (cn = dex.resolveClass(cn.clsInfo.getParentClass())) != null);
 
 		if (field == null && searchGlobal) {
-			field = dex.getConstFields().get(obj);
+			field = dex.root().getConstFields().get(obj);
 		}
 		return field;
 	}
@@ -296,14 +298,24 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 		return null;
 	}
 
+	/**
+	 * Return members index, rebuild if members lists changed
+	 */
+	private ClassMembersIndex getMembersIndex() {
+		ClassMembersIndex index = membersIndex;
+		if (index == null || !index.isValidFor(methods, fields)) {
+			index = new ClassMembersIndex(methods, fields);
+			membersIndex = index;
+		}
+		return index;
+	}
+
 	public FieldNode searchFieldById(int id) {
-		String name = FieldInfo.getNameById(dex, id);
-		for (FieldNode f : fields) {
-			if (f.getName().equals(name)) {
-				return f;
-			}
+		FieldNode field = getMembersIndex().getFieldByIndex(id);
+		if (field != null) {
+			return field;
 		}
-		return null;
+		return searchFieldByName(FieldInfo.getNameById(dex, id));
 	}
 
 	public FieldNode searchField(FieldInfo field) {
@@ -311,33 +323,26 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 	}
 
 	public FieldNode searchFieldByName(String name) {
-		for (FieldNode f : fields) {
-			if (f.getName().equals(name)) {
-				return f;
-			}
-		}
-		return null;
+		return getMembersIndex().getFieldByName(name);
 	}
 
 	public MethodNode searchMethod(MethodInfo mth) {
-		for (MethodNode m : methods) {
-			if (m.getMethodInfo().equals(mth)) {
-				return m;
-			}
+		MethodNode m = getMembersIndex().getMethodByShortId(mth.getShortId());
+		if (m != null && m.getMethodInfo().equals(mth)) {
+			return m;
 		}
 		return null;
 	}
 
 	public MethodNode searchMethodByName(String shortId) {
-		for (MethodNode m : methods) {
-			if (m.getMethodInfo().getShortId().equals(shortId)) {
-				return m;
-			}
-		}
-		return null;
+		return getMembersIndex().getMethodByShortId(shortId);
 	}
 
 	public MethodNode searchMethodById(int id) {
+		MethodNode mth = getMembersIndex().getMethodByIndex(id);
+		if (mth != null) {
+			return mth;
+		}
 		return searchMethodByName(MethodInfo.fromDex(dex, id).getShortId());
 	}
 
@@ -425,6 +430,20 @@ public class ClassNode extends LineAttrNode implements ILoadable {
 		return code;
 	}
 
+	/**
+	 * Drop generated code and methods processing results of class and its inner classes,
+	 * used after code saved if class not needed anymore.
+	 */
+	public void releaseCode() {
+		code = null;
+		for (MethodNode mth : getMethods()) {
+			mth.releaseRegion();
+		}
+		for (ClassNode innerCls : getInnerClasses()) {
+			innerCls.releaseCode();
+		}
+	}
+
 	@Override
 	public String toString() {
 		return getFullName();
@@ -7,11 +7,11 @@ import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.files.InputFile;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -31,20 +31,39 @@ public class DexNode {
 	public static final int NO_INDEX = -1;
 
 	private final RootNode root;
+	private final InputFile input;
 	private final Dex dexBuf;
 	private final List<ClassNode> classes = new ArrayList<ClassNode>();
 
-	private final Map<Object, FieldNode> constFields = new HashMap<Object, FieldNode>();
+	// strings and types decoded on first request, by dex index
+	private final AtomicReferenceArray<String> strings;
+	private final AtomicReferenceArray<ArgType> types;
+	private final AtomicReferenceArray<MethodInfo> methodInfos;
+	private final AtomicReferenceArray<FieldInfo> fieldInfos;
 
-	public DexNode(RootNode root, InputFile input) {
+	public DexNode(RootNode root, InputFile input, Dex dexBuf) {
 		this.root = root;
-		this.dexBuf = input.getDexBuffer();
+		this.input = input;
+		this.dexBuf = dexBuf;
+		this.strings = new AtomicReferenceArray<String>(dexBuf.strings().size());
+		this.types = new AtomicReferenceArray<ArgType>(dexBuf.typeIds().size());
+		this.methodInfos = new AtomicReferenceArray<MethodInfo>(dexBuf.methodIds().size());
+		this.fieldInfos = new AtomicReferenceArray<FieldInfo>(dexBuf.fieldIds().size());
 	}
 
-	public void loadClasses() throws DecodeException {
-		for (ClassDef cls : dexBuf.classDefs()) {
-			classes.add(new ClassNode(this, cls));
-		}
+	/**
+	 * SHA-1 of dex content, calculated on every call
+	 */
+	public byte[] computeSignature() throws IOException {
+		return dexBuf.computeSignature();
+	}
+
+	public Iterable<ClassDef> getClassDefs() {
+		return dexBuf.classDefs();
+	}
+
+	public void loadClass(ClassDef cls) throws DecodeException {
+		classes.add(new ClassNode(this, cls));
 	}
 
 	public List<ClassNode> getClasses() {
@@ -58,34 +77,67 @@ public class DexNode {
 
 	@Nullable
 	public MethodNode resolveMethod(MethodInfo mth) {
-		ClassNode cls = resolveClass(mth.getDeclClass());
-		if (cls != null) {
-			return cls.searchMethod(mth);
-		}
-		return null;
+		return root.resolveMethod(mth);
 	}
 
 	@Nullable
 	public FieldNode resolveField(FieldInfo field) {
-		ClassNode cls = resolveClass(field.getDeclClass());
-		if (cls != null) {
-			return cls.searchField(field);
-		}
-		return null;
-	}
-
-	public Map<Object, FieldNode> getConstFields() {
-		return constFields;
+		return root.resolveField(field);
 	}
 
 	// DexBuffer wrappers
 
+	/**
+	 * String decoded from MUTF-8 only once, concurrent first calls can decode same string
+	 * but only one instance stored.
+	 */
 	public String getString(int index) {
-		return dexBuf.strings().get(index);
+		String str = strings.get(index);
+		if (str == null) {
+			str = dexBuf.strings().get(index);
+			if (!strings.compareAndSet(index, null, str)) {
+				str = strings.get(index);
+			}
+		}
+		return str;
 	}
 
+	/**
+	 * Types are immutable, so parsed type shared for all uses of same type index
+	 */
 	public ArgType getType(int index) {
-		return ArgType.parse(getString(dexBuf.typeIds().get(index)));
+		ArgType type = types.get(index);
+		if (type == null) {
+			type = ArgType.parse(getString(dexBuf.typeIds().get(index)));
+			if (!types.compareAndSet(index, null, type)) {
+				type = types.get(index);
+			}
+		}
+		return type;
+	}
+
+	/**
+	 * Cached method info for dex method index, null if not created yet (see {@link MethodInfo#fromDex})
+	 */
+	@Nullable
+	public MethodInfo getMethodInfo(int mthIndex) {
+		return methodInfos.get(mthIndex);
+	}
+
+	public void putMethodInfo(int mthIndex, MethodInfo mth) {
+		methodInfos.set(mthIndex, mth);
+	}
+
+	/**
+	 * Cached field info for dex field index, null if not created yet (see {@link FieldInfo#fromDex})
+	 */
+	@Nullable
+	public FieldInfo getFieldInfo(int fieldIndex) {
+		return fieldInfos.get(fieldIndex);
+	}
+
+	public void putFieldInfo(int fieldIndex, FieldInfo field) {
+		fieldInfos.set(fieldIndex, field);
 	}
 
 	public MethodId getMethodId(int mthIndex) {
@@ -125,6 +177,10 @@ public class DexNode {
 		return root;
 	}
 
+	public InputFile getInputFile() {
+		return input;
+	}
+
 	@Override
 	public String toString() {
 		return "DEX";
@@ -12,13 +12,15 @@ public class FieldNode extends LineAttrNode {
 
 	private final ClassNode parent;
 	private final FieldInfo fieldInfo;
+	private final int fieldIndex;
 	private final AccessInfo accFlags;
 
 	private ArgType type; // store signature
 
 	public FieldNode(ClassNode cls, Field field) {
 		this.parent = cls;
-		this.fieldInfo = FieldInfo.fromDex(cls.dex(), field.getFieldIndex());
+		this.fieldIndex = field.getFieldIndex();
+		this.fieldInfo = FieldInfo.fromDex(cls.dex(), fieldIndex);
 		this.type = fieldInfo.getType();
 		this.accFlags = new AccessInfo(field.getAccessFlags(), AFType.FIELD);
 	}
@@ -27,6 +29,13 @@ public class FieldNode extends LineAttrNode {
 		return fieldInfo;
 	}
 
+	/**
+	 * Index in dex field ids table
+	 */
+	public int getFieldIndex() {
+		return fieldIndex;
+	}
+
 	public AccessInfo getAccessFlags() {
 		return accFlags;
 	}
@@ -13,8 +13,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import com.android.dx.io.instructions.DecodedInstruction;
-
 public class InsnNode extends LineAttrNode {
 
 	protected final InsnType insnType;
@@ -118,10 +116,6 @@ public class InsnNode extends LineAttrNode {
 		return false;
 	}
 
-	protected void addReg(DecodedInstruction insn, int i, ArgType type) {
-		addArg(InsnArg.reg(insn, i, type));
-	}
-
 	protected void addReg(int regNum, ArgType type) {
 		addArg(InsnArg.reg(regNum, type));
 	}
@@ -130,10 +124,6 @@ public class InsnNode extends LineAttrNode {
 		addArg(InsnArg.lit(literal, type));
 	}
 
-	protected void addLit(DecodedInstruction insn, ArgType type) {
-		addArg(InsnArg.lit(insn, type));
-	}
-
 	public int getOffset() {
 		return offset;
 	}
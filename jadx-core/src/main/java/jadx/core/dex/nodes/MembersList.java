@@ -0,0 +1,35 @@
+package jadx.core.dex.nodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class members list with accessible modifications counter,
+ * used for check if members index is outdated.
+ * <p/>
+ * Sub lists are read only, because changes through sub list not counted.
+ */
+final class MembersList<T> extends ArrayList<T> {
+
+	private static final long serialVersionUID = 3245326563912315429L;
+
+	MembersList(int initialCapacity) {
+		super(initialCapacity);
+	}
+
+	int getModCount() {
+		return modCount;
+	}
+
+	@Override
+	public T set(int index, T element) {
+		modCount++;
+		return super.set(index, element);
+	}
+
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+	}
+}
@@ -1,5 +1,6 @@
 package jadx.core.dex.nodes;
 
+import jadx.api.IJadxArgs;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.attributes.nodes.JumpInfo;
@@ -18,11 +19,14 @@ import jadx.core.dex.instructions.args.InsnArg;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.instructions.args.SSAVar;
 import jadx.core.dex.instructions.args.TypeImmutableArg;
+import jadx.core.dex.nodes.parser.DebugInfo;
+import jadx.core.dex.nodes.parser.DebugInfoParser;
 import jadx.core.dex.nodes.parser.SignatureParser;
 import jadx.core.dex.regions.Region;
 import jadx.core.dex.trycatch.ExcHandlerAttr;
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.dex.trycatch.TryCatchBlock;
+import jadx.core.utils.MethodBudget;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -47,6 +51,7 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 	private static final Logger LOG = LoggerFactory.getLogger(MethodNode.class);
 
 	private final MethodInfo mthInfo;
+	private final int mthIndex;
 	private final ClassNode parentClass;
 	private final AccessInfo accFlags;
 
@@ -55,9 +60,12 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 	private InsnNode[] instructions;
 	private int codeSize;
 	private int debugInfoOffset;
+	private DebugInfo debugInfo;
 	private boolean noCode;
 
 	private ArgType retType;
+	// arguments types from signature (or method info), parsed once and kept after unload
+	private List<ArgType> argTypes;
 	private RegisterArg thisArg;
 	private List<RegisterArg> argsList;
 	private List<SSAVar> sVars = Collections.emptyList();
@@ -71,8 +79,11 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 	private List<ExceptionHandler> exceptionHandlers = Collections.emptyList();
 	private List<LoopInfo> loops = Collections.emptyList();
 
+	private MethodBudget budget;
+
 	public MethodNode(ClassNode classNode, Method mthData) {
-		this.mthInfo = MethodInfo.fromDex(classNode.dex(), mthData.getMethodIndex());
+		this.mthIndex = mthData.getMethodIndex();
+		this.mthInfo = MethodInfo.fromDex(classNode.dex(), mthIndex);
 		this.parentClass = classNode;
 		this.accFlags = new AccessInfo(mthData.getAccessFlags(), AFType.METHOD);
 		this.noCode = (mthData.getCodeOffset() == 0);
@@ -97,7 +108,7 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 			InsnDecoder decoder = new InsnDecoder(this);
 			decoder.decodeInsns(mthCode);
 			instructions = decoder.process();
-			codeSize = instructions.length;
+			codeSize = mthCode.getInstructions().length;
 
 			initTryCatches(mthCode);
 			initJumps();
@@ -114,12 +125,26 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 		}
 	}
 
+	/**
+	 * Init return and arguments types without instructions decoding,
+	 * used for methods which code restored from cache (see {@link jadx.core.codegen.CodeCache}).
+	 */
+	public void loadSignature() throws DecodeException {
+		try {
+			if (noCode) {
+				regsCount = 0;
+			} else {
+				regsCount = parentClass.dex().readCode(methodData).getRegistersSize();
+			}
+			initMethodTypes();
+		} catch (Exception e) {
+			throw new DecodeException(this, "Load method signature exception", e);
+		}
+	}
+
 	public void checkInstructions() {
 		List<RegisterArg> list = new ArrayList<RegisterArg>();
 		for (InsnNode insnNode : instructions) {
-			if (insnNode == null) {
-				continue;
-			}
 			list.clear();
 			RegisterArg resultArg = insnNode.getResult();
 			if (resultArg != null) {
@@ -135,10 +160,13 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 	}
 
 	private void initMethodTypes() {
-		if (!parseSignature()) {
-			retType = mthInfo.getReturnType();
-			initArguments(mthInfo.getArgumentsTypes());
+		if (argTypes == null) {
+			if (!parseSignature()) {
+				retType = mthInfo.getReturnType();
+				argTypes = mthInfo.getArgumentsTypes();
+			}
 		}
+		initArguments(argTypes);
 	}
 
 	@Override
@@ -150,10 +178,29 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 		blocks = null;
 		exitBlocks = null;
 		exceptionHandlers.clear();
+		remove(AType.BLOCK_REACHABILITY);
+		remove(AType.INSN_BLOCK_INDEX);
+		budget = null;
+		debugInfo = null;
+	}
+
+	/**
+	 * Drop processing results (blocks, regions, variables, loops) after code generation,
+	 * method declaration and attributes used by other classes are kept.
+	 */
+	public void releaseRegion() {
+		enterBlock = null;
+		region = null;
+		sVars = Collections.emptyList();
+		loops = Collections.emptyList();
+		if (argTypes != null) {
+			// new arguments without links to SSA variables and instructions
+			initArguments(argTypes);
+		}
 	}
 
 	private boolean parseSignature() {
-		SignatureParser sp = SignatureParser.fromNode(this);
+		SignatureParser sp = SignatureParser.fromNode(this, parentClass.dex().root().getInfoStorage());
 		if (sp == null) {
 			return false;
 		}
@@ -182,7 +229,7 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 					return false;
 				}
 			}
-			initArguments(argsTypes);
+			argTypes = Collections.unmodifiableList(argsTypes);
 		} catch (JadxRuntimeException e) {
 			LOG.error("Method signature parse error: {}", this, e);
 			return false;
@@ -246,7 +293,7 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 	}
 
 	private void initTryCatches(Code mthCode) {
-		InsnNode[] insnByOffset = instructions;
+		InsnNode[] insns = instructions;
 		CatchHandler[] catchBlocks = mthCode.getCatchHandlers();
 		Try[] tries = mthCode.getTries();
 		if (catchBlocks.length == 0 && tries.length == 0) {
@@ -297,7 +344,7 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 			for (ExceptionHandler eh : ct.getHandlers()) {
 				int addr = eh.getHandleOffset();
 				ExcHandlerAttr ehAttr = new ExcHandlerAttr(ct, eh);
-				insnByOffset[addr].addAttr(ehAttr);
+				InsnDecoder.getInsnByOffset(insns, addr).addAttr(ehAttr);
 			}
 		}
 
@@ -308,15 +355,18 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 			int offset = aTry.getStartAddress();
 			int end = offset + aTry.getInstructionCount() - 1;
 
-			InsnNode insn = insnByOffset[offset];
+			InsnNode insn = InsnDecoder.getInsnByOffset(insns, offset);
 			insn.add(AFlag.TRY_ENTER);
-			while (offset <= end && offset >= 0) {
-				insn = insnByOffset[offset];
+			for (int i = InsnDecoder.getInsnIndex(insns, offset); i < insns.length; i++) {
+				if (insns[i].getOffset() > end) {
+					break;
+				}
+				insn = insns[i];
 				catchBlock.addInsn(insn);
-				offset = InsnDecoder.getNextInsnOffset(insnByOffset, offset);
 			}
-			if (insnByOffset[end] != null) {
-				insnByOffset[end].add(AFlag.TRY_LEAVE);
+			InsnNode endInsn = InsnDecoder.getInsnByOffset(insns, end);
+			if (endInsn != null) {
+				endInsn.add(AFlag.TRY_LEAVE);
 			} else {
 				insn.add(AFlag.TRY_LEAVE);
 			}
@@ -324,35 +374,32 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 	}
 
 	private void initJumps() {
-		InsnNode[] insnByOffset = instructions;
-		for (int offset = 0; offset < insnByOffset.length; offset++) {
-			InsnNode insn = insnByOffset[offset];
-			if (insn == null) {
-				continue;
-			}
+		InsnNode[] insns = instructions;
+		for (int i = 0; i < insns.length; i++) {
+			InsnNode insn = insns[i];
+			int offset = insn.getOffset();
+			InsnNode next = i + 1 < insns.length ? insns[i + 1] : null;
 			switch (insn.getType()) {
 				case SWITCH:
 					SwitchNode sw = (SwitchNode) insn;
 					for (int target : sw.getTargets()) {
-						addJump(insnByOffset, offset, target);
+						addJump(insns, offset, target);
 					}
 					// default case
-					int nextInsnOffset = InsnDecoder.getNextInsnOffset(insnByOffset, offset);
-					if (nextInsnOffset != -1) {
-						addJump(insnByOffset, offset, nextInsnOffset);
+					if (next != null) {
+						addJump(insns, offset, next.getOffset());
 					}
 					break;
 
 				case IF:
-					int next = InsnDecoder.getNextInsnOffset(insnByOffset, offset);
-					if (next != -1) {
-						addJump(insnByOffset, offset, next);
+					if (next != null) {
+						addJump(insns, offset, next.getOffset());
 					}
-					addJump(insnByOffset, offset, ((IfNode) insn).getTarget());
+					addJump(insns, offset, ((IfNode) insn).getTarget());
 					break;
 
 				case GOTO:
-					addJump(insnByOffset, offset, ((GotoNode) insn).getTarget());
+					addJump(insns, offset, ((GotoNode) insn).getTarget());
 					break;
 
 				default:
@@ -361,8 +408,8 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 		}
 	}
 
-	private static void addJump(InsnNode[] insnByOffset, int offset, int target) {
-		insnByOffset[target].addAttr(AType.JUMP, new JumpInfo(offset, target));
+	private static void addJump(InsnNode[] insns, int offset, int target) {
+		InsnDecoder.getInsnByOffset(insns, target).addAttr(AType.JUMP, new JumpInfo(offset, target));
 	}
 
 	public String getName() {
@@ -381,6 +428,9 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 		return codeSize;
 	}
 
+	/**
+	 * @return decoded instructions sorted by offset, null after unload
+	 */
 	public InsnNode[] getInstructions() {
 		return instructions;
 	}
@@ -404,6 +454,8 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 		for (BlockNode block : blocks) {
 			block.lock();
 		}
+		remove(AType.BLOCK_REACHABILITY);
+		remove(AType.INSN_BLOCK_INDEX);
 	}
 
 	public List<BlockNode> getBasicBlocks() {
@@ -540,6 +592,18 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 		return debugInfoOffset;
 	}
 
+	/**
+	 * Debug info decoded on first request and kept until method unload
+	 *
+	 * @return null if method don't have debug info
+	 */
+	public DebugInfo getDebugInfo() throws DecodeException {
+		if (debugInfo == null && debugInfoOffset > 0) {
+			debugInfo = new DebugInfoParser(this, debugInfoOffset).process();
+		}
+		return debugInfo;
+	}
+
 	public SSAVar makeNewSVar(int regNum, int[] versions, @NotNull RegisterArg arg) {
 		SSAVar var = new SSAVar(regNum, versions[regNum], arg);
 		versions[regNum]++;
@@ -574,10 +638,28 @@ public class MethodNode extends LineAttrNode implements ILoadable {
 		return parentClass.dex();
 	}
 
+	/**
+	 * Processing limits for this method, created on first request
+	 */
+	public MethodBudget getBudget() {
+		if (budget == null) {
+			IJadxArgs args = dex().root().getArgs();
+			budget = new MethodBudget(this, args.getMethodTimeLimit(), args.getMethodIterationsLimit());
+		}
+		return budget;
+	}
+
 	public MethodInfo getMethodInfo() {
 		return mthInfo;
 	}
 
+	/**
+	 * Index in dex method ids table
+	 */
+	public int getMethodIndex() {
+		return mthIndex;
+	}
+
 	@Override
 	public int hashCode() {
 		return mthInfo.hashCode();
@@ -1,37 +1,74 @@
 package jadx.core.dex.nodes;
 
+import jadx.api.DefaultJadxArgs;
+import jadx.api.IJadxArgs;
 import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.InfoStorage;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.DecodedInsnsCache;
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.parser.ClassDigestParser;
 import jadx.core.utils.ErrorsCounter;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.files.InputFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.android.dex.ClassDef;
+import com.android.dex.Dex;
+
 public class RootNode {
+	private static final Logger LOG = LoggerFactory.getLogger(RootNode.class);
+
 	private final Map<String, ClassNode> names = new HashMap<String, ClassNode>();
+	// public constants from all dex files, so search result don't depend on classes split to dex files
+	private final Map<Object, FieldNode> constFields = new HashMap<Object, FieldNode>();
 	private final ErrorsCounter errorsCounter = new ErrorsCounter();
+	private final InfoStorage infoStorage = new InfoStorage();
+	private final DecodedInsnsCache decodedInsnsCache;
+	private final IJadxArgs args;
 	private List<DexNode> dexNodes;
+	private ClspGraph clsp;
+
+	// symbol tables: loaded nodes by info id (see InfoStorage), same for all dex files
+	private ClassNode[] classesById = new ClassNode[0];
+	private MethodNode[] methodsById = new MethodNode[0];
+	private FieldNode[] fieldsById = new FieldNode[0];
+
+	public RootNode() {
+		this(new DefaultJadxArgs());
+	}
+
+	public RootNode(IJadxArgs args) {
+		this.args = args;
+		this.decodedInsnsCache = new DecodedInsnsCache(args.getDecodedInsnsCacheSize());
+	}
 
 	public void load(List<InputFile> dexFiles) throws DecodeException {
 		dexNodes = new ArrayList<DexNode>(dexFiles.size());
 		for (InputFile dex : dexFiles) {
-			DexNode dexNode;
-			try {
-				dexNode = new DexNode(this, dex);
-			} catch (Exception e) {
-				throw new DecodeException("Error decode file: " + dex, e);
+			for (Dex dexBuf : dex.getDexBuffers()) {
+				DexNode dexNode;
+				try {
+					dexNode = new DexNode(this, dex, dexBuf);
+				} catch (Exception e) {
+					throw new DecodeException("Error decode file: " + dex, e);
+				}
+				dexNodes.add(dexNode);
 			}
-			dexNodes.add(dexNode);
-		}
-		for (DexNode dexNode : dexNodes) {
-			dexNode.loadClasses();
 		}
+		loadClasses();
 
 		List<ClassNode> classes = new ArrayList<ClassNode>();
 		for (DexNode dexNode : dexNodes) {
@@ -40,6 +77,7 @@ public class RootNode {
 			}
 			classes.addAll(dexNode.getClasses());
 		}
+		initSymbolTables(classes);
 
 		try {
 			initClassPath(classes);
@@ -49,14 +87,88 @@ public class RootNode {
 		initInnerClasses(classes);
 	}
 
-	private static void initClassPath(List<ClassNode> classes) throws IOException, DecodeException {
-		if (!ArgType.isClspSet()) {
-			ClspGraph clsp = new ClspGraph();
-			clsp.load();
-			clsp.addApp(classes);
+	/**
+	 * Load classes from all dex files.
+	 * Class with same name as already loaded class is skipped,
+	 * if content of these classes is different warning is reported.
+	 */
+	private void loadClasses() throws DecodeException {
+		Map<ArgType, LoadedClassDef> loaded = new HashMap<ArgType, LoadedClassDef>();
+		int sameCount = 0;
+		int conflictsCount = 0;
+		for (DexNode dexNode : dexNodes) {
+			for (ClassDef cls : dexNode.getClassDefs()) {
+				ArgType type = dexNode.getType(cls.getTypeIndex());
+				LoadedClassDef classDef = new LoadedClassDef(dexNode, cls);
+				LoadedClassDef prev = loaded.get(type);
+				if (prev == null) {
+					loaded.put(type, classDef);
+					dexNode.loadClass(cls);
+				} else if (Arrays.equals(prev.getDigest(), classDef.getDigest())) {
+					sameCount++;
+				} else {
+					conflictsCount++;
+					LOG.warn("Class {} from {} skipped: different class with same name already loaded from {}",
+							type, dexNode.getInputFile(), prev.getDex().getInputFile());
+				}
+			}
+		}
+		if (sameCount != 0) {
+			LOG.info("Skipped {} duplicated classes", sameCount);
+		}
+		if (conflictsCount != 0) {
+			LOG.warn("Skipped {} classes with same names and different content", conflictsCount);
+		}
+	}
+
+	private static final class LoadedClassDef {
+		private final DexNode dex;
+		private final ClassDef cls;
+		private byte[] digest;
 
-			ArgType.setClsp(clsp);
+		private LoadedClassDef(DexNode dex, ClassDef cls) {
+			this.dex = dex;
+			this.cls = cls;
 		}
+
+		public DexNode getDex() {
+			return dex;
+		}
+
+		public byte[] getDigest() throws DecodeException {
+			if (digest == null) {
+				digest = new ClassDigestParser(dex).digest(cls);
+			}
+			return digest;
+		}
+	}
+
+	private void initClassPath(List<ClassNode> classes) throws IOException, DecodeException {
+		ClspGraph newClsp = new ClspGraph();
+		newClsp.load();
+		newClsp.addApp(classes);
+		this.clsp = newClsp;
+	}
+
+	private void initSymbolTables(List<ClassNode> classes) {
+		ClassNode[] clsArr = new ClassNode[infoStorage.getClassesCount()];
+		MethodNode[] mthArr = new MethodNode[infoStorage.getMethodsCount()];
+		FieldNode[] fieldArr = new FieldNode[infoStorage.getFieldsCount()];
+		for (ClassNode cls : classes) {
+			clsArr[cls.getClassInfo().getId()] = cls;
+			for (MethodNode mth : cls.getMethods()) {
+				mthArr[mth.getMethodInfo().getId()] = mth;
+			}
+			for (FieldNode field : cls.getFields()) {
+				int id = field.getFieldInfo().getId();
+				if (id != -1) {
+					fieldArr[id] = field;
+				}
+			}
+		}
+		this.classesById = clsArr;
+		this.methodsById = mthArr;
+		this.fieldsById = fieldArr;
 	}
 
 	private void initInnerClasses(List<ClassNode> classes) {
@@ -95,13 +207,62 @@ public class RootNode {
 		return classes;
 	}
 
+	public List<DexNode> getDexNodes() {
+		return dexNodes;
+	}
+
+	public Map<Object, FieldNode> getConstFields() {
+		return constFields;
+	}
+
 	public ClassNode searchClassByName(String fullName) {
 		return names.get(fullName);
 	}
 
+	@Nullable
 	public ClassNode resolveClass(ClassInfo cls) {
-		String fullName = cls.getFullName();
-		return searchClassByName(fullName);
+		int id = cls.getId();
+		if (id >= 0 && id < classesById.length) {
+			ClassNode clsNode = classesById[id];
+			if (clsNode != null) {
+				return clsNode;
+			}
+		}
+		// class info with other type but same name (like generic inner class types)
+		return searchClassByName(cls.getFullName());
+	}
+
+	@Nullable
+	public MethodNode resolveMethod(MethodInfo mth) {
+		int id = mth.getId();
+		return id >= 0 && id < methodsById.length ? methodsById[id] : null;
+	}
+
+	@Nullable
+	public FieldNode resolveField(FieldInfo field) {
+		int id = field.getId();
+		if (id != -1) {
+			return id < fieldsById.length ? fieldsById[id] : null;
+		}
+		// field info not stored (created by passes or with other type), search by name
+		ClassNode cls = resolveClass(field.getDeclClass());
+		return cls == null ? null : cls.searchField(field);
+	}
+
+	public ClspGraph getClsp() {
+		return clsp;
+	}
+
+	public DecodedInsnsCache getDecodedInsnsCache() {
+		return decodedInsnsCache;
+	}
+
+	public InfoStorage getInfoStorage() {
+		return infoStorage;
+	}
+
+	public IJadxArgs getArgs() {
+		return args;
 	}
 
 	public ErrorsCounter getErrorsCounter() {
@@ -0,0 +1,220 @@
+package jadx.core.dex.nodes.parser;
+
+import jadx.core.dex.attributes.annotations.Annotation;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.nodes.DexNode;
+import jadx.core.utils.exceptions.DecodeException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.android.dex.ClassData;
+import com.android.dex.ClassData.Field;
+import com.android.dex.ClassData.Method;
+import com.android.dex.ClassDef;
+import com.android.dex.Code;
+import com.android.dex.Code.CatchHandler;
+import com.android.dex.Code.Try;
+import com.android.dex.Dex.Section;
+import com.android.dex.Leb128;
+import com.android.dx.io.IndexType;
+import com.android.dx.io.instructions.DecodedInstruction;
+import com.android.dx.io.instructions.ShortArrayCodeOutput;
+
+/**
+ * Calculate digest of class content.
+ * All references (strings, types, fields and methods) resolved by names,
+ * so same class from different dex files will have same digest.
+ * Debug info is not included.
+ */
+public class ClassDigestParser {
+
+	private final DexNode dex;
+	private final MessageDigest md;
+
+	public ClassDigestParser(DexNode dex) throws DecodeException {
+		this.dex = dex;
+		try {
+			this.md = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new DecodeException("Digest algorithm not found", e);
+		}
+	}
+
+	public byte[] digest(ClassDef cls) throws DecodeException {
+		md.reset();
+		addInt(cls.getAccessFlags());
+		addType(cls.getTypeIndex());
+		addType(cls.getSupertypeIndex());
+		addInt(cls.getInterfaces().length);
+		for (short interfaceIdx : cls.getInterfaces()) {
+			addType(interfaceIdx);
+		}
+		int sfIdx = cls.getSourceFileIndex();
+		addString(sfIdx == DexNode.NO_INDEX ? "" : dex.getString(sfIdx));
+
+		if (cls.getClassDataOffset() != 0) {
+			ClassData clsData = dex.readClassData(cls);
+			addFields(clsData.getStaticFields());
+			addFields(clsData.getInstanceFields());
+			addMethods(clsData.getDirectMethods());
+			addMethods(clsData.getVirtualMethods());
+		}
+		if (cls.getStaticValuesOffset() != 0) {
+			Section section = dex.openSection(cls.getStaticValuesOffset());
+			EncValueParser parser = new EncValueParser(dex, section);
+			int count = Leb128.readUnsignedLeb128(section);
+			addInt(count);
+			for (int i = 0; i < count; i++) {
+				addString(String.valueOf(parser.parseValue()));
+			}
+		}
+		if (cls.getAnnotationsOffset() != 0) {
+			addAnnotations(cls.getAnnotationsOffset());
+		}
+		return md.digest();
+	}
+
+	private void addFields(Field[] fields) {
+		addInt(fields.length);
+		for (Field f : fields) {
+			addInt(f.getAccessFlags());
+			addString(FieldInfo.fromDex(dex, f.getFieldIndex()).toString());
+		}
+	}
+
+	private void addMethods(Method[] methods) {
+		addInt(methods.length);
+		for (Method mth : methods) {
+			addInt(mth.getAccessFlags());
+			addString(MethodInfo.fromDex(dex, mth.getMethodIndex()).toString());
+			if (mth.getCodeOffset() != 0) {
+				addCode(dex.readCode(mth));
+			}
+		}
+	}
+
+	private void addCode(Code code) {
+		addInt(code.getRegistersSize());
+		addInt(code.getInsSize());
+		addInt(code.getOutsSize());
+
+		short[] insns = code.getInstructions();
+		ShortArrayCodeOutput out = new ShortArrayCodeOutput(insns.length);
+		for (DecodedInstruction insn : DecodedInstruction.decodeAll(insns)) {
+			if (insn == null) {
+				continue;
+			}
+			IndexType indexType = insn.getIndexType();
+			// payload instructions don't have index type
+			if (indexType != null && addRef(indexType, insn.getIndex())) {
+				// index differs in other dex files, reference already added by name
+				insn = insn.withIndex(0);
+			}
+			insn.encode(out);
+		}
+		for (short unit : out.getArray()) {
+			md.update((byte) (unit >> 8));
+			md.update((byte) unit);
+		}
+
+		for (Try tryItem : code.getTries()) {
+			addInt(tryItem.getStartAddress());
+			addInt(tryItem.getInstructionCount());
+			addInt(tryItem.getCatchHandlerIndex());
+		}
+		for (CatchHandler handler : code.getCatchHandlers()) {
+			for (int typeIndex : handler.getTypeIndexes()) {
+				addType(typeIndex);
+			}
+			for (int addr : handler.getAddresses()) {
+				addInt(addr);
+			}
+			addInt(handler.getCatchAllAddress());
+		}
+	}
+
+	private boolean addRef(IndexType indexType, int index) {
+		switch (indexType) {
+			case TYPE_REF:
+				addType(index);
+				return true;
+			case STRING_REF:
+				addString(dex.getString(index));
+				return true;
+			case FIELD_REF:
+				addString(FieldInfo.fromDex(dex, index).toString());
+				return true;
+			case METHOD_REF:
+				addString(MethodInfo.fromDex(dex, index).toString());
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private void addAnnotations(int offset) throws DecodeException {
+		Section section = dex.openSection(offset);
+		int classAnnotationsOffset = section.readInt();
+		int fieldsCount = section.readInt();
+		int annotatedMethodsCount = section.readInt();
+		int annotatedParametersCount = section.readInt();
+
+		addAnnotationSet(classAnnotationsOffset);
+		for (int i = 0; i < fieldsCount; i++) {
+			addString(FieldInfo.fromDex(dex, section.readInt()).toString());
+			addAnnotationSet(section.readInt());
+		}
+		for (int i = 0; i < annotatedMethodsCount; i++) {
+			addString(MethodInfo.fromDex(dex, section.readInt()).toString());
+			addAnnotationSet(section.readInt());
+		}
+		for (int i = 0; i < annotatedParametersCount; i++) {
+			addString(MethodInfo.fromDex(dex, section.readInt()).toString());
+			Section ss = dex.openSection(section.readInt());
+			int size = ss.readInt();
+			for (int j = 0; j < size; j++) {
+				addAnnotationSet(ss.readInt());
+			}
+		}
+	}
+
+	private void addAnnotationSet(int offset) throws DecodeException {
+		if (offset == 0) {
+			addInt(0);
+			return;
+		}
+		Section section = dex.openSection(offset);
+		int size = section.readInt();
+		addInt(size);
+		for (int i = 0; i < size; i++) {
+			Section anSection = dex.openSection(section.readInt());
+			Annotation a = AnnotationsParser.readAnnotation(dex, anSection, true);
+			addString(a.toString());
+		}
+	}
+
+	private void addType(int typeIndex) {
+		addString(typeIndex == DexNode.NO_INDEX ? "" : dex.getType(typeIndex).toString());
+	}
+
+	private void addString(String str) {
+		try {
+			byte[] bytes = str.getBytes("UTF-8");
+			addInt(bytes.length);
+			md.update(bytes);
+		} catch (UnsupportedEncodingException e) {
+			throw new JadxRuntimeException("UTF-8 not supported", e);
+		}
+	}
+
+	private void addInt(int value) {
+		md.update((byte) (value >>> 24));
+		md.update((byte) (value >>> 16));
+		md.update((byte) (value >>> 8));
+		md.update((byte) value);
+	}
+}
@@ -0,0 +1,79 @@
+package jadx.core.dex.nodes.parser;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+/**
+ * Method debug info decoded by {@link DebugInfoParser} into compact tables,
+ * applied to instructions by {@link DebugInfoApplier}.
+ * <p/>
+ * Operations stored in order of debug stream processing:
+ * <ul>
+ * <li>{@link #OP_POSITION}, address, line for skipped addresses, line at address</li>
+ * <li>{@link #OP_LOCAL}, local variable range index</li>
+ * </ul>
+ * Local variable ranges stored as {@link #LOCAL_FIELDS} ints: register, start, end, method argument index
+ * (-1 if variable not from method arguments) with names and types in separate arrays.
+ */
+public final class DebugInfo {
+
+	static final int OP_POSITION = 0;
+	static final int OP_LOCAL = 1;
+
+	static final int LOCAL_FIELDS = 4;
+
+	private final String[] paramNames;
+	private final String sourceFile;
+	private final int[] ops;
+	private final int[] locals;
+	private final String[] localNames;
+	private final ArgType[] localTypes;
+	private final int endLine;
+
+	DebugInfo(String[] paramNames, String sourceFile, int[] ops,
+			int[] locals, String[] localNames, ArgType[] localTypes, int endLine) {
+		this.paramNames = paramNames;
+		this.sourceFile = sourceFile;
+		this.ops = ops;
+		this.locals = locals;
+		this.localNames = localNames;
+		this.localTypes = localTypes;
+		this.endLine = endLine;
+	}
+
+	String[] getParamNames() {
+		return paramNames;
+	}
+
+	String getSourceFile() {
+		return sourceFile;
+	}
+
+	int[] getOps() {
+		return ops;
+	}
+
+	int[] getLocals() {
+		return locals;
+	}
+
+	String getLocalName(int index) {
+		return localNames[index];
+	}
+
+	ArgType getLocalType(int index) {
+		return localTypes[index];
+	}
+
+	int getEndLine() {
+		return endLine;
+	}
+
+	public int getLocalsCount() {
+		return localNames.length;
+	}
+
+	@Override
+	public String toString() {
+		return "DebugInfo: ops: " + ops.length + ", locals: " + localNames.length;
+	}
+}
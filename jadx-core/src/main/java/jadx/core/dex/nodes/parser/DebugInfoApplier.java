@@ -0,0 +1,170 @@
+package jadx.core.dex.nodes.parser;
+
+import jadx.core.dex.attributes.nodes.SourceFileAttr;
+import jadx.core.dex.instructions.InsnDecoder;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.RegisterArg;
+import jadx.core.dex.instructions.args.SSAVar;
+import jadx.core.dex.nodes.InsnNode;
+import jadx.core.dex.nodes.MethodNode;
+
+import java.util.List;
+
+/**
+ * Set source lines, arguments names and local variables debug info to method instructions
+ * using debug info decoded by {@link DebugInfoParser}.
+ */
+public class DebugInfoApplier {
+
+	private final MethodNode mth;
+	private final DebugInfo debugInfo;
+	private final InsnNode[] insns;
+	private final InsnArg[] activeRegisters;
+
+	private String[] argNames;
+	private ArgType[] argTypes;
+
+	/**
+	 * @param insns method instructions sorted by offset
+	 */
+	public DebugInfoApplier(MethodNode mth, DebugInfo debugInfo, InsnNode[] insns) {
+		this.mth = mth;
+		this.debugInfo = debugInfo;
+		this.insns = insns;
+		this.activeRegisters = new InsnArg[mth.getRegsCount()];
+	}
+
+	public void apply() {
+		List<RegisterArg> mthArgs = mth.getArguments(false);
+		String[] paramNames = debugInfo.getParamNames();
+		for (int i = 0; i < paramNames.length; i++) {
+			String name = paramNames[i];
+			if (name != null) {
+				mthArgs.get(i).setName(name);
+			}
+		}
+		int argsCount = mthArgs.size();
+		argNames = new String[argsCount];
+		argTypes = new ArgType[argsCount];
+		for (int i = 0; i < argsCount; i++) {
+			RegisterArg arg = mthArgs.get(i);
+			argNames[i] = arg.getName();
+			argTypes[i] = arg.getType();
+			activeRegisters[arg.getRegNum()] = arg;
+		}
+		String sourceFile = debugInfo.getSourceFile();
+		if (sourceFile != null) {
+			mth.addAttr(new SourceFileAttr(sourceFile));
+		}
+
+		int addr = -1;
+		int[] ops = debugInfo.getOps();
+		int i = 0;
+		while (i < ops.length) {
+			if (ops[i] == DebugInfo.OP_POSITION) {
+				int newAddr = ops[i + 1];
+				addrChange(addr, newAddr, ops[i + 2]);
+				setLine(newAddr, ops[i + 3]);
+				addr = newAddr;
+				i += 4;
+			} else {
+				setVar(ops[i + 1]);
+				i += 2;
+			}
+		}
+		setSourceLines(addr, mth.getCodeSize(), debugInfo.getEndLine());
+	}
+
+	private void addrChange(int addr, int newAddr, int line) {
+		for (int i = InsnDecoder.getInsnIndex(insns, addr + 1); i < insns.length; i++) {
+			InsnNode insn = insns[i];
+			if (insn.getOffset() > newAddr) {
+				break;
+			}
+			for (InsnArg arg : insn.getArguments()) {
+				if (arg.isRegister()) {
+					activeRegisters[((RegisterArg) arg).getRegNum()] = arg;
+				}
+			}
+			RegisterArg res = insn.getResult();
+			if (res != null) {
+				activeRegisters[res.getRegNum()] = res;
+			}
+		}
+		setSourceLines(addr, newAddr, line);
+	}
+
+	private void setSourceLines(int start, int end, int line) {
+		for (int i = InsnDecoder.getInsnIndex(insns, start + 1); i < insns.length; i++) {
+			InsnNode insn = insns[i];
+			if (insn.getOffset() >= end) {
+				break;
+			}
+			insn.setSourceLine(line);
+		}
+	}
+
+	private void setLine(int offset, int line) {
+		InsnNode insn = InsnDecoder.getInsnByOffset(insns, offset);
+		if (insn != null) {
+			insn.setSourceLine(line);
+		}
+	}
+
+	private void setVar(int index) {
+		int[] locals = debugInfo.getLocals();
+		int pos = index * DebugInfo.LOCAL_FIELDS;
+		int regNum = locals[pos];
+		int start = locals[pos + 1];
+		int end = locals[pos + 2];
+		int argIndex = locals[pos + 3];
+		String name;
+		ArgType type;
+		if (argIndex == -1) {
+			name = debugInfo.getLocalName(index);
+			type = debugInfo.getLocalType(index);
+		} else {
+			name = argNames[argIndex];
+			type = argTypes[argIndex];
+		}
+		for (int i = InsnDecoder.getInsnIndex(insns, start); i < insns.length; i++) {
+			InsnNode insn = insns[i];
+			if (insn.getOffset() > end) {
+				break;
+			}
+			merge(insn.getResult(), regNum, start, end, name, type);
+			for (InsnArg arg : insn.getArguments()) {
+				merge(arg, regNum, start, end, name, type);
+			}
+		}
+		merge(activeRegisters[regNum], regNum, start, end, name, type);
+	}
+
+	private static void merge(InsnArg arg, int regNum, int localStart, int localEnd, String name, ArgType type) {
+		if (arg != null && arg.isRegister()) {
+			RegisterArg reg = (RegisterArg) arg;
+			if (regNum == reg.getRegNum()) {
+				SSAVar ssaVar = reg.getSVar();
+
+				boolean mergeRequired = false;
+
+				if (ssaVar != null) {
+					int ssaEnd = ssaVar.getEndAddr();
+					int ssaStart = ssaVar.getStartAddr();
+
+					boolean isIntersected = !((localEnd < ssaStart) || (ssaEnd < localStart));
+					if (isIntersected && (ssaEnd <= localEnd)) {
+						mergeRequired = true;
+					}
+				} else {
+					mergeRequired = true;
+				}
+
+				if (mergeRequired) {
+					reg.mergeDebugInfo(type, name);
+				}
+			}
+		}
+	}
+}
@@ -1,18 +1,20 @@
 package jadx.core.dex.nodes.parser;
 
-import jadx.core.dex.attributes.nodes.SourceFileAttr;
-import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.RegisterArg;
-import jadx.core.dex.instructions.args.SSAVar;
 import jadx.core.dex.nodes.DexNode;
-import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.exceptions.DecodeException;
 
+import java.util.Arrays;
 import java.util.List;
 
 import com.android.dex.Dex.Section;
 
+/**
+ * Decode method debug info stream into {@link DebugInfo} tables,
+ * instructions not changed here (see {@link DebugInfoApplier}).
+ */
 public class DebugInfoParser {
 
 	private static final int DBG_END_SEQUENCE = 0x00;
@@ -36,23 +38,27 @@ public class DebugInfoParser {
 	private final MethodNode mth;
 	private final Section section;
 	private final DexNode dex;
+	private final int codeSize;
 
 	private final LocalVar[] locals;
-	private final InsnArg[] activeRegisters;
-	private final InsnNode[] insnByOffset;
 
-	public DebugInfoParser(MethodNode mth, int debugOffset, InsnNode[] insnByOffset) {
+	private int[] ops = new int[32];
+	private int opsCount;
+	private int[] localsTable = new int[8 * DebugInfo.LOCAL_FIELDS];
+	private String[] localNames = new String[8];
+	private ArgType[] localTypes = new ArgType[8];
+	private int localsCount;
+	private String sourceFile;
+
+	public DebugInfoParser(MethodNode mth, int debugOffset) {
 		this.mth = mth;
 		this.dex = mth.dex();
 		this.section = dex.openSection(debugOffset);
-
-		int regsCount = mth.getRegsCount();
-		this.locals = new LocalVar[regsCount];
-		this.activeRegisters = new InsnArg[regsCount];
-		this.insnByOffset = insnByOffset;
+		this.codeSize = mth.getCodeSize();
+		this.locals = new LocalVar[mth.getRegsCount()];
 	}
 
-	public void process() throws DecodeException {
+	public DebugInfo process() throws DecodeException {
 		int addr = 0;
 		int line = section.readUleb128();
 
@@ -60,31 +66,28 @@ public class DebugInfoParser {
 		List<RegisterArg> mthArgs = mth.getArguments(false);
 		assert paramsCount == mthArgs.size();
 
+		String[] paramNames = new String[paramsCount];
 		for (int i = 0; i < paramsCount; i++) {
 			int id = section.readUleb128() - 1;
 			if (id != DexNode.NO_INDEX) {
-				String name = dex.getString(id);
-				mthArgs.get(i).setName(name);
+				paramNames[i] = dex.getString(id);
 			}
 		}
 
-		for (RegisterArg arg : mthArgs) {
-			int rn = arg.getRegNum();
-			locals[rn] = new LocalVar(arg);
-			activeRegisters[rn] = arg;
+		for (int i = 0; i < mthArgs.size(); i++) {
+			int rn = mthArgs.get(i).getRegNum();
+			locals[rn] = new LocalVar(rn, i);
 		}
 
 		// process '0' instruction
-		addrChange(-1, 1, line);
-		setLine(addr, line);
+		addrChange(-1, 1, line, line);
 
 		int c = section.readByte() & 0xFF;
 		while (c != DBG_END_SEQUENCE) {
 			switch (c) {
 				case DBG_ADVANCE_PC: {
 					int addrInc = section.readUleb128();
-					addr = addrChange(addr, addrInc, line);
-					setLine(addr, line);
+					addr = addrChange(addr, addrInc, line, line);
 					break;
 				}
 				case DBG_ADVANCE_LINE: {
@@ -138,8 +141,7 @@ public class DebugInfoParser {
 				case DBG_SET_FILE: {
 					int idx = section.readUleb128() - 1;
 					if (idx != DexNode.NO_INDEX) {
-						String sourceFile = dex.getString(idx);
-						mth.addAttr(new SourceFileAttr(sourceFile));
+						sourceFile = dex.getString(idx);
 					}
 					break;
 				}
@@ -148,9 +150,9 @@ public class DebugInfoParser {
 					if (c >= DBG_FIRST_SPECIAL) {
 						int adjustedOpcode = c - DBG_FIRST_SPECIAL;
 						int addrInc = adjustedOpcode / DBG_LINE_RANGE;
-						addr = addrChange(addr, addrInc, line);
-						line += DBG_LINE_BASE + (adjustedOpcode % DBG_LINE_RANGE);
-						setLine(addr, line);
+						int newLine = line + DBG_LINE_BASE + (adjustedOpcode % DBG_LINE_RANGE);
+						addr = addrChange(addr, addrInc, line, newLine);
+						line = newLine;
 					} else {
 						throw new DecodeException("Unknown debug insn code: " + c);
 					}
@@ -162,49 +164,32 @@ public class DebugInfoParser {
 
 		for (LocalVar var : locals) {
 			if (var != null && !var.isEnd()) {
-				var.end(mth.getCodeSize() - 1, line);
+				var.end(codeSize - 1, line);
 				setVar(var);
 			}
 		}
-		setSourceLines(addr, insnByOffset.length, line);
+		return new DebugInfo(paramNames, sourceFile,
+				Arrays.copyOf(ops, opsCount),
+				Arrays.copyOf(localsTable, localsCount * DebugInfo.LOCAL_FIELDS),
+				Arrays.copyOf(localNames, localsCount),
+				Arrays.copyOf(localTypes, localsCount),
+				line);
 	}
 
-	private int addrChange(int addr, int addrInc, int line) {
-		int newAddr = addr + addrInc;
-		int maxAddr = insnByOffset.length - 1;
-		newAddr = Math.min(newAddr, maxAddr);
-		for (int i = addr + 1; i <= newAddr; i++) {
-			InsnNode insn = insnByOffset[i];
-			if (insn == null) {
-				continue;
-			}
-			for (InsnArg arg : insn.getArguments()) {
-				if (arg.isRegister()) {
-					activeRegisters[((RegisterArg) arg).getRegNum()] = arg;
-				}
-			}
-			RegisterArg res = insn.getResult();
-			if (res != null) {
-				activeRegisters[res.getRegNum()] = res;
-			}
-		}
-		setSourceLines(addr, newAddr, line);
+	/**
+	 * @param line  line for addresses between old and new address
+	 * @param newLine line for new address
+	 */
+	private int addrChange(int addr, int addrInc, int line, int newLine) {
+		int newAddr = Math.min(addr + addrInc, codeSize - 1);
+		ensureOpsCapacity(4);
+		ops[opsCount++] = DebugInfo.OP_POSITION;
+		ops[opsCount++] = newAddr;
+		ops[opsCount++] = line;
+		ops[opsCount++] = newLine;
 		return newAddr;
 	}
 
-	private void setSourceLines(int start, int end, int line) {
-		for (int offset = start + 1; offset < end; offset++) {
-			setLine(offset, line);
-		}
-	}
-
-	private void setLine(int offset, int line) {
-		InsnNode insn = insnByOffset[offset];
-		if (insn != null) {
-			insn.setSourceLine(line);
-		}
-	}
-
 	private void startVar(LocalVar var, int addr, int line) {
 		int regNum = var.getRegNum();
 		LocalVar prev = locals[regNum];
@@ -217,51 +202,28 @@ public class DebugInfoParser {
 	}
 
 	private void setVar(LocalVar var) {
-		int start = var.getStartAddr();
-		int end = var.getEndAddr();
-
-		for (int i = start; i <= end; i++) {
-			InsnNode insn = insnByOffset[i];
-			if (insn != null) {
-				fillLocals(insn, var);
-			}
+		if (localsCount == localNames.length) {
+			int newSize = localsCount * 2;
+			localsTable = Arrays.copyOf(localsTable, newSize * DebugInfo.LOCAL_FIELDS);
+			localNames = Arrays.copyOf(localNames, newSize);
+			localTypes = Arrays.copyOf(localTypes, newSize);
 		}
-		merge(activeRegisters[var.getRegNum()], var);
+		int pos = localsCount * DebugInfo.LOCAL_FIELDS;
+		localsTable[pos] = var.getRegNum();
+		localsTable[pos + 1] = var.getStartAddr();
+		localsTable[pos + 2] = var.getEndAddr();
+		localsTable[pos + 3] = var.getArgIndex();
+		localNames[localsCount] = var.getName();
+		localTypes[localsCount] = var.getType();
+		ensureOpsCapacity(2);
+		ops[opsCount++] = DebugInfo.OP_LOCAL;
+		ops[opsCount++] = localsCount;
+		localsCount++;
 	}
 
-	private static void fillLocals(InsnNode insn, LocalVar var) {
-		merge(insn.getResult(), var);
-		for (InsnArg arg : insn.getArguments()) {
-			merge(arg, var);
-		}
-	}
-
-	private static void merge(InsnArg arg, LocalVar var) {
-		if (arg != null && arg.isRegister()) {
-			RegisterArg reg = (RegisterArg) arg;
-			if (var.getRegNum() == reg.getRegNum()) {
-				SSAVar ssaVar = reg.getSVar();
-
-				boolean mergeRequired = false;
-
-				if (ssaVar != null) {
-					int ssaEnd = ssaVar.getEndAddr();
-					int ssaStart = ssaVar.getStartAddr();
-					int localStart = var.getStartAddr();
-					int localEnd = var.getEndAddr();
-
-					boolean isIntersected = !((localEnd < ssaStart) || (ssaEnd < localStart));
-					if (isIntersected && (ssaEnd <= localEnd)) {
-						mergeRequired = true;
-					}
-				} else {
-					mergeRequired = true;
-				}
-
-				if (mergeRequired) {
-					reg.mergeDebugInfo(var.getType(), var.getName());
-				}
-			}
+	private void ensureOpsCapacity(int count) {
+		if (opsCount + count > ops.length) {
+			ops = Arrays.copyOf(ops, ops.length * 2);
 		}
 	}
 }
@@ -1,7 +1,6 @@
 package jadx.core.dex.nodes.parser;
 
 import jadx.core.dex.instructions.args.ArgType;
-import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.nodes.DexNode;
 import jadx.core.utils.InsnUtils;
 
@@ -12,6 +11,7 @@ final class LocalVar {
 	private static final Logger LOG = LoggerFactory.getLogger(LocalVar.class);
 
 	private final int regNum;
+	private final int argIndex;
 	private String name;
 	private ArgType type;
 
@@ -21,6 +21,7 @@ final class LocalVar {
 
 	public LocalVar(DexNode dex, int rn, int nameId, int typeId, int signId) {
 		this.regNum = rn;
+		this.argIndex = -1;
 		String name = nameId == DexNode.NO_INDEX ? null : dex.getString(nameId);
 		ArgType type = typeId == DexNode.NO_INDEX ? null : dex.getType(typeId);
 		String sign = signId == DexNode.NO_INDEX ? null : dex.getString(signId);
@@ -28,9 +29,12 @@ final class LocalVar {
 		init(name, type, sign);
 	}
 
-	public LocalVar(RegisterArg arg) {
-		this.regNum = arg.getRegNum();
-		init(arg.getName(), arg.getType(), null);
+	/**
+	 * Variable for method argument, name and type taken from argument on apply
+	 */
+	public LocalVar(int rn, int argIndex) {
+		this.regNum = rn;
+		this.argIndex = argIndex;
 	}
 
 	private void init(String name, ArgType type, String sign) {
@@ -87,6 +91,13 @@ final class LocalVar {
 		return regNum;
 	}
 
+	/**
+	 * @return method argument index or -1 if variable not from method arguments
+	 */
+	public int getArgIndex() {
+		return argIndex;
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -3,15 +3,17 @@ package jadx.core.dex.nodes.parser;
 import jadx.core.Consts;
 import jadx.core.dex.attributes.IAttributeNode;
 import jadx.core.dex.attributes.annotations.Annotation;
+import jadx.core.dex.info.InfoStorage;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,23 +24,33 @@ public class SignatureParser {
 
 	private final String sign;
 	private final int end;
+	@Nullable
+	private final InfoStorage storage;
 	private int pos;
 	private int mark;
 
 	public SignatureParser(String signature) {
-		sign = signature;
-		end = sign.length();
-		pos = -1;
-		mark = 0;
+		this(signature, null);
+	}
+
+	/**
+	 * @param storage used to share equal generic types, can be null
+	 */
+	public SignatureParser(String signature, @Nullable InfoStorage storage) {
+		this.sign = signature;
+		this.end = sign.length();
+		this.storage = storage;
+		this.pos = -1;
+		this.mark = 0;
 	}
 
 	@SuppressWarnings("unchecked")
-	public static SignatureParser fromNode(IAttributeNode node) {
+	public static SignatureParser fromNode(IAttributeNode node, @Nullable InfoStorage storage) {
 		Annotation a = node.getAnnotation(Consts.DALVIK_SIGNATURE);
 		if (a == null) {
 			return null;
 		}
-		return new SignatureParser(mergeSignature((List<String>) a.getDefaultValue()));
+		return new SignatureParser(mergeSignature((List<String>) a.getDefaultValue()), storage);
 	}
 
 	private char next() {
@@ -71,13 +83,25 @@ public class SignatureParser {
 	}
 
 	/**
-	 * Inclusive slice (includes current character)
+	 * Class name from signature chars in range [start, end) with '/' replaced by '.',
+	 * made in one copy without intermediate strings
 	 */
-	private String inclusiveSlice() {
-		if (mark >= pos) {
+	private String objectName(int start, int end) {
+		if (start >= end) {
 			return "";
 		}
-		return sign.substring(mark, pos + 1);
+		char[] chars = new char[end - start];
+		sign.getChars(start, end, chars, 0);
+		for (int i = 0; i < chars.length; i++) {
+			if (chars[i] == '/') {
+				chars[i] = '.';
+			}
+		}
+		return new String(chars);
+	}
+
+	private ArgType intern(ArgType type) {
+		return storage == null ? type : storage.internType(type);
 	}
 
 	private boolean forwardTo(char lastChar) {
@@ -127,7 +151,7 @@ public class SignatureParser {
 				next();
 				mark();
 				if (forwardTo(';')) {
-					return ArgType.genericType(slice());
+					return intern(ArgType.genericType(slice()));
 				}
 				break;
 			case '[':
@@ -147,8 +171,13 @@ public class SignatureParser {
 		throw new JadxRuntimeException("Can't parse type: " + debugString());
 	}
 
+	/**
+	 * @param incompleteType inner class name after '.', without 'L' prefix
+	 */
 	private ArgType consumeObjectType(boolean incompleteType) {
 		mark();
+		// skip 'L' for full type
+		int nameStart = incompleteType ? mark : mark + 1;
 		int ch;
 		do {
 			ch = next();
@@ -157,50 +186,40 @@ public class SignatureParser {
 			}
 		} while (ch != '<' && ch != ';');
 
+		String obj = objectName(nameStart, pos);
 		if (ch == ';') {
-			String obj;
-			if (incompleteType) {
-				obj = slice().replace('/', '.');
-			} else {
-				obj = inclusiveSlice();
-			}
 			return ArgType.object(obj);
-		} else {
-			// generic type start ('<')
-			String obj = slice();
-			if (!incompleteType) {
-				obj += ";";
-			}
-			ArgType[] genArr = consumeGenericArgs();
-			consume('>');
+		}
+		// generic type start ('<')
+		ArgType[] genArr = consumeGenericArgs();
+		consume('>');
 
-			ArgType genericType = ArgType.generic(obj, genArr);
-			if (lookAhead('.')) {
-				consume('.');
-				next();
-				// type parsing not completed, proceed to inner class
-				ArgType inner = consumeObjectType(true);
-				return ArgType.genericInner(genericType, inner.getObject(), inner.getGenericTypes());
-			} else {
-				consume(';');
-				return genericType;
-			}
+		ArgType genericType = intern(ArgType.generic(obj, genArr));
+		if (lookAhead('.')) {
+			consume('.');
+			next();
+			// type parsing not completed, proceed to inner class
+			ArgType inner = consumeObjectType(true);
+			return intern(ArgType.genericInner(genericType, inner.getObject(), inner.getGenericTypes()));
+		} else {
+			consume(';');
+			return genericType;
 		}
 	}
 
 	private ArgType[] consumeGenericArgs() {
-		List<ArgType> list = new LinkedList<ArgType>();
+		List<ArgType> list = new ArrayList<ArgType>(2);
 		ArgType type;
 		do {
 			if (lookAhead('*')) {
 				next();
-				type = ArgType.wildcard();
+				type = intern(ArgType.wildcard());
 			} else if (lookAhead('+')) {
 				next();
-				type = ArgType.wildcard(consumeType(), 1);
+				type = intern(ArgType.wildcard(consumeType(), 1));
 			} else if (lookAhead('-')) {
 				next();
-				type = ArgType.wildcard(consumeType(), -1);
+				type = intern(ArgType.wildcard(consumeType(), -1));
 			} else {
 				type = consumeType();
 			}
@@ -233,7 +252,7 @@ public class SignatureParser {
 			}
 			tryConsume(':');
 			List<ArgType> types = consumeExtendsTypesList();
-			map.put(ArgType.genericType(id), types);
+			map.put(intern(ArgType.genericType(id)), types);
 		}
 		consume('>');
 		return map;
@@ -251,7 +270,7 @@ public class SignatureParser {
 			ArgType argType = consumeType();
 			if (!argType.equals(ArgType.OBJECT)) {
 				if (types.isEmpty()) {
-					types = new LinkedList<ArgType>();
+					types = new ArrayList<ArgType>(1);
 				}
 				types.add(argType);
 			}
@@ -269,7 +288,7 @@ public class SignatureParser {
 			consume(')');
 			return Collections.emptyList();
 		}
-		List<ArgType> args = new LinkedList<ArgType>();
+		List<ArgType> args = new ArrayList<ArgType>();
 		do {
 			args.add(consumeType());
 		} while (!lookAhead(')'));
@@ -29,7 +29,7 @@ import java.util.Set;
 
 import static jadx.core.utils.EmptyBitSet.EMPTY;
 
-public class BlockMakerVisitor extends AbstractVisitor {
+public class BlockMakerVisitor extends AbstractVisitor implements IMethodLocalVisitor {
 
 	// leave these instructions alone in block node
 	private static final Set<InsnType> SEPARATE_INSNS = EnumSet.of(
@@ -62,9 +62,6 @@ public class BlockMakerVisitor extends AbstractVisitor {
 
 		// split into blocks
 		for (InsnNode insn : mth.getInstructions()) {
-			if (insn == null) {
-				continue;
-			}
 			boolean startNew = false;
 			if (prevInsn != null) {
 				InsnType type = prevInsn.getType();
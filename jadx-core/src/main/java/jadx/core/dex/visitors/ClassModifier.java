@@ -50,7 +50,7 @@ public class ClassModifier extends AbstractVisitor {
 		// remove fields if it is synthetic and type is a outer class
 		for (FieldNode field : cls.getFields()) {
 			if (field.getAccessFlags().isSynthetic() && field.getType().isObject()) {
-				ClassNode fieldsCls = cls.dex().resolveClass(ClassInfo.fromType(field.getType()));
+				ClassNode fieldsCls = cls.dex().resolveClass(ClassInfo.fromType(cls.dex().root(), field.getType()));
 				ClassInfo parentClass = cls.getClassInfo().getParentClass();
 				if (fieldsCls != null
 						&& parentClass.equals(fieldsCls.getClassInfo())) {
@@ -1,6 +1,7 @@
 package jadx.core.dex.visitors;
 
 import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.nodes.InsnBlockIndexAttr;
 import jadx.core.dex.instructions.InsnType;
 import jadx.core.dex.instructions.args.InsnArg;
 import jadx.core.dex.instructions.args.InsnWrapArg;
@@ -23,7 +24,7 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
 
-public class CodeShrinker extends AbstractVisitor {
+public class CodeShrinker extends AbstractVisitor implements IMethodLocalVisitor {
 
 	@Override
 	public void visit(MethodNode mth) {
@@ -226,16 +227,22 @@ public class CodeShrinker extends AbstractVisitor {
 					BlockNode assignBlock = BlockUtils.getBlockByInsn(mth, assignInsn);
 					if (assignBlock != null
 							&& assignInsn != arg.getParentInsn()
-							&& canMoveBetweenBlocks(assignInsn, assignBlock, block, argsInfo.getInsn())) {
-						arg.wrapInstruction(assignInsn);
+							&& canMoveBetweenBlocks(mth, assignInsn, assignBlock, block, argsInfo.getInsn())) {
+						InsnArg wrapArg = arg.wrapInstruction(assignInsn);
 						InsnList.remove(assignBlock, assignInsn);
+						if (wrapArg != null) {
+							InsnBlockIndexAttr.onWrap(mth, assignInsn, wrapArg.getParentInsn());
+						}
 					}
 				}
 			}
 		}
 		if (!wrapList.isEmpty()) {
 			for (WrapInfo wrapInfo : wrapList) {
-				wrapInfo.getArg().wrapInstruction(wrapInfo.getInsn());
+				InsnArg wrapArg = wrapInfo.getArg().wrapInstruction(wrapInfo.getInsn());
+				if (wrapArg != null) {
+					InsnBlockIndexAttr.onWrap(mth, wrapInfo.getInsn(), wrapArg.getParentInsn());
+				}
 			}
 			for (WrapInfo wrapInfo : wrapList) {
 				insnList.remove(wrapInfo.getInsn());
@@ -243,9 +250,9 @@ public class CodeShrinker extends AbstractVisitor {
 		}
 	}
 
-	private static boolean canMoveBetweenBlocks(InsnNode assignInsn, BlockNode assignBlock,
+	private static boolean canMoveBetweenBlocks(MethodNode mth, InsnNode assignInsn, BlockNode assignBlock,
 			BlockNode useBlock, InsnNode useInsn) {
-		if (!BlockUtils.isPathExists(assignBlock, useBlock)) {
+		if (!BlockUtils.isPathExists(mth, assignBlock, useBlock)) {
 			return false;
 		}
 
@@ -20,7 +20,7 @@ import jadx.core.utils.exceptions.JadxException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ConstInlinerVisitor extends AbstractVisitor {
+public class ConstInlinerVisitor extends AbstractVisitor implements IMethodLocalVisitor {
 
 	@Override
 	public void visit(MethodNode mth) throws JadxException {
@@ -64,7 +64,7 @@ public class ConstInlinerVisitor extends AbstractVisitor {
 		ArgType resType = insn.getResult().getType();
 		// make sure arg has correct type
 		if (!arg.getType().isTypeKnown()) {
-			arg.merge(resType);
+			arg.merge(mth.dex(), resType);
 		}
 		return replaceConst(mth, sVar, lit);
 	}
@@ -134,27 +134,27 @@ public class ConstInlinerVisitor extends AbstractVisitor {
 	private static void fixTypes(MethodNode mth, InsnNode insn, LiteralArg litArg) {
 		switch (insn.getType()) {
 			case CONST:
-				insn.getArg(0).merge(insn.getResult());
+				insn.getArg(0).merge(mth.dex(), insn.getResult());
 				break;
 
 			case MOVE:
-				insn.getResult().merge(insn.getArg(0));
-				insn.getArg(0).merge(insn.getResult());
+				insn.getResult().merge(mth.dex(), insn.getArg(0));
+				insn.getArg(0).merge(mth.dex(), insn.getResult());
 				break;
 
 			case IPUT:
 			case SPUT:
 				IndexInsnNode node = (IndexInsnNode) insn;
-				insn.getArg(0).merge(((FieldInfo) node.getIndex()).getType());
+				insn.getArg(0).merge(mth.dex(), ((FieldInfo) node.getIndex()).getType());
 				break;
 
 			case IF: {
 				InsnArg arg0 = insn.getArg(0);
 				InsnArg arg1 = insn.getArg(1);
 				if (arg0 == litArg) {
-					arg0.merge(arg1);
+					arg0.merge(mth.dex(), arg1);
 				} else {
-					arg1.merge(arg0);
+					arg1.merge(mth.dex(), arg0);
 				}
 				break;
 			}
@@ -163,15 +163,15 @@ public class ConstInlinerVisitor extends AbstractVisitor {
 				InsnArg arg0 = insn.getArg(0);
 				InsnArg arg1 = insn.getArg(1);
 				if (arg0 == litArg) {
-					arg0.merge(arg1);
+					arg0.merge(mth.dex(), arg1);
 				} else {
-					arg1.merge(arg0);
+					arg1.merge(mth.dex(), arg0);
 				}
 				break;
 
 			case RETURN:
 				if (insn.getArgsCount() != 0) {
-					insn.getArg(0).merge(mth.getReturnType());
+					insn.getArg(0).merge(mth.dex(), mth.getReturnType());
 				}
 				break;
 
@@ -189,25 +189,25 @@ public class ConstInlinerVisitor extends AbstractVisitor {
 						} else {
 							type = mth.getParentClass().getClassInfo().getType();
 						}
-						arg.merge(type);
+						arg.merge(mth.dex(), type);
 					}
 					k++;
 				}
 				break;
 
 			case ARITH:
-				litArg.merge(insn.getResult());
+				litArg.merge(mth.dex(), insn.getResult());
 				break;
 
 			case APUT:
 			case AGET:
 				if (litArg == insn.getArg(1)) {
-					litArg.merge(ArgType.INT);
+					litArg.merge(mth.dex(), ArgType.INT);
 				}
 				break;
 
 			case NEW_ARRAY:
-				litArg.merge(ArgType.INT);
+				litArg.merge(mth.dex(), ArgType.INT);
 				break;
 
 			default:
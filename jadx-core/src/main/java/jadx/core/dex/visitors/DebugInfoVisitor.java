@@ -1,21 +1,32 @@
 package jadx.core.dex.visitors;
 
+import jadx.core.dex.instructions.InsnDecoder;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.nodes.BlockNode;
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
-import jadx.core.dex.nodes.parser.DebugInfoParser;
+import jadx.core.dex.nodes.parser.DebugInfo;
+import jadx.core.dex.nodes.parser.DebugInfoApplier;
 import jadx.core.utils.exceptions.JadxException;
 
-public class DebugInfoVisitor extends AbstractVisitor {
+public class DebugInfoVisitor extends AbstractVisitor implements IMethodLocalVisitor {
+
+	private final boolean skipDebugInfo;
+
+	/**
+	 * @param skipDebugInfo don't decode debug info, source lines and variables names will be lost
+	 */
+	public DebugInfoVisitor(boolean skipDebugInfo) {
+		this.skipDebugInfo = skipDebugInfo;
+	}
+
 	@Override
 	public void visit(MethodNode mth) throws JadxException {
-		int debugOffset = mth.getDebugInfoOffset();
-		if (debugOffset > 0) {
+		DebugInfo debugInfo = skipDebugInfo ? null : mth.getDebugInfo();
+		if (debugInfo != null) {
 			InsnNode[] insnArr = mth.getInstructions();
-			DebugInfoParser debugInfoParser = new DebugInfoParser(mth, debugOffset, insnArr);
-			debugInfoParser.process();
+			new DebugInfoApplier(mth, debugInfo, insnArr).apply();
 
 			if (insnArr.length != 0) {
 				int line = insnArr[0].getSourceLine();
@@ -28,7 +39,7 @@ public class DebugInfoVisitor extends AbstractVisitor {
 				// fix debug for splitter 'return' instructions
 				for (BlockNode exit : mth.getExitBlocks()) {
 					InsnNode ret = exit.getInstructions().get(0);
-					InsnNode oldRet = insnArr[ret.getOffset()];
+					InsnNode oldRet = InsnDecoder.getInsnByOffset(insnArr, ret.getOffset());
 					if (oldRet != ret) {
 						RegisterArg oldArg = (RegisterArg) oldRet.getArg(0);
 						RegisterArg newArg = (RegisterArg) ret.getArg(0);
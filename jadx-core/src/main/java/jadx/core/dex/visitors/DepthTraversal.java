@@ -1,13 +1,16 @@
 package jadx.core.dex.visitors;
 
+import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.ErrorsCounter;
+import jadx.core.utils.MethodBudget;
 
 public class DepthTraversal {
 
 	public static void visit(IDexTreeVisitor visitor, ClassNode cls) {
+		IDexTreeVisitor prevPass = ErrorsCounter.enterPass(visitor);
 		try {
 			if (visitor.visit(cls)) {
 				for (ClassNode inCls : cls.getInnerClasses()) {
@@ -20,6 +23,8 @@ public class DepthTraversal {
 		} catch (Throwable e) {
 			ErrorsCounter.classError(cls,
 					e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
+		} finally {
+			ErrorsCounter.leavePass(prevPass);
 		}
 	}
 
@@ -27,11 +32,21 @@ public class DepthTraversal {
 		if (mth.contains(AType.JADX_ERROR)) {
 			return;
 		}
+		MethodBudget budget = mth.getBudget();
+		IDexTreeVisitor prevPass = ErrorsCounter.enterPass(visitor);
 		try {
+			budget.startPass();
 			visitor.visit(mth);
+			budget.finishPass();
 		} catch (Throwable e) {
+			if (budget.isExceeded()) {
+				// skip other passes and dump instructions
+				mth.add(AFlag.FALLBACK_MODE);
+			}
 			ErrorsCounter.methodError(mth,
 					e.getClass().getSimpleName() + " in pass: " + visitor.getClass().getSimpleName(), e);
+		} finally {
+			ErrorsCounter.leavePass(prevPass);
 		}
 	}
 }
@@ -21,7 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-public class DotGraphVisitor extends AbstractVisitor {
+public class DotGraphVisitor extends AbstractVisitor implements IMethodLocalVisitor {
 
 	private static final String NL = "\\l";
 	private static final boolean PRINT_DOMINATORS = false;
@@ -0,0 +1,10 @@
+package jadx.core.dex.visitors;
+
+/**
+ * Marker for passes which read and change only visited method
+ * and don't override {@link IDexTreeVisitor#visit(jadx.core.dex.nodes.ClassNode)}.
+ * Such passes can be executed for different methods of one class in parallel
+ * (see {@link jadx.core.ProcessClass}).
+ */
+public interface IMethodLocalVisitor extends IDexTreeVisitor {
+}
@@ -11,7 +11,7 @@ import jadx.core.utils.exceptions.JadxException;
 /**
  * Inline synthetic methods.
  */
-public class MethodInlineVisitor extends AbstractVisitor {
+public class MethodInlineVisitor extends AbstractVisitor implements IMethodLocalVisitor {
 
 	@Override
 	public void visit(MethodNode mth) throws JadxException {
@@ -259,8 +259,9 @@ public class ModVisitor extends AbstractVisitor {
 						if (next < size) {
 							InsnNode ni = block.getInstructions().get(next);
 							if (ni.getType() == InsnType.FILL_ARRAY) {
-								ni.getResult().merge(insn.getResult());
-								((FillArrayNode) ni).mergeElementType(insn.getResult().getType().getArrayElement());
+								ni.getResult().merge(mth.dex(), insn.getResult());
+								ArgType elemType = insn.getResult().getType().getArrayElement();
+								((FillArrayNode) ni).mergeElementType(mth.dex(), elemType);
 								remover.add(insn);
 							}
 						}
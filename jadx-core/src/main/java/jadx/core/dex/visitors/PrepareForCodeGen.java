@@ -21,7 +21,7 @@ import java.util.List;
  * most of this modification breaks register dependencies,
  * so this pass must be just before CodeGen.
  */
-public class PrepareForCodeGen extends AbstractVisitor {
+public class PrepareForCodeGen extends AbstractVisitor implements IMethodLocalVisitor {
 
 	@Override
 	public void visit(MethodNode mth) throws JadxException {
@@ -132,6 +132,13 @@ public class ReSugarCode extends AbstractVisitor {
 
 	private static EnumMapAttr.KeyValueMap getEnumMap(MethodNode mth, FieldNode field) {
 		ClassNode syntheticClass = field.getParentClass();
+		// synthetic class can be used from several classes processed in parallel
+		synchronized (syntheticClass) {
+			return getEnumMap(mth, syntheticClass, field);
+		}
+	}
+
+	private static EnumMapAttr.KeyValueMap getEnumMap(MethodNode mth, ClassNode syntheticClass, FieldNode field) {
 		EnumMapAttr mapAttr = syntheticClass.get(AType.ENUM_MAP);
 		if (mapAttr != null) {
 			return mapAttr.getMap(field);
@@ -28,7 +28,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class SimplifyVisitor extends AbstractVisitor {
+public class SimplifyVisitor extends AbstractVisitor implements IMethodLocalVisitor {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SimplifyVisitor.class);
 
@@ -78,7 +78,7 @@ public class SimplifyVisitor extends AbstractVisitor {
 			case CHECK_CAST:
 				InsnArg castArg = insn.getArg(0);
 				ArgType castType = (ArgType) ((IndexInsnNode) insn).getIndex();
-				if (!ArgType.isCastNeeded(castArg.getType(), castType)) {
+				if (!ArgType.isCastNeeded(mth.dex(), castArg.getType(), castType)) {
 					InsnNode insnNode = new InsnNode(InsnType.MOVE, 1);
 					insnNode.setResult(insn.getResult());
 					insnNode.addArg(castArg);
@@ -8,6 +8,7 @@ import jadx.core.dex.nodes.IRegion;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IMethodLocalVisitor;
 import jadx.core.utils.ErrorsCounter;
 import jadx.core.utils.exceptions.JadxException;
 
@@ -19,7 +20,7 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class CheckRegions extends AbstractVisitor {
+public class CheckRegions extends AbstractVisitor implements IMethodLocalVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(CheckRegions.class);
 
 	@Override
@@ -32,7 +33,7 @@ public class CheckRegions extends AbstractVisitor {
 
 		// check if all blocks included in regions
 		final Set<BlockNode> blocksInRegions = new HashSet<BlockNode>();
-		DepthRegionTraversal.traverseAll(mth, new AbstractRegionVisitor() {
+		IRegionVisitor collectBlocks = new AbstractRegionVisitor() {
 			@Override
 			public void processBlock(MethodNode mth, IBlock container) {
 				if (!(container instanceof BlockNode)) {
@@ -52,20 +53,9 @@ public class CheckRegions extends AbstractVisitor {
 					// printRegionsWithBlock(mth, block);
 				}
 			}
-		});
-		if (mth.getBasicBlocks().size() != blocksInRegions.size()) {
-			for (BlockNode block : mth.getBasicBlocks()) {
-				if (!blocksInRegions.contains(block)
-						&& !block.getInstructions().isEmpty()
-						&& !block.contains(AFlag.SKIP)) {
-					mth.add(AFlag.INCONSISTENT_CODE);
-					LOG.debug(" Missing block: {} in {}", block, mth);
-				}
-			}
-		}
-
+		};
 		// check loop conditions
-		DepthRegionTraversal.traverseAll(mth, new AbstractRegionVisitor() {
+		IRegionVisitor checkLoops = new AbstractRegionVisitor() {
 			@Override
 			public void enterRegion(MethodNode mth, IRegion region) {
 				if (region instanceof LoopRegion) {
@@ -75,7 +65,20 @@ public class CheckRegions extends AbstractVisitor {
 					}
 				}
 			}
-		});
+		};
+		// both checks are read-only, so run them in one traversal
+		DepthRegionTraversal.traverseAll(mth, collectBlocks, checkLoops);
+
+		if (mth.getBasicBlocks().size() != blocksInRegions.size()) {
+			for (BlockNode block : mth.getBasicBlocks()) {
+				if (!blocksInRegions.contains(block)
+						&& !block.getInstructions().isEmpty()
+						&& !block.contains(AFlag.SKIP)) {
+					mth.add(AFlag.INCONSISTENT_CODE);
+					LOG.debug(" Missing block: {} in {}", block, mth);
+				}
+			}
+		}
 	}
 
 	private static void printRegionsWithBlock(MethodNode mth, final BlockNode block) {
@@ -7,6 +7,12 @@ import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.utils.exceptions.JadxOverflowException;
 
+import java.util.List;
+
+/**
+ * Depth-first traversal of regions tree.
+ * Explicit stack used instead of recursion, so deep regions trees can't overflow thread stack.
+ */
 public class DepthRegionTraversal {
 
 	private static final int ITERATIVE_LIMIT = 500;
@@ -25,54 +31,245 @@ public class DepthRegionTraversal {
 		}
 	}
 
+	/**
+	 * Run several visitors in one traversal, every callback invoked for visitors in provided order.
+	 * Visitors must be independent: results of one visitor must not affect others.
+	 */
+	public static void traverseAll(MethodNode mth, IRegionVisitor... visitors) {
+		traverseAll(mth, new FusedRegionVisitor(visitors));
+	}
+
+	/**
+	 * Repeat traversal until visitor stop changing regions tree.
+	 * After change only parent region of changed region visited again,
+	 * then traversal continues and whole tree checked again at the end.
+	 */
 	public static void traverseAllIterative(MethodNode mth, IRegionIterativeVisitor visitor) {
-		boolean repeat;
-		int k = 0;
+		ChangesCounter counter = new ChangesCounter(mth);
+		boolean changed;
 		do {
-			repeat = traverseAllIterativeInternal(mth, visitor);
-			if (k++ > ITERATIVE_LIMIT) {
-				throw new JadxOverflowException("Iterative traversal limit reached, method: " + mth);
+			changed = traverseIterativeInternal(mth, visitor, mth.getRegion(), counter);
+			for (ExceptionHandler h : mth.getExceptionHandlers()) {
+				changed |= traverseIterativeInternal(mth, visitor, h.getHandlerRegion(), counter);
 			}
-		} while (repeat);
+		} while (changed);
 	}
 
 	private static void traverseInternal(MethodNode mth, IRegionVisitor visitor, IContainer container) {
 		if (container instanceof IBlock) {
 			visitor.processBlock(mth, (IBlock) container);
-		} else if (container instanceof IRegion) {
-			IRegion region = (IRegion) container;
-			visitor.enterRegion(mth, region);
-			for (IContainer subCont : region.getSubBlocks()) {
-				traverseInternal(mth, visitor, subCont);
+			return;
+		}
+		if (!(container instanceof IRegion)) {
+			return;
+		}
+		TraversalStack stack = new TraversalStack();
+		stack.push(container, false);
+		while (!stack.isEmpty()) {
+			boolean leave = stack.peekLeave();
+			IContainer cont = stack.pop();
+			if (cont instanceof IBlock) {
+				visitor.processBlock(mth, (IBlock) cont);
+			} else if (cont instanceof IRegion) {
+				IRegion region = (IRegion) cont;
+				if (leave) {
+					visitor.leaveRegion(mth, region);
+				} else {
+					visitor.enterRegion(mth, region);
+					stack.push(region, true);
+					stack.pushReversed(region.getSubBlocks());
+				}
 			}
-			visitor.leaveRegion(mth, region);
 		}
 	}
 
-	private static boolean traverseAllIterativeInternal(MethodNode mth, IRegionIterativeVisitor visitor) {
-		if (traverseIterativeInternal(mth, visitor, mth.getRegion())) {
-			return true;
+	private static boolean traverseIterativeInternal(MethodNode mth, IRegionIterativeVisitor visitor,
+			IContainer container, ChangesCounter counter) {
+		if (!(container instanceof IRegion)) {
+			return false;
 		}
-		for (ExceptionHandler h : mth.getExceptionHandlers()) {
-			if (traverseIterativeInternal(mth, visitor, h.getHandlerRegion())) {
-				return true;
+		boolean changed = false;
+		TraversalStack stack = new TraversalStack();
+		OpenRegions openRegions = new OpenRegions();
+		stack.push(container, false);
+		while (!stack.isEmpty()) {
+			openRegions.removeFinished(stack.size());
+			IContainer cont = stack.pop();
+			if (cont instanceof IRegion) {
+				IRegion region = (IRegion) cont;
+				IRegion parent = region.getParent();
+				if (visitor.visitRegion(mth, region)) {
+					counter.inc();
+					changed = true;
+					// region replaced in parent, drop pending sub blocks of parent and visit parent subtree again
+					if (parent != null) {
+						int base = openRegions.remove(parent);
+						// parent not in current traversal path, whole tree will be checked again anyway
+						stack.truncate(base == -1 ? 0 : base);
+						stack.push(parent, false);
+					} else {
+						stack.push(region, false);
+					}
+				} else {
+					openRegions.push(region, stack.size());
+					stack.pushReversed(region.getSubBlocks());
+				}
+			}
+		}
+		return changed;
+	}
+
+	private static final class ChangesCounter {
+		private final MethodNode mth;
+		private int count;
+
+		ChangesCounter(MethodNode mth) {
+			this.mth = mth;
+		}
+
+		void inc() {
+			if (count++ > ITERATIVE_LIMIT) {
+				throw new JadxOverflowException("Iterative traversal limit reached, method: " + mth);
 			}
+			mth.getBudget().step();
 		}
-		return false;
 	}
 
-	private static boolean traverseIterativeInternal(MethodNode mth, IRegionIterativeVisitor visitor, IContainer container) {
-		if (container instanceof IRegion) {
-			IRegion region = (IRegion) container;
-			if (visitor.visitRegion(mth, region)) {
-				return true;
+	/**
+	 * Array based stack of containers with 'leave' flag for regions
+	 */
+	private static final class TraversalStack {
+		private IContainer[] items = new IContainer[16];
+		private boolean[] leave = new boolean[16];
+		private int size;
+
+		void push(IContainer container, boolean leaveFlag) {
+			if (size == items.length) {
+				int newLength = size * 2;
+				IContainer[] newItems = new IContainer[newLength];
+				boolean[] newLeave = new boolean[newLength];
+				System.arraycopy(items, 0, newItems, 0, size);
+				System.arraycopy(leave, 0, newLeave, 0, size);
+				items = newItems;
+				leave = newLeave;
+			}
+			items[size] = container;
+			leave[size] = leaveFlag;
+			size++;
+		}
+
+		void pushReversed(List<IContainer> containers) {
+			for (int i = containers.size() - 1; i >= 0; i--) {
+				push(containers.get(i), false);
 			}
-			for (IContainer subCont : region.getSubBlocks()) {
-				if (traverseIterativeInternal(mth, visitor, subCont)) {
-					return true;
+		}
+
+		boolean peekLeave() {
+			return leave[size - 1];
+		}
+
+		IContainer pop() {
+			size--;
+			IContainer container = items[size];
+			items[size] = null;
+			return container;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		int size() {
+			return size;
+		}
+
+		void truncate(int newSize) {
+			for (int i = newSize; i < size; i++) {
+				items[i] = null;
+			}
+			size = newSize;
+		}
+	}
+
+	/**
+	 * Regions with not finished subtrees and stack size before sub blocks of region pushed
+	 */
+	private static final class OpenRegions {
+		private IRegion[] regions = new IRegion[16];
+		private int[] bases = new int[16];
+		private int size;
+
+		void push(IRegion region, int base) {
+			if (size == regions.length) {
+				int newLength = size * 2;
+				IRegion[] newRegions = new IRegion[newLength];
+				int[] newBases = new int[newLength];
+				System.arraycopy(regions, 0, newRegions, 0, size);
+				System.arraycopy(bases, 0, newBases, 0, size);
+				regions = newRegions;
+				bases = newBases;
+			}
+			regions[size] = region;
+			bases[size] = base;
+			size++;
+		}
+
+		/**
+		 * Remove regions with all sub blocks already popped from stack
+		 */
+		void removeFinished(int stackSize) {
+			while (size > 0 && bases[size - 1] >= stackSize) {
+				size--;
+				regions[size] = null;
+			}
+		}
+
+		/**
+		 * Remove region with all nested open regions
+		 *
+		 * @return stack size before region sub blocks pushed or -1 if region not open
+		 */
+		int remove(IRegion region) {
+			for (int i = size - 1; i >= 0; i--) {
+				if (regions[i] == region) {
+					int base = bases[i];
+					for (int j = i; j < size; j++) {
+						regions[j] = null;
+					}
+					size = i;
+					return base;
 				}
 			}
+			return -1;
+		}
+	}
+
+	private static final class FusedRegionVisitor implements IRegionVisitor {
+		private final IRegionVisitor[] visitors;
+
+		FusedRegionVisitor(IRegionVisitor[] visitors) {
+			this.visitors = visitors;
+		}
+
+		@Override
+		public void processBlock(MethodNode mth, IBlock container) {
+			for (IRegionVisitor visitor : visitors) {
+				visitor.processBlock(mth, container);
+			}
+		}
+
+		@Override
+		public void enterRegion(MethodNode mth, IRegion region) {
+			for (IRegionVisitor visitor : visitors) {
+				visitor.enterRegion(mth, region);
+			}
+		}
+
+		@Override
+		public void leaveRegion(MethodNode mth, IRegion region) {
+			for (IRegionVisitor visitor : visitors) {
+				visitor.leaveRegion(mth, region);
+			}
 		}
-		return false;
 	}
 }
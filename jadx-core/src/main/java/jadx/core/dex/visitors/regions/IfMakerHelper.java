@@ -40,8 +40,8 @@ public class IfMakerHelper {
 		return info;
 	}
 
-	static IfInfo searchNestedIf(IfInfo info) {
-		IfInfo tmp = mergeNestedIfNodes(info);
+	static IfInfo searchNestedIf(MethodNode mth, IfInfo info) {
+		IfInfo tmp = mergeNestedIfNodes(mth, info);
 		return tmp != null ? tmp : info;
 	}
 
@@ -81,7 +81,7 @@ public class IfMakerHelper {
 			for (BlockNode d : block.getDominatesOn()) {
 				if (d != thenBlock && d != elseBlock
 						&& !info.getMergedBlocks().contains(d)
-						&& isPathExists(thenBlock, d)) {
+						&& isPathExists(mth, thenBlock, d)) {
 					info.setOutBlock(d);
 					break;
 				}
@@ -128,7 +128,7 @@ public class IfMakerHelper {
 		return c1.size() == c2.size() && c1.containsAll(c2);
 	}
 
-	static IfInfo mergeNestedIfNodes(IfInfo currentIf) {
+	static IfInfo mergeNestedIfNodes(MethodNode mth, IfInfo currentIf) {
 		BlockNode curThen = currentIf.getThenBlock();
 		BlockNode curElse = currentIf.getElseBlock();
 		if (curThen == curElse) {
@@ -158,18 +158,18 @@ public class IfMakerHelper {
 				return null;
 			}
 			BlockNode otherBranchBlock = followThenBranch ? curElse : curThen;
-			if (!isPathExists(nextIf.getIfBlock(), otherBranchBlock)) {
-				return checkForTernaryInCondition(currentIf);
+			if (!isPathExists(mth, nextIf.getIfBlock(), otherBranchBlock)) {
+				return checkForTernaryInCondition(mth, currentIf);
 			}
-			if (isPathExists(nextIf.getThenBlock(), otherBranchBlock)
-					&& isPathExists(nextIf.getElseBlock(), otherBranchBlock)) {
+			if (isPathExists(mth, nextIf.getThenBlock(), otherBranchBlock)
+					&& isPathExists(mth, nextIf.getElseBlock(), otherBranchBlock)) {
 				// both branches paths points to one block
 				return null;
 			}
 
 			// this is nested conditions with different mode (i.e (a && b) || c),
 			// search next condition for merge, get null if failed
-			IfInfo tmpIf = mergeNestedIfNodes(nextIf);
+			IfInfo tmpIf = mergeNestedIfNodes(mth, nextIf);
 			if (tmpIf != null) {
 				nextIf = tmpIf;
 				if (isInversionNeeded(currentIf, nextIf)) {
@@ -182,10 +182,10 @@ public class IfMakerHelper {
 
 		IfInfo result = mergeIfInfo(currentIf, nextIf, followThenBranch);
 		// search next nested if block
-		return searchNestedIf(result);
+		return searchNestedIf(mth, result);
 	}
 
-	private static IfInfo checkForTernaryInCondition(IfInfo currentIf) {
+	private static IfInfo checkForTernaryInCondition(MethodNode mth, IfInfo currentIf) {
 		IfInfo nextThen = getNextIf(currentIf, currentIf.getThenBlock());
 		IfInfo nextElse = getNextIf(currentIf, currentIf.getElseBlock());
 		if (nextThen == null || nextElse == null) {
@@ -194,8 +194,8 @@ public class IfMakerHelper {
 		if (!nextThen.getIfBlock().getDomFrontier().equals(nextElse.getIfBlock().getDomFrontier())) {
 			return null;
 		}
-		nextThen = searchNestedIf(nextThen);
-		nextElse = searchNestedIf(nextElse);
+		nextThen = searchNestedIf(mth, nextThen);
+		nextElse = searchNestedIf(mth, nextElse);
 		if (nextThen.getThenBlock() == nextElse.getThenBlock()
 				&& nextThen.getElseBlock() == nextElse.getElseBlock()) {
 			return mergeTernaryConditions(currentIf, nextThen, nextElse);
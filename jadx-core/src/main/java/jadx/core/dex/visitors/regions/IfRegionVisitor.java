@@ -11,13 +11,14 @@ import jadx.core.dex.regions.conditions.IfCondition;
 import jadx.core.dex.regions.conditions.IfCondition.Mode;
 import jadx.core.dex.regions.conditions.IfRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IMethodLocalVisitor;
 import jadx.core.utils.RegionUtils;
 
 import java.util.List;
 
 import static jadx.core.utils.RegionUtils.insnsCount;
 
-public class IfRegionVisitor extends AbstractVisitor implements IRegionVisitor, IRegionIterativeVisitor {
+public class IfRegionVisitor extends AbstractVisitor implements IMethodLocalVisitor, IRegionVisitor, IRegionIterativeVisitor {
 
 	@Override
 	public void visit(MethodNode mth) {
@@ -16,6 +16,7 @@ import jadx.core.dex.instructions.args.LiteralArg;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.instructions.args.SSAVar;
 import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.nodes.DexNode;
 import jadx.core.dex.nodes.IBlock;
 import jadx.core.dex.nodes.IRegion;
 import jadx.core.dex.nodes.InsnNode;
@@ -28,6 +29,7 @@ import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.regions.loops.LoopType;
 import jadx.core.dex.visitors.AbstractVisitor;
 import jadx.core.dex.visitors.CodeShrinker;
+import jadx.core.dex.visitors.IMethodLocalVisitor;
 import jadx.core.utils.BlockUtils;
 import jadx.core.utils.InstructionRemover;
 import jadx.core.utils.RegionUtils;
@@ -38,7 +40,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class LoopRegionVisitor extends AbstractVisitor implements IRegionVisitor {
+public class LoopRegionVisitor extends AbstractVisitor implements IMethodLocalVisitor, IRegionVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(LoopRegionVisitor.class);
 
 	@Override
@@ -252,7 +254,7 @@ public class LoopRegionVisitor extends AbstractVisitor implements IRegionVisitor
 		} else {
 			toSkip.add(nextCall);
 		}
-		if (iterVar == null || !fixIterableType(iterableArg, iterVar)) {
+		if (iterVar == null || !fixIterableType(mth.dex(), iterableArg, iterVar)) {
 			return false;
 		}
 
@@ -264,13 +266,13 @@ public class LoopRegionVisitor extends AbstractVisitor implements IRegionVisitor
 		return true;
 	}
 
-	private static boolean fixIterableType(InsnArg iterableArg, RegisterArg iterVar) {
+	private static boolean fixIterableType(DexNode dex, InsnArg iterableArg, RegisterArg iterVar) {
 		ArgType type = iterableArg.getType();
 		if (type.isGeneric()) {
 			ArgType[] genericTypes = type.getGenericTypes();
 			if (genericTypes != null && genericTypes.length == 1) {
 				ArgType gType = genericTypes[0];
-				if (ArgType.isInstanceOf(gType, iterVar.getType())) {
+				if (ArgType.isInstanceOf(dex, gType, iterVar.getType())) {
 					return true;
 				} else {
 					LOG.warn("Generic type differs: {} and {}", type, iterVar.getType());
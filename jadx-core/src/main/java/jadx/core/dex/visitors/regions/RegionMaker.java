@@ -24,6 +24,7 @@ import jadx.core.dex.trycatch.ExcHandlerAttr;
 import jadx.core.dex.trycatch.ExceptionHandler;
 import jadx.core.dex.trycatch.TryCatchBlock;
 import jadx.core.utils.BlockUtils;
+import jadx.core.utils.CfgWorkspace;
 import jadx.core.utils.ErrorsCounter;
 import jadx.core.utils.InstructionRemover;
 import jadx.core.utils.RegionUtils;
@@ -79,6 +80,7 @@ public class RegionMaker {
 		if (regionsCount > REGIONS_LIMIT) {
 			throw new JadxOverflowException("Regions count limit reached");
 		}
+		mth.getBudget().step();
 
 		Region r = new Region(stack.peekRegion());
 		BlockNode next = startBlock;
@@ -174,7 +176,7 @@ public class RegionMaker {
 		stack.push(loopRegion);
 
 		IfInfo condInfo = makeIfInfo(loopRegion.getHeader());
-		condInfo = searchNestedIf(condInfo);
+		condInfo = searchNestedIf(mth, condInfo);
 		confirmMerge(condInfo);
 		if (!loop.getLoopBlocks().contains(condInfo.getThenBlock())) {
 			// invert loop condition if 'then' points to exit
@@ -372,7 +374,7 @@ public class RegionMaker {
 		}
 		if (!confirm) {
 			while (exit != null) {
-				if (insertBlock != null && isPathExists(loopExit, exit)) {
+				if (insertBlock != null && isPathExists(mth, loopExit, exit)) {
 					// found cross
 					if (canInsertBreak(insertBlock)) {
 						confirm = true;
@@ -427,7 +429,7 @@ public class RegionMaker {
 		}
 	}
 
-	private static void insertContinue(LoopInfo loop) {
+	private void insertContinue(LoopInfo loop) {
 		BlockNode loopEnd = loop.getEnd();
 		List<BlockNode> predecessors = loopEnd.getPredecessors();
 		if (predecessors.size() <= 1) {
@@ -442,7 +444,7 @@ public class RegionMaker {
 		}
 	}
 
-	private static boolean canInsertContinue(BlockNode pred, List<BlockNode> predecessors, BlockNode loopEnd,
+	private boolean canInsertContinue(BlockNode pred, List<BlockNode> predecessors, BlockNode loopEnd,
 			Set<BlockNode> loopExitNodes) {
 		if (!pred.contains(AFlag.SYNTHETIC)
 				|| BlockUtils.checkLastInsnType(pred, InsnType.CONTINUE)) {
@@ -465,7 +467,7 @@ public class RegionMaker {
 		}
 		boolean gotoExit = false;
 		for (BlockNode exit : loopExitNodes) {
-			if (BlockUtils.isPathExists(codePred, exit)) {
+			if (isPathExists(mth, codePred, exit)) {
 				gotoExit = true;
 				break;
 			}
@@ -541,12 +543,12 @@ public class RegionMaker {
 	/**
 	 * Traverse from monitor-enter thru successors and search for exit paths cross
 	 */
-	private static BlockNode traverseMonitorExitsCross(BlockNode block, Set<BlockNode> exits, Set<BlockNode> visited) {
+	private BlockNode traverseMonitorExitsCross(BlockNode block, Set<BlockNode> exits, Set<BlockNode> visited) {
 		visited.add(block);
 		for (BlockNode node : block.getCleanSuccessors()) {
 			boolean cross = true;
 			for (BlockNode exitBlock : exits) {
-				boolean p = isPathExists(exitBlock, node);
+				boolean p = isPathExists(mth, exitBlock, node);
 				if (!p) {
 					cross = false;
 					break;
@@ -572,7 +574,7 @@ public class RegionMaker {
 		}
 
 		IfInfo currentIf = makeIfInfo(block);
-		IfInfo mergedIf = mergeNestedIfNodes(currentIf);
+		IfInfo mergedIf = mergeNestedIfNodes(mth, currentIf);
 		if (mergedIf != null) {
 			currentIf = mergedIf;
 		} else {
@@ -639,9 +641,11 @@ public class RegionMaker {
 			blocksMap.put(c, entry.getValue());
 		}
 
-		BitSet succ = BlockUtils.blocksToBitSet(mth, block.getSuccessors());
-		BitSet domsOn = BlockUtils.blocksToBitSet(mth, block.getDominatesOn());
+		CfgWorkspace ws = CfgWorkspace.get();
+		BitSet succ = BlockUtils.blocksToBitSet(ws.takeBitSet(), block.getSuccessors());
+		BitSet domsOn = BlockUtils.blocksToBitSet(ws.takeBitSet(), block.getDominatesOn());
 		domsOn.xor(succ); // filter 'out' block
+		ws.returnBitSet(succ);
 
 		BlockNode defCase = getBlockByOffset(insn.getDefaultCaseOffset(), block.getSuccessors());
 		if (defCase != null) {
@@ -669,13 +673,15 @@ public class RegionMaker {
 		BlockNode out = null;
 		if (outCount == 1) {
 			out = mth.getBasicBlocks().get(domsOn.nextSetBit(0));
-		} else if (outCount == 0) {
+		}
+		ws.returnBitSet(domsOn);
+		if (outCount == 0) {
 			// one or several case blocks are empty,
 			// run expensive algorithm for find 'out' block
 			for (BlockNode maybeOut : block.getSuccessors()) {
 				boolean allReached = true;
 				for (BlockNode s : block.getSuccessors()) {
-					if (!isPathExists(s, maybeOut)) {
+					if (!isPathExists(mth, s, maybeOut)) {
 						allReached = false;
 						break;
 					}
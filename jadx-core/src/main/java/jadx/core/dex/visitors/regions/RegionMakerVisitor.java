@@ -8,6 +8,7 @@ import jadx.core.dex.regions.Region;
 import jadx.core.dex.regions.SynchronizedRegion;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IMethodLocalVisitor;
 import jadx.core.utils.InstructionRemover;
 import jadx.core.utils.exceptions.JadxException;
 
@@ -19,7 +20,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Pack blocks into regions for code generation
  */
-public class RegionMakerVisitor extends AbstractVisitor {
+public class RegionMakerVisitor extends AbstractVisitor implements IMethodLocalVisitor {
 	private static final Logger LOG = LoggerFactory.getLogger(RegionMakerVisitor.class);
 
 	@Override
@@ -13,6 +13,7 @@ import jadx.core.dex.regions.TryCatchRegion;
 import jadx.core.dex.regions.conditions.IfRegion;
 import jadx.core.dex.regions.loops.LoopRegion;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IMethodLocalVisitor;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
@@ -22,7 +23,7 @@ import java.util.ListIterator;
 /**
  * Remove unnecessary return instructions for void methods
  */
-public class ReturnVisitor extends AbstractVisitor {
+public class ReturnVisitor extends AbstractVisitor implements IMethodLocalVisitor {
 
 	@Override
 	public void visit(MethodNode mth) throws JadxException {
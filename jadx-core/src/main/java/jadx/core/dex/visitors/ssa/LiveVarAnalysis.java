@@ -70,6 +70,8 @@ public class LiveVarAnalysis {
 		BitSet[] liveIn = initBitSetArray(bbCount, regsCount);
 		List<BlockNode> blocks = mth.getBasicBlocks();
 		int blocksSize = blocks.size();
+		// scratch set, swapped with replaced 'liveIn' set on change to avoid allocations
+		BitSet newIn = new BitSet(regsCount);
 		boolean changed;
 		int k = 0;
 		do {
@@ -78,7 +80,7 @@ public class LiveVarAnalysis {
 				BlockNode block = blocks.get(i);
 				int blockId = block.getId();
 				BitSet prevIn = liveIn[blockId];
-				BitSet newIn = new BitSet(regsCount);
+				newIn.clear();
 				List<BlockNode> successors = block.getSuccessors();
 				for (int s = 0, successorsSize = successors.size(); s < successorsSize; s++) {
 					newIn.or(liveIn[successors.get(s).getId()]);
@@ -88,11 +90,13 @@ public class LiveVarAnalysis {
 				if (!prevIn.equals(newIn)) {
 					changed = true;
 					liveIn[blockId] = newIn;
+					newIn = prevIn;
 				}
 			}
 			if (k++ > 1000) {
 				throw new JadxRuntimeException("Live variable analysis reach iterations limit");
 			}
+			mth.getBudget().step();
 		} while (changed);
 
 		this.liveIn = liveIn;
@@ -4,8 +4,9 @@ import jadx.core.dex.nodes.BlockNode;
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IMethodLocalVisitor;
 
-public class FinishTypeInference extends AbstractVisitor {
+public class FinishTypeInference extends AbstractVisitor implements IMethodLocalVisitor {
 
 	@Override
 	public void visit(MethodNode mth) {
@@ -28,12 +29,13 @@ public class FinishTypeInference extends AbstractVisitor {
 			if (i > 1000) {
 				break;
 			}
+			mth.getBudget().step();
 		} while (change);
 
 		// last chance to set correct value (just use first type from 'possible' list)
 		for (BlockNode block : mth.getBasicBlocks()) {
 			for (InsnNode insn : block.getInstructions()) {
-				SelectTypeVisitor.visit(insn);
+				SelectTypeVisitor.visit(mth.dex(), insn);
 			}
 		}
 
@@ -2,6 +2,7 @@ package jadx.core.dex.visitors.typeinference;
 
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.nodes.DexNode;
 import jadx.core.dex.nodes.InsnNode;
 
 public class SelectTypeVisitor {
@@ -9,21 +10,21 @@ public class SelectTypeVisitor {
 	private SelectTypeVisitor() {
 	}
 
-	public static void visit(InsnNode insn) {
+	public static void visit(DexNode dex, InsnNode insn) {
 		InsnArg res = insn.getResult();
 		if (res != null && !res.getType().isTypeKnown()) {
-			selectType(res);
+			selectType(dex, res);
 		}
 		for (InsnArg arg : insn.getArguments()) {
 			if (!arg.getType().isTypeKnown()) {
-				selectType(arg);
+				selectType(dex, arg);
 			}
 		}
 	}
 
-	private static void selectType(InsnArg arg) {
+	private static void selectType(DexNode dex, InsnArg arg) {
 		ArgType t = arg.getType();
-		ArgType newType = ArgType.merge(t, t.selectFirst());
+		ArgType newType = ArgType.merge(dex, t, t.selectFirst());
 		arg.setType(newType);
 	}
 
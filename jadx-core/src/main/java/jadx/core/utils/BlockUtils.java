@@ -2,6 +2,8 @@ package jadx.core.utils;
 
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.BlockReachabilityAttr;
+import jadx.core.dex.attributes.nodes.InsnBlockIndexAttr;
 import jadx.core.dex.attributes.nodes.PhiListAttr;
 import jadx.core.dex.instructions.IfNode;
 import jadx.core.dex.instructions.InsnType;
@@ -13,6 +15,7 @@ import jadx.core.dex.nodes.BlockNode;
 import jadx.core.dex.nodes.InsnNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.regions.conditions.IfCondition;
+import jadx.core.utils.CfgWorkspace.BlocksStack;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 import java.util.ArrayList;
@@ -121,6 +124,29 @@ public class BlockUtils {
 	}
 
 	public static BlockNode getBlockByInsn(MethodNode mth, InsnNode insn) {
+		InsnBlockIndexAttr index = InsnBlockIndexAttr.get(mth);
+		BlockNode block;
+		if (insn.contains(AFlag.WRAPPED) && !(insn instanceof PhiInsn)) {
+			block = index.getBlockByWrapped(insn);
+		} else {
+			block = index.getBlock(insn);
+		}
+		if (block == null) {
+			// instruction removed or index outdated
+			block = scanBlockByInsn(mth, insn);
+			if (block != null) {
+				index.rebuild();
+			}
+		} else if (InsnBlockIndexAttr.isCheckEnabled()) {
+			checkIndexResult(mth, insn, block, scanBlockByInsn(mth, insn));
+		}
+		return block;
+	}
+
+	/**
+	 * Search block by instruction without index, used on index miss and for index check
+	 */
+	private static BlockNode scanBlockByInsn(MethodNode mth, InsnNode insn) {
 		if (insn instanceof PhiInsn) {
 			return searchBlockWithPhi(mth, (PhiInsn) insn);
 		}
@@ -135,6 +161,13 @@ public class BlockUtils {
 		return null;
 	}
 
+	private static void checkIndexResult(MethodNode mth, InsnNode insn, Object indexResult, Object scanResult) {
+		if (indexResult != scanResult) {
+			throw new JadxRuntimeException("Instructions index inconsistent for " + insn
+					+ ": index result: " + indexResult + ", expected: " + scanResult + " in " + mth);
+		}
+	}
+
 	private static BlockNode searchBlockWithPhi(MethodNode mth, PhiInsn insn) {
 		for (BlockNode block : mth.getBasicBlocks()) {
 			PhiListAttr phiListAttr = block.get(AType.PHI_LIST);
@@ -172,6 +205,21 @@ public class BlockUtils {
 		if (!insn.contains(AFlag.WRAPPED)) {
 			return null;
 		}
+		InsnBlockIndexAttr index = InsnBlockIndexAttr.get(mth);
+		InsnArg arg = index.getWrapArg(insn);
+		if (arg == null) {
+			// instruction removed or index outdated
+			arg = scanWrappedInsnParent(mth, insn);
+			if (arg != null) {
+				index.rebuild();
+			}
+		} else if (InsnBlockIndexAttr.isCheckEnabled()) {
+			checkIndexResult(mth, insn, arg, scanWrappedInsnParent(mth, insn));
+		}
+		return arg;
+	}
+
+	private static InsnArg scanWrappedInsnParent(MethodNode mth, InsnNode insn) {
 		for (BlockNode bn : mth.getBasicBlocks()) {
 			for (InsnNode bi : bn.getInstructions()) {
 				InsnArg res = foundWrappedInsn(bi, insn);
@@ -217,7 +265,13 @@ public class BlockUtils {
 	}
 
 	public static BitSet blocksToBitSet(MethodNode mth, List<BlockNode> blocks) {
-		BitSet bs = new BitSet(mth.getBasicBlocks().size());
+		return blocksToBitSet(new BitSet(mth.getBasicBlocks().size()), blocks);
+	}
+
+	/**
+	 * Set bits for blocks in provided bitset (can be taken from {@link CfgWorkspace})
+	 */
+	public static BitSet blocksToBitSet(BitSet bs, List<BlockNode> blocks) {
 		for (BlockNode block : blocks) {
 			bs.set(block.getId());
 		}
@@ -271,31 +325,52 @@ public class BlockUtils {
 	}
 
 	private static void addPredecessors(Set<BlockNode> set, BlockNode from, BlockNode until) {
-		set.add(from);
-		for (BlockNode pred : from.getPredecessors()) {
-			if (pred != until && !set.contains(pred)) {
-				addPredecessors(set, pred, until);
-			}
-		}
-	}
-
-	private static boolean traverseSuccessorsUntil(BlockNode from, BlockNode until, BitSet visited) {
-		for (BlockNode s : from.getCleanSuccessors()) {
-			if (s == until) {
-				return true;
-			}
-			int id = s.getId();
-			if (!visited.get(id)) {
-				visited.set(id);
-				if (until.isDominator(s)) {
-					return true;
+		CfgWorkspace ws = CfgWorkspace.get();
+		BlocksStack stack = ws.takeStack();
+		try {
+			stack.push(from);
+			while (!stack.isEmpty()) {
+				BlockNode block = stack.pop();
+				if (set.add(block)) {
+					for (BlockNode pred : block.getPredecessors()) {
+						if (pred != until && !set.contains(pred)) {
+							stack.push(pred);
+						}
+					}
 				}
-				if (traverseSuccessorsUntil(s, until, visited)) {
-					return true;
+			}
+		} finally {
+			ws.returnStack(stack);
+		}
+	}
+
+	private static boolean traverseSuccessorsUntil(BlockNode from, BlockNode until) {
+		CfgWorkspace ws = CfgWorkspace.get();
+		BitSet visited = ws.takeBitSet();
+		BlocksStack stack = ws.takeStack();
+		try {
+			stack.push(from);
+			while (!stack.isEmpty()) {
+				BlockNode block = stack.pop();
+				for (BlockNode s : block.getCleanSuccessors()) {
+					if (s == until) {
+						return true;
+					}
+					int id = s.getId();
+					if (!visited.get(id)) {
+						visited.set(id);
+						if (until.isDominator(s)) {
+							return true;
+						}
+						stack.push(s);
+					}
 				}
 			}
+			return false;
+		} finally {
+			ws.returnStack(stack);
+			ws.returnBitSet(visited);
 		}
-		return false;
 	}
 
 	public static boolean isPathExists(BlockNode start, BlockNode end) {
@@ -307,7 +382,26 @@ public class BlockUtils {
 		if (start.getPredecessors().contains(end)) {
 			return false;
 		}
-		return traverseSuccessorsUntil(start, end, new BitSet());
+		return traverseSuccessorsUntil(start, end);
+	}
+
+	/**
+	 * Same as {@link #isPathExists(BlockNode, BlockNode)} but use method reachability index
+	 * instead of graph traversal, can be used only after blocks tree is finished.
+	 */
+	public static boolean isPathExists(MethodNode mth, BlockNode start, BlockNode end) {
+		if (start == end
+				|| end.isDominator(start)
+				|| start.getCleanSuccessors().contains(end)) {
+			return true;
+		}
+		if (start.getPredecessors().contains(end)) {
+			return false;
+		}
+		// path exists if 'end' block or one of its dominators reachable
+		BlockReachabilityAttr reachability = BlockReachabilityAttr.get(mth);
+		return reachability.isReachable(start, end)
+				|| reachability.isAnyReachable(start, end.getDoms());
 	}
 
 	public static boolean isOnlyOnePathExists(BlockNode start, BlockNode end) {
@@ -330,38 +424,55 @@ public class BlockUtils {
 	 * Search for first node which not dominated by dom, starting from start
 	 */
 	public static BlockNode traverseWhileDominates(BlockNode dom, BlockNode start) {
-		for (BlockNode node : start.getCleanSuccessors()) {
-			if (!node.isDominator(dom)) {
-				return node;
-			} else {
-				BlockNode out = traverseWhileDominates(dom, node);
-				if (out != null) {
-					return out;
+		CfgWorkspace ws = CfgWorkspace.get();
+		BitSet visited = ws.takeBitSet();
+		BlocksStack stack = ws.takeStack();
+		try {
+			// depth-first pre-order, same as recursive traversal
+			stack.pushReversed(start.getCleanSuccessors());
+			while (!stack.isEmpty()) {
+				BlockNode node = stack.pop();
+				if (!node.isDominator(dom)) {
+					return node;
+				}
+				int id = node.getId();
+				if (!visited.get(id)) {
+					// successors of already visited node checked before
+					visited.set(id);
+					stack.pushReversed(node.getCleanSuccessors());
 				}
 			}
+			return null;
+		} finally {
+			ws.returnStack(stack);
+			ws.returnBitSet(visited);
 		}
-		return null;
 	}
 
 	public static BlockNode getPathCross(MethodNode mth, BlockNode b1, BlockNode b2) {
 		if (b1 == null || b2 == null) {
 			return null;
 		}
-		BitSet b = new BitSet();
-		b.or(b1.getDomFrontier());
-		b.and(b2.getDomFrontier());
-		b.clear(b1.getId());
-		b.clear(b2.getId());
-		if (b.cardinality() == 1) {
-			BlockNode end = mth.getBasicBlocks().get(b.nextSetBit(0));
-			if (isPathExists(b1, end) && isPathExists(b2, end)) {
-				return end;
+		CfgWorkspace ws = CfgWorkspace.get();
+		BitSet b = ws.takeBitSet();
+		try {
+			b.or(b1.getDomFrontier());
+			b.and(b2.getDomFrontier());
+			b.clear(b1.getId());
+			b.clear(b2.getId());
+			if (b.cardinality() == 1) {
+				BlockNode end = mth.getBasicBlocks().get(b.nextSetBit(0));
+				if (isPathExists(mth, b1, end) && isPathExists(mth, b2, end)) {
+					return end;
+				}
 			}
+		} finally {
+			ws.returnBitSet(b);
 		}
-		if (isPathExists(b1, b2)) {
+		if (isPathExists(mth, b1, b2)) {
 			return b2;
 		}
-		if (isPathExists(b2, b1)) {
+		if (isPathExists(mth, b2, b1)) {
 			return b1;
 		}
 		return null;
@@ -377,11 +488,20 @@ public class BlockUtils {
 	}
 
 	private static void collectWhileDominates(BlockNode dominator, BlockNode child, List<BlockNode> result) {
-		for (BlockNode node : child.getCleanSuccessors()) {
-			if (node.isDominator(dominator)) {
-				result.add(node);
-				collectWhileDominates(dominator, node, result);
+		CfgWorkspace ws = CfgWorkspace.get();
+		BlocksStack stack = ws.takeStack();
+		try {
+			// depth-first pre-order, same as recursive traversal
+			stack.pushReversed(child.getCleanSuccessors());
+			while (!stack.isEmpty()) {
+				BlockNode node = stack.pop();
+				if (node.isDominator(dominator)) {
+					result.add(node);
+					stack.pushReversed(node.getCleanSuccessors());
+				}
 			}
+		} finally {
+			ws.returnStack(stack);
 		}
 	}
 
@@ -0,0 +1,118 @@
+package jadx.core.utils;
+
+import jadx.core.dex.nodes.BlockNode;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Per-thread scratch buffers for control flow graph traversals.
+ * <p/>
+ * Bitsets and stacks taken from workspace must be returned back after use
+ * (usually in finally block), returned objects cleared and reused by next requests.
+ * Nested requests are allowed, every request gets separate object.
+ */
+public final class CfgWorkspace {
+
+	private static final ThreadLocal<CfgWorkspace> WORKSPACE = new ThreadLocal<CfgWorkspace>() {
+		@Override
+		protected CfgWorkspace initialValue() {
+			return new CfgWorkspace();
+		}
+	};
+
+	/**
+	 * Don't keep too many objects after deep nesting
+	 */
+	private static final int MAX_POOL_SIZE = 16;
+
+	private final List<BitSet> bitSets = new ArrayList<BitSet>();
+	private final List<BlocksStack> stacks = new ArrayList<BlocksStack>();
+
+	private CfgWorkspace() {
+	}
+
+	public static CfgWorkspace get() {
+		return WORKSPACE.get();
+	}
+
+	/**
+	 * Return empty bitset
+	 */
+	public BitSet takeBitSet() {
+		int size = bitSets.size();
+		if (size == 0) {
+			return new BitSet();
+		}
+		return bitSets.remove(size - 1);
+	}
+
+	public void returnBitSet(BitSet bs) {
+		if (bitSets.size() < MAX_POOL_SIZE) {
+			bs.clear();
+			bitSets.add(bs);
+		}
+	}
+
+	/**
+	 * Return empty stack
+	 */
+	public BlocksStack takeStack() {
+		int size = stacks.size();
+		if (size == 0) {
+			return new BlocksStack();
+		}
+		return stacks.remove(size - 1);
+	}
+
+	public void returnStack(BlocksStack stack) {
+		if (stacks.size() < MAX_POOL_SIZE) {
+			stack.clear();
+			stacks.add(stack);
+		}
+	}
+
+	/**
+	 * Array based stack for iterative graph traversals
+	 */
+	public static final class BlocksStack {
+		private BlockNode[] array = new BlockNode[32];
+		private int size;
+
+		public void push(BlockNode block) {
+			if (size == array.length) {
+				BlockNode[] newArray = new BlockNode[size * 2];
+				System.arraycopy(array, 0, newArray, 0, size);
+				array = newArray;
+			}
+			array[size++] = block;
+		}
+
+		/**
+		 * Push blocks in reverse order, so first block from list will be popped first
+		 */
+		public void pushReversed(List<BlockNode> blocks) {
+			for (int i = blocks.size() - 1; i >= 0; i--) {
+				push(blocks.get(i));
+			}
+		}
+
+		public BlockNode pop() {
+			BlockNode block = array[--size];
+			array[size] = null;
+			return block;
+		}
+
+		public boolean isEmpty() {
+			return size == 0;
+		}
+
+		void clear() {
+			for (int i = 0; i < size; i++) {
+				array[i] = null;
+			}
+			size = 0;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package jadx.core.utils;
+
+/**
+ * Details of one error reported by {@link ErrorsCounter}
+ */
+public final class ErrorInfo {
+
+	public enum NodeType {
+		CLASS,
+		METHOD
+	}
+
+	private final NodeType nodeType;
+	private final String node;
+	private final String pass;
+	private final String exception;
+	private final String message;
+	private final long time;
+	private final long methodTime;
+
+	ErrorInfo(NodeType nodeType, String node, String pass, String exception, String message,
+			long time, long methodTime) {
+		this.nodeType = nodeType;
+		this.node = node;
+		this.pass = pass;
+		this.exception = exception;
+		this.message = message;
+		this.time = time;
+		this.methodTime = methodTime;
+	}
+
+	public NodeType getNodeType() {
+		return nodeType;
+	}
+
+	/**
+	 * Full class name or method full id
+	 */
+	public String getNode() {
+		return node;
+	}
+
+	/**
+	 * Simple name of pass running when error reported, null if error reported outside of passes
+	 */
+	public String getPass() {
+		return pass;
+	}
+
+	/**
+	 * Exception class name, null for errors without exception (inconsistent code)
+	 */
+	public String getException() {
+		return exception;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Time in milliseconds from errors counter creation (or reset)
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Processing time in milliseconds spent on method before error, -1 for class errors
+	 */
+	public long getMethodTime() {
+		return methodTime;
+	}
+
+	@Override
+	public String toString() {
+		return nodeType + " " + node + ", pass: " + pass + ", exception: " + exception + ", message: " + message;
+	}
+}
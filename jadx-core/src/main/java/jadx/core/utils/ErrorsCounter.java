@@ -5,36 +5,68 @@ import jadx.core.dex.attributes.IAttributeNode;
 import jadx.core.dex.attributes.nodes.JadxErrorAttr;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.ErrorInfo.NodeType;
 import jadx.core.utils.exceptions.JadxOverflowException;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collect errors from all processing threads without locks.
+ */
 public class ErrorsCounter {
 	private static final Logger LOG = LoggerFactory.getLogger(ErrorsCounter.class);
 
-	private final Set<Object> errorNodes = new HashSet<Object>();
-	private int errorsCount;
+	/**
+	 * Pass currently running in this thread, set by {@link jadx.core.dex.visitors.DepthTraversal}
+	 */
+	private static final ThreadLocal<IDexTreeVisitor> CURRENT_PASS = new ThreadLocal<IDexTreeVisitor>();
+
+	private final Set<Object> errorNodes = Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+	private final ConcurrentLinkedQueue<ErrorInfo> errors = new ConcurrentLinkedQueue<ErrorInfo>();
+	private final AtomicInteger errorsCount = new AtomicInteger();
+	private volatile long startTime = System.currentTimeMillis();
 
 	public int getErrorCount() {
-		return errorsCount;
+		return errorsCount.get();
 	}
 
 	public void reset() {
 		errorNodes.clear();
-		errorsCount = 0;
+		errors.clear();
+		errorsCount.set(0);
+		startTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Set pass for errors reported from current thread
+	 *
+	 * @return previous pass, must be restored by {@link #leavePass(IDexTreeVisitor)}
+	 */
+	public static IDexTreeVisitor enterPass(IDexTreeVisitor pass) {
+		IDexTreeVisitor prev = CURRENT_PASS.get();
+		CURRENT_PASS.set(pass);
+		return prev;
 	}
 
-	private void addError(IAttributeNode node, String msg, Throwable e) {
+	public static void leavePass(IDexTreeVisitor prevPass) {
+		CURRENT_PASS.set(prevPass);
+	}
+
+	private void addError(IAttributeNode node, ErrorInfo info, String msg, Throwable e) {
 		errorNodes.add(node);
-		errorsCount++;
+		errors.add(info);
+		errorsCount.incrementAndGet();
 
 		if (e != null) {
 			if (e.getClass() == JadxOverflowException.class) {
@@ -51,9 +83,31 @@ public class ErrorsCounter {
 		}
 	}
 
+	private ErrorInfo makeInfo(NodeType type, String node, String msg, Throwable e, long methodTime) {
+		IDexTreeVisitor pass = CURRENT_PASS.get();
+		return new ErrorInfo(type, node,
+				pass == null ? null : pass.getClass().getSimpleName(),
+				e == null ? null : e.getClass().getName(),
+				msg,
+				System.currentTimeMillis() - startTime,
+				methodTime);
+	}
+
+	/**
+	 * Reported errors in report order
+	 */
+	public List<ErrorInfo> getErrors() {
+		return new ArrayList<ErrorInfo>(errors);
+	}
+
+	public ErrorsReport makeReport() {
+		return new ErrorsReport(getErrors());
+	}
+
 	public static String classError(ClassNode cls, String errorMsg, Throwable e) {
 		String msg = formatErrorMsg(cls, errorMsg);
-		cls.dex().root().getErrorsCounter().addError(cls, msg, e);
+		ErrorsCounter counter = cls.dex().root().getErrorsCounter();
+		counter.addError(cls, counter.makeInfo(NodeType.CLASS, cls.getFullName(), errorMsg, e, -1), msg, e);
 		return msg;
 	}
 
@@ -63,7 +117,10 @@ public class ErrorsCounter {
 
 	public static String methodError(MethodNode mth, String errorMsg, Throwable e) {
 		String msg = formatErrorMsg(mth, errorMsg);
-		mth.dex().root().getErrorsCounter().addError(mth, msg, e);
+		ErrorsCounter counter = mth.dex().root().getErrorsCounter();
+		String node = mth.getMethodInfo().getFullId();
+		long mthTime = mth.getBudget().getSpentTime();
+		counter.addError(mth, counter.makeInfo(NodeType.METHOD, node, errorMsg, e, mthTime), msg, e);
 		return msg;
 	}
 
@@ -0,0 +1,227 @@
+package jadx.core.utils;
+
+import jadx.core.utils.files.FileUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Errors snapshot grouped by pass and by exception type, can be saved in JSON or CSV format.
+ * Errors sorted by pass, exception and node, so reports for same input are comparable.
+ */
+public final class ErrorsReport {
+
+	/**
+	 * Group name for errors reported outside of passes or without exception
+	 */
+	public static final String NONE = "none";
+
+	private static final String CSV_HEADER = "type,node,pass,exception,message,time,method_time";
+
+	private final List<ErrorInfo> errors;
+	private final Map<String, Map<String, Integer>> byPass = new TreeMap<String, Map<String, Integer>>();
+	private final Map<String, Map<String, Integer>> byException = new TreeMap<String, Map<String, Integer>>();
+
+	public ErrorsReport(List<ErrorInfo> errorsList) {
+		List<ErrorInfo> list = new ArrayList<ErrorInfo>(errorsList);
+		Collections.sort(list, new Comparator<ErrorInfo>() {
+			@Override
+			public int compare(ErrorInfo a, ErrorInfo b) {
+				int cmp = passName(a).compareTo(passName(b));
+				if (cmp == 0) {
+					cmp = exceptionName(a).compareTo(exceptionName(b));
+				}
+				if (cmp == 0) {
+					cmp = a.getNode().compareTo(b.getNode());
+				}
+				return cmp;
+			}
+		});
+		this.errors = Collections.unmodifiableList(list);
+		for (ErrorInfo error : list) {
+			String pass = passName(error);
+			String exception = exceptionName(error);
+			inc(byPass, pass, exception);
+			inc(byException, exception, pass);
+		}
+	}
+
+	private static String passName(ErrorInfo error) {
+		String pass = error.getPass();
+		return pass == null ? NONE : pass;
+	}
+
+	private static String exceptionName(ErrorInfo error) {
+		String exception = error.getException();
+		return exception == null ? NONE : exception;
+	}
+
+	private static void inc(Map<String, Map<String, Integer>> groups, String group, String key) {
+		Map<String, Integer> map = groups.get(group);
+		if (map == null) {
+			map = new TreeMap<String, Integer>();
+			groups.put(group, map);
+		}
+		Integer count = map.get(key);
+		map.put(key, count == null ? 1 : count + 1);
+	}
+
+	public List<ErrorInfo> getErrors() {
+		return errors;
+	}
+
+	public int getErrorsCount() {
+		return errors.size();
+	}
+
+	/**
+	 * Errors count by pass name, then by exception class name
+	 */
+	public Map<String, Map<String, Integer>> getByPass() {
+		return Collections.unmodifiableMap(byPass);
+	}
+
+	/**
+	 * Errors count by exception class name, then by pass name
+	 */
+	public Map<String, Map<String, Integer>> getByException() {
+		return Collections.unmodifiableMap(byException);
+	}
+
+	public String toJson() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\n  \"errorsCount\": ").append(errors.size()).append(",\n");
+		sb.append("  \"byPass\": ");
+		appendGroups(sb, byPass, "exceptions");
+		sb.append(",\n  \"byException\": ");
+		appendGroups(sb, byException, "passes");
+		sb.append(",\n  \"errors\": [");
+		for (int i = 0; i < errors.size(); i++) {
+			ErrorInfo error = errors.get(i);
+			sb.append(i == 0 ? "\n" : ",\n");
+			sb.append("    {\"type\": ").append(jsonString(error.getNodeType().name()));
+			sb.append(", \"node\": ").append(jsonString(error.getNode()));
+			sb.append(", \"pass\": ").append(jsonString(error.getPass()));
+			sb.append(", \"exception\": ").append(jsonString(error.getException()));
+			sb.append(", \"message\": ").append(jsonString(error.getMessage()));
+			sb.append(", \"time\": ").append(error.getTime());
+			sb.append(", \"methodTime\": ").append(error.getMethodTime());
+			sb.append('}');
+		}
+		sb.append(errors.isEmpty() ? "]\n" : "\n  ]\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private static void appendGroups(StringBuilder sb, Map<String, Map<String, Integer>> groups, String subName) {
+		sb.append('{');
+		boolean first = true;
+		for (Map.Entry<String, Map<String, Integer>> entry : groups.entrySet()) {
+			sb.append(first ? "\n" : ",\n");
+			first = false;
+			int total = 0;
+			StringBuilder sub = new StringBuilder();
+			for (Map.Entry<String, Integer> subEntry : entry.getValue().entrySet()) {
+				if (sub.length() != 0) {
+					sub.append(", ");
+				}
+				sub.append(jsonString(subEntry.getKey())).append(": ").append(subEntry.getValue());
+				total += subEntry.getValue();
+			}
+			sb.append("    ").append(jsonString(entry.getKey()));
+			sb.append(": {\"count\": ").append(total);
+			sb.append(", \"").append(subName).append("\": {").append(sub).append("}}");
+		}
+		sb.append(groups.isEmpty() ? "}" : "\n  }");
+	}
+
+	public String toCsv() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(CSV_HEADER).append('\n');
+		for (ErrorInfo error : errors) {
+			sb.append(error.getNodeType().name()).append(',');
+			sb.append(csvValue(error.getNode())).append(',');
+			sb.append(csvValue(error.getPass())).append(',');
+			sb.append(csvValue(error.getException())).append(',');
+			sb.append(csvValue(error.getMessage())).append(',');
+			sb.append(error.getTime()).append(',');
+			sb.append(error.getMethodTime()).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Save report in CSV format if file name ends with '.csv', in JSON format otherwise
+	 */
+	public void save(File file) throws IOException {
+		String content = file.getName().endsWith(".csv") ? toCsv() : toJson();
+		FileUtils.makeDirsForFile(file);
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			out.write(content);
+		} finally {
+			out.close();
+		}
+	}
+
+	private static String jsonString(String str) {
+		if (str == null) {
+			return "null";
+		}
+		StringBuilder sb = new StringBuilder(str.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch (c) {
+				case '"':
+					sb.append("\\\"");
+					break;
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+		return sb.toString();
+	}
+
+	private static String csvValue(String str) {
+		if (str == null) {
+			return "";
+		}
+		if (str.indexOf(',') == -1 && str.indexOf('"') == -1
+				&& str.indexOf('\n') == -1 && str.indexOf('\r') == -1) {
+			return str;
+		}
+		return '"' + str.replace("\"", "\"\"") + '"';
+	}
+
+	@Override
+	public String toString() {
+		return "ErrorsReport: " + errors.size() + " errors, passes: " + byPass.keySet();
+	}
+}
@@ -1,31 +1,12 @@
 package jadx.core.utils;
 
 import jadx.core.dex.instructions.InsnType;
-import jadx.core.utils.exceptions.JadxRuntimeException;
-
-import com.android.dx.io.instructions.DecodedInstruction;
 
 public class InsnUtils {
 
 	private InsnUtils() {
 	}
 
-	public static int getArg(DecodedInstruction insn, int arg) {
-		switch (arg) {
-			case 0:
-				return insn.getA();
-			case 1:
-				return insn.getB();
-			case 2:
-				return insn.getC();
-			case 3:
-				return insn.getD();
-			case 4:
-				return insn.getE();
-		}
-		throw new JadxRuntimeException("Wrong argument number: " + arg);
-	}
-
 	public static String formatOffset(int offset) {
 		if (offset < 0) {
 			return "?";
@@ -1,6 +1,7 @@
 package jadx.core.utils;
 
 import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.nodes.InsnBlockIndexAttr;
 import jadx.core.dex.instructions.args.InsnArg;
 import jadx.core.dex.instructions.args.InsnWrapArg;
 import jadx.core.dex.instructions.args.RegisterArg;
@@ -71,6 +72,7 @@ public class InstructionRemover {
 			unbindArgUsage(mth, arg);
 		}
 		insn.add(AFlag.INCONSISTENT_CODE);
+		InsnBlockIndexAttr.onRemove(mth, insn);
 	}
 
 	public static void unbindArgUsage(MethodNode mth, InsnArg arg) {
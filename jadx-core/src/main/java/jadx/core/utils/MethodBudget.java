@@ -0,0 +1,84 @@
+package jadx.core.utils;
+
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.exceptions.JadxOverflowException;
+
+/**
+ * Track processing time and iterations spent on one method.
+ * Time accumulated by {@link jadx.core.dex.visitors.DepthTraversal} for every method pass,
+ * iterations counted by heavy loops in passes using {@link #step()}.
+ * <p/>
+ * On limit exceed {@link JadxOverflowException} is thrown,
+ * such method skip remaining passes and will be generated in fallback mode.
+ */
+public final class MethodBudget {
+
+	private static final int TIME_CHECK_MASK = 0xFF;
+
+	private final MethodNode mth;
+	private final long timeLimit;
+	private final long iterationsLimit;
+
+	private long spentTime;
+	private long passStart;
+	private long iterations;
+	private boolean exceeded;
+
+	/**
+	 * @param timeLimit       max processing time in milliseconds, 0 - no limit
+	 * @param iterationsLimit max iterations count, 0 - no limit
+	 */
+	public MethodBudget(MethodNode mth, long timeLimit, long iterationsLimit) {
+		this.mth = mth;
+		this.timeLimit = timeLimit * 1000000L;
+		this.iterationsLimit = iterationsLimit;
+	}
+
+	public void startPass() {
+		passStart = System.nanoTime();
+	}
+
+	public void finishPass() {
+		spentTime += System.nanoTime() - passStart;
+		passStart = 0;
+		if (timeLimit > 0 && spentTime > timeLimit) {
+			fail("Method processing time limit reached");
+		}
+	}
+
+	/**
+	 * Count one iteration of heavy loop, also check time limit from time to time
+	 */
+	public void step() {
+		iterations++;
+		if (iterationsLimit > 0 && iterations > iterationsLimit) {
+			fail("Method processing iterations limit reached");
+		}
+		if (timeLimit > 0 && (iterations & TIME_CHECK_MASK) == 0) {
+			long time = spentTime;
+			if (passStart != 0) {
+				time += System.nanoTime() - passStart;
+			}
+			if (time > timeLimit) {
+				fail("Method processing time limit reached");
+			}
+		}
+	}
+
+	private void fail(String msg) {
+		exceeded = true;
+		throw new JadxOverflowException(msg + ", method: " + mth);
+	}
+
+	public boolean isExceeded() {
+		return exceeded;
+	}
+
+	public long getSpentTime() {
+		return spentTime / 1000000L;
+	}
+
+	public long getIterations() {
+		return iterations;
+	}
+}
@@ -3,9 +3,11 @@ package jadx.core.utils.files;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 
@@ -38,6 +40,16 @@ public class FileUtils {
 		}
 	}
 
+	public static byte[] readAllBytes(InputStream in) throws IOException {
+		ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int count;
+		while ((count = in.read(buffer)) != -1) {
+			bytesOut.write(buffer, 0, count);
+		}
+		return bytesOut.toByteArray();
+	}
+
 	public static void makeDirsForFile(File file) {
 		File dir = file.getParentFile();
 		if (dir != null && !dir.exists()) {
@@ -4,12 +4,15 @@ import jadx.core.utils.AsmUtils;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.jar.JarOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -22,20 +25,27 @@ public class InputFile {
 	private static final Logger LOG = LoggerFactory.getLogger(InputFile.class);
 
 	private final File file;
-	private final Dex dexBuf;
+	private final List<Dex> dexBuffers;
 
 	public InputFile(File file) throws IOException, DecodeException {
+		this(file, 1);
+	}
+
+	/**
+	 * @param threadsCount threads count for java classes to dex conversion
+	 */
+	public InputFile(File file, int threadsCount) throws IOException, DecodeException {
 		if (!file.exists()) {
 			throw new IOException("File not found: " + file.getAbsolutePath());
 		}
 		this.file = file;
-		this.dexBuf = loadDexBuffer();
+		this.dexBuffers = loadDexBuffers(threadsCount);
 	}
 
-	private Dex loadDexBuffer() throws IOException, DecodeException {
+	private List<Dex> loadDexBuffers(int threadsCount) throws IOException, DecodeException {
 		String fileName = file.getName();
 		if (fileName.endsWith(".dex")) {
-			return new Dex(file);
+			return Collections.singletonList(new Dex(file));
 		}
 		if (fileName.endsWith(".class")) {
 			return loadFromClassFile(file);
@@ -45,35 +55,63 @@ public class InputFile {
 			if (dex == null) {
 				throw new IOException("File 'classes.dex' not found in file: " + file);
 			}
-			return dex;
+			return Collections.singletonList(dex);
 		}
 		if (fileName.endsWith(".jar")) {
 			// check if jar contains 'classes.dex'
 			Dex dex = loadFromZip(file);
 			if (dex != null) {
-				return dex;
+				return Collections.singletonList(dex);
 			}
-			return loadFromJar(file);
+			return loadFromJar(file, threadsCount);
 		}
 		throw new DecodeException("Unsupported input file format: " + file);
 	}
 
-	private static Dex loadFromJar(File jarFile) throws DecodeException {
+	private static List<Dex> loadFromJar(File jarFile, int threadsCount) throws DecodeException {
 		try {
 			LOG.info("converting to dex: {} ...", jarFile.getName());
-			JavaToDex j2d = new JavaToDex();
-			byte[] ba = j2d.convert(jarFile.getAbsolutePath());
-			if (ba.length == 0) {
-				throw new JadxException(j2d.isError() ? j2d.getDxErrors() : "Empty dx output");
-			} else if (j2d.isError()) {
-				LOG.warn("dx message: {}", j2d.getDxErrors());
-			}
-			return new Dex(ba);
+			JavaToDex j2d = new JavaToDex(threadsCount);
+			return toDexList(j2d, j2d.convertJar(jarFile));
+		} catch (Throwable e) {
+			throw new DecodeException("java class to dex conversion error:\n " + e.getMessage(), e);
+		}
+	}
+
+	private static List<Dex> loadFromClassFile(File file) throws IOException, DecodeException {
+		String clsName = AsmUtils.getNameFromClassFile(file);
+		if (clsName == null) {
+			throw new IOException("Can't read class name from file: " + file);
+		}
+		SortedMap<String, byte[]> classes = new TreeMap<String, byte[]>();
+		InputStream in = new FileInputStream(file);
+		try {
+			classes.put(clsName + ".class", FileUtils.readAllBytes(in));
+		} finally {
+			in.close();
+		}
+		try {
+			LOG.info("converting to dex: {} ...", file.getName());
+			JavaToDex j2d = new JavaToDex(1);
+			return toDexList(j2d, j2d.convert(classes));
 		} catch (Throwable e) {
 			throw new DecodeException("java class to dex conversion error:\n " + e.getMessage(), e);
 		}
 	}
 
+	private static List<Dex> toDexList(JavaToDex j2d, List<byte[]> dexList) throws JadxException, IOException {
+		if (dexList.isEmpty()) {
+			throw new JadxException(j2d.isError() ? j2d.getDxErrors() : "Empty dx output");
+		} else if (j2d.isError()) {
+			LOG.warn("dx message: {}", j2d.getDxErrors());
+		}
+		List<Dex> list = new ArrayList<Dex>(dexList.size());
+		for (byte[] dex : dexList) {
+			list.add(new Dex(dex));
+		}
+		return list;
+	}
+
 	private static Dex loadFromZip(File file) throws IOException {
 		ZipFile zf = new ZipFile(file);
 		ZipEntry dex = zf.getEntry("classes.dex");
@@ -81,54 +119,27 @@ public class InputFile {
 			zf.close();
 			return null;
 		}
-		ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
 		InputStream in = null;
 		try {
 			in = zf.getInputStream(dex);
-			byte[] buffer = new byte[8192];
-			int count;
-			while ((count = in.read(buffer)) != -1) {
-				bytesOut.write(buffer, 0, count);
-			}
+			return new Dex(FileUtils.readAllBytes(in));
 		} finally {
 			if (in != null) {
 				in.close();
 			}
 			zf.close();
 		}
-		return new Dex(bytesOut.toByteArray());
-	}
-
-	private static Dex loadFromClassFile(File file) throws IOException, DecodeException {
-		File outFile = File.createTempFile("jadx-tmp-", System.nanoTime() + ".jar");
-		outFile.deleteOnExit();
-		FileOutputStream out = null;
-		JarOutputStream jo = null;
-		try {
-			out = new FileOutputStream(outFile);
-			jo = new JarOutputStream(out);
-			String clsName = AsmUtils.getNameFromClassFile(file);
-			if (clsName == null) {
-				throw new IOException("Can't read class name from file: " + file);
-			}
-			FileUtils.addFileToJar(jo, file, clsName + ".class");
-		} finally {
-			if (jo != null) {
-				jo.close();
-			}
-			if (out != null) {
-				out.close();
-			}
-		}
-		return loadFromJar(outFile);
 	}
 
 	public File getFile() {
 		return file;
 	}
 
-	public Dex getDexBuffer() {
-		return dexBuf;
+	/**
+	 * Dex buffers loaded from file, big jars converted into several buffers.
+	 */
+	public List<Dex> getDexBuffers() {
+		return dexBuffers;
 	}
 
 	@Override
@@ -3,64 +3,199 @@ package jadx.core.utils.files;
 import jadx.core.utils.exceptions.JadxException;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
-import com.android.dx.command.DxConsole;
-import com.android.dx.command.dexer.Main;
-import com.android.dx.command.dexer.Main.Arguments;
+import com.android.dx.cf.direct.DirectClassFile;
+import com.android.dx.cf.direct.StdAttributeFactory;
+import com.android.dx.dex.DexOptions;
+import com.android.dx.dex.cf.CfOptions;
+import com.android.dx.dex.cf.CfTranslator;
+import com.android.dx.dex.code.PositionList;
+import com.android.dx.dex.file.ClassDefItem;
+import com.android.dx.dex.file.DexFile;
 
+/**
+ * Convert java class files to dex using dx library API.
+ * All output kept in memory and no global state (System.out, DxConsole) changed,
+ * so several conversions can run concurrently.
+ * <p/>
+ * Big jars split by packages into several shards, every shard converted in separate thread
+ * and stored in separate dex buffer. Shards layout don't depend on threads count,
+ * so same jar always converted to same dex files.
+ */
 public class JavaToDex {
 
 	private static final String CHARSET_NAME = "UTF-8";
 
-	public static class DxArgs extends Arguments {
-		public DxArgs(String dexFile, String[] input) {
-			outName = dexFile;
-			fileNames = input;
-			jarOutput = false;
+	/**
+	 * Min classes count in one shard, packages are never split between shards
+	 */
+	private static final int SHARD_CLASSES_COUNT = 500;
 
-			optimize = true;
-			localInfo = true;
-			coreLibrary = true;
-		}
-	}
+	private final int threadsCount;
+	private final CfOptions cfOptions;
+	private final DexOptions dexOptions;
+	private final ByteArrayOutputStream errOut = new ByteArrayOutputStream();
 
-	private String dxErrors;
-
-	public byte[] convert(String javaFile) throws JadxException {
-		ByteArrayOutputStream errOut = new ByteArrayOutputStream();
+	public JavaToDex(int threadsCount) throws JadxException {
+		this.threadsCount = threadsCount;
+		this.dexOptions = new DexOptions();
+		this.cfOptions = new CfOptions();
+		cfOptions.positionInfo = PositionList.LINES;
+		cfOptions.localInfo = true;
+		cfOptions.optimize = true;
+		cfOptions.strictNameCheck = false;
 		try {
-			DxConsole.err = new PrintStream(errOut, true, CHARSET_NAME);
+			cfOptions.warn = new PrintStream(errOut, true, CHARSET_NAME);
 		} catch (UnsupportedEncodingException e) {
 			throw new JadxException(e.getMessage(), e);
 		}
-		PrintStream oldOut = System.out;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+	}
+
+	public List<byte[]> convertJar(File jarFile) throws JadxException {
+		SortedMap<String, byte[]> classes = new TreeMap<String, byte[]>();
 		try {
-			System.setOut(new PrintStream(baos, true, CHARSET_NAME));
-			DxArgs args = new DxArgs("-", new String[]{javaFile});
-			Main.run(args);
-			baos.close();
-		} catch (Throwable e) {
-			throw new JadxException("dx exception: " + e.getMessage(), e);
-		} finally {
-			System.setOut(oldOut);
+			ZipFile zf = new ZipFile(jarFile);
+			try {
+				Enumeration<? extends ZipEntry> entries = zf.entries();
+				while (entries.hasMoreElements()) {
+					ZipEntry entry = entries.nextElement();
+					if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+						InputStream in = zf.getInputStream(entry);
+						try {
+							classes.put(entry.getName(), FileUtils.readAllBytes(in));
+						} finally {
+							in.close();
+						}
+					}
+				}
+			} finally {
+				zf.close();
+			}
+		} catch (IOException e) {
+			throw new JadxException("Error read jar file: " + jarFile, e);
+		}
+		return convert(classes);
+	}
+
+	/**
+	 * @param classes map from class file path (like 'a/b/C.class') to class file content
+	 */
+	public List<byte[]> convert(SortedMap<String, byte[]> classes) throws JadxException {
+		if (classes.isEmpty()) {
+			throw new JadxException("no classfiles specified");
 		}
+		List<Map<String, byte[]>> shards = splitToShards(classes, SHARD_CLASSES_COUNT);
+		List<byte[]> result = new ArrayList<byte[]>(shards.size());
+		if (shards.size() == 1) {
+			try {
+				for (Map<String, byte[]> shard : shards) {
+					addResult(result, convertShard(shard));
+				}
+			} catch (IOException e) {
+				throw new JadxException("dx exception: " + e.getMessage(), e);
+			}
+			return result;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadsCount, shards.size()));
 		try {
-			// errOut also contains warnings
-			dxErrors = errOut.toString(CHARSET_NAME);
-		} catch (UnsupportedEncodingException e) {
-			throw new JadxException("Can't save error output", e);
+			List<Future<byte[]>> futures = new ArrayList<Future<byte[]>>(shards.size());
+			for (final Map<String, byte[]> shard : shards) {
+				futures.add(executor.submit(new Callable<byte[]>() {
+					@Override
+					public byte[] call() throws Exception {
+						return convertShard(shard);
+					}
+				}));
+			}
+			for (Future<byte[]> future : futures) {
+				addResult(result, future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxException("dx conversion interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw new JadxException("dx exception: " + cause.getMessage(), cause);
+		} finally {
+			executor.shutdownNow();
 		}
-		return baos.toByteArray();
+		return result;
+	}
+
+	private static void addResult(List<byte[]> result, byte[] dex) {
+		if (dex != null) {
+			result.add(dex);
+		}
+	}
+
+	private static List<Map<String, byte[]>> splitToShards(SortedMap<String, byte[]> classes, int shardSize) {
+		List<Map<String, byte[]>> shards = new ArrayList<Map<String, byte[]>>();
+		Map<String, byte[]> current = new TreeMap<String, byte[]>();
+		String currentPkg = null;
+		for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+			String name = entry.getKey();
+			int sep = name.lastIndexOf('/');
+			String pkg = sep == -1 ? "" : name.substring(0, sep);
+			if (current.size() >= shardSize && !pkg.equals(currentPkg)) {
+				shards.add(current);
+				current = new TreeMap<String, byte[]>();
+			}
+			current.put(name, entry.getValue());
+			currentPkg = pkg;
+		}
+		shards.add(current);
+		return shards;
+	}
+
+	private byte[] convertShard(Map<String, byte[]> classes) throws IOException {
+		DexFile dexFile = new DexFile(dexOptions);
+		for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+			String name = entry.getKey();
+			byte[] bytes = entry.getValue();
+			try {
+				DirectClassFile cf = new DirectClassFile(bytes, name, cfOptions.strictNameCheck);
+				cf.setAttributeFactory(StdAttributeFactory.THE_ONE);
+				ClassDefItem clsDef = CfTranslator.translate(cf, bytes, cfOptions, dexOptions, dexFile);
+				dexFile.add(clsDef);
+			} catch (Exception e) {
+				// skip class, other classes still can be decompiled
+				cfOptions.warn.println("trouble processing \"" + name + "\": " + e);
+			}
+		}
+		if (dexFile.isEmpty()) {
+			return null;
+		}
+		return dexFile.toDex(null, false);
 	}
 
 	public String getDxErrors() {
-		return dxErrors;
+		try {
+			// errOut also contains warnings
+			return errOut.toString(CHARSET_NAME);
+		} catch (UnsupportedEncodingException e) {
+			return e.getMessage();
+		}
 	}
 
 	public boolean isError() {
-		return dxErrors != null && dxErrors.length() > 0;
+		return errOut.size() > 0;
 	}
 }
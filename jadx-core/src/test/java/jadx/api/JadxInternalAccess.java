@@ -1,5 +1,6 @@
 package jadx.api;
 
+import jadx.core.codegen.CodeCache;
 import jadx.core.dex.nodes.RootNode;
 
 public class JadxInternalAccess {
@@ -7,4 +8,8 @@ public class JadxInternalAccess {
 	public static RootNode getRoot(JadxDecompiler d) {
 		return d.getRoot();
 	}
+
+	public static CodeCache getCodeCache(JadxDecompiler d) {
+		return d.getCodeCache();
+	}
 }
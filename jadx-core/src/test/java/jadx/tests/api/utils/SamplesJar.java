@@ -0,0 +1,69 @@
+package jadx.tests.api.utils;
+
+import jadx.core.utils.files.FileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Jar with compiled classes of integration tests, used as bigger input by functional tests
+ */
+public final class SamplesJar {
+
+	public static final String SAMPLES_PKG = "jadx/tests/integration";
+
+	private SamplesJar() {
+	}
+
+	/**
+	 * Make temporary jar with all classes from packages (including sub packages)
+	 *
+	 * @param packages path of packages relative to classpath root, like 'jadx/tests/integration/inner'
+	 */
+	public static File make(String... packages) throws IOException, URISyntaxException {
+		File jar = File.createTempFile("jadx-tmp-samples-", ".jar");
+		jar.deleteOnExit();
+		JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+		try {
+			for (String pkg : packages) {
+				URL url = SamplesJar.class.getResource("/" + pkg);
+				assertNotNull("Samples not found: " + pkg, url);
+				addClasses(out, new File(url.toURI()), pkg);
+			}
+		} finally {
+			out.close();
+		}
+		return jar;
+	}
+
+	private static void addClasses(JarOutputStream out, File dir, String path) throws IOException {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String name = path + "/" + file.getName();
+			if (file.isDirectory()) {
+				addClasses(out, file, name);
+			} else if (name.endsWith(".class")) {
+				out.putNextEntry(new JarEntry(name));
+				InputStream in = new FileInputStream(file);
+				try {
+					out.write(FileUtils.readAllBytes(in));
+				} finally {
+					in.close();
+				}
+				out.closeEntry();
+			}
+		}
+	}
+}
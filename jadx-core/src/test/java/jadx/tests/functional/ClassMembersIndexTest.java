@@ -0,0 +1,149 @@
+package jadx.tests.functional;
+
+import jadx.api.DefaultJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JadxInternalAccess;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.tests.api.utils.SamplesJar;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Class members search must return same results as linear search
+ * and must not use outdated index after members lists changed.
+ */
+public class ClassMembersIndexTest {
+
+	private static final String CLS = "jadx.tests.integration.usethis.TestRedundantThis.TestCls";
+	private static final String OTHER_CLS = "jadx.tests.integration.usethis.TestInlineThis.TestCls";
+
+	private File jar;
+	private ClassNode cls;
+	private ClassNode otherCls;
+
+	@Before
+	public void init() throws Exception {
+		jar = SamplesJar.make(SamplesJar.SAMPLES_PKG + "/usethis");
+		JadxDecompiler d = new JadxDecompiler(new DefaultJadxArgs());
+		d.loadFile(jar);
+		RootNode root = JadxInternalAccess.getRoot(d);
+		cls = root.searchClassByName(CLS);
+		otherCls = root.searchClassByName(OTHER_CLS);
+		assertNotNull(cls);
+		assertNotNull(otherCls);
+	}
+
+	@After
+	public void cleanup() {
+		jar.delete();
+	}
+
+	@Test
+	public void testSearch() {
+		checkMembers(cls);
+		checkMembers(otherCls);
+		assertNull(cls.searchMethodByName("unknown()V"));
+		assertNull(cls.searchFieldByName("unknown"));
+		// member of other class
+		assertNull(cls.searchMethodByName(findMethod(otherCls, "test").getMethodInfo().getShortId()));
+	}
+
+	@Test
+	public void testRemoveAndAdd() {
+		checkMembers(cls);
+		List<MethodNode> methods = cls.getMethods();
+		List<FieldNode> fields = cls.getFields();
+		int methodsCount = methods.size();
+		int fieldsCount = fields.size();
+
+		// lists size not changed
+		MethodNode removedMth = methods.remove(methods.size() - 1);
+		MethodNode addedMth = findMethod(otherCls, "test");
+		methods.add(addedMth);
+		FieldNode removedField = fields.remove(0);
+		FieldNode addedField = otherCls.searchFieldByName("field");
+		fields.add(addedField);
+		assertEquals(methodsCount, methods.size());
+		assertEquals(fieldsCount, fields.size());
+
+		assertNull(cls.searchMethodByName(removedMth.getMethodInfo().getShortId()));
+		assertSame(addedMth, cls.searchMethodByName(addedMth.getMethodInfo().getShortId()));
+		assertNull(cls.searchFieldByName(removedField.getName()));
+		assertSame(addedField, cls.searchFieldByName(addedField.getName()));
+		checkMembers(cls);
+	}
+
+	@Test
+	public void testSet() {
+		checkMembers(cls);
+		List<MethodNode> methods = cls.getMethods();
+		MethodNode addedMth = findMethod(otherCls, "test");
+		MethodNode removedMth = methods.set(0, addedMth);
+
+		assertNull(cls.searchMethodByName(removedMth.getMethodInfo().getShortId()));
+		assertSame(addedMth, cls.searchMethodByName(addedMth.getMethodInfo().getShortId()));
+		checkMembers(cls);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSubListReadOnly() {
+		cls.getMethods().subList(0, 1).clear();
+	}
+
+	/**
+	 * Check index results for all members, first member wins for same names
+	 */
+	private static void checkMembers(ClassNode cls) {
+		for (MethodNode mth : cls.getMethods()) {
+			String shortId = mth.getMethodInfo().getShortId();
+			assertSame(firstMethod(cls, shortId), cls.searchMethodByName(shortId));
+			assertSame(mth, cls.searchMethod(mth.getMethodInfo()));
+			assertSame(mth, cls.searchMethodById(mth.getMethodIndex()));
+		}
+		for (FieldNode field : cls.getFields()) {
+			assertSame(firstField(cls, field.getName()), cls.searchFieldByName(field.getName()));
+			assertSame(field, cls.searchField(field.getFieldInfo()));
+			assertSame(field, cls.searchFieldById(field.getFieldIndex()));
+		}
+	}
+
+	private static MethodNode firstMethod(ClassNode cls, String shortId) {
+		for (MethodNode mth : cls.getMethods()) {
+			if (mth.getMethodInfo().getShortId().equals(shortId)) {
+				return mth;
+			}
+		}
+		return null;
+	}
+
+	private static FieldNode firstField(ClassNode cls, String name) {
+		for (FieldNode field : cls.getFields()) {
+			if (field.getName().equals(name)) {
+				return field;
+			}
+		}
+		return null;
+	}
+
+	private static MethodNode findMethod(ClassNode cls, String name) {
+		for (MethodNode mth : cls.getMethods()) {
+			if (mth.getName().equals(name)) {
+				return mth;
+			}
+		}
+		throw new AssertionError("Method not found: " + name + " in " + cls);
+	}
+}
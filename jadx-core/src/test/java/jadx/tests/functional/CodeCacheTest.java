@@ -0,0 +1,273 @@
+package jadx.tests.functional;
+
+import jadx.api.CodePosition;
+import jadx.api.DefaultJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JadxInternalAccess;
+import jadx.api.JavaClass;
+import jadx.core.codegen.CodeCache;
+import jadx.core.codegen.CodeWriter;
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.attributes.nodes.LineAttrNode;
+import jadx.core.dex.instructions.args.RegisterArg;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.tests.api.utils.SamplesJar;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Decompile samples with code cache, then decompile same input again with fresh root node:
+ * classes must be restored from cache with same code and nodes state.
+ */
+public class CodeCacheTest {
+
+	private static final String SAMPLES_INNER = SamplesJar.SAMPLES_PKG + "/inner";
+	private static final String SAMPLES_ENUMS = SamplesJar.SAMPLES_PKG + "/enums";
+
+	private File jar;
+	private File cacheDir;
+
+	@Before
+	public void init() throws Exception {
+		jar = SamplesJar.make(SAMPLES_INNER, SAMPLES_ENUMS);
+		cacheDir = File.createTempFile("jadx-tmp-code-cache-", "");
+		assertTrue(cacheDir.delete() && cacheDir.mkdir());
+	}
+
+	@After
+	public void cleanup() {
+		jar.delete();
+		delete(cacheDir);
+	}
+
+	@Test
+	public void testRoundTrip() throws JadxException {
+		JadxDecompiler d1 = decompile(new CacheArgs());
+		CodeCache cache1 = JadxInternalAccess.getCodeCache(d1);
+		assertEquals(0, cache1.getLoadedCount());
+		Set<String> hidden = new TreeSet<String>();
+		Map<String, String> expected = snapshot(d1, hidden);
+		assertEquals(expected.size(), cache1.getSavedCount());
+		assertFalse(hidden.isEmpty());
+		assertFlagUsed(expected, AFlag.SKIP_FIRST_ARG);
+
+		JadxDecompiler d2 = decompile(new CacheArgs());
+		CodeCache cache2 = JadxInternalAccess.getCodeCache(d2);
+		assertEquals(expected.size(), cache2.getLoadedCount());
+		assertEquals(0, cache2.getSavedCount());
+		Set<String> restoredHidden = new TreeSet<String>();
+		assertEquals(expected, snapshot(d2, restoredHidden));
+		// nodes removed by passes not saved, so after restore these nodes only marked as not generated
+		assertTrue(restoredHidden.containsAll(hidden));
+	}
+
+	@Test
+	public void testOtherKey() throws JadxException {
+		JadxDecompiler d1 = decompile(new CacheArgs());
+		int saved = JadxInternalAccess.getCodeCache(d1).getSavedCount();
+		assertTrue(saved > 0);
+
+		// option included in cache key changed
+		JadxDecompiler d2 = decompile(new CacheArgs() {
+			@Override
+			public int getMethodIterationsLimit() {
+				return 1000000;
+			}
+		});
+		CodeCache cache2 = JadxInternalAccess.getCodeCache(d2);
+		assertEquals(0, cache2.getLoadedCount());
+		assertEquals(saved, cache2.getSavedCount());
+	}
+
+	@Test
+	public void testMissingNode() throws JadxException {
+		decompile(new CacheArgs());
+
+		JadxDecompiler d2 = new JadxDecompiler(new CacheArgs());
+		d2.loadFile(jar);
+		// field saved in cache not exists anymore, so cached class can't be restored
+		String topClsName = "jadx.tests.integration.inner.TestRFieldAccess";
+		ClassNode topCls = JadxInternalAccess.getRoot(d2).searchClassByName(topClsName);
+		ClassNode cls = findInner(findInner(topCls, "R"), "id");
+		FieldNode field = cls.searchFieldByName("Button01");
+		assertNotNull(field);
+		cls.getFields().remove(field);
+
+		String code = findClass(d2, topClsName).getCode();
+		assertEquals(0, JadxInternalAccess.getCodeCache(d2).getLoadedCount());
+		assertThat(code, containsString("class id"));
+		assertThat(code, not(containsString("Button01 = ")));
+	}
+
+	private JadxDecompiler decompile(CacheArgs args) throws JadxException {
+		JadxDecompiler d = new JadxDecompiler(args);
+		d.loadFile(jar);
+		for (JavaClass cls : d.getClasses()) {
+			assertNotNull(cls.getCode());
+		}
+		return d;
+	}
+
+	/**
+	 * Describe code, lines mapping, annotations with definition positions and generated nodes state
+	 * of all top level classes without errors (classes with errors not saved in cache).
+	 * Nodes marked with DONT_GENERATE flag collected into 'hidden' set.
+	 */
+	private static Map<String, String> snapshot(JadxDecompiler d, Set<String> hidden) {
+		Map<String, String> map = new TreeMap<String, String>();
+		for (JavaClass cls : d.getClasses()) {
+			ClassNode clsNode = JadxInternalAccess.getRoot(d).searchClassByName(cls.getFullName());
+			if (hasErrors(clsNode)) {
+				continue;
+			}
+			CodeWriter code = clsNode.getCode();
+			StringBuilder sb = new StringBuilder();
+			sb.append(code).append('\n');
+			sb.append("lines: ").append(new TreeMap<Integer, Integer>(code.getLineMapping())).append('\n');
+			Map<String, String> annotations = new TreeMap<String, String>();
+			for (Map.Entry<CodePosition, Object> entry : code.getAnnotations().entrySet()) {
+				CodePosition pos = entry.getKey();
+				CodePosition def = cls.getDefinitionPosition(pos.getLine(), pos.getOffset());
+				annotations.put(String.format("%05d:%04d", pos.getLine(), pos.getOffset()),
+						describe(entry.getValue()) + " -> "
+								+ (def == null ? null : def.getJavaClass().getFullName() + ":" + def.getLine()));
+			}
+			sb.append("annotations: ").append(annotations).append('\n');
+			describeNodes(clsNode, sb, hidden);
+			map.put(cls.getFullName(), sb.toString());
+		}
+		return map;
+	}
+
+	private static void describeNodes(ClassNode cls, StringBuilder sb, Set<String> hidden) {
+		describeNode(cls, sb, hidden);
+		for (FieldNode field : cls.getFields()) {
+			describeNode(field, sb, hidden);
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			if (describeNode(mth, sb, hidden)) {
+				List<RegisterArg> args = mth.getArguments(false);
+				sb.append(" args: ").append(args == null ? "-" : String.valueOf(args.size()));
+			}
+		}
+		for (ClassNode inner : cls.getInnerClasses()) {
+			describeNodes(inner, sb, hidden);
+		}
+	}
+
+	private static boolean describeNode(LineAttrNode node, StringBuilder sb, Set<String> hidden) {
+		if (node.contains(AFlag.DONT_GENERATE)) {
+			hidden.add(describe(node));
+			return false;
+		}
+		sb.append('\n').append(describe(node)).append(" line: ").append(node.getDecompiledLine());
+		if (node.contains(AFlag.SKIP_FIRST_ARG)) {
+			sb.append(' ').append(AFlag.SKIP_FIRST_ARG);
+		}
+		return true;
+	}
+
+	private static String describe(Object node) {
+		if (node instanceof ClassNode) {
+			return "cls " + ((ClassNode) node).getFullName();
+		}
+		if (node instanceof MethodNode) {
+			MethodNode mth = (MethodNode) node;
+			return "mth " + mth.getParentClass().getFullName() + "." + mth.getMethodInfo().getShortId();
+		}
+		if (node instanceof FieldNode) {
+			FieldNode field = (FieldNode) node;
+			return "fld " + field.getParentClass().getFullName() + "." + field.getName();
+		}
+		return String.valueOf(node);
+	}
+
+	private static boolean hasErrors(ClassNode cls) {
+		if (cls.contains(AType.JADX_ERROR)) {
+			return true;
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			if (mth.contains(AType.JADX_ERROR) || mth.contains(AFlag.INCONSISTENT_CODE)) {
+				return true;
+			}
+		}
+		for (ClassNode inner : cls.getInnerClasses()) {
+			if (hasErrors(inner)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void assertFlagUsed(Map<String, String> snapshot, AFlag flag) {
+		for (String str : snapshot.values()) {
+			if (str.contains(" " + flag)) {
+				return;
+			}
+		}
+		assertFalse("Flag not found in samples: " + flag, true);
+	}
+
+	private static JavaClass findClass(JadxDecompiler d, String name) {
+		for (JavaClass cls : d.getClasses()) {
+			if (cls.getFullName().equals(name)) {
+				return cls;
+			}
+		}
+		throw new AssertionError("Class not found: " + name);
+	}
+
+	private static ClassNode findInner(ClassNode cls, String shortName) {
+		for (ClassNode inner : cls.getInnerClasses()) {
+			if (inner.getShortName().equals(shortName)) {
+				return inner;
+			}
+		}
+		throw new AssertionError("Inner class not found: " + shortName + " in " + cls);
+	}
+
+	private static void delete(File file) {
+		File[] files = file.listFiles();
+		if (files != null) {
+			for (File f : files) {
+				delete(f);
+			}
+		}
+		if (!file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+
+	private class CacheArgs extends DefaultJadxArgs {
+		@Override
+		public int getThreadsCount() {
+			return 1;
+		}
+
+		@Override
+		public File getCodeCacheDir() {
+			return cacheDir;
+		}
+	}
+}
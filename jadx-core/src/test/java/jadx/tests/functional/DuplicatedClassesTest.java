@@ -0,0 +1,162 @@
+package jadx.tests.functional;
+
+import jadx.api.DefaultJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JadxInternalAccess;
+import jadx.api.JavaClass;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.DexNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.nodes.parser.ClassDigestParser;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import com.android.dex.ClassDef;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Same class loaded from several inputs must be decompiled only once (first copy used),
+ * class digest must not depend on dex indexes and debug info.
+ */
+public class DuplicatedClassesTest {
+
+	private final List<File> files = new ArrayList<File>();
+
+	@Before
+	public void init() throws IOException {
+		// same class 'a.A' with other debug info and other dex indexes (additional class sorted first)
+		files.add(makeJar(1, 10, false));
+		files.add(makeJar(1, 20, true));
+		// class 'a.A' with other content
+		files.add(makeJar(2, 10, false));
+	}
+
+	@After
+	public void cleanup() {
+		for (File file : files) {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testDigest() throws Exception {
+		RootNode root = JadxInternalAccess.getRoot(load());
+		List<DexNode> dexNodes = root.getDexNodes();
+		assertEquals(3, dexNodes.size());
+
+		assertNotEquals(findClass(dexNodes.get(0), "a.A").getTypeIndex(),
+				findClass(dexNodes.get(1), "a.A").getTypeIndex());
+
+		byte[] first = digest(dexNodes.get(0), "a.A");
+		assertArrayEquals(first, digest(dexNodes.get(1), "a.A"));
+		assertFalse(Arrays.equals(first, digest(dexNodes.get(2), "a.A")));
+		assertArrayEquals(digest(dexNodes.get(0), "a.B"), digest(dexNodes.get(1), "a.B"));
+	}
+
+	@Test
+	public void testFirstClassLoaded() throws Exception {
+		JadxDecompiler d = load();
+		Map<String, JavaClass> classes = new TreeMap<String, JavaClass>();
+		for (JavaClass cls : d.getClasses()) {
+			classes.put(cls.getFullName(), cls);
+		}
+		assertEquals(3, d.getClasses().size());
+		assertEquals("[A.Extra, a.A, a.B]", classes.keySet().toString());
+
+		RootNode root = JadxInternalAccess.getRoot(d);
+		assertSame(root.getDexNodes().get(0), root.searchClassByName("a.A").dex());
+		assertSame(root.getDexNodes().get(1), root.searchClassByName("A.Extra").dex());
+		int loadedCount = 0;
+		for (DexNode dexNode : root.getDexNodes()) {
+			loadedCount += dexNode.getClasses().size();
+		}
+		assertEquals(3, loadedCount);
+		assertThat(classes.get("a.A").getCode(), containsString("return 1;"));
+	}
+
+	private JadxDecompiler load() throws Exception {
+		JadxDecompiler d = new JadxDecompiler(new DefaultJadxArgs());
+		d.loadFiles(files);
+		return d;
+	}
+
+	private static byte[] digest(DexNode dex, String clsName) throws Exception {
+		return new ClassDigestParser(dex).digest(findClass(dex, clsName));
+	}
+
+	private static ClassDef findClass(DexNode dex, String clsName) {
+		ArgType type = ArgType.object(clsName);
+		for (ClassDef cls : dex.getClassDefs()) {
+			if (dex.getType(cls.getTypeIndex()).equals(type)) {
+				return cls;
+			}
+		}
+		throw new AssertionError("Class " + clsName + " not found in " + dex);
+	}
+
+	private static File makeJar(int value, int line, boolean withExtraClass) throws IOException {
+		File jar = File.createTempFile("jadx-tmp-dup-", ".jar");
+		jar.deleteOnExit();
+		JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+		try {
+			if (withExtraClass) {
+				addClass(out, "A/Extra", 0, 1);
+			}
+			addClass(out, "a/A", value, line);
+			addClass(out, "a/B", 0, 1);
+		} finally {
+			out.close();
+		}
+		return jar;
+	}
+
+	private static void addClass(JarOutputStream out, String name, int value, int line) throws IOException {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, "java/lang/Object", null);
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "get", "()I", null, null);
+		mv.visitCode();
+		Label start = new Label();
+		mv.visitLabel(start);
+		mv.visitLineNumber(line, start);
+		mv.visitLdcInsn(value);
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+		out.putNextEntry(new JarEntry(name + ".class"));
+		out.write(cw.toByteArray());
+		out.closeEntry();
+	}
+}
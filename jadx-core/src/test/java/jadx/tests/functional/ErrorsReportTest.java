@@ -0,0 +1,161 @@
+package jadx.tests.functional;
+
+import jadx.api.DefaultJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JadxInternalAccess;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.AbstractVisitor;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.ErrorInfo;
+import jadx.core.utils.ErrorsCounter;
+import jadx.core.utils.ErrorsReport;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+import jadx.tests.api.utils.SamplesJar;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class ErrorsReportTest {
+
+	private static final String CLS = "jadx.tests.integration.usethis.TestRedundantThis.TestCls";
+	private static final String EXCEPTION = JadxRuntimeException.class.getName();
+
+	private File jar;
+	private JadxDecompiler decompiler;
+	private String mthId;
+
+	/**
+	 * Report class error outside of passes and method error with exception inside pass
+	 */
+	@Before
+	public void init() throws Exception {
+		jar = SamplesJar.make(SamplesJar.SAMPLES_PKG + "/usethis");
+		decompiler = new JadxDecompiler(new DefaultJadxArgs());
+		decompiler.loadFile(jar);
+		RootNode root = JadxInternalAccess.getRoot(decompiler);
+		ClassNode cls = root.searchClassByName(CLS);
+		MethodNode mth = cls.getMethods().get(0);
+		mthId = mth.getMethodInfo().getFullId();
+
+		ErrorsCounter.classError(cls, "Class error");
+		IDexTreeVisitor prevPass = ErrorsCounter.enterPass(new TestPass());
+		try {
+			ErrorsCounter.methodError(mth, "Method \"error\", line1\nline2", new JadxRuntimeException("test"));
+		} finally {
+			ErrorsCounter.leavePass(prevPass);
+		}
+	}
+
+	@After
+	public void cleanup() {
+		jar.delete();
+	}
+
+	@Test
+	public void testGroups() {
+		ErrorsReport report = decompiler.getErrorsReport();
+		assertEquals(2, report.getErrorsCount());
+		assertEquals("{TestPass={" + EXCEPTION + "=1}, none={none=1}}", report.getByPass().toString());
+		assertEquals("{" + EXCEPTION + "={TestPass=1}, none={none=1}}", report.getByException().toString());
+
+		List<ErrorInfo> errors = report.getErrors();
+		ErrorInfo mthError = errors.get(0);
+		assertEquals(ErrorInfo.NodeType.METHOD, mthError.getNodeType());
+		assertEquals(mthId, mthError.getNode());
+		assertEquals("TestPass", mthError.getPass());
+		assertEquals(EXCEPTION, mthError.getException());
+
+		ErrorInfo clsError = errors.get(1);
+		assertEquals(ErrorInfo.NodeType.CLASS, clsError.getNodeType());
+		assertEquals(CLS, clsError.getNode());
+		assertEquals(null, clsError.getPass());
+		assertEquals(null, clsError.getException());
+		assertEquals(-1, clsError.getMethodTime());
+	}
+
+	@Test
+	public void testJson() {
+		ErrorsReport report = decompiler.getErrorsReport();
+		String json = report.toJson();
+		assertThat(json, containsString("\"errorsCount\": 2,"));
+		assertThat(json, containsString("\"byPass\": {\n"
+				+ "    \"TestPass\": {\"count\": 1, \"exceptions\": {\"" + EXCEPTION + "\": 1}},\n"
+				+ "    \"none\": {\"count\": 1, \"exceptions\": {\"none\": 1}}\n"
+				+ "  },"));
+		assertThat(json, containsString("\"byException\": {\n"
+				+ "    \"" + EXCEPTION + "\": {\"count\": 1, \"passes\": {\"TestPass\": 1}},\n"
+				+ "    \"none\": {\"count\": 1, \"passes\": {\"none\": 1}}\n"
+				+ "  },"));
+		assertThat(json, containsString("{\"type\": \"METHOD\", \"node\": \"" + mthId + "\", \"pass\": \"TestPass\", "
+				+ "\"exception\": \"" + EXCEPTION + "\", \"message\": \"Method \\\"error\\\", line1\\nline2\", "));
+		assertThat(json, containsString("{\"type\": \"CLASS\", \"node\": \"" + CLS + "\", \"pass\": null, "
+				+ "\"exception\": null, \"message\": \"Class error\", "));
+		assertThat(json, containsString("\"methodTime\": -1}\n  ]\n}\n"));
+	}
+
+	@Test
+	public void testEmptyJson() {
+		String json = new ErrorsReport(Collections.<ErrorInfo>emptyList()).toJson();
+		assertEquals("{\n  \"errorsCount\": 0,\n  \"byPass\": {},\n  \"byException\": {},\n  \"errors\": []\n}\n", json);
+	}
+
+	@Test
+	public void testCsv() {
+		String csv = decompiler.getErrorsReport().toCsv();
+		String[] lines = csv.split("\n");
+		assertEquals(4, lines.length);
+		assertEquals("type,node,pass,exception,message,time,method_time", lines[0]);
+		// message with quotes, comma and new line is quoted
+		assertThat(lines[1], containsString("METHOD," + mthId + ",TestPass," + EXCEPTION
+				+ ",\"Method \"\"error\"\", line1"));
+		assertThat(lines[2], containsString("line2\","));
+		assertThat(lines[3], containsString("CLASS," + CLS + ",,,Class error,"));
+		assertThat(lines[3], containsString(",-1"));
+	}
+
+	@Test
+	public void testSave() throws IOException {
+		ErrorsReport report = decompiler.getErrorsReport();
+		File dir = File.createTempFile("jadx-tmp-report-", "");
+		dir.delete();
+		File json = new File(dir, "report.json");
+		File csv = new File(dir, "report.csv");
+		try {
+			report.save(json);
+			report.save(csv);
+			assertEquals(report.toJson(), read(json));
+			assertEquals(report.toCsv(), read(csv));
+		} finally {
+			json.delete();
+			csv.delete();
+			dir.delete();
+		}
+	}
+
+	private static String read(File file) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			return new String(FileUtils.readAllBytes(in), "UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+
+	private static final class TestPass extends AbstractVisitor {
+	}
+}
@@ -0,0 +1,63 @@
+package jadx.tests.functional;
+
+import jadx.api.DefaultJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JadxInternalAccess;
+import jadx.api.JavaClass;
+import jadx.core.dex.attributes.nodes.InsnBlockIndexAttr;
+import jadx.core.utils.ErrorInfo;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.tests.api.utils.SamplesJar;
+
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Decompile integration tests samples with enabled instructions index check
+ * (every index answer compared with linear search),
+ * check must not add any errors.
+ */
+public class InsnBlockIndexCheckTest {
+
+	@Test
+	public void testSamplesWithIndexCheck() throws Exception {
+		File jar = SamplesJar.make(SamplesJar.SAMPLES_PKG);
+		boolean prevCheck = InsnBlockIndexAttr.isCheckEnabled();
+		try {
+			InsnBlockIndexAttr.setCheckEnabled(false);
+			Set<String> errors = decompile(jar);
+
+			InsnBlockIndexAttr.setCheckEnabled(true);
+			Set<String> checkedErrors = decompile(jar);
+
+			assertEquals(errors, checkedErrors);
+		} finally {
+			InsnBlockIndexAttr.setCheckEnabled(prevCheck);
+			jar.delete();
+		}
+	}
+
+	private static Set<String> decompile(File jar) throws JadxException {
+		JadxDecompiler d = new JadxDecompiler(new DefaultJadxArgs() {
+			@Override
+			public int getThreadsCount() {
+				return 1;
+			}
+		});
+		d.loadFile(jar);
+		for (JavaClass cls : d.getClasses()) {
+			assertNotNull(cls.getCode());
+		}
+		Set<String> errors = new TreeSet<String>();
+		for (ErrorInfo error : JadxInternalAccess.getRoot(d).getErrorsCounter().getErrors()) {
+			errors.add(error.getNode() + ", pass: " + error.getPass() + ", exception: " + error.getException());
+		}
+		return errors;
+	}
+}
@@ -0,0 +1,110 @@
+package jadx.tests.functional;
+
+import jadx.api.DefaultJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JadxInternalAccess;
+import jadx.api.JavaClass;
+import jadx.core.utils.exceptions.JadxException;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Big jar converted to several dex files (shards),
+ * decompiled code must not depend on threads count
+ * and public constants must be found across shards.
+ */
+public class JavaToDexShardsTest {
+
+	private static final int FILLER_CLASSES_COUNT = 600;
+
+	@Test
+	public void testSameCodeForThreadsCount() throws Exception {
+		File jar = makeJar();
+		try {
+			Map<String, String> code1 = decompile(jar, 1);
+			Map<String, String> code4 = decompile(jar, 4);
+			assertEquals(FILLER_CLASSES_COUNT + 2, code1.size());
+			assertEquals(code1, code4);
+			assertThat(code1.get("c.User"), containsString("return Consts.VALUE;"));
+		} finally {
+			jar.delete();
+		}
+	}
+
+	private static Map<String, String> decompile(File jar, final int threadsCount) throws JadxException {
+		JadxDecompiler d = new JadxDecompiler(new DefaultJadxArgs() {
+			@Override
+			public int getThreadsCount() {
+				return threadsCount;
+			}
+		});
+		d.loadFile(jar);
+		assertEquals(2, JadxInternalAccess.getRoot(d).getDexNodes().size());
+		Map<String, String> map = new LinkedHashMap<String, String>();
+		for (JavaClass cls : d.getClasses()) {
+			map.put(cls.getFullName(), cls.getCode());
+		}
+		return map;
+	}
+
+	private static File makeJar() throws IOException {
+		File jar = File.createTempFile("jadx-tmp-shards-", ".jar");
+		jar.deleteOnExit();
+		JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+		try {
+			// first shard: constant and filler package, second shard: constant usage
+			addClass(out, "a/Consts", true, false);
+			for (int i = 0; i < FILLER_CLASSES_COUNT; i++) {
+				addClass(out, String.format("b/Filler%03d", i), false, false);
+			}
+			addClass(out, "c/User", false, true);
+		} finally {
+			out.close();
+		}
+		return jar;
+	}
+
+	private static void addClass(JarOutputStream out, String name, boolean withConst, boolean withUsage)
+			throws IOException {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, "java/lang/Object", null);
+		if (withConst) {
+			cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+					"VALUE", "I", null, 12345).visitEnd();
+		}
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		if (withUsage) {
+			mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "get", "()I", null, null);
+			mv.visitCode();
+			mv.visitLdcInsn(12345);
+			mv.visitInsn(Opcodes.IRETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+		cw.visitEnd();
+		out.putNextEntry(new JarEntry(name + ".class"));
+		out.write(cw.toByteArray());
+		out.closeEntry();
+	}
+}
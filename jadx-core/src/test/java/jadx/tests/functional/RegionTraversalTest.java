@@ -0,0 +1,100 @@
+package jadx.tests.functional;
+
+import jadx.core.dex.nodes.IRegion;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.regions.Region;
+import jadx.core.dex.trycatch.ExceptionHandler;
+import jadx.core.dex.visitors.regions.DepthRegionTraversal;
+import jadx.core.dex.visitors.regions.IRegionIterativeVisitor;
+import jadx.core.utils.MethodBudget;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RegionTraversalTest {
+
+	private final Map<IRegion, String> names = new IdentityHashMap<IRegion, String>();
+
+	private MethodNode mth;
+	private Region root;
+	private Region a;
+	private Region b;
+
+	/**
+	 * root: [a: [a1], b, c]
+	 */
+	@Before
+	public void init() {
+		root = newRegion(null, "root");
+		a = newRegion(root, "a");
+		newRegion(a, "a1");
+		b = newRegion(root, "b");
+		newRegion(root, "c");
+
+		mth = mock(MethodNode.class);
+		when(mth.getRegion()).thenReturn(root);
+		when(mth.getExceptionHandlers()).thenReturn(Collections.<ExceptionHandler>emptyList());
+		when(mth.getBudget()).thenReturn(new MethodBudget(mth, 0, 0));
+	}
+
+	@Test
+	public void testNoChanges() {
+		List<String> visited = traverse(null);
+		assertEquals("[root, a, a1, b, c]", visited.toString());
+	}
+
+	@Test
+	public void testSiblingsNotVisitedTwice() {
+		// b replaced in root, so root subtree visited again without pending 'c' from first visit
+		List<String> visited = traverse(b);
+		assertEquals("[root, a, a1, b, root, a, a1, b2, c, root, a, a1, b2, c]", visited.toString());
+	}
+
+	@Test
+	public void testNestedChange() {
+		// a replaced while 'a1' pending, old subtree of 'a' must not be visited
+		List<String> visited = traverse(a);
+		assertEquals("[root, a, root, a2, b, c, root, a2, b, c]", visited.toString());
+	}
+
+	/**
+	 * Run iterative traversal, replace region with new empty region on first visit
+	 */
+	private List<String> traverse(final Region replace) {
+		final List<String> visited = new ArrayList<String>();
+		DepthRegionTraversal.traverseAllIterative(mth, new IRegionIterativeVisitor() {
+			@Override
+			public boolean visitRegion(MethodNode mth, IRegion region) {
+				String name = names.get(region);
+				visited.add(name);
+				if (region == replace) {
+					Region newRegion = new Region(region.getParent());
+					names.put(newRegion, name + "2");
+					region.getParent().replaceSubBlock(region, newRegion);
+					return true;
+				}
+				return false;
+			}
+		});
+		return visited;
+	}
+
+	private Region newRegion(Region parent, String name) {
+		Region region = new Region(parent);
+		if (parent != null) {
+			parent.add(region);
+		}
+		names.put(region, name);
+		return region;
+	}
+}
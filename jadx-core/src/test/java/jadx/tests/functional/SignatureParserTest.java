@@ -0,0 +1,54 @@
+package jadx.tests.functional;
+
+import jadx.core.dex.info.InfoStorage;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.parser.SignatureParser;
+
+import org.junit.Test;
+
+import static jadx.core.dex.instructions.args.ArgType.generic;
+import static jadx.core.dex.instructions.args.ArgType.genericType;
+import static jadx.core.dex.instructions.args.ArgType.wildcard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Object names of parsed generic types and generic types interning in info storage
+ */
+public class SignatureParserTest {
+
+	@Test
+	public void testObjectNames() {
+		checkObjectName("La;", "a");
+		checkObjectName("Ljava/lang/Object;", "java.lang.Object");
+		checkObjectName("La/b/C<TT;>;", "a.b.C");
+		checkObjectName("La/b/C<Ld/E;>.f/G<TT;>;", "a.b.C$f.G");
+	}
+
+	@Test
+	public void testInternGenericTypes() {
+		InfoStorage storage = new InfoStorage();
+		String sign = "La/B<TT;*+Lc/D<TV;>;>;";
+
+		ArgType type = new SignatureParser(sign, storage).consumeType();
+		ArgType argType = new SignatureParser("(" + sign + "I)V", storage).consumeMethodArgs().get(0);
+		ArgType innerType = new SignatureParser("Lx<Lc/D<TV;>;>;", storage).consumeType();
+		ArgType notInterned = new SignatureParser(sign).consumeType();
+
+		assertEquals(generic("La/B;", new ArgType[]{
+				genericType("T"),
+				wildcard(),
+				wildcard(generic("Lc/D;", new ArgType[]{genericType("V")}), 1)
+		}), type);
+		assertSame(type, argType);
+		assertSame(storage.internType(genericType("T")), type.getGenericTypes()[0]);
+		assertSame(type.getGenericTypes()[2].getWildcardType(), innerType.getGenericTypes()[0]);
+		assertEquals(type, notInterned);
+		assertNotSame(type, notInterned);
+	}
+
+	private static void checkObjectName(String sign, String name) {
+		assertEquals(name, new SignatureParser(sign).consumeType().getObject());
+	}
+}
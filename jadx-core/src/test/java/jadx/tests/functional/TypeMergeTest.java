@@ -3,6 +3,8 @@ package jadx.tests.functional;
 import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.PrimitiveType;
+import jadx.core.dex.nodes.DexNode;
+import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.exceptions.DecodeException;
 
 import java.io.IOException;
@@ -27,14 +29,21 @@ import static jadx.core.dex.instructions.args.ArgType.unknown;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class TypeMergeTest {
 
+	private DexNode dex;
+
 	@Before
 	public void initClsp() throws IOException, DecodeException {
 		ClspGraph clsp = new ClspGraph();
 		clsp.load();
-		ArgType.setClsp(clsp);
+		dex = mock(DexNode.class);
+		RootNode rootNode = mock(RootNode.class);
+		when(rootNode.getClsp()).thenReturn(clsp);
+		when(dex.root()).thenReturn(rootNode);
 	}
 
 	@Test
@@ -103,7 +112,7 @@ public class TypeMergeTest {
 	}
 
 	private void merge(ArgType t1, ArgType t2, ArgType exp) {
-		ArgType res = ArgType.merge(t1, t2);
+		ArgType res = ArgType.merge(dex, t1, t2);
 		String msg = format(t1, t2, exp, res);
 		if (exp == null) {
 			assertNull("Incorrect accept: " + msg, res);
@@ -1,5 +1,6 @@
 package jadx.gui;
 
+import jadx.api.DefaultJadxArgs;
 import jadx.cli.JadxCLIArgs;
 import jadx.gui.ui.MainWindow;
 
@@ -16,6 +17,8 @@ public class JadxGUI {
 	public static void main(String[] args) {
 		try {
 			final JadxCLIArgs jadxArgs = new JadxCLIArgs();
+			// classes can be decompiled again after unload, can be changed by option
+			jadxArgs.setDecodedInsnsCacheSize(DefaultJadxArgs.INTERACTIVE_DECODED_INSNS_CACHE_SIZE);
 			if (!jadxArgs.processArgs(args)) {
 				return;
 			}
@@ -1,16 +1,18 @@
 package jadx.gui;
 
+import jadx.api.DecompileJob;
 import jadx.api.IJadxArgs;
 import jadx.api.JadxDecompiler;
 import jadx.api.JavaClass;
 import jadx.api.JavaPackage;
 import jadx.core.utils.exceptions.DecodeException;
 import jadx.core.utils.exceptions.JadxException;
+import jadx.gui.utils.DecompileQueue;
 
 import javax.swing.ProgressMonitor;
 import java.io.File;
 import java.util.List;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,14 +21,17 @@ public class JadxWrapper {
 	private static final Logger LOG = LoggerFactory.getLogger(JadxWrapper.class);
 
 	private final JadxDecompiler decompiler;
+	private final DecompileQueue decompileQueue;
 	private File openFile;
 
 	public JadxWrapper(IJadxArgs jadxArgs) {
 		this.decompiler = new JadxDecompiler(jadxArgs);
+		this.decompileQueue = new DecompileQueue(this, jadxArgs.getThreadsCount());
 	}
 
 	public void openFile(File file) {
 		this.openFile = file;
+		decompileQueue.clear();
 		try {
 			this.decompiler.loadFile(file);
 		} catch (DecodeException e) {
@@ -40,21 +45,22 @@ public class JadxWrapper {
 		Runnable save = new Runnable() {
 			@Override
 			public void run() {
+				decompiler.setOutputDir(dir);
+				DecompileJob job = decompiler.startSave(null);
 				try {
-					decompiler.setOutputDir(dir);
-					ThreadPoolExecutor ex = (ThreadPoolExecutor) decompiler.getSaveExecutor();
-					ex.shutdown();
-					while (ex.isTerminating()) {
-						long total = ex.getTaskCount();
-						long done = ex.getCompletedTaskCount();
-						progressMonitor.setProgress((int) (done * 100.0 / (double) total));
-						Thread.sleep(500);
+					while (!job.await(500, TimeUnit.MILLISECONDS)) {
+						if (progressMonitor.isCanceled()) {
+							job.cancel();
+							break;
+						}
+						progressMonitor.setProgress(job.getProgress());
 					}
-					progressMonitor.close();
-					LOG.info("done");
 				} catch (InterruptedException e) {
+					job.cancel();
 					LOG.error("Save interrupted", e);
 				}
+				progressMonitor.close();
+				LOG.info("done: {}", job);
 			}
 		};
 		new Thread(save).start();
@@ -68,6 +74,10 @@ public class JadxWrapper {
 		return decompiler.getPackages();
 	}
 
+	public DecompileQueue getDecompileQueue() {
+		return decompileQueue;
+	}
+
 	public File getOpenFile() {
 		return openFile;
 	}
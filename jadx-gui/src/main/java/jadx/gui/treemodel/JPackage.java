@@ -15,28 +15,44 @@ public class JPackage extends JNode implements Comparable<JPackage> {
 	private static final ImageIcon PACKAGE_ICON = Utils.openIcon("package_obj");
 
 	private String name;
+	private String fullName;
 	private final List<JClass> classes;
 	private final List<JPackage> innerPackages = new ArrayList<JPackage>(1);
+	private boolean loaded;
 
 	public JPackage(JavaPackage pkg) {
 		this.name = pkg.getName();
+		this.fullName = pkg.getName();
 		List<JavaClass> javaClasses = pkg.getClasses();
 		this.classes = new ArrayList<JClass>(javaClasses.size());
 		for (JavaClass javaClass : javaClasses) {
 			classes.add(new JClass(javaClass));
 		}
-		update();
 	}
 
 	public JPackage(String name) {
 		this.name = name;
+		this.fullName = name;
 		this.classes = new ArrayList<JClass>(1);
 	}
 
+	/**
+	 * Add child nodes on first expand, inner packages loaded lazily the same way
+	 *
+	 * @return true if child nodes added by this call, so tree model must be notified
+	 */
+	public synchronized boolean load() {
+		if (loaded) {
+			return false;
+		}
+		update();
+		loaded = true;
+		return true;
+	}
+
 	public final void update() {
 		removeAllChildren();
 		for (JPackage pkg : innerPackages) {
-			pkg.update();
 			add(pkg);
 		}
 		for (JClass cls : classes) {
@@ -45,6 +61,11 @@ public class JPackage extends JNode implements Comparable<JPackage> {
 		}
 	}
 
+	@Override
+	public boolean isLeaf() {
+		return innerPackages.isEmpty() && classes.isEmpty();
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -53,6 +74,14 @@ public class JPackage extends JNode implements Comparable<JPackage> {
 		this.name = name;
 	}
 
+	public String getFullName() {
+		return fullName;
+	}
+
+	public void setFullName(String fullName) {
+		this.fullName = fullName;
+	}
+
 	public List<JPackage> getInnerPackages() {
 		return innerPackages;
 	}
@@ -89,12 +118,12 @@ public class JPackage extends JNode implements Comparable<JPackage> {
 		if (o == null || getClass() != o.getClass()) {
 			return false;
 		}
-		return name.equals(((JPackage) o).name);
+		return fullName.equals(((JPackage) o).fullName);
 	}
 
 	@Override
 	public int hashCode() {
-		return name.hashCode();
+		return fullName.hashCode();
 	}
 
 	@Override
@@ -104,6 +133,6 @@ public class JPackage extends JNode implements Comparable<JPackage> {
 
 	@Override
 	public String makeLongString() {
-		return name;
+		return fullName;
 	}
 }
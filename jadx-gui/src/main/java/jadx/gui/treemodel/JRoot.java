@@ -1,5 +1,6 @@
 package jadx.gui.treemodel;
 
+import jadx.api.JavaClass;
 import jadx.api.JavaPackage;
 import jadx.gui.JadxWrapper;
 import jadx.gui.utils.Utils;
@@ -9,13 +10,9 @@ import javax.swing.ImageIcon;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public class JRoot extends JNode {
 	private static final long serialVersionUID = 8888495789773527342L;
@@ -26,6 +23,9 @@ public class JRoot extends JNode {
 
 	private boolean flatPackages = false;
 
+	private List<JPackage> flatPackagesList;
+	private List<JPackage> hierarchyPackagesList;
+
 	public JRoot(JadxWrapper wrapper) {
 		this.wrapper = wrapper;
 		update();
@@ -33,18 +33,30 @@ public class JRoot extends JNode {
 
 	public final void update() {
 		removeAllChildren();
+		for (JPackage jPackage : getRootPackages()) {
+			add(jPackage);
+		}
+	}
+
+	/**
+	 * Root packages for current mode, both representations built once and reused on mode switch
+	 */
+	private List<JPackage> getRootPackages() {
 		if (flatPackages) {
-			for (JavaPackage pkg : wrapper.getPackages()) {
-				add(new JPackage(pkg));
-			}
-		} else {
-			// build packages hierarchy
-			List<JPackage> rootPkgs = getHierarchyPackages(wrapper.getPackages());
-			for (JPackage jPackage : rootPkgs) {
-				jPackage.update();
-				add(jPackage);
+			if (flatPackagesList == null) {
+				List<JavaPackage> packages = wrapper.getPackages();
+				List<JPackage> list = new ArrayList<JPackage>(packages.size());
+				for (JavaPackage pkg : packages) {
+					list.add(new JPackage(pkg));
+				}
+				flatPackagesList = list;
 			}
+			return flatPackagesList;
 		}
+		if (hierarchyPackagesList == null) {
+			hierarchyPackagesList = getHierarchyPackages(wrapper.getPackages());
+		}
+		return hierarchyPackagesList;
 	}
 
 	/**
@@ -54,86 +66,98 @@ public class JRoot extends JNode {
 	 * @return root packages
 	 */
 	List<JPackage> getHierarchyPackages(List<JavaPackage> packages) {
+		// build packages trie
 		Map<String, JPackage> pkgMap = new HashMap<String, JPackage>();
+		List<JPackage> rootPkgs = new ArrayList<JPackage>();
 		for (JavaPackage pkg : packages) {
-			addPackage(pkgMap, new JPackage(pkg));
-		}
-		// merge packages without classes
-		boolean repeat;
-		do {
-			repeat = false;
-			for (JPackage pkg : pkgMap.values()) {
-				if (pkg.getInnerPackages().size() == 1 && pkg.getClasses().isEmpty()) {
-					JPackage innerPkg = pkg.getInnerPackages().get(0);
-					pkg.getInnerPackages().clear();
-					pkg.getInnerPackages().addAll(innerPkg.getInnerPackages());
-					pkg.getClasses().addAll(innerPkg.getClasses());
-					pkg.setName(pkg.getName() + "." + innerPkg.getName());
-
-					innerPkg.getInnerPackages().clear();
-					innerPkg.getClasses().clear();
-
-					repeat = true;
-					break;
-				}
-			}
-		} while (repeat);
-
-		// remove empty packages
-		for (Iterator<Map.Entry<String, JPackage>> it = pkgMap.entrySet().iterator(); it.hasNext(); ) {
-			JPackage pkg = it.next().getValue();
-			if (pkg.getInnerPackages().isEmpty() && pkg.getClasses().isEmpty()) {
-				it.remove();
+			JPackage jPkg = getOrAddPackage(pkgMap, rootPkgs, pkg.getName());
+			for (JavaClass cls : pkg.getClasses()) {
+				jPkg.getClasses().add(new JClass(cls));
 			}
 		}
-		// use identity set for collect inner packages
-		Set<JPackage> innerPackages = Collections.newSetFromMap(new IdentityHashMap<JPackage, Boolean>());
-		for (JPackage pkg : pkgMap.values()) {
-			innerPackages.addAll(pkg.getInnerPackages());
-		}
-		// find root packages
-		List<JPackage> rootPkgs = new ArrayList<JPackage>();
-		for (JPackage pkg : pkgMap.values()) {
-			if (!innerPackages.contains(pkg)) {
-				rootPkgs.add(pkg);
-			}
+		// merge packages without classes in one pass
+		for (JPackage pkg : rootPkgs) {
+			compactPackage(pkg);
 		}
 		Collections.sort(rootPkgs);
 		return rootPkgs;
 	}
 
-	private void addPackage(Map<String, JPackage> pkgs, JPackage pkg) {
-		String pkgName = pkg.getName();
-		JPackage replaced = pkgs.put(pkgName, pkg);
-		if (replaced != null) {
-			pkg.getInnerPackages().addAll(replaced.getInnerPackages());
-			pkg.getClasses().addAll(replaced.getClasses());
+	private static JPackage getOrAddPackage(Map<String, JPackage> pkgMap, List<JPackage> rootPkgs, String fullName) {
+		JPackage pkg = pkgMap.get(fullName);
+		if (pkg != null) {
+			return pkg;
 		}
-		int dot = pkgName.lastIndexOf('.');
+		pkg = new JPackage(fullName);
+		pkgMap.put(fullName, pkg);
+		int dot = fullName.lastIndexOf('.');
 		if (dot > 0) {
-			String prevPart = pkgName.substring(0, dot);
-			String shortName = pkgName.substring(dot + 1);
-			pkg.setName(shortName);
-			JPackage prevPkg = pkgs.get(prevPart);
-			if (prevPkg == null) {
-				prevPkg = new JPackage(prevPart);
-				addPackage(pkgs, prevPkg);
-			}
-			prevPkg.getInnerPackages().add(pkg);
+			pkg.setName(fullName.substring(dot + 1));
+			JPackage parent = getOrAddPackage(pkgMap, rootPkgs, fullName.substring(0, dot));
+			parent.getInnerPackages().add(pkg);
+		} else {
+			rootPkgs.add(pkg);
 		}
+		return pkg;
 	}
 
-	public JClass searchClassInTree(JClass node) {
-		Enumeration en = this.breadthFirstEnumeration();
-		while (en.hasMoreElements()) {
-			Object obj = en.nextElement();
-			if (node.equals(obj)) {
-				return (JClass) obj;
+	private static void compactPackage(JPackage pkg) {
+		List<JPackage> innerPackages = pkg.getInnerPackages();
+		while (innerPackages.size() == 1 && pkg.getClasses().isEmpty()) {
+			JPackage innerPkg = innerPackages.get(0);
+			innerPackages.clear();
+			innerPackages.addAll(innerPkg.getInnerPackages());
+			pkg.getClasses().addAll(innerPkg.getClasses());
+			pkg.setName(pkg.getName() + "." + innerPkg.getName());
+			pkg.setFullName(innerPkg.getFullName());
+		}
+		for (JPackage innerPkg : innerPackages) {
+			compactPackage(innerPkg);
+		}
+		// names changed by merge
+		Collections.sort(innerPackages);
+	}
+
+	/**
+	 * Find class node in tree, packages on the path are loaded if needed
+	 *
+	 * @param loadedPackages packages loaded by this search added to this list, tree model must be notified about them
+	 */
+	public JClass searchClassInTree(JClass node, List<JPackage> loadedPackages) {
+		String pkgName = node.getCls().getPackage();
+		List<JPackage> pkgs = getRootPackages();
+		while (pkgs != null) {
+			List<JPackage> next = null;
+			for (JPackage pkg : pkgs) {
+				String fullName = pkg.getFullName();
+				if (fullName.equals(pkgName)) {
+					load(pkg, loadedPackages);
+					for (JClass cls : pkg.getClasses()) {
+						if (node.equals(cls)) {
+							return cls;
+						}
+					}
+					return null;
+				}
+				// in flat mode all packages on one level, so only exact match is possible
+				if (!flatPackages
+						&& pkgName.startsWith(fullName) && pkgName.charAt(fullName.length()) == '.') {
+					load(pkg, loadedPackages);
+					next = pkg.getInnerPackages();
+					break;
+				}
 			}
+			pkgs = next;
 		}
 		return null;
 	}
 
+	private static void load(JPackage pkg, List<JPackage> loadedPackages) {
+		if (pkg.load()) {
+			loadedPackages.add(pkg);
+		}
+	}
+
 	public boolean isFlatPackages() {
 		return flatPackages;
 	}
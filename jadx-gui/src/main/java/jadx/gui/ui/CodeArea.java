@@ -1,7 +1,9 @@
 package jadx.gui.ui;
 
 import jadx.api.CodePosition;
+import jadx.api.JavaClass;
 import jadx.gui.treemodel.JClass;
+import jadx.gui.utils.NLS;
 import jadx.gui.utils.Position;
 
 import javax.swing.JViewport;
@@ -35,6 +37,7 @@ class CodeArea extends RSyntaxTextArea {
 
 	private final CodePanel codePanel;
 	private final JClass cls;
+	private boolean loaded;
 
 	CodeArea(CodePanel panel) {
 		this.codePanel = panel;
@@ -59,11 +62,30 @@ class CodeArea extends RSyntaxTextArea {
 		setLinkGenerator(codeLinkProcessor);
 		addHyperlinkListener(codeLinkProcessor);
 
-		setText(cls.getCode());
+		if (cls.getCls().isDecompiled()) {
+			loadCode();
+		} else {
+			setText(NLS.str("msg.decompiling"));
+		}
+	}
+
+	/**
+	 * Replace placeholder with class code, class must be already decompiled
+	 */
+	void loadCode() {
+		if (!loaded) {
+			setText(cls.getCode());
+			setCaretPosition(0);
+			loaded = true;
+		}
+	}
+
+	boolean isLoaded() {
+		return loaded;
 	}
 
 	private boolean isJumpToken(Token token) {
-		if (token.getType() == TokenTypes.IDENTIFIER) {
+		if (loaded && token.getType() == TokenTypes.IDENTIFIER) {
 			// fast skip
 			if (token.length() == 1) {
 				char ch = token.getTextArray()[token.getTextOffset()];
@@ -71,10 +93,7 @@ class CodeArea extends RSyntaxTextArea {
 					return false;
 				}
 			}
-			Position pos = getPosition(cls, this, token.getOffset());
-			if (pos != null) {
-				return true;
-			}
+			return getDefinitionClass(cls, this, token.getOffset()) != null;
 		}
 		return false;
 	}
@@ -101,11 +120,28 @@ class CodeArea extends RSyntaxTextArea {
 		return null;
 	}
 
+	/**
+	 * Find class with definition for token at offset without decompiling it
+	 */
+	static JavaClass getDefinitionClass(JClass jCls, RSyntaxTextArea textArea, int offset) {
+		try {
+			int line = textArea.getLineOfOffset(offset);
+			int lineOffset = offset - textArea.getLineStartOffset(line);
+			return jCls.getCls().getDefinitionClass(line + 1, lineOffset + 1);
+		} catch (BadLocationException e) {
+			LOG.error("Can't get line by offset", e);
+		}
+		return null;
+	}
+
 	Position getCurrentPosition() {
 		return new Position(cls, getCaretLineNumber() + 1);
 	}
 
 	Integer getSourceLine(int line) {
+		if (!loaded) {
+			return null;
+		}
 		return cls.getCls().getSourceLine(line);
 	}
 
@@ -159,20 +195,23 @@ class CodeArea extends RSyntaxTextArea {
 		@Override
 		public LinkGeneratorResult isLinkAtOffset(RSyntaxTextArea textArea, int offset) {
 			try {
+				if (!loaded) {
+					return null;
+				}
 				Token token = textArea.modelToToken(offset);
 				if (token == null) {
 					return null;
 				}
 				final int sourceOffset = token.getOffset();
-				final Position defPos = getPosition(jCls, textArea, sourceOffset);
-				if (defPos == null) {
+				final JavaClass defCls = getDefinitionClass(jCls, textArea, sourceOffset);
+				if (defCls == null) {
 					return null;
 				}
 				return new LinkGeneratorResult() {
 					@Override
 					public HyperlinkEvent execute() {
-						return new HyperlinkEvent(defPos, HyperlinkEvent.EventType.ACTIVATED, null,
-								defPos.getCls().getFullName());
+						return new HyperlinkEvent(sourceOffset, HyperlinkEvent.EventType.ACTIVATED, null,
+								defCls.getFullName());
 					}
 
 					@Override
@@ -189,13 +228,27 @@ class CodeArea extends RSyntaxTextArea {
 		@Override
 		public void hyperlinkUpdate(HyperlinkEvent e) {
 			Object obj = e.getSource();
-			if (obj instanceof Position) {
-				Position pos = (Position) obj;
-				LOG.debug("Code jump to: {}", pos);
-				TabbedPane tabbedPane = codePanel.getTabbedPane();
-				tabbedPane.getJumpManager().addPosition(getCurrentPosition());
-				tabbedPane.getJumpManager().addPosition(pos);
-				tabbedPane.showCode(pos);
+			if (obj instanceof Integer) {
+				final int sourceOffset = (Integer) obj;
+				JavaClass defCls = getDefinitionClass(jCls, CodeArea.this, sourceOffset);
+				if (defCls == null) {
+					return;
+				}
+				// target class decompiled in background, jump after it will be ready
+				final TabbedPane tabbedPane = codePanel.getTabbedPane();
+				tabbedPane.getDecompileQueue().open(defCls, new Runnable() {
+					@Override
+					public void run() {
+						Position pos = getPosition(jCls, CodeArea.this, sourceOffset);
+						if (pos == null) {
+							return;
+						}
+						LOG.debug("Code jump to: {}", pos);
+						tabbedPane.getJumpManager().addPosition(getCurrentPosition());
+						tabbedPane.getJumpManager().addPosition(pos);
+						tabbedPane.showCode(pos);
+					}
+				});
 			}
 		}
 	}
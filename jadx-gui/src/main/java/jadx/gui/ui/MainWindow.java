@@ -3,6 +3,7 @@ package jadx.gui.ui;
 import jadx.gui.JadxWrapper;
 import jadx.gui.treemodel.JClass;
 import jadx.gui.treemodel.JNode;
+import jadx.gui.treemodel.JPackage;
 import jadx.gui.treemodel.JRoot;
 import jadx.gui.update.JadxUpdate;
 import jadx.gui.update.data.Release;
@@ -51,6 +52,8 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -149,6 +152,10 @@ public class MainWindow extends JFrame {
 		}
 	}
 
+	JadxWrapper getWrapper() {
+		return wrapper;
+	}
+
 	private void initTree() {
 		treeRoot = new JRoot(wrapper);
 		treeRoot.setFlatPackages(isFlattenPackage);
@@ -196,7 +203,11 @@ public class MainWindow extends JFrame {
 		JClass jCls = selectedCodePanel.getCls();
 		if (jCls.getParent() == null && treeRoot != null) {
 			// node not register in tree
-			jCls = treeRoot.searchClassInTree(jCls);
+			List<JPackage> loadedPackages = new ArrayList<JPackage>();
+			jCls = treeRoot.searchClassInTree(jCls, loadedPackages);
+			for (JPackage pkg : loadedPackages) {
+				treeModel.nodeStructureChanged(pkg);
+			}
 			if (jCls == null) {
 				LOG.error("Class not found in tree");
 				return;
@@ -440,9 +451,25 @@ public class MainWindow extends JFrame {
 			public void treeWillExpand(TreeExpansionEvent event) throws ExpandVetoException {
 				TreePath path = event.getPath();
 				Object node = path.getLastPathComponent();
-				if (node instanceof JClass) {
-					JClass cls = (JClass) node;
-					cls.getRootClass().load();
+				if (node instanceof JPackage) {
+					JPackage pkg = (JPackage) node;
+					if (pkg.load()) {
+						treeModel.nodeStructureChanged(pkg);
+					}
+				} else if (node instanceof JClass) {
+					final JClass cls = ((JClass) node).getRootClass();
+					if (cls.getCls().isDecompiled()) {
+						cls.load();
+					} else {
+						// show 'loading' node until class decompiled in background
+						wrapper.getDecompileQueue().open(cls.getCls(), new Runnable() {
+							@Override
+							public void run() {
+								cls.load();
+								treeModel.nodeStructureChanged(cls);
+							}
+						});
+					}
 				}
 			}
 
@@ -1,6 +1,7 @@
 package jadx.gui.ui;
 
 import jadx.gui.treemodel.JClass;
+import jadx.gui.utils.DecompileQueue;
 import jadx.gui.utils.JumpManager;
 import jadx.gui.utils.NLS;
 import jadx.gui.utils.Position;
@@ -67,13 +68,21 @@ class TabbedPane extends JTabbedPane {
 
 	void showCode(final Position pos) {
 		final CodePanel codePanel = getCodePanel(pos.getCls());
-		SwingUtilities.invokeLater(new Runnable() {
+		setSelectedComponent(codePanel);
+		// code will be shown after decompilation in background, until then tab contains placeholder
+		getDecompileQueue().open(pos.getCls().getCls(), new Runnable() {
 			@Override
 			public void run() {
-				setSelectedComponent(codePanel);
+				if (indexOfComponent(codePanel) == -1) {
+					// tab already closed
+					return;
+				}
 				CodeArea codeArea = codePanel.getCodeArea();
-				codeArea.scrollToLine(pos.getLine());
-				codeArea.requestFocus();
+				codeArea.loadCode();
+				if (getSelectedComponent() == codePanel) {
+					codeArea.scrollToLine(pos.getLine());
+					codeArea.requestFocus();
+				}
 			}
 		});
 	}
@@ -96,6 +105,10 @@ class TabbedPane extends JTabbedPane {
 		return jumps;
 	}
 
+	DecompileQueue getDecompileQueue() {
+		return mainWindow.getWrapper().getDecompileQueue();
+	}
+
 	private void addCodePanel(CodePanel codePanel) {
 		openTabs.put(codePanel.getCls(), codePanel);
 		add(codePanel);
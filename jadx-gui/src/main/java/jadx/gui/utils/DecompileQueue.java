@@ -0,0 +1,202 @@
+package jadx.gui.utils;
+
+import jadx.api.JavaClass;
+import jadx.api.JavaPackage;
+import jadx.gui.JadxWrapper;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decompile classes in background threads.
+ * Class opened by user processed first, then classes referenced from it
+ * and after that other classes from same package.
+ */
+public class DecompileQueue {
+	private static final Logger LOG = LoggerFactory.getLogger(DecompileQueue.class);
+
+	private static final int PRIORITY_OPENED = 0;
+	private static final int PRIORITY_REFERENCED = 1;
+	private static final int PRIORITY_SIBLING = 2;
+
+	private final JadxWrapper wrapper;
+	private final ThreadPoolExecutor executor;
+	private final AtomicLong seqCounter = new AtomicLong();
+	private final Map<JavaClass, Task> pending = new HashMap<JavaClass, Task>();
+
+	private Map<String, List<JavaClass>> packages;
+
+	public DecompileQueue(JadxWrapper wrapper, int threadsCount) {
+		this.wrapper = wrapper;
+		this.executor = new ThreadPoolExecutor(threadsCount, threadsCount, 0L, TimeUnit.MILLISECONDS,
+				new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "jadx-decompile-queue");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.NORM_PRIORITY - 1);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Decompile class with highest priority and schedule prefetch of related classes.
+	 *
+	 * @param cls      class to decompile
+	 * @param callback executed in event dispatch thread after class decompilation
+	 */
+	public void open(JavaClass cls, Runnable callback) {
+		if (cls.isDecompiled()) {
+			SwingUtilities.invokeLater(callback);
+			prefetchRelated(cls);
+			return;
+		}
+		Task task = schedule(cls, PRIORITY_OPENED);
+		if (task == null) {
+			SwingUtilities.invokeLater(callback);
+		} else {
+			task.addCallback(callback);
+		}
+	}
+
+	/**
+	 * Drop all scheduled tasks, should be called on new file open
+	 */
+	public synchronized void clear() {
+		for (Task task : pending.values()) {
+			executor.remove(task);
+		}
+		pending.clear();
+		packages = null;
+	}
+
+	private synchronized Task schedule(JavaClass cls, int priority) {
+		Task task = pending.get(cls);
+		if (task != null) {
+			if (task.getPriority() <= priority) {
+				return task;
+			}
+			// raise priority: re-insert into queue if not started yet
+			boolean removed = executor.remove(task);
+			task.setPriority(priority);
+			if (removed) {
+				executor.execute(task);
+			}
+			return task;
+		}
+		if (cls.isDecompiled()) {
+			return null;
+		}
+		task = new Task(cls, priority);
+		pending.put(cls, task);
+		executor.execute(task);
+		return task;
+	}
+
+	private synchronized void remove(Task task) {
+		if (pending.get(task.getCls()) == task) {
+			pending.remove(task.getCls());
+		}
+	}
+
+	private void prefetchRelated(JavaClass cls) {
+		for (JavaClass refCls : cls.getReferencedClasses()) {
+			schedule(refCls, PRIORITY_REFERENCED);
+		}
+		for (JavaClass sibling : getSiblings(cls)) {
+			if (sibling != cls) {
+				schedule(sibling, PRIORITY_SIBLING);
+			}
+		}
+	}
+
+	private synchronized List<JavaClass> getSiblings(JavaClass cls) {
+		if (packages == null) {
+			packages = new HashMap<String, List<JavaClass>>();
+			for (JavaPackage pkg : wrapper.getPackages()) {
+				packages.put(pkg.getName(), pkg.getClasses());
+			}
+		}
+		List<JavaClass> list = packages.get(cls.getPackage());
+		if (list == null) {
+			return new ArrayList<JavaClass>();
+		}
+		return list;
+	}
+
+	private final class Task implements Runnable, Comparable<Task> {
+		private final JavaClass cls;
+		private final long seq;
+		private final List<Runnable> callbacks = new ArrayList<Runnable>(1);
+		private volatile int priority;
+		private boolean done;
+
+		private Task(JavaClass cls, int priority) {
+			this.cls = cls;
+			this.priority = priority;
+			this.seq = seqCounter.incrementAndGet();
+		}
+
+		public JavaClass getCls() {
+			return cls;
+		}
+
+		public int getPriority() {
+			return priority;
+		}
+
+		public void setPriority(int priority) {
+			this.priority = priority;
+		}
+
+		public synchronized void addCallback(Runnable callback) {
+			if (done) {
+				SwingUtilities.invokeLater(callback);
+			} else {
+				callbacks.add(callback);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				cls.decompile();
+			} catch (Throwable e) {
+				LOG.error("Class decompilation failed: {}", cls, e);
+			}
+			remove(this);
+			List<Runnable> list;
+			synchronized (this) {
+				done = true;
+				list = new ArrayList<Runnable>(callbacks);
+				callbacks.clear();
+			}
+			for (Runnable callback : list) {
+				SwingUtilities.invokeLater(callback);
+			}
+			if (priority == PRIORITY_OPENED) {
+				prefetchRelated(cls);
+			}
+		}
+
+		@Override
+		public int compareTo(Task o) {
+			if (priority != o.priority) {
+				return priority < o.priority ? -1 : 1;
+			}
+			return seq < o.seq ? -1 : (seq == o.seq ? 0 : 1);
+		}
+	}
+}
@@ -8,6 +8,7 @@ import jadx.api.JavaPackage;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.gui.JadxWrapper;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -15,7 +16,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class JRootTest {
 
@@ -91,12 +96,84 @@ public class JRootTest {
 		assertEquals(out.get(1).getInnerPackages().size(), 2);
 	}
 
+	@Test
+	public void testHierarchyPackagesSortedAfterCompact() {
+		List<JavaPackage> packages = Arrays.asList(
+				newPkg("r.c"),
+				newPkg("r.b.x"),
+				newPkg("r.a")
+		);
+		List<JPackage> out = root.getHierarchyPackages(packages);
+
+		assertEquals(out.size(), 1);
+		List<JPackage> inner = out.get(0).getInnerPackages();
+		assertEquals(inner.size(), 3);
+		assertEquals(inner.get(0).getName(), "a");
+		assertEquals(inner.get(1).getName(), "b.x");
+		assertEquals(inner.get(1).getFullName(), "r.b.x");
+		assertEquals(inner.get(2).getName(), "c");
+	}
+
+	@Test
+	public void testSearchHierarchy() {
+		JavaPackage pkgA = newPkg("a");
+		JavaPackage pkgB = newPkg("a.b");
+		JRoot jRoot = newRoot(pkgA, pkgB);
+
+		assertSearch(jRoot, pkgA);
+		assertSearch(jRoot, pkgB);
+	}
+
+	@Test
+	public void testSearchFlat() {
+		JavaPackage pkgA = newPkg("a");
+		JavaPackage pkgB = newPkg("a.b");
+		JRoot jRoot = newRoot(pkgA, pkgB);
+		jRoot.setFlatPackages(true);
+
+		assertSearch(jRoot, pkgB);
+		assertSearch(jRoot, pkgA);
+	}
+
+	@Test
+	public void testSearchLoadedPackages() {
+		JavaPackage pkg = newPkg("a.b.c");
+		JRoot jRoot = newRoot(newPkg("a.x"), pkg);
+		JClass cls = new JClass(pkg.getClasses().get(0));
+
+		List<JPackage> loaded = new ArrayList<JPackage>();
+		assertNotNull(jRoot.searchClassInTree(cls, loaded));
+		assertEquals(loaded.size(), 2);
+		assertEquals(loaded.get(0).getFullName(), "a");
+		assertEquals(loaded.get(1).getFullName(), "a.b.c");
+
+		// already loaded packages not reported again
+		loaded.clear();
+		assertNotNull(jRoot.searchClassInTree(cls, loaded));
+		assertTrue(loaded.isEmpty());
+	}
+
+	private static void assertSearch(JRoot jRoot, JavaPackage pkg) {
+		JavaClass javaClass = pkg.getClasses().get(0);
+		JClass found = jRoot.searchClassInTree(new JClass(javaClass), new ArrayList<JPackage>());
+		assertNotNull("Class not found in package " + pkg.getName(), found);
+		assertSame(javaClass, found.getCls());
+	}
+
+	private static JRoot newRoot(JavaPackage... packages) {
+		JadxWrapper wrapper = mock(JadxWrapper.class);
+		when(wrapper.getPackages()).thenReturn(Arrays.asList(packages));
+		return new JRoot(wrapper);
+	}
+
 	private JavaPackage newPkg(String name) {
-		return Factory.newPackage(name, Arrays.asList(newClass()));
+		return Factory.newPackage(name, Arrays.asList(newClass(name)));
 	}
 
-	private JavaClass newClass() {
-		return Factory.newClass(decompiler, mock(ClassNode.class));
+	private JavaClass newClass(String pkg) {
+		ClassNode cls = mock(ClassNode.class);
+		when(cls.getPackage()).thenReturn(pkg);
+		return Factory.newClass(decompiler, cls);
 	}
 
 }
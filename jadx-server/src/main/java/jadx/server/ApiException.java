@@ -0,0 +1,22 @@
+package jadx.server;
+
+import jadx.core.utils.exceptions.JadxException;
+
+/**
+ * Request error, reported to client with http status code
+ */
+public class ApiException extends JadxException {
+
+	private static final long serialVersionUID = -2637451129472436813L;
+
+	private final int status;
+
+	public ApiException(int status, String message) {
+		super(message);
+		this.status = status;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+}
@@ -0,0 +1,362 @@
+package jadx.server;
+
+import jadx.api.CodePosition;
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.server.WorkerPool.Priority;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * JSON API:
+ * <pre>
+ * GET    /api/status
+ * GET    /api/inputs
+ * POST   /api/inputs?path=[local file]        load file from server file system
+ * POST   /api/inputs?name=[file name]         load file uploaded in request body
+ * GET    /api/inputs/[id]
+ * DELETE /api/inputs/[id]
+ * GET    /api/inputs/[id]/classes
+ * GET    /api/inputs/[id]/classes/[full name]/code
+ * GET    /api/inputs/[id]/classes/[full name]/definition?line=[line]&offset=[offset]
+ * </pre>
+ * Requests processed in worker pool, priority can be set by 'priority' parameter
+ * or 'X-Jadx-Priority' header (high, normal, low). Inputs loading have low priority by default.
+ */
+public class ApiHandler implements HttpHandler {
+	private static final Logger LOG = LoggerFactory.getLogger(ApiHandler.class);
+
+	public static final String CONTEXT = "/api";
+	public static final String PRIORITY_HEADER = "X-Jadx-Priority";
+
+	private static final String UTF8 = "UTF-8";
+	private static final Gson GSON = new Gson();
+
+	private final InputsStorage storage;
+	private final WorkerPool pool;
+
+	public ApiHandler(InputsStorage storage, WorkerPool pool) {
+		this.storage = storage;
+		this.pool = pool;
+	}
+
+	@Override
+	public void handle(final HttpExchange exchange) throws IOException {
+		final Request request;
+		try {
+			request = new Request(exchange);
+		} catch (ApiException e) {
+			sendError(exchange, e.getStatus(), e.getMessage());
+			return;
+		}
+		if (request.is("GET", "status")) {
+			// don't wait for workers
+			send(exchange, HttpURLConnection.HTTP_OK, status());
+			return;
+		}
+		Priority defPriority = request.is("POST", "inputs") ? Priority.LOW : Priority.NORMAL;
+		Priority priority = Priority.parse(request.getPriority(), defPriority);
+		try {
+			pool.submit(priority, new Runnable() {
+				@Override
+				public void run() {
+					process(exchange, request);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			sendError(exchange, HttpURLConnection.HTTP_UNAVAILABLE, "Server is shutting down");
+		}
+	}
+
+	private void process(HttpExchange exchange, Request request) {
+		try {
+			try {
+				send(exchange, HttpURLConnection.HTTP_OK, route(exchange, request));
+			} catch (ApiException e) {
+				sendError(exchange, e.getStatus(), e.getMessage());
+			} catch (JadxException e) {
+				LOG.error("Request processing error: {}", exchange.getRequestURI(), e);
+				sendError(exchange, HttpURLConnection.HTTP_BAD_REQUEST, e.getMessage());
+			} catch (Exception e) {
+				LOG.error("Request processing error: {}", exchange.getRequestURI(), e);
+				sendError(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, e.toString());
+			}
+		} catch (IOException e) {
+			LOG.debug("Response send error: {}", exchange.getRequestURI(), e);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private JsonElement route(HttpExchange exchange, Request request) throws JadxException, IOException {
+		if (request.is("GET", "inputs")) {
+			JsonArray arr = new JsonArray();
+			for (LoadedInput input : storage.getAll()) {
+				arr.add(inputInfo(input));
+			}
+			return arr;
+		}
+		if (request.is("POST", "inputs")) {
+			return inputInfo(load(exchange, request));
+		}
+		if (request.is("GET", "inputs", null)) {
+			return inputInfo(getInput(request.get(1)));
+		}
+		if (request.is("DELETE", "inputs", null)) {
+			if (!storage.unload(request.get(1))) {
+				throw new ApiException(HttpURLConnection.HTTP_NOT_FOUND, "Input not found: " + request.get(1));
+			}
+			JsonObject obj = new JsonObject();
+			obj.addProperty("id", request.get(1));
+			return obj;
+		}
+		if (request.is("GET", "inputs", null, "classes")) {
+			JsonArray arr = new JsonArray();
+			for (JavaClass cls : getInput(request.get(1)).getClasses()) {
+				JsonObject obj = new JsonObject();
+				obj.addProperty("name", cls.getFullName());
+				obj.addProperty("decompiled", cls.isDecompiled());
+				arr.add(obj);
+			}
+			return arr;
+		}
+		if (request.is("GET", "inputs", null, "classes", null, "code")) {
+			JavaClass cls = getClass(request);
+			JsonObject obj = new JsonObject();
+			obj.addProperty("name", cls.getFullName());
+			obj.addProperty("code", cls.getCode());
+			return obj;
+		}
+		if (request.is("GET", "inputs", null, "classes", null, "definition")) {
+			JavaClass cls = getClass(request);
+			int line = request.getIntParam("line");
+			int offset = request.getIntParam("offset");
+			cls.decompile();
+			CodePosition pos = cls.getDefinitionPosition(line, offset);
+			if (pos == null) {
+				throw new ApiException(HttpURLConnection.HTTP_NOT_FOUND,
+						"Definition not found at " + line + ":" + offset + " in " + cls.getFullName());
+			}
+			JsonObject obj = new JsonObject();
+			obj.addProperty("name", pos.getJavaClass().getFullName());
+			obj.addProperty("line", pos.getLine());
+			return obj;
+		}
+		throw new ApiException(HttpURLConnection.HTTP_NOT_FOUND,
+				"Unknown request: " + request.getMethod() + " " + exchange.getRequestURI().getPath());
+	}
+
+	private LoadedInput load(HttpExchange exchange, Request request) throws JadxException, IOException {
+		String path = request.getParam("path");
+		if (path != null) {
+			File file = new File(path);
+			if (!file.isFile()) {
+				throw new ApiException(HttpURLConnection.HTTP_NOT_FOUND, "File not found: " + path);
+			}
+			return storage.load(file, false);
+		}
+		String name = request.getParam("name");
+		if (name == null) {
+			throw new ApiException(HttpURLConnection.HTTP_BAD_REQUEST, "Parameter 'path' or 'name' required");
+		}
+		File file = File.createTempFile("jadx-server-", "-" + new File(name).getName().replaceAll("[^\\w.-]", "_"));
+		OutputStream out = new FileOutputStream(file);
+		try {
+			InputStream in = exchange.getRequestBody();
+			byte[] buf = new byte[8192];
+			int len;
+			while ((len = in.read(buf)) != -1) {
+				out.write(buf, 0, len);
+			}
+		} finally {
+			out.close();
+		}
+		try {
+			return storage.load(file, true);
+		} catch (JadxException e) {
+			if (!file.delete()) {
+				file.deleteOnExit();
+			}
+			throw e;
+		}
+	}
+
+	private LoadedInput getInput(String id) throws ApiException {
+		LoadedInput input = storage.get(id);
+		if (input == null) {
+			throw new ApiException(HttpURLConnection.HTTP_NOT_FOUND, "Input not found: " + id);
+		}
+		return input;
+	}
+
+	private JavaClass getClass(Request request) throws ApiException {
+		String name = request.get(3);
+		JavaClass cls = getInput(request.get(1)).searchClass(name);
+		if (cls == null) {
+			throw new ApiException(HttpURLConnection.HTTP_NOT_FOUND, "Class not found: " + name);
+		}
+		return cls;
+	}
+
+	private static JsonObject inputInfo(LoadedInput input) {
+		JsonObject obj = new JsonObject();
+		obj.addProperty("id", input.getId());
+		obj.addProperty("file", input.getFile().getName());
+		obj.addProperty("classes", input.getClasses().size());
+		obj.addProperty("errors", input.getDecompiler().getErrorsCount());
+		return obj;
+	}
+
+	private JsonObject status() {
+		JsonObject obj = new JsonObject();
+		obj.addProperty("version", JadxDecompiler.getVersion());
+		obj.addProperty("inputs", storage.getAll().size());
+		obj.addProperty("evicted", storage.getEvictedCount());
+		obj.addProperty("activeWorkers", pool.getActiveCount());
+		obj.addProperty("queuedRequests", pool.getQueueSize());
+		obj.addProperty("usedHeap", storage.getUsedHeap());
+		obj.addProperty("heapLimit", storage.getHeapLimit());
+		return obj;
+	}
+
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		JsonObject obj = new JsonObject();
+		obj.addProperty("error", message);
+		send(exchange, status, obj);
+	}
+
+	private static void send(HttpExchange exchange, int status, JsonElement json) throws IOException {
+		byte[] bytes = GSON.toJson(json).getBytes(UTF8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		OutputStream out = exchange.getResponseBody();
+		try {
+			out.write(bytes);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Request method, decoded path segments after context and query parameters
+	 */
+	private static final class Request {
+		private final String method;
+		private final List<String> path;
+		private final Map<String, String> params;
+		private final String priorityHeader;
+
+		Request(HttpExchange exchange) throws ApiException {
+			this.method = exchange.getRequestMethod();
+			this.path = parsePath(exchange.getRequestURI().getRawPath());
+			this.params = parseQuery(exchange.getRequestURI().getRawQuery());
+			this.priorityHeader = exchange.getRequestHeaders().getFirst(PRIORITY_HEADER);
+		}
+
+		/**
+		 * Check method and path, null in path matches any segment
+		 */
+		boolean is(String expectedMethod, String... expectedPath) {
+			if (!method.equalsIgnoreCase(expectedMethod) || path.size() != expectedPath.length) {
+				return false;
+			}
+			for (int i = 0; i < expectedPath.length; i++) {
+				String p = expectedPath[i];
+				if (p != null && !p.equals(path.get(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		String getMethod() {
+			return method;
+		}
+
+		String get(int index) {
+			return path.get(index);
+		}
+
+		String getParam(String name) {
+			return params.get(name);
+		}
+
+		int getIntParam(String name) throws ApiException {
+			String value = params.get(name);
+			if (value == null) {
+				throw new ApiException(HttpURLConnection.HTTP_BAD_REQUEST, "Parameter '" + name + "' required");
+			}
+			try {
+				return Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				throw new ApiException(HttpURLConnection.HTTP_BAD_REQUEST,
+						"Parameter '" + name + "' must be integer: " + value);
+			}
+		}
+
+		String getPriority() {
+			String priority = params.get("priority");
+			return priority != null ? priority : priorityHeader;
+		}
+
+		private static List<String> parsePath(String rawPath) throws ApiException {
+			String str = rawPath.startsWith(CONTEXT) ? rawPath.substring(CONTEXT.length()) : rawPath;
+			List<String> list = new ArrayList<String>();
+			for (String part : str.split("/")) {
+				if (!part.isEmpty()) {
+					list.add(decode(part));
+				}
+			}
+			return list;
+		}
+
+		private static Map<String, String> parseQuery(String rawQuery) throws ApiException {
+			Map<String, String> map = new HashMap<String, String>();
+			if (rawQuery == null) {
+				return map;
+			}
+			for (String pair : rawQuery.split("&")) {
+				int eq = pair.indexOf('=');
+				if (eq == -1) {
+					map.put(decode(pair), "");
+				} else {
+					map.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+				}
+			}
+			return map;
+		}
+
+		private static String decode(String str) throws ApiException {
+			try {
+				return URLDecoder.decode(str, UTF8);
+			} catch (UnsupportedEncodingException e) {
+				throw new ApiException(HttpURLConnection.HTTP_INTERNAL_ERROR, e.getMessage());
+			} catch (IllegalArgumentException e) {
+				throw new ApiException(HttpURLConnection.HTTP_BAD_REQUEST, "Incorrect url encoding: " + str);
+			}
+		}
+	}
+}
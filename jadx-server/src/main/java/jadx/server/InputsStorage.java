@@ -0,0 +1,239 @@
+package jadx.server;
+
+import jadx.api.IJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.utils.exceptions.JadxException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resident loaded inputs, keyed by hash of file content.
+ * <p/>
+ * Same file loaded only once, even if requested concurrently.
+ * Least recently used inputs evicted if inputs count or heap usage exceed limits.
+ */
+public class InputsStorage {
+	private static final Logger LOG = LoggerFactory.getLogger(InputsStorage.class);
+
+	private final IJadxArgs args;
+	private final int maxInputs;
+	private final int maxHeapUsage;
+
+	/**
+	 * Loaded inputs in access order
+	 */
+	private final LinkedHashMap<String, LoadedInput> inputs = new LinkedHashMap<String, LoadedInput>(16, 0.75f, true);
+	private final Map<String, FutureTask<LoadedInput>> loading = new ConcurrentHashMap<String, FutureTask<LoadedInput>>();
+
+	private int evictedCount;
+
+	public InputsStorage(JadxServerArgs args) {
+		this.args = args;
+		this.maxInputs = args.getMaxInputs();
+		this.maxHeapUsage = args.getMaxHeapUsage();
+	}
+
+	/**
+	 * Return loaded input for file, load if not loaded yet.
+	 *
+	 * @param tempFile delete file on eviction (or right away if same content already loaded)
+	 */
+	public LoadedInput load(final File file, final boolean tempFile) throws JadxException {
+		final String id = hash(file);
+		LoadedInput input = get(id);
+		if (input != null) {
+			if (tempFile && !input.getFile().equals(file) && !file.delete()) {
+				file.deleteOnExit();
+			}
+			return input;
+		}
+		FutureTask<LoadedInput> task = new FutureTask<LoadedInput>(new Callable<LoadedInput>() {
+			@Override
+			public LoadedInput call() throws Exception {
+				JadxDecompiler decompiler = new JadxDecompiler(args);
+				decompiler.loadFile(file);
+				return new LoadedInput(id, file, tempFile, decompiler);
+			}
+		});
+		FutureTask<LoadedInput> prevTask;
+		synchronized (loading) {
+			input = get(id);
+			if (input != null) {
+				return input;
+			}
+			prevTask = loading.get(id);
+			if (prevTask == null) {
+				loading.put(id, task);
+			}
+		}
+		if (prevTask != null) {
+			// same content loading by other request
+			if (tempFile && !file.delete()) {
+				file.deleteOnExit();
+			}
+			return waitFor(prevTask);
+		}
+		try {
+			task.run();
+			input = waitFor(task);
+			LOG.info("loaded input: {}, classes: {}", input, input.getClasses().size());
+			synchronized (inputs) {
+				inputs.put(id, input);
+			}
+			evict();
+			return input;
+		} finally {
+			loading.remove(id);
+		}
+	}
+
+	public LoadedInput get(String id) {
+		synchronized (inputs) {
+			return inputs.get(id);
+		}
+	}
+
+	/**
+	 * Return loaded inputs, from least to most recently used
+	 */
+	public List<LoadedInput> getAll() {
+		synchronized (inputs) {
+			return new ArrayList<LoadedInput>(inputs.values());
+		}
+	}
+
+	public boolean unload(String id) {
+		LoadedInput input;
+		synchronized (inputs) {
+			input = inputs.remove(id);
+		}
+		if (input == null) {
+			return false;
+		}
+		input.close();
+		LOG.info("unloaded input: {}", input);
+		return true;
+	}
+
+	/**
+	 * Remove least recently used inputs while limits exceeded, last used input always kept.
+	 * Inputs removed one by one and heap measured again after each removal.
+	 */
+	public void evict() {
+		while (true) {
+			LoadedInput input = removeEldest(false);
+			if (input == null) {
+				if (!isHeapLimitExceeded()) {
+					return;
+				}
+				// measured value may include garbage, check again after collection (not under lock)
+				System.gc();
+				input = removeEldest(true);
+				if (input == null) {
+					return;
+				}
+			}
+			input.close();
+			LOG.info("evicted input: {}", input);
+		}
+	}
+
+	@Nullable
+	private LoadedInput removeEldest(boolean checkHeap) {
+		synchronized (inputs) {
+			if (inputs.size() <= 1) {
+				return null;
+			}
+			if (inputs.size() <= maxInputs && !(checkHeap && isHeapLimitExceeded())) {
+				return null;
+			}
+			Iterator<LoadedInput> it = inputs.values().iterator();
+			LoadedInput input = it.next();
+			it.remove();
+			evictedCount++;
+			return input;
+		}
+	}
+
+	public int getEvictedCount() {
+		synchronized (inputs) {
+			return evictedCount;
+		}
+	}
+
+	public long getUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public long getHeapLimit() {
+		return Runtime.getRuntime().maxMemory() / 100 * maxHeapUsage;
+	}
+
+	private boolean isHeapLimitExceeded() {
+		return getUsedHeap() > getHeapLimit();
+	}
+
+	private static LoadedInput waitFor(FutureTask<LoadedInput> task) throws JadxException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxException("Input loading interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof JadxException) {
+				throw (JadxException) cause;
+			}
+			throw new JadxException("Input loading failed: " + cause.getMessage(), cause);
+		}
+	}
+
+	static String hash(File file) throws JadxException {
+		InputStream in = null;
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-1");
+			in = new FileInputStream(file);
+			byte[] buf = new byte[8192];
+			int len;
+			while ((len = in.read(buf)) != -1) {
+				md.update(buf, 0, len);
+			}
+			StringBuilder sb = new StringBuilder();
+			for (byte b : md.digest()) {
+				sb.append(String.format("%02x", b & 0xFF));
+			}
+			return sb.toString();
+		} catch (IOException e) {
+			throw new JadxException("Can't read file: " + file, e);
+		} catch (NoSuchAlgorithmException e) {
+			throw new JadxException("SHA-1 not available", e);
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					LOG.debug("Close error", e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package jadx.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Headless decompilation server, see {@link ApiHandler} for API description.
+ */
+public class JadxServer {
+	private static final Logger LOG = LoggerFactory.getLogger(JadxServer.class);
+
+	private final JadxServerArgs args;
+	private final InputsStorage storage;
+	private final WorkerPool pool;
+	private HttpServer httpServer;
+
+	public JadxServer(JadxServerArgs args) {
+		this.args = args;
+		this.storage = new InputsStorage(args);
+		this.pool = new WorkerPool(args.getThreadsCount());
+	}
+
+	public static void main(String[] args) {
+		try {
+			JadxServerArgs serverArgs = new JadxServerArgs();
+			if (serverArgs.processArgs(args)) {
+				new JadxServer(serverArgs).start();
+			}
+		} catch (Throwable e) {
+			LOG.error("jadx-server error: " + e.getMessage(), e);
+			System.exit(1);
+		}
+	}
+
+	public void start() throws IOException {
+		httpServer = HttpServer.create(new InetSocketAddress(args.getHost(), args.getPort()), 0);
+		// handler only enqueue requests into worker pool, so default (single thread) executor used
+		httpServer.createContext(ApiHandler.CONTEXT, new ApiHandler(storage, pool));
+		httpServer.start();
+		LOG.info("jadx-server started on {}:{}, workers: {}", args.getHost(), getPort(), args.getThreadsCount());
+	}
+
+	public void stop() {
+		if (httpServer != null) {
+			httpServer.stop(0);
+			httpServer = null;
+		}
+		pool.shutdown();
+		for (LoadedInput input : storage.getAll()) {
+			storage.unload(input.getId());
+		}
+	}
+
+	public int getPort() {
+		return httpServer.getAddress().getPort();
+	}
+
+	public InputsStorage getStorage() {
+		return storage;
+	}
+}
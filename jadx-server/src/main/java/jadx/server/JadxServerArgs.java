@@ -0,0 +1,181 @@
+package jadx.server;
+
+import jadx.api.DefaultJadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.utils.exceptions.JadxException;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterDescription;
+import com.beust.jcommander.ParameterException;
+
+public final class JadxServerArgs extends DefaultJadxArgs {
+
+	@Parameter(names = {"-p", "--port"}, description = "http port (0 - any free port)")
+	protected int port = 8650;
+
+	@Parameter(names = {"--host"}, description = "address to bind, use 0.0.0.0 to accept remote connections")
+	protected String host = "127.0.0.1";
+
+	@Parameter(names = {"-j", "--threads-count"}, description = "worker threads count, shared by all requests")
+	protected int threadsCount = Runtime.getRuntime().availableProcessors();
+
+	@Parameter(names = {"--max-inputs"}, description = "max count of loaded inputs kept in memory")
+	protected int maxInputs = 8;
+
+	@Parameter(names = {"--max-heap-usage"},
+			description = "percent of max heap, loaded inputs evicted (least recently used first) above this limit")
+	protected int maxHeapUsage = 75;
+
+	@Parameter(names = {"-f", "--fallback"}, description = "make simple dump (using goto instead of 'if', 'for', etc)")
+	protected boolean fallbackMode = false;
+
+	@Parameter(names = {"--show-bad-code"}, description = "show inconsistent code (incorrectly decompiled)")
+	protected boolean showInconsistentCode = false;
+
+	@Parameter(names = {"--method-time-limit"},
+			description = "max time in ms for processing one method, method will be dumped in fallback mode (0 - no limit)")
+	protected int methodTimeLimit = 0;
+
+	@Parameter(names = {"--method-iterations-limit"},
+			description = "max iterations in passes for one method, method will be dumped in fallback mode (0 - no limit)")
+	protected int methodIterationsLimit = 0;
+
+	@Parameter(names = {"--insns-cache-size"},
+			description = "max size in code units of decoded instructions cache for methods loaded again (0 - disabled)")
+	protected int decodedInsnsCacheSize = INTERACTIVE_DECODED_INSNS_CACHE_SIZE;
+
+	@Parameter(names = {"-h", "--help"}, description = "print this help", help = true)
+	protected boolean printHelp = false;
+
+	public boolean processArgs(String[] args) {
+		try {
+			new JCommander(this, args);
+		} catch (ParameterException e) {
+			System.err.println("Arguments parse error: " + e.getMessage());
+			printUsage();
+			return false;
+		}
+		if (printHelp) {
+			printUsage();
+			return false;
+		}
+		try {
+			check();
+		} catch (JadxException e) {
+			System.err.println("ERROR: " + e.getMessage());
+			printUsage();
+			return false;
+		}
+		return true;
+	}
+
+	void check() throws JadxException {
+		if (threadsCount <= 0) {
+			throw new JadxException("Threads count must be positive");
+		}
+		if (port < 0 || port > 0xFFFF) {
+			throw new JadxException("Incorrect port: " + port);
+		}
+		if (maxInputs <= 0) {
+			throw new JadxException("Max inputs count must be positive");
+		}
+		if (maxHeapUsage <= 0 || maxHeapUsage > 100) {
+			throw new JadxException("Max heap usage must be in range 1..100");
+		}
+		if (methodTimeLimit < 0 || methodIterationsLimit < 0) {
+			throw new JadxException("Method processing limits can't be negative");
+		}
+		if (decodedInsnsCacheSize < 0) {
+			throw new JadxException("Instructions cache size can't be negative");
+		}
+	}
+
+	public void printUsage() {
+		JCommander jc = new JCommander(this);
+		PrintStream out = System.out;
+		out.println();
+		out.println("jadx-server - dex to java decompiler http server, version: " + JadxDecompiler.getVersion());
+		out.println();
+		out.println("usage: jadx-server [options]");
+		out.println("options:");
+		List<ParameterDescription> params = jc.getParameters();
+		int maxNamesLen = 0;
+		for (ParameterDescription p : params) {
+			maxNamesLen = Math.max(maxNamesLen, p.getNames().length());
+		}
+		for (ParameterDescription p : params) {
+			StringBuilder opt = new StringBuilder();
+			opt.append(' ').append(p.getNames());
+			while (opt.length() < maxNamesLen + 3) {
+				opt.append(' ');
+			}
+			opt.append("- ").append(p.getDescription());
+			out.println(opt.toString());
+		}
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public void setPort(int port) {
+		this.port = port;
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public int getMaxInputs() {
+		return maxInputs;
+	}
+
+	public void setMaxInputs(int maxInputs) {
+		this.maxInputs = maxInputs;
+	}
+
+	public int getMaxHeapUsage() {
+		return maxHeapUsage;
+	}
+
+	/**
+	 * Worker pool size, also used by decompiler for java classes to dex conversion
+	 */
+	@Override
+	public int getThreadsCount() {
+		return threadsCount;
+	}
+
+	public void setThreadsCount(int threadsCount) {
+		this.threadsCount = threadsCount;
+	}
+
+	@Override
+	public boolean isFallbackMode() {
+		return fallbackMode;
+	}
+
+	@Override
+	public boolean isShowInconsistentCode() {
+		return showInconsistentCode;
+	}
+
+	@Override
+	public int getMethodTimeLimit() {
+		return methodTimeLimit;
+	}
+
+	@Override
+	public int getMethodIterationsLimit() {
+		return methodIterationsLimit;
+	}
+
+	@Override
+	public int getDecodedInsnsCacheSize() {
+		return decodedInsnsCacheSize;
+	}
+}
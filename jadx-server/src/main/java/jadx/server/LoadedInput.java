@@ -0,0 +1,70 @@
+package jadx.server;
+
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loaded input file with resident decompiler, classes decompiled on first request.
+ */
+public final class LoadedInput {
+
+	private final String id;
+	private final File file;
+	private final boolean tempFile;
+	private final JadxDecompiler decompiler;
+	private final Map<String, JavaClass> classes;
+
+	LoadedInput(String id, File file, boolean tempFile, JadxDecompiler decompiler) {
+		this.id = id;
+		this.file = file;
+		this.tempFile = tempFile;
+		this.decompiler = decompiler;
+		Map<String, JavaClass> map = new LinkedHashMap<String, JavaClass>();
+		for (JavaClass cls : decompiler.getClasses()) {
+			map.put(cls.getFullName(), cls);
+		}
+		this.classes = map;
+	}
+
+	/**
+	 * SHA-1 of input file content in hex
+	 */
+	public String getId() {
+		return id;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public JadxDecompiler getDecompiler() {
+		return decompiler;
+	}
+
+	public Collection<JavaClass> getClasses() {
+		return classes.values();
+	}
+
+	/**
+	 * Search top level class by full name
+	 */
+	public JavaClass searchClass(String fullName) {
+		return classes.get(fullName);
+	}
+
+	void close() {
+		if (tempFile && !file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return id + " (" + file.getName() + ")";
+	}
+}
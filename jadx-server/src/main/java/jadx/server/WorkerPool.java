@@ -0,0 +1,104 @@
+package jadx.server;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed size thread pool shared by all requests.
+ * Waiting tasks executed by priority, tasks with same priority executed in submit order.
+ */
+public class WorkerPool {
+
+	public enum Priority {
+		HIGH,
+		NORMAL,
+		LOW;
+
+		public static Priority parse(String str, Priority defaultPriority) {
+			if (str == null || str.isEmpty()) {
+				return defaultPriority;
+			}
+			try {
+				return valueOf(str.toUpperCase());
+			} catch (IllegalArgumentException e) {
+				return defaultPriority;
+			}
+		}
+	}
+
+	private final ThreadPoolExecutor executor;
+	private final AtomicLong sequence = new AtomicLong();
+
+	public WorkerPool(int threadsCount) {
+		this.executor = new ThreadPoolExecutor(threadsCount, threadsCount, 0L, TimeUnit.MILLISECONDS,
+				new PriorityBlockingQueue<Runnable>(), new WorkerThreadFactory());
+	}
+
+	public <T> Future<T> submit(Priority priority, Callable<T> task) {
+		PriorityTask<T> futureTask = new PriorityTask<T>(task, priority, sequence.getAndIncrement());
+		executor.execute(futureTask);
+		return futureTask;
+	}
+
+	public Future<?> submit(Priority priority, Runnable task) {
+		PriorityTask<Object> futureTask = new PriorityTask<Object>(task, priority, sequence.getAndIncrement());
+		executor.execute(futureTask);
+		return futureTask;
+	}
+
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private static final class PriorityTask<T> extends FutureTask<T> implements Comparable<PriorityTask<?>> {
+		private final Priority priority;
+		private final long seq;
+
+		PriorityTask(Callable<T> callable, Priority priority, long seq) {
+			super(callable);
+			this.priority = priority;
+			this.seq = seq;
+		}
+
+		PriorityTask(Runnable runnable, Priority priority, long seq) {
+			super(runnable, null);
+			this.priority = priority;
+			this.seq = seq;
+		}
+
+		@Override
+		public int compareTo(PriorityTask<?> o) {
+			int cmp = priority.compareTo(o.priority);
+			if (cmp != 0) {
+				return cmp;
+			}
+			return seq < o.seq ? -1 : (seq == o.seq ? 0 : 1);
+		}
+	}
+
+	private static final class WorkerThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "jadx-server-worker-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package jadx.server;
+
+import jadx.core.utils.exceptions.JadxException;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class InputsStorageTest {
+
+	private static final Class<?>[] INPUT_CLASSES = {
+			ApiException.class, LoadedInput.class, WorkerPool.class, JadxServerArgs.class
+	};
+
+	private final List<File> files = new ArrayList<File>();
+
+	@After
+	public void cleanup() {
+		for (File file : files) {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testEvictByHeapUsage() throws Exception {
+		// every input 'uses' 100 bytes, so only two inputs fits in limit
+		InputsStorage storage = new FakeHeapStorage(newArgs(10), 100, 250);
+		List<LoadedInput> loaded = loadAll(storage);
+
+		List<LoadedInput> left = storage.getAll();
+		assertEquals(2, left.size());
+		assertSame(loaded.get(2), left.get(0));
+		assertSame(loaded.get(3), left.get(1));
+		assertEquals(2, storage.getEvictedCount());
+		// evicted temp files deleted
+		assertFalse(files.get(0).exists());
+		assertFalse(files.get(1).exists());
+	}
+
+	@Test
+	public void testLastInputKept() throws Exception {
+		InputsStorage storage = new FakeHeapStorage(newArgs(10), 100, 50);
+		List<LoadedInput> loaded = loadAll(storage);
+
+		List<LoadedInput> left = storage.getAll();
+		assertEquals(1, left.size());
+		assertSame(loaded.get(loaded.size() - 1), left.get(0));
+		assertEquals(INPUT_CLASSES.length - 1, storage.getEvictedCount());
+	}
+
+	@Test
+	public void testEvictByCount() throws Exception {
+		InputsStorage storage = new FakeHeapStorage(newArgs(3), 0, 1);
+		List<LoadedInput> loaded = loadAll(storage);
+
+		List<LoadedInput> left = storage.getAll();
+		assertEquals(3, left.size());
+		assertSame(loaded.get(1), left.get(0));
+		assertEquals(1, storage.getEvictedCount());
+	}
+
+	private List<LoadedInput> loadAll(InputsStorage storage) throws IOException, JadxException {
+		List<LoadedInput> list = new ArrayList<LoadedInput>();
+		for (Class<?> cls : INPUT_CLASSES) {
+			File file = copyClassFile(cls);
+			files.add(file);
+			list.add(storage.load(file, true));
+		}
+		return list;
+	}
+
+	private static JadxServerArgs newArgs(int maxInputs) {
+		JadxServerArgs args = new JadxServerArgs();
+		args.setThreadsCount(1);
+		args.setMaxInputs(maxInputs);
+		return args;
+	}
+
+	/**
+	 * Used heap calculated from loaded inputs count, so result not depends on real heap state
+	 */
+	private static final class FakeHeapStorage extends InputsStorage {
+		private final long inputSize;
+		private final long heapLimit;
+
+		FakeHeapStorage(JadxServerArgs args, long inputSize, long heapLimit) {
+			super(args);
+			this.inputSize = inputSize;
+			this.heapLimit = heapLimit;
+		}
+
+		@Override
+		public long getUsedHeap() {
+			return getAll().size() * inputSize;
+		}
+
+		@Override
+		public long getHeapLimit() {
+			return heapLimit;
+		}
+	}
+
+	private static File copyClassFile(Class<?> cls) throws IOException {
+		File file = File.createTempFile("jadx-server-test-", ".class");
+		InputStream in = cls.getResourceAsStream(cls.getSimpleName() + ".class");
+		OutputStream out = new FileOutputStream(file);
+		try {
+			byte[] buf = new byte[4096];
+			int len;
+			while ((len = in.read(buf)) != -1) {
+				out.write(buf, 0, len);
+			}
+		} finally {
+			out.close();
+			in.close();
+		}
+		return file;
+	}
+}
@@ -0,0 +1,116 @@
+package jadx.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class JadxServerTest {
+
+	private static final String CLS_NAME = ApiException.class.getName();
+
+	private JadxServer server;
+	private File input;
+
+	@Before
+	public void start() throws IOException {
+		JadxServerArgs args = new JadxServerArgs();
+		args.setPort(0);
+		args.setThreadsCount(1);
+		server = new JadxServer(args);
+		server.start();
+		input = copyClassFile(ApiException.class);
+	}
+
+	@After
+	public void stop() {
+		server.stop();
+		input.delete();
+	}
+
+	@Test
+	public void testLoadAndDecompile() throws IOException {
+		JsonObject info = request("POST", "inputs?path=" + input.getAbsolutePath(), 200).getAsJsonObject();
+		String id = info.get("id").getAsString();
+		assertEquals(1, info.get("classes").getAsInt());
+
+		// same content not loaded again
+		JsonObject info2 = request("POST", "inputs?path=" + input.getAbsolutePath(), 200).getAsJsonObject();
+		assertEquals(id, info2.get("id").getAsString());
+		assertEquals(1, server.getStorage().getAll().size());
+
+		JsonArray classes = request("GET", "inputs/" + id + "/classes", 200).getAsJsonArray();
+		assertEquals(CLS_NAME, classes.get(0).getAsJsonObject().get("name").getAsString());
+
+		JsonObject code = request("GET", "inputs/" + id + "/classes/" + CLS_NAME + "/code?priority=high", 200)
+				.getAsJsonObject();
+		assertThat(code.get("code").getAsString(), containsString("public class ApiException extends JadxException"));
+
+		request("GET", "inputs/" + id + "/classes/a.b.C/code", 404);
+		request("GET", "inputs/" + id + "/classes/" + CLS_NAME + "/definition?line=1", 400);
+
+		request("DELETE", "inputs/" + id, 200);
+		request("GET", "inputs/" + id + "/classes", 404);
+		assertTrue(server.getStorage().getAll().isEmpty());
+	}
+
+	private JsonElement request(String method, String path, int expectedStatus) throws IOException {
+		URL url = new URL("http://127.0.0.1:" + server.getPort() + ApiHandler.CONTEXT + "/" + path);
+		HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+		conn.setRequestMethod(method);
+		int status = conn.getResponseCode();
+		InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+		String response = readAll(in);
+		assertEquals(response, expectedStatus, status);
+		return new JsonParser().parse(response);
+	}
+
+	private static String readAll(InputStream in) throws IOException {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buf = new byte[4096];
+			int len;
+			while ((len = in.read(buf)) != -1) {
+				out.write(buf, 0, len);
+			}
+			return out.toString("UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+
+	private static File copyClassFile(Class<?> cls) throws IOException {
+		File file = File.createTempFile("jadx-server-test-", ".class");
+		InputStream in = cls.getResourceAsStream(cls.getSimpleName() + ".class");
+		OutputStream out = new FileOutputStream(file);
+		try {
+			byte[] buf = new byte[4096];
+			int len;
+			while ((len = in.read(buf)) != -1) {
+				out.write(buf, 0, len);
+			}
+		} finally {
+			out.close();
+			in.close();
+		}
+		return file;
+	}
+}